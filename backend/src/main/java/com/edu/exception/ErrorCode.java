@@ -26,7 +26,9 @@ public enum ErrorCode {
     INSTITUTION_ADDRESS_MISSING(400, "T004", "기관 주소가 등록되지 않았습니다."),
     DAILY_TRAVEL_NOT_FOUND(404, "T005", "일별 여비 내역을 찾을 수 없습니다."),
     TRAVEL_POLICY_NOT_FOUND(404, "T006", "여비 정책을 찾을 수 없습니다."),
-    MAP_SNAPSHOT_GENERATION_FAILED(500, "T007", "지도 이미지 생성에 실패했습니다.");
+    MAP_SNAPSHOT_GENERATION_FAILED(500, "T007", "지도 이미지 생성에 실패했습니다."),
+    REBUILD_JOB_NOT_FOUND(404, "T008", "여비 재계산 작업을 찾을 수 없습니다."),
+    REBUILD_JOB_NOT_RESUMABLE(400, "T009", "재개할 수 없는 여비 재계산 작업입니다.");
 
     private final int status;
     private final String code;
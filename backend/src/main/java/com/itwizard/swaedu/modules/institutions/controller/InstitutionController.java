@@ -47,10 +47,18 @@ public class InstitutionController {
             @RequestParam(required = false) Long districtId,
             @RequestParam(required = false) List<Long> zoneIds,
             @RequestParam(required = false) List<Long> regionIds,
-            @RequestParam(required = false) Long teacherId) {
-        PageResponse<InstitutionResponseDto> response = institutionService.listInstitutions(
-                q, page, size, sort, majorCategoryIds, categoryOneIds, categoryTwoIds,
-                classificationIds, districtId, zoneIds, regionIds, teacherId);
+            @RequestParam(required = false) Long teacherId,
+            @RequestParam(required = false, defaultValue = "offset") String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal) {
+        // paging=cursor: keyset paging from cursor (nextCursor of the previous page); page is ignored
+        PageResponse<InstitutionResponseDto> response = "cursor".equalsIgnoreCase(paging)
+                ? institutionService.listInstitutionsByCursor(
+                        q, cursor, size, sort, withTotal, majorCategoryIds, categoryOneIds, categoryTwoIds,
+                        classificationIds, districtId, zoneIds, regionIds, teacherId)
+                : institutionService.listInstitutions(
+                        q, page, size, sort, majorCategoryIds, categoryOneIds, categoryTwoIds,
+                        classificationIds, districtId, zoneIds, regionIds, teacherId);
         return ResponseUtil.success("Institutions retrieved successfully", response);
     }
 
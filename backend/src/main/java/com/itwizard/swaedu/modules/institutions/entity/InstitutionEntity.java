@@ -2,6 +2,7 @@ package com.itwizard.swaedu.modules.institutions.entity;
 
 import com.itwizard.swaedu.modules.mastercode.entity.MasterCodeEntity;
 import com.itwizard.swaedu.modules.teacher.entity.Teacher;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelEndpointListener;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Table(name = "institutions")
+@EntityListeners(TravelEndpointListener.class)
 public class InstitutionEntity {
 
     @Id
@@ -58,6 +60,13 @@ public class InstitutionEntity {
     @Column(name = "institution_lng", precision = 10, scale = 7)
     private java.math.BigDecimal institutionLng;
 
+    // Coordinates as loaded, used to invalidate cached travel distances when they change
+    @Transient
+    private transient java.math.BigDecimal loadedInstitutionLat;
+
+    @Transient
+    private transient java.math.BigDecimal loadedInstitutionLng;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "major_category_id", foreignKey = @ForeignKey(name = "fk_institutions_major_category"))
     private MasterCodeEntity majorCategory;
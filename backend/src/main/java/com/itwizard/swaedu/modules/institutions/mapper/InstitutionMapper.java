@@ -4,6 +4,7 @@ import com.itwizard.swaedu.modules.institutions.dto.request.InstitutionCreateDto
 import com.itwizard.swaedu.modules.institutions.dto.request.InstitutionUpdateDto;
 import com.itwizard.swaedu.modules.institutions.dto.response.InstitutionResponseDto;
 import com.itwizard.swaedu.modules.institutions.entity.InstitutionEntity;
+import com.itwizard.swaedu.modules.mastercode.dto.response.MasterCodeResponseDto;
 import com.itwizard.swaedu.modules.mastercode.entity.MasterCodeEntity;
 import com.itwizard.swaedu.modules.mastercode.mapper.MasterCodeMapper;
 import com.itwizard.swaedu.modules.teacher.entity.Teacher;
@@ -11,6 +12,7 @@ import com.itwizard.swaedu.modules.teacher.mapper.TeacherMapper;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +28,21 @@ public class InstitutionMapper {
      * Convert InstitutionEntity to InstitutionResponseDto
      */
     public static InstitutionResponseDto toResponseDto(InstitutionEntity entity) {
+        return buildResponseDto(entity, MasterCodeMapper::toResponseDto);
+    }
+
+    /**
+     * Convert InstitutionEntity to InstitutionResponseDto, with master codes looked up by id
+     * (write paths: the relationships only carry ids, so they are never loaded)
+     */
+    public static InstitutionResponseDto toResponseDto(InstitutionEntity entity,
+                                        Function<Long, MasterCodeResponseDto> masterCodesById) {
+        return buildResponseDto(entity,
+                masterCode -> masterCode != null ? masterCodesById.apply(masterCode.getId()) : null);
+    }
+
+    private static InstitutionResponseDto buildResponseDto(InstitutionEntity entity,
+                                            Function<MasterCodeEntity, MasterCodeResponseDto> masterCodes) {
         if (entity == null) {
             return null;
         }
@@ -34,15 +51,15 @@ public class InstitutionMapper {
                 .institutionId(entity.getInstitutionId())
                 .name(entity.getName())
                 .phoneNumber(entity.getPhoneNumber())
-                .district(MasterCodeMapper.toResponseDto(entity.getDistrict()))
-                .zone(MasterCodeMapper.toResponseDto(entity.getZone()))
-                .region(MasterCodeMapper.toResponseDto(entity.getRegion()))
+                .district(masterCodes.apply(entity.getDistrict()))
+                .zone(masterCodes.apply(entity.getZone()))
+                .region(masterCodes.apply(entity.getRegion()))
                 .street(entity.getStreet())
                 .address(entity.getAddress())
-                .majorCategory(MasterCodeMapper.toResponseDto(entity.getMajorCategory()))
-                .categoryOne(MasterCodeMapper.toResponseDto(entity.getCategoryOne()))
-                .categoryTwo(MasterCodeMapper.toResponseDto(entity.getCategoryTwo()))
-                .classification(MasterCodeMapper.toResponseDto(entity.getClassification()))
+                .majorCategory(masterCodes.apply(entity.getMajorCategory()))
+                .categoryOne(masterCodes.apply(entity.getCategoryOne()))
+                .categoryTwo(masterCodes.apply(entity.getCategoryTwo()))
+                .classification(masterCodes.apply(entity.getClassification()))
                 .notes(entity.getNotes())
                 .teacher(TeacherMapper.toResponseDto(entity.getTeacher()))
                 .signature(entity.getSignature())
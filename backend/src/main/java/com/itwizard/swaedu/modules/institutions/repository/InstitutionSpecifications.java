@@ -0,0 +1,49 @@
+package com.itwizard.swaedu.modules.institutions.repository;
+
+import com.itwizard.swaedu.modules.institutions.entity.InstitutionEntity;
+import com.itwizard.swaedu.util.SearchSpecification;
+
+import java.util.List;
+
+/**
+ * Institution list filters, shared by the list and its export
+ */
+public final class InstitutionSpecifications {
+
+    // Relationships the list and the export show
+    public static final String[] LIST_RELATIONS = {
+            "district", "zone", "region", "majorCategory", "categoryOne", "categoryTwo", "classification",
+            "teacher.user"
+    };
+
+    private InstitutionSpecifications() {
+    }
+
+    /**
+     * Institutions that are not deleted and match the filters; null or empty arguments are left out
+     *
+     * @param q Searched in name, phone number, street, address and notes
+     */
+    public static SearchSpecification<InstitutionEntity> filter(
+            String q,
+            List<Long> majorCategoryIds,
+            List<Long> categoryOneIds,
+            List<Long> categoryTwoIds,
+            List<Long> classificationIds,
+            Long districtId,
+            List<Long> zoneIds,
+            List<Long> regionIds,
+            Long teacherId) {
+        return SearchSpecification.<InstitutionEntity>where()
+                .isFalse("isDelete")
+                .containsIgnoreCase(q, "name", "phoneNumber", "street", "address", "notes")
+                .in("majorCategoryId", majorCategoryIds)
+                .in("categoryOneId", categoryOneIds)
+                .in("categoryTwoId", categoryTwoIds)
+                .in("classificationId", classificationIds)
+                .equal("districtId", districtId)
+                .in("zoneId", zoneIds)
+                .in("regionId", regionIds)
+                .equal("teacherId", teacherId);
+    }
+}
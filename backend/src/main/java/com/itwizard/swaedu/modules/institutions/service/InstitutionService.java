@@ -26,6 +26,22 @@ public interface InstitutionService {
             List<Long> regionIds,
             Long teacherId);
 
+    // Cursor (keyset) paging: sort by id, name or createdAt; total is only counted when withTotal is set
+    PageResponse<InstitutionResponseDto> listInstitutionsByCursor(
+            String q,
+            String cursor,
+            Integer size,
+            String sort,
+            boolean withTotal,
+            List<Long> majorCategoryIds,
+            List<Long> categoryOneIds,
+            List<Long> categoryTwoIds,
+            List<Long> classificationIds,
+            Long districtId,
+            List<Long> zoneIds,
+            List<Long> regionIds,
+            Long teacherId);
+
     InstitutionResponseDto getInstitutionById(Long id);
 
     InstitutionResponseDto updateInstitution(Long id, InstitutionUpdateDto request);
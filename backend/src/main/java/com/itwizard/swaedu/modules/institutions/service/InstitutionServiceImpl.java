@@ -7,13 +7,20 @@ import com.itwizard.swaedu.modules.institutions.dto.response.InstitutionResponse
 import com.itwizard.swaedu.modules.institutions.entity.InstitutionEntity;
 import com.itwizard.swaedu.modules.institutions.mapper.InstitutionMapper;
 import com.itwizard.swaedu.modules.institutions.repository.InstitutionRepository;
-import com.itwizard.swaedu.modules.mastercode.repository.MasterCodeRepository;
+import com.itwizard.swaedu.modules.institutions.repository.InstitutionSpecifications;
+import com.itwizard.swaedu.modules.mastercode.dto.response.MasterCodeResponseDto;
+import com.itwizard.swaedu.modules.mastercode.mapper.MasterCodeMapper;
+import com.itwizard.swaedu.modules.mastercode.service.MasterCodeRegistry;
+import com.itwizard.swaedu.modules.travelallowance.service.TravelDirtyQueue;
+import com.itwizard.swaedu.util.IdPaging;
+import com.itwizard.swaedu.util.KeysetPaging;
 import com.itwizard.swaedu.util.PageResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
@@ -25,7 +32,10 @@ import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
@@ -33,34 +43,22 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class InstitutionServiceImpl implements InstitutionService {
 
+    private static final KeysetPaging<InstitutionEntity> CURSOR_PAGING =
+            KeysetPaging.<InstitutionEntity>by("id", "name", Sort.Direction.ASC)
+                    .key("name", String.class)
+                    .key("createdAt", LocalDateTime.class);
+
     private final InstitutionRepository repository;
-    private final MasterCodeRepository masterCodeRepository;
+    private final MasterCodeRegistry masterCodeRegistry;
+    private final TravelDirtyQueue travelDirtyQueue;
 
     @Override
     @Transactional
     public InstitutionResponseDto createInstitution(InstitutionCreateDto request) {
         // Validate foreign key references if provided
-        if (request.getDistrictId() != null) {
-            validateMasterCodeExists(request.getDistrictId(), "District");
-        }
-        if (request.getZoneId() != null) {
-            validateMasterCodeExists(request.getZoneId(), "Zone");
-        }
-        if (request.getRegionId() != null) {
-            validateMasterCodeExists(request.getRegionId(), "Region");
-        }
-        if (request.getMajorCategoryId() != null) {
-            validateMasterCodeExists(request.getMajorCategoryId(), "Major category");
-        }
-        if (request.getCategoryOneId() != null) {
-            validateMasterCodeExists(request.getCategoryOneId(), "Category one");
-        }
-        if (request.getCategoryTwoId() != null) {
-            validateMasterCodeExists(request.getCategoryTwoId(), "Category two");
-        }
-        if (request.getClassificationId() != null) {
-            validateMasterCodeExists(request.getClassificationId(), "Classification");
-        }
+        validateMasterCodesExist(request.getDistrictId(), request.getZoneId(), request.getRegionId(),
+                request.getMajorCategoryId(), request.getCategoryOneId(), request.getCategoryTwoId(),
+                request.getClassificationId());
 
         // Create entity
         InstitutionEntity entity = InstitutionMapper.toEntity(request);
@@ -70,7 +68,7 @@ public class InstitutionServiceImpl implements InstitutionService {
         entity.setInstitutionId(institutionId);
         
         InstitutionEntity saved = repository.save(entity);
-        return InstitutionMapper.toResponseDto(saved);
+        return InstitutionMapper.toResponseDto(saved, this::masterCodeResponse);
     }
 
     @Override
@@ -90,22 +88,42 @@ public class InstitutionServiceImpl implements InstitutionService {
         // Parse sort parameter
         Pageable pageable = buildPageable(page, size, sort);
 
-        // Normalize empty lists to null for JPQL query (empty lists cause issues with IN clause)
-        List<Long> normalizedMajorCategoryIds = (majorCategoryIds != null && majorCategoryIds.isEmpty()) ? null : majorCategoryIds;
-        List<Long> normalizedCategoryOneIds = (categoryOneIds != null && categoryOneIds.isEmpty()) ? null : categoryOneIds;
-        List<Long> normalizedCategoryTwoIds = (categoryTwoIds != null && categoryTwoIds.isEmpty()) ? null : categoryTwoIds;
-        List<Long> normalizedClassificationIds = (classificationIds != null && classificationIds.isEmpty()) ? null : classificationIds;
-        List<Long> normalizedZoneIds = (zoneIds != null && zoneIds.isEmpty()) ? null : zoneIds;
-        List<Long> normalizedRegionIds = (regionIds != null && regionIds.isEmpty()) ? null : regionIds;
+        // Only the filters supplied become predicates
+        Specification<InstitutionEntity> filter = InstitutionSpecifications.filter(
+                q, majorCategoryIds, categoryOneIds, categoryTwoIds, classificationIds,
+                districtId, zoneIds, regionIds, teacherId);
 
-        // Search with filters
-        Page<InstitutionEntity> pageResult = repository.search(
-                q, normalizedMajorCategoryIds, normalizedCategoryOneIds, normalizedCategoryTwoIds, normalizedClassificationIds,
-                districtId, normalizedZoneIds, normalizedRegionIds, teacherId, pageable);
+        // Search with filters: one page of ids, then that page's rows
+        Page<Long> idPage = IdPaging.ids(repository, filter, pageable);
+        Page<InstitutionEntity> pageResult = IdPaging.load(
+                idPage, repository::findAllForListByIdIn, InstitutionEntity::getId);
 
         return buildPageResponse(pageResult);
     }
 
+    @Override
+    public PageResponse<InstitutionResponseDto> listInstitutionsByCursor(
+            String q,
+            String cursor,
+            Integer size,
+            String sort,
+            boolean withTotal,
+            List<Long> majorCategoryIds,
+            List<Long> categoryOneIds,
+            List<Long> categoryTwoIds,
+            List<Long> classificationIds,
+            Long districtId,
+            List<Long> zoneIds,
+            List<Long> regionIds,
+            Long teacherId) {
+        Specification<InstitutionEntity> filter = InstitutionSpecifications.filter(
+                        q, majorCategoryIds, categoryOneIds, categoryTwoIds, classificationIds,
+                        districtId, zoneIds, regionIds, teacherId)
+                .fetch(InstitutionSpecifications.LIST_RELATIONS);
+        return CURSOR_PAGING.page(repository, filter, sort, cursor, size, withTotal,
+                InstitutionMapper::toResponseDtoList);
+    }
+
     @Override
     public InstitutionResponseDto getInstitutionById(Long id) {
         InstitutionEntity entity = repository.findByIdAndIsDeleteFalse(id)
@@ -120,34 +138,27 @@ public class InstitutionServiceImpl implements InstitutionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Institution not found with id: " + id));
 
         // Validate foreign key references if provided
-        if (request.getDistrictId() != null) {
-            validateMasterCodeExists(request.getDistrictId(), "District");
-        }
-        if (request.getZoneId() != null) {
-            validateMasterCodeExists(request.getZoneId(), "Zone");
-        }
-        if (request.getRegionId() != null) {
-            validateMasterCodeExists(request.getRegionId(), "Region");
-        }
-        if (request.getMajorCategoryId() != null) {
-            validateMasterCodeExists(request.getMajorCategoryId(), "Major category");
-        }
-        if (request.getCategoryOneId() != null) {
-            validateMasterCodeExists(request.getCategoryOneId(), "Category one");
-        }
-        if (request.getCategoryTwoId() != null) {
-            validateMasterCodeExists(request.getCategoryTwoId(), "Category two");
-        }
-        if (request.getClassificationId() != null) {
-            validateMasterCodeExists(request.getClassificationId(), "Classification");
-        }
+        validateMasterCodesExist(request.getDistrictId(), request.getZoneId(), request.getRegionId(),
+                request.getMajorCategoryId(), request.getCategoryOneId(), request.getCategoryTwoId(),
+                request.getClassificationId());
+
+        String previousName = entity.getName();
+        String previousAddress = entity.getAddress();
+        String previousStreet = entity.getStreet();
 
         // Update entity
         InstitutionMapper.updateEntityFromDto(entity, request);
         entity.setUpdatedAt(LocalDateTime.now());
 
         InstitutionEntity updated = repository.save(entity);
-        return InstitutionMapper.toResponseDto(updated);
+
+        // Waypoints copy name and address; coordinate changes are marked by TravelEndpointListener
+        if (!Objects.equals(previousName, updated.getName())
+                || !Objects.equals(previousAddress, updated.getAddress())
+                || !Objects.equals(previousStreet, updated.getStreet())) {
+            travelDirtyQueue.markInstitution(id);
+        }
+        return InstitutionMapper.toResponseDto(updated, this::masterCodeResponse);
     }
 
     @Override
@@ -176,13 +187,11 @@ public class InstitutionServiceImpl implements InstitutionService {
             List<Long> regionIds,
             Long teacherId) throws IOException {
         
-        // Normalize empty lists to null for JPQL query (empty lists cause issues with IN clause)
-        List<Long> normalizedMajorCategoryIds = (majorCategoryIds != null && majorCategoryIds.isEmpty()) ? null : majorCategoryIds;
-        List<Long> normalizedCategoryOneIds = (categoryOneIds != null && categoryOneIds.isEmpty()) ? null : categoryOneIds;
-        List<Long> normalizedCategoryTwoIds = (categoryTwoIds != null && categoryTwoIds.isEmpty()) ? null : categoryTwoIds;
-        List<Long> normalizedClassificationIds = (classificationIds != null && classificationIds.isEmpty()) ? null : classificationIds;
-        List<Long> normalizedZoneIds = (zoneIds != null && zoneIds.isEmpty()) ? null : zoneIds;
-        List<Long> normalizedRegionIds = (regionIds != null && regionIds.isEmpty()) ? null : regionIds;
+        // Same filters as the list
+        Specification<InstitutionEntity> filter = InstitutionSpecifications.filter(
+                        q, majorCategoryIds, categoryOneIds, categoryTwoIds, classificationIds,
+                        districtId, zoneIds, regionIds, teacherId)
+                .fetch(InstitutionSpecifications.LIST_RELATIONS);
 
         // Use SXSSFWorkbook for streaming Excel export (memory-efficient)
         // Window size of 100: keeps only last 100 rows in memory, flushes older rows to temp files
@@ -212,9 +221,8 @@ public class InstitutionServiceImpl implements InstitutionService {
 
             // Stream data from database and write rows
             AtomicInteger rowNum = new AtomicInteger(1);
-            try (Stream<InstitutionEntity> institutionStream = repository.streamForExport(
-                    q, normalizedMajorCategoryIds, normalizedCategoryOneIds, normalizedCategoryTwoIds,
-                    normalizedClassificationIds, districtId, normalizedZoneIds, normalizedRegionIds, teacherId)) {
+            try (Stream<InstitutionEntity> institutionStream = repository.findBy(
+                    filter, query -> query.sortBy(Sort.by("id")).stream())) {
                 
                 institutionStream.forEach(institution -> {
                     Row row = sheet.createRow(rowNum.getAndIncrement());
@@ -262,9 +270,25 @@ public class InstitutionServiceImpl implements InstitutionService {
 
     // Private helper methods
 
-    private void validateMasterCodeExists(Long id, String fieldName) {
-        masterCodeRepository.findByIdAndIsDeleteFalse(id)
-                .orElseThrow(() -> new ResourceNotFoundException(fieldName + " not found with id: " + id));
+    private void validateMasterCodesExist(Long districtId, Long zoneId, Long regionId, Long majorCategoryId,
+                                          Long categoryOneId, Long categoryTwoId, Long classificationId) {
+        Map<String, Long> idsByField = new LinkedHashMap<>();
+        idsByField.put("District", districtId);
+        idsByField.put("Zone", zoneId);
+        idsByField.put("Region", regionId);
+        idsByField.put("Major category", majorCategoryId);
+        idsByField.put("Category one", categoryOneId);
+        idsByField.put("Category two", categoryTwoId);
+        idsByField.put("Classification", classificationId);
+        masterCodeRegistry.requireAll(idsByField);
+    }
+
+    /**
+     * Master code for a write response, from the registry snapshot (the saved entity only holds
+     * id references, and loading each one would cost a SELECT per code)
+     */
+    private MasterCodeResponseDto masterCodeResponse(Long id) {
+        return masterCodeRegistry.find(id).map(MasterCodeMapper::toResponseDto).orElse(null);
     }
 
     private Pageable buildPageable(Integer page, Integer size, String sort) {
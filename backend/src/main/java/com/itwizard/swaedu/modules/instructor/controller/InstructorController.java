@@ -4,6 +4,8 @@ import com.itwizard.swaedu.modules.instructor.dto.request.InstructorPatchDto;
 import com.itwizard.swaedu.modules.instructor.dto.request.InstructorUpdateDto;
 import com.itwizard.swaedu.modules.instructor.dto.request.RegisterInstructorRequestDto;
 import com.itwizard.swaedu.modules.instructor.dto.response.InstructorResponseDto;
+import com.itwizard.swaedu.modules.instructor.dto.response.NearestInstructorDto;
+import com.itwizard.swaedu.modules.instructor.service.InstructorLocator;
 import com.itwizard.swaedu.modules.instructor.service.InstructorService;
 import com.itwizard.swaedu.modules.storage.service.StorageService;
 import com.itwizard.swaedu.util.ApiResponse;
@@ -21,6 +23,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -29,6 +32,7 @@ import java.util.List;
 public class InstructorController {
 
     private final InstructorService instructorService;
+    private final InstructorLocator instructorLocator;
     private final StorageService storageService;
 
     @PostMapping("/register")
@@ -46,12 +50,46 @@ public class InstructorController {
             @RequestParam(required = false) List<Long> regionIds,
             @RequestParam(required = false) List<Long> classificationIds,
             @RequestParam(required = false) List<Long> statusIds,
-            @RequestParam(required = false) List<Long> zoneIds) {
-        PageResponse<InstructorResponseDto> response = instructorService.listInstructors(
-                q, page, size, sort, regionIds, classificationIds, statusIds, zoneIds);
+            @RequestParam(required = false) List<Long> zoneIds,
+            @RequestParam(required = false, defaultValue = "offset") String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal) {
+        // paging=cursor: keyset paging from cursor (nextCursor of the previous page); page is ignored
+        PageResponse<InstructorResponseDto> response = "cursor".equalsIgnoreCase(paging)
+                ? instructorService.listInstructorsByCursor(
+                        q, cursor, size, sort, withTotal, regionIds, classificationIds, statusIds, zoneIds)
+                : instructorService.listInstructors(
+                        q, page, size, sort, regionIds, classificationIds, statusIds, zoneIds);
         return ResponseUtil.success("Instructors retrieved successfully", response);
     }
 
+    // GET /api/v1/instructor/nearest?lat=&lng=&k= — instructors living closest to a coordinate
+    @GetMapping("/nearest")
+    public ResponseEntity<ApiResponse> findNearestInstructors(
+            @RequestParam BigDecimal lat,
+            @RequestParam BigDecimal lng,
+            @RequestParam(required = false, defaultValue = "10") Integer k,
+            @RequestParam(required = false) List<Long> regionIds,
+            @RequestParam(required = false) List<Long> classificationIds,
+            @RequestParam(required = false) List<Long> statusIds) {
+        List<NearestInstructorDto> response = instructorLocator.findNearest(
+                lat, lng, k, regionIds, classificationIds, statusIds);
+        return ResponseUtil.success("Nearest instructors retrieved successfully", response);
+    }
+
+    // GET /api/v1/instructor/nearest/institution/{institutionId}?k= — instructors living closest to an institution
+    @GetMapping("/nearest/institution/{institutionId}")
+    public ResponseEntity<ApiResponse> findNearestInstructorsToInstitution(
+            @PathVariable Long institutionId,
+            @RequestParam(required = false, defaultValue = "10") Integer k,
+            @RequestParam(required = false) List<Long> regionIds,
+            @RequestParam(required = false) List<Long> classificationIds,
+            @RequestParam(required = false) List<Long> statusIds) {
+        List<NearestInstructorDto> response = instructorLocator.findNearestToInstitution(
+                institutionId, k, regionIds, classificationIds, statusIds);
+        return ResponseUtil.success("Nearest instructors retrieved successfully", response);
+    }
+
     @GetMapping("/me")
     public ResponseEntity<ApiResponse> getMyProfile(Authentication authentication) {
         InstructorResponseDto response = instructorService.getInstructorByUsername(authentication.getName());
@@ -0,0 +1,9 @@
+package com.itwizard.swaedu.modules.instructor.dto.response;
+
+/**
+ * Read projection of an instructor's id only
+ */
+public interface InstructorIdRow {
+
+    Long getUserId();
+}
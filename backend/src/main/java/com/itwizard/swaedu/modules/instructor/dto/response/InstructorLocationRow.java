@@ -0,0 +1,23 @@
+package com.itwizard.swaedu.modules.instructor.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Read projection of an active instructor's home coordinates and list filter fields
+ */
+public interface InstructorLocationRow {
+
+    Long getUserId();
+
+    String getName();
+
+    BigDecimal getHomeLat();
+
+    BigDecimal getHomeLng();
+
+    Long getRegionId();
+
+    Long getClassificationId();
+
+    Long getStatusId();
+}
@@ -0,0 +1,23 @@
+package com.itwizard.swaedu.modules.instructor.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearestInstructorDto {
+    private Long userId;
+    private String name;
+    private Long regionId;
+    private Long classificationId;
+    private Long statusId;
+    private BigDecimal homeLat;
+    private BigDecimal homeLng;
+    private BigDecimal distanceKm;  // Straight-line (great-circle) distance, 0.01 km
+}
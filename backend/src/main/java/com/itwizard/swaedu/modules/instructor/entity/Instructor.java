@@ -2,6 +2,7 @@ package com.itwizard.swaedu.modules.instructor.entity;
 
 import com.itwizard.swaedu.modules.auth.entity.User;
 import com.itwizard.swaedu.modules.mastercode.entity.MasterCodeEntity;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelEndpointListener;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -10,6 +11,7 @@ import java.time.LocalDate;
 @Data
 @Entity
 @Table(name = "instructors")
+@EntityListeners({TravelEndpointListener.class, InstructorChangeListener.class})
 public class Instructor {
 
     @Id
@@ -67,6 +69,13 @@ public class Instructor {
     @Column(name = "home_lng", precision = 10, scale = 7)
     private java.math.BigDecimal homeLng;
 
+    // Home coordinates as loaded, used to invalidate cached travel distances when they change
+    @Transient
+    private transient java.math.BigDecimal loadedHomeLat;
+
+    @Transient
+    private transient java.math.BigDecimal loadedHomeLng;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id", foreignKey = @ForeignKey(name = "fk_instructors_status"))
     private MasterCodeEntity status;
@@ -89,4 +98,8 @@ public class Instructor {
 
     @Column(name = "profile_photo")
     private String profilePhoto;
+
+    // Lower-cased name, email, phone and username, maintained by a database trigger (trigram-indexed for search)
+    @Column(name = "search_text", length = 1000, insertable = false, updatable = false)
+    private String searchText;
 }
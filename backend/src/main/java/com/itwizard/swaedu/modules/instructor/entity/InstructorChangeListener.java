@@ -0,0 +1,26 @@
+package com.itwizard.swaedu.modules.instructor.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that publishes InstructorChangedEvent for every instructor write
+ * (instantiated through Spring, so the publisher is injected)
+ */
+@Component
+@RequiredArgsConstructor
+public class InstructorChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Instructor instructor) {
+        eventPublisher.publishEvent(new InstructorChangedEvent(instructor.getUserId()));
+    }
+}
@@ -0,0 +1,6 @@
+package com.itwizard.swaedu.modules.instructor.entity;
+
+/**
+ * Published when an instructor row is inserted, updated or deleted
+ */
+public record InstructorChangedEvent(Long userId) {}
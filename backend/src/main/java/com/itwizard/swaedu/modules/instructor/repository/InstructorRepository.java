@@ -1,61 +1,57 @@
 package com.itwizard.swaedu.modules.instructor.repository;
 
+import com.itwizard.swaedu.modules.instructor.dto.response.InstructorIdRow;
+import com.itwizard.swaedu.modules.instructor.dto.response.InstructorLocationRow;
 import com.itwizard.swaedu.modules.instructor.entity.Instructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 @Repository
-public interface InstructorRepository extends JpaRepository<Instructor, Long> {
+public interface InstructorRepository extends JpaRepository<Instructor, Long>, JpaSpecificationExecutor<Instructor> {
     Optional<Instructor> findByUserId(Long userId);
 
     boolean existsByEmail(String email);
 
-    @Query("SELECT i FROM Instructor i JOIN i.user u " +
-           "WHERE (:q IS NULL OR :q = '' OR " +
-           "LOWER(i.name) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-           "LOWER(COALESCE(i.email, '')) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-           "LOWER(COALESCE(i.phone, '')) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-           "LOWER(u.username) LIKE LOWER(CONCAT('%', :q, '%'))) " +
-           "AND (:regionIds IS NULL OR i.regionId IN :regionIds) " +
-           "AND (:classificationIds IS NULL OR i.classificationId IN :classificationIds) " +
-           "AND (:statusIds IS NULL OR i.statusId IN :statusIds)")
-    Page<Instructor> search(
-            @Param("q") String q,
-            @Param("regionIds") List<Long> regionIds,
-            @Param("classificationIds") List<Long> classificationIds,
-            @Param("statusIds") List<Long> statusIds,
-            Pageable pageable);
-
-    // Stream all instructors for export (with filters, no pagination)
-    // Uses JOIN FETCH to eagerly load relationships needed for name display
-    @Query("""
-        SELECT DISTINCT i FROM Instructor i
-        JOIN i.user u
-        LEFT JOIN FETCH i.region
-        LEFT JOIN FETCH i.city
-        LEFT JOIN FETCH i.status
-        LEFT JOIN FETCH i.classification
-        WHERE (:q IS NULL OR :q = '' OR 
-               LOWER(i.name) LIKE LOWER(CONCAT('%', :q, '%')) OR
-               LOWER(COALESCE(i.email, '')) LIKE LOWER(CONCAT('%', :q, '%')) OR
-               LOWER(COALESCE(i.phone, '')) LIKE LOWER(CONCAT('%', :q, '%')) OR
-               LOWER(u.username) LIKE LOWER(CONCAT('%', :q, '%')))
-          AND (:regionIds IS NULL OR i.regionId IN :regionIds)
-          AND (:classificationIds IS NULL OR i.classificationId IN :classificationIds)
-          AND (:statusIds IS NULL OR i.statusId IN :statusIds)
-        ORDER BY i.userId
-        """)
-    Stream<Instructor> streamForExport(
-            @Param("q") String q,
-            @Param("regionIds") List<Long> regionIds,
-            @Param("classificationIds") List<Long> classificationIds,
-            @Param("statusIds") List<Long> statusIds);
+    // IDs of instructors whose home coordinates are set (travel allowance batch rebuild)
+    @Query("SELECT i.userId FROM Instructor i " +
+           "WHERE i.homeLat IS NOT NULL AND i.homeLng IS NOT NULL " +
+           "ORDER BY i.userId")
+    List<Long> findUserIdsWithHomeCoordinates();
+
+    // Same as above, narrowed by the instructor list filters (travel allowance bulk rebuild)
+    default List<Long> findUserIdsWithHomeCoordinates(
+            List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds) {
+        return findBy(InstructorSpecifications.withHomeCoordinates(regionIds, classificationIds, statusIds),
+                query -> query.as(InstructorIdRow.class).sortBy(Sort.by("userId")).all())
+                .stream()
+                .map(InstructorIdRow::getUserId)
+                .toList();
+    }
+
+    // Which of the given IDs exist (travel allowance bulk rebuild)
+    @Query("SELECT i.userId FROM Instructor i WHERE i.userId IN :userIds ORDER BY i.userId")
+    List<Long> findExistingUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // Home coordinates of enabled instructors (nearest-instructor index)
+    @Query("SELECT i.userId AS userId, i.name AS name, i.homeLat AS homeLat, i.homeLng AS homeLng, " +
+           "i.regionId AS regionId, i.classificationId AS classificationId, i.statusId AS statusId " +
+           "FROM Instructor i JOIN i.user u " +
+           "WHERE u.enabled = true AND i.homeLat IS NOT NULL AND i.homeLng IS NOT NULL")
+    List<InstructorLocationRow> findActiveLocations();
+
+    // Same as above for one instructor (empty when disabled, deleted or without coordinates)
+    @Query("SELECT i.userId AS userId, i.name AS name, i.homeLat AS homeLat, i.homeLng AS homeLng, " +
+           "i.regionId AS regionId, i.classificationId AS classificationId, i.statusId AS statusId " +
+           "FROM Instructor i JOIN i.user u " +
+           "WHERE i.userId = :userId " +
+           "AND u.enabled = true AND i.homeLat IS NOT NULL AND i.homeLng IS NOT NULL")
+    Optional<InstructorLocationRow> findActiveLocation(@Param("userId") Long userId);
 }
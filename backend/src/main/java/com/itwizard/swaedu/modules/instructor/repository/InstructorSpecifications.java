@@ -0,0 +1,44 @@
+package com.itwizard.swaedu.modules.instructor.repository;
+
+import com.itwizard.swaedu.modules.instructor.entity.Instructor;
+import com.itwizard.swaedu.util.SearchSpecification;
+
+import java.util.List;
+
+/**
+ * Instructor list filters, shared by the list, its export and the travel allowance bulk rebuild
+ */
+public final class InstructorSpecifications {
+
+    // Relationships the list shows
+    public static final String[] LIST_RELATIONS = {"user"};
+
+    // Relationships the export writes
+    public static final String[] EXPORT_RELATIONS = {"user", "region", "city", "status", "classification"};
+
+    private InstructorSpecifications() {
+    }
+
+    /**
+     * Null or empty arguments are left out
+     *
+     * @param pattern Lower-cased '%q%' for Instructor.searchText (served by idx_instructors_search_text_trgm), or null
+     */
+    public static SearchSpecification<Instructor> filter(
+            String pattern, List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds) {
+        return SearchSpecification.<Instructor>where()
+                .like("searchText", pattern)
+                .in("regionId", regionIds)
+                .in("classificationId", classificationIds)
+                .in("statusId", statusIds);
+    }
+
+    /**
+     * Instructors with home coordinates matching the filters
+     */
+    public static SearchSpecification<Instructor> withHomeCoordinates(
+            List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds) {
+        return filter(null, regionIds, classificationIds, statusIds)
+                .isNotNull("homeLat", "homeLng");
+    }
+}
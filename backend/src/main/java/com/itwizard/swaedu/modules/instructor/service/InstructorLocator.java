@@ -0,0 +1,34 @@
+package com.itwizard.swaedu.modules.instructor.service;
+
+import com.itwizard.swaedu.modules.instructor.dto.response.NearestInstructorDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Instructor Locator Interface
+ * Finds the instructors living closest to a point from an in-memory spatial index
+ */
+public interface InstructorLocator {
+
+    /**
+     * The k enabled instructors whose home is closest to a coordinate, nearest first
+     *
+     * @param regionIds Allowed regions (null or empty for any)
+     * @param classificationIds Allowed classifications (null or empty for any)
+     * @param statusIds Allowed statuses (null or empty for any)
+     */
+    List<NearestInstructorDto> findNearest(BigDecimal lat, BigDecimal lng, int k,
+                                           List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds);
+
+    /**
+     * Same as {@link #findNearest} from the coordinates of an institution
+     */
+    List<NearestInstructorDto> findNearestToInstitution(Long institutionId, int k,
+                                                        List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds);
+
+    /**
+     * Reload all instructor homes from the database and swap the index atomically
+     */
+    void refresh();
+}
@@ -0,0 +1,145 @@
+package com.itwizard.swaedu.modules.instructor.service;
+
+import com.itwizard.swaedu.exception.ResourceNotFoundException;
+import com.itwizard.swaedu.exception.ValidationException;
+import com.itwizard.swaedu.modules.institutions.entity.InstitutionEntity;
+import com.itwizard.swaedu.modules.institutions.repository.InstitutionRepository;
+import com.itwizard.swaedu.modules.instructor.dto.response.InstructorLocationRow;
+import com.itwizard.swaedu.modules.instructor.dto.response.NearestInstructorDto;
+import com.itwizard.swaedu.modules.instructor.entity.InstructorChangedEvent;
+import com.itwizard.swaedu.modules.instructor.repository.InstructorRepository;
+import com.itwizard.swaedu.modules.travelallowance.service.DistanceCalculationServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Instructor Locator Implementation
+ *
+ * Holds an immutable InstructorSpatialIndex in a volatile field. The index is loaded at
+ * startup (or on first use) and, after a transaction that writes an instructor commits,
+ * that instructor's entry is re-read and swapped in, so lookups never query the database
+ * for instructors. Reads and swaps happen under one lock, so a slower reader can never
+ * install an older row over a newer one.
+ *
+ * Every swap rebuilds the whole tree (O(n log n)), which is fine for edits one instructor
+ * at a time; bulk imports should call refresh() once afterwards instead of relying on the
+ * per-instructor events.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InstructorLocatorImpl implements InstructorLocator {
+
+    private static final int MAX_RESULTS = 100;
+
+    private final InstructorRepository instructorRepository;
+    private final InstitutionRepository institutionRepository;
+
+    private volatile InstructorSpatialIndex index;
+
+    @Override
+    public List<NearestInstructorDto> findNearest(BigDecimal lat, BigDecimal lng, int k,
+                                                  List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds) {
+        if (lat == null || lng == null) {
+            throw new ValidationException("lat and lng are required");
+        }
+        if (lat.abs().compareTo(BigDecimal.valueOf(90)) > 0 || lng.abs().compareTo(BigDecimal.valueOf(180)) > 0) {
+            throw new ValidationException("lat must be within ±90 and lng within ±180");
+        }
+        if (k < 1 || k > MAX_RESULTS) {
+            throw new ValidationException("k must be between 1 and " + MAX_RESULTS);
+        }
+
+        InstructorSpatialIndex current = index;
+        if (current == null) {
+            current = loadIndex();
+        }
+
+        double fromLat = lat.doubleValue();
+        double fromLng = lng.doubleValue();
+        List<InstructorSpatialIndex.Entry> nearest = current.nearest(fromLat, fromLng, k,
+                InstructorSpatialIndex.Filter.of(regionIds, classificationIds, statusIds));
+
+        List<NearestInstructorDto> result = new ArrayList<>(nearest.size());
+        for (InstructorSpatialIndex.Entry entry : nearest) {
+            double km = DistanceCalculationServiceImpl.haversineKm(fromLat, fromLng, entry.lat(), entry.lng());
+            result.add(NearestInstructorDto.builder()
+                    .userId(entry.userId())
+                    .name(entry.name())
+                    .regionId(entry.regionId())
+                    .classificationId(entry.classificationId())
+                    .statusId(entry.statusId())
+                    .homeLat(BigDecimal.valueOf(entry.lat()))
+                    .homeLng(BigDecimal.valueOf(entry.lng()))
+                    .distanceKm(BigDecimal.valueOf(km).setScale(2, RoundingMode.HALF_UP))
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    public List<NearestInstructorDto> findNearestToInstitution(Long institutionId, int k,
+                                                               List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds) {
+        InstitutionEntity institution = institutionRepository.findByIdAndIsDeleteFalse(institutionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Institution not found with id: " + institutionId));
+        if (institution.getInstitutionLat() == null || institution.getInstitutionLng() == null) {
+            throw new ValidationException("Institution has no coordinates: " + institutionId);
+        }
+        return findNearest(institution.getInstitutionLat(), institution.getInstitutionLng(), k,
+                regionIds, classificationIds, statusIds);
+    }
+
+    @Override
+    public synchronized void refresh() {
+        // Synchronized as a whole, so a slower earlier reload cannot overwrite a newer index
+        long started = System.currentTimeMillis();
+        List<InstructorSpatialIndex.Entry> entries = new ArrayList<>();
+        for (InstructorLocationRow row : instructorRepository.findActiveLocations()) {
+            entries.add(toEntry(row));
+        }
+        index = InstructorSpatialIndex.build(entries);
+        log.info("Indexed {} instructor homes in {} ms", entries.size(), System.currentTimeMillis() - started);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onInstructorChanged(InstructorChangedEvent event) {
+        if (index == null) {
+            return;  // Not loaded yet; the first load reads the committed row
+        }
+        // Read under the lock: a row read before a concurrent swap could be older than the one it installed
+        Optional<InstructorLocationRow> row = instructorRepository.findActiveLocation(event.userId());
+        index = row.isPresent()
+                ? index.with(toEntry(row.get()))
+                : index.without(event.userId());
+        log.debug("Instructor {} changed, {} homes indexed", event.userId(), index.size());
+    }
+
+    private synchronized InstructorSpatialIndex loadIndex() {
+        if (index == null) {
+            refresh();
+        }
+        return index;
+    }
+
+    private static InstructorSpatialIndex.Entry toEntry(InstructorLocationRow row) {
+        return new InstructorSpatialIndex.Entry(row.getUserId(), row.getName(),
+                row.getHomeLat().doubleValue(), row.getHomeLng().doubleValue(),
+                row.getRegionId(), row.getClassificationId(), row.getStatusId());
+    }
+}
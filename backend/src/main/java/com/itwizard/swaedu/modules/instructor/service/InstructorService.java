@@ -17,6 +17,11 @@ public interface InstructorService {
             String q, Integer page, Integer size, String sort,
             List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds, List<Long> zoneIds);
 
+    // Cursor (keyset) paging: sort by userId or name; total is only counted when withTotal is set
+    PageResponse<InstructorResponseDto> listInstructorsByCursor(
+            String q, String cursor, Integer size, String sort, boolean withTotal,
+            List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds, List<Long> zoneIds);
+
     InstructorResponseDto getInstructorById(Long userId);
 
     InstructorResponseDto updateInstructor(Long userId, InstructorUpdateDto request);
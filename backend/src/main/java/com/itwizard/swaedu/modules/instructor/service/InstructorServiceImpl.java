@@ -8,13 +8,16 @@ import com.itwizard.swaedu.modules.instructor.dto.request.RegisterInstructorRequ
 import com.itwizard.swaedu.modules.instructor.dto.response.InstructorResponseDto;
 import com.itwizard.swaedu.modules.instructor.mapper.InstructorMapper;
 import com.itwizard.swaedu.modules.instructor.repository.InstructorRepository;
+import com.itwizard.swaedu.modules.instructor.repository.InstructorSpecifications;
 import com.itwizard.swaedu.modules.instructor.entity.Instructor;
 import com.itwizard.swaedu.modules.auth.entity.Role;
 import com.itwizard.swaedu.modules.auth.entity.User;
 import com.itwizard.swaedu.modules.auth.repository.RoleRepository;
 import com.itwizard.swaedu.modules.auth.repository.UserRepository;
-import com.itwizard.swaedu.modules.mastercode.entity.MasterCodeEntity;
 import com.itwizard.swaedu.modules.mastercode.repository.MasterCodeRepository;
+import com.itwizard.swaedu.modules.mastercode.service.MasterCodeIndex;
+import com.itwizard.swaedu.modules.mastercode.service.MasterCodeRegistry;
+import com.itwizard.swaedu.util.KeysetPaging;
 import com.itwizard.swaedu.util.PageResponse;
 import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.usermodel.Row;
@@ -24,6 +27,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +36,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
@@ -39,10 +44,15 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class InstructorServiceImpl implements InstructorService {
 
+    private static final KeysetPaging<Instructor> CURSOR_PAGING =
+            KeysetPaging.<Instructor>by("userId", "userId", Sort.Direction.ASC)
+                    .key("name", String.class);
+
     private final InstructorRepository instructorRepository;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final MasterCodeRepository masterCodeRepository;
+    private final MasterCodeRegistry masterCodeRegistry;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -89,38 +99,36 @@ public class InstructorServiceImpl implements InstructorService {
         instructor.setClassificationId(request.getClassificationId());
         instructor.setAffiliation(request.getAffiliation());
 
+        // Master codes are checked against the registry snapshot; getReferenceById sets the
+        // foreign key without loading the row
         // Set region if provided
         if (request.getRegionId() != null) {
-            MasterCodeEntity region = masterCodeRepository.findByIdAndIsDeleteFalse(request.getRegionId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Region master code not found with id: " + request.getRegionId()));
-            instructor.setRegion(region);
+            masterCodeRegistry.require(request.getRegionId(), "Region master code");
+            instructor.setRegion(masterCodeRepository.getReferenceById(request.getRegionId()));
         }
 
         // Set city if provided
         if (request.getCityId() != null) {
-            MasterCodeEntity city = masterCodeRepository.findByIdAndIsDeleteFalse(request.getCityId())
-                    .orElseThrow(() -> new ResourceNotFoundException("City master code not found with id: " + request.getCityId()));
-            instructor.setCity(city);
+            masterCodeRegistry.require(request.getCityId(), "City master code");
+            instructor.setCity(masterCodeRepository.getReferenceById(request.getCityId()));
         }
 
         // Set status if provided
-        MasterCodeEntity status = null;
+        MasterCodeIndex.Entry status = null;
         if (request.getStatusId() != null) {
-            status = masterCodeRepository.findByIdAndIsDeleteFalse(request.getStatusId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Status master code not found with id: " + request.getStatusId()));
-            instructor.setStatus(status);
+            status = masterCodeRegistry.require(request.getStatusId(), "Status master code");
+            instructor.setStatus(masterCodeRepository.getReferenceById(status.id()));
         }
 
         // Set classification if provided
         if (request.getClassificationId() != null) {
-            MasterCodeEntity classification = masterCodeRepository.findByIdAndIsDeleteFalse(request.getClassificationId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Classification master code not found with id: " + request.getClassificationId()));
-            instructor.setClassification(classification);
+            masterCodeRegistry.require(request.getClassificationId(), "Classification master code");
+            instructor.setClassification(masterCodeRepository.getReferenceById(request.getClassificationId()));
         }
 
         // Update user enabled based on status
         if (status != null) {
-            boolean isActive = "Active".equals(status.getCodeName());
+            boolean isActive = "Active".equals(status.codeName());
             savedUser.setEnabled(isActive);
             userRepository.save(savedUser);
         } else {
@@ -138,45 +146,26 @@ public class InstructorServiceImpl implements InstructorService {
             String q, Integer page, Integer size, String sort,
             List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds, List<Long> zoneIds) {
         Pageable pageable = buildPageable(page, size, sort);
-        
-        // Normalize empty lists to null for JPQL query (empty lists cause issues with IN clause)
-        List<Long> normalizedRegionIds = (regionIds != null && regionIds.isEmpty()) ? null : regionIds;
-        List<Long> normalizedClassificationIds = (classificationIds != null && classificationIds.isEmpty()) ? null : classificationIds;
-        List<Long> normalizedStatusIds = (statusIds != null && statusIds.isEmpty()) ? null : statusIds;
-        List<Long> normalizedZoneIds = (zoneIds != null && zoneIds.isEmpty()) ? null : zoneIds;
-        
-        // If zoneIds are provided, find all regions that belong to those zones
-        List<Long> finalRegionIds = normalizedRegionIds;
-        if (normalizedZoneIds != null && !normalizedZoneIds.isEmpty()) {
-            // Find all regions where parentId is in the zoneIds list
-            // For multiple zones, we need to find regions for each zone
-            List<Long> regionIdsFromZones = normalizedZoneIds.stream()
-                    .flatMap(zoneId -> masterCodeRepository.findByParentIdAndIsDeleteFalse(zoneId).stream())
-                    .map(MasterCodeEntity::getId)
-                    .distinct()
-                    .toList();
-            
-            // Combine with explicitly provided regionIds
-            if (normalizedRegionIds != null && !normalizedRegionIds.isEmpty()) {
-                // Intersection: only regions that are in both lists
-                finalRegionIds = normalizedRegionIds.stream()
-                        .filter(regionIdsFromZones::contains)
-                        .toList();
-                // If intersection is empty, set to null to return no results
-                if (finalRegionIds.isEmpty()) {
-                    finalRegionIds = null;
-                }
-            } else {
-                // Use regions from zones
-                finalRegionIds = regionIdsFromZones.isEmpty() ? null : regionIdsFromZones;
-            }
-        }
-        
-        Page<Instructor> pageResult = instructorRepository.search(
-                q, finalRegionIds, normalizedClassificationIds, normalizedStatusIds, pageable);
+
+        // Only the filters supplied become predicates
+        Specification<Instructor> filter = InstructorSpecifications.filter(
+                        searchPattern(q), resolveRegionIds(regionIds, zoneIds), classificationIds, statusIds)
+                .fetch(InstructorSpecifications.LIST_RELATIONS);
+        Page<Instructor> pageResult = instructorRepository.findAll(filter, pageable);
         return buildPageResponse(pageResult);
     }
 
+    @Override
+    public PageResponse<InstructorResponseDto> listInstructorsByCursor(
+            String q, String cursor, Integer size, String sort, boolean withTotal,
+            List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds, List<Long> zoneIds) {
+        Specification<Instructor> filter = InstructorSpecifications.filter(
+                        searchPattern(q), resolveRegionIds(regionIds, zoneIds), classificationIds, statusIds)
+                .fetch(InstructorSpecifications.LIST_RELATIONS);
+        return CURSOR_PAGING.page(instructorRepository, filter, sort, cursor, size, withTotal,
+                InstructorMapper::toResponseDtoList);
+    }
+
     @Override
     public InstructorResponseDto getInstructorById(Long userId) {
         Instructor instructor = instructorRepository.findByUserId(userId)
@@ -202,37 +191,33 @@ public class InstructorServiceImpl implements InstructorService {
 
         // Update region if provided
         if (request.getRegionId() != null) {
-            MasterCodeEntity region = masterCodeRepository.findByIdAndIsDeleteFalse(request.getRegionId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Region master code not found with id: " + request.getRegionId()));
-            instructor.setRegion(region);
+            masterCodeRegistry.require(request.getRegionId(), "Region master code");
+            instructor.setRegion(masterCodeRepository.getReferenceById(request.getRegionId()));
         } else {
             instructor.setRegion(null);
         }
 
         // Update city if provided
         if (request.getCityId() != null) {
-            MasterCodeEntity city = masterCodeRepository.findByIdAndIsDeleteFalse(request.getCityId())
-                    .orElseThrow(() -> new ResourceNotFoundException("City master code not found with id: " + request.getCityId()));
-            instructor.setCity(city);
+            masterCodeRegistry.require(request.getCityId(), "City master code");
+            instructor.setCity(masterCodeRepository.getReferenceById(request.getCityId()));
         } else {
             instructor.setCity(null);
         }
 
         // Update status if provided
-        MasterCodeEntity status = null;
+        MasterCodeIndex.Entry status = null;
         if (request.getStatusId() != null) {
-            status = masterCodeRepository.findByIdAndIsDeleteFalse(request.getStatusId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Status master code not found with id: " + request.getStatusId()));
-            instructor.setStatus(status);
+            status = masterCodeRegistry.require(request.getStatusId(), "Status master code");
+            instructor.setStatus(masterCodeRepository.getReferenceById(status.id()));
         } else {
             instructor.setStatus(null);
         }
 
         // Update classification if provided
         if (request.getClassificationId() != null) {
-            MasterCodeEntity classification = masterCodeRepository.findByIdAndIsDeleteFalse(request.getClassificationId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Classification master code not found with id: " + request.getClassificationId()));
-            instructor.setClassification(classification);
+            masterCodeRegistry.require(request.getClassificationId(), "Classification master code");
+            instructor.setClassification(masterCodeRepository.getReferenceById(request.getClassificationId()));
         } else {
             instructor.setClassification(null);
         }
@@ -241,7 +226,7 @@ public class InstructorServiceImpl implements InstructorService {
         User user = instructor.getUser();
         if (status != null) {
             // Status was updated, use the new status
-            boolean isActive = "Active".equals(status.getCodeName());
+            boolean isActive = "Active".equals(status.codeName());
             user.setEnabled(isActive);
             userRepository.save(user);
         } else {
@@ -287,16 +272,14 @@ public class InstructorServiceImpl implements InstructorService {
 
         // Update region if provided
         if (request.getRegionId() != null) {
-            MasterCodeEntity region = masterCodeRepository.findByIdAndIsDeleteFalse(request.getRegionId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Region master code not found with id: " + request.getRegionId()));
-            instructor.setRegion(region);
+            masterCodeRegistry.require(request.getRegionId(), "Region master code");
+            instructor.setRegion(masterCodeRepository.getReferenceById(request.getRegionId()));
         }
 
         // Update city if provided
         if (request.getCityId() != null) {
-            MasterCodeEntity city = masterCodeRepository.findByIdAndIsDeleteFalse(request.getCityId())
-                    .orElseThrow(() -> new ResourceNotFoundException("City master code not found with id: " + request.getCityId()));
-            instructor.setCity(city);
+            masterCodeRegistry.require(request.getCityId(), "City master code");
+            instructor.setCity(masterCodeRepository.getReferenceById(request.getCityId()));
         }
 
         // Note: Instructors should not be able to update their own status via /me endpoint
@@ -304,9 +287,8 @@ public class InstructorServiceImpl implements InstructorService {
 
         // Update classification if provided
         if (request.getClassificationId() != null) {
-            MasterCodeEntity classification = masterCodeRepository.findByIdAndIsDeleteFalse(request.getClassificationId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Classification master code not found with id: " + request.getClassificationId()));
-            instructor.setClassification(classification);
+            masterCodeRegistry.require(request.getClassificationId(), "Classification master code");
+            instructor.setClassification(masterCodeRepository.getReferenceById(request.getClassificationId()));
         }
 
         // Note: We don't update user enabled status here since instructors cannot change their own status
@@ -355,37 +337,33 @@ public class InstructorServiceImpl implements InstructorService {
 
         // Update region if provided
         if (request.getRegionId() != null) {
-            MasterCodeEntity region = masterCodeRepository.findByIdAndIsDeleteFalse(request.getRegionId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Region master code not found with id: " + request.getRegionId()));
-            instructor.setRegion(region);
+            masterCodeRegistry.require(request.getRegionId(), "Region master code");
+            instructor.setRegion(masterCodeRepository.getReferenceById(request.getRegionId()));
         }
 
         // Update city if provided
         if (request.getCityId() != null) {
-            MasterCodeEntity city = masterCodeRepository.findByIdAndIsDeleteFalse(request.getCityId())
-                    .orElseThrow(() -> new ResourceNotFoundException("City master code not found with id: " + request.getCityId()));
-            instructor.setCity(city);
+            masterCodeRegistry.require(request.getCityId(), "City master code");
+            instructor.setCity(masterCodeRepository.getReferenceById(request.getCityId()));
         }
 
         // Update status if provided
-        MasterCodeEntity status = null;
+        MasterCodeIndex.Entry status = null;
         if (request.getStatusId() != null) {
-            status = masterCodeRepository.findByIdAndIsDeleteFalse(request.getStatusId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Status master code not found with id: " + request.getStatusId()));
-            instructor.setStatus(status);
+            status = masterCodeRegistry.require(request.getStatusId(), "Status master code");
+            instructor.setStatus(masterCodeRepository.getReferenceById(status.id()));
         }
 
         // Update classification if provided
         if (request.getClassificationId() != null) {
-            MasterCodeEntity classification = masterCodeRepository.findByIdAndIsDeleteFalse(request.getClassificationId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Classification master code not found with id: " + request.getClassificationId()));
-            instructor.setClassification(classification);
+            masterCodeRegistry.require(request.getClassificationId(), "Classification master code");
+            instructor.setClassification(masterCodeRepository.getReferenceById(request.getClassificationId()));
         }
 
         // Update user enabled based on status if status was updated
         if (status != null) {
             User user = instructor.getUser();
-            boolean isActive = "Active".equals(status.getCodeName());
+            boolean isActive = "Active".equals(status.codeName());
             user.setEnabled(isActive);
             userRepository.save(user);
         }
@@ -414,37 +392,10 @@ public class InstructorServiceImpl implements InstructorService {
             List<Long> statusIds,
             List<Long> zoneIds) throws IOException {
         
-        // Normalize empty lists to null for JPQL query (empty lists cause issues with IN clause)
-        List<Long> normalizedRegionIds = (regionIds != null && regionIds.isEmpty()) ? null : regionIds;
-        List<Long> normalizedClassificationIds = (classificationIds != null && classificationIds.isEmpty()) ? null : classificationIds;
-        List<Long> normalizedStatusIds = (statusIds != null && statusIds.isEmpty()) ? null : statusIds;
-        List<Long> normalizedZoneIds = (zoneIds != null && zoneIds.isEmpty()) ? null : zoneIds;
-        
-        // If zoneIds are provided, find all regions that belong to those zones
-        List<Long> finalRegionIds = normalizedRegionIds;
-        if (normalizedZoneIds != null && !normalizedZoneIds.isEmpty()) {
-            // Find all regions where parentId is in the zoneIds list
-            List<Long> regionIdsFromZones = normalizedZoneIds.stream()
-                    .flatMap(zoneId -> masterCodeRepository.findByParentIdAndIsDeleteFalse(zoneId).stream())
-                    .map(MasterCodeEntity::getId)
-                    .distinct()
-                    .toList();
-            
-            // Combine with explicitly provided regionIds
-            if (normalizedRegionIds != null && !normalizedRegionIds.isEmpty()) {
-                // Intersection: only regions that are in both lists
-                finalRegionIds = normalizedRegionIds.stream()
-                        .filter(regionIdsFromZones::contains)
-                        .toList();
-                // If intersection is empty, set to null to return no results
-                if (finalRegionIds.isEmpty()) {
-                    finalRegionIds = null;
-                }
-            } else {
-                // Use regions from zones
-                finalRegionIds = regionIdsFromZones.isEmpty() ? null : regionIdsFromZones;
-            }
-        }
+        // Same filters as the list
+        Specification<Instructor> filter = InstructorSpecifications.filter(
+                        searchPattern(q), resolveRegionIds(regionIds, zoneIds), classificationIds, statusIds)
+                .fetch(InstructorSpecifications.EXPORT_RELATIONS);
 
         // Use SXSSFWorkbook for streaming Excel export (memory-efficient)
         // Window size of 100: keeps only last 100 rows in memory, flushes older rows to temp files
@@ -477,8 +428,8 @@ public class InstructorServiceImpl implements InstructorService {
 
             // Stream data from database and write rows
             AtomicInteger rowNum = new AtomicInteger(1);
-            try (Stream<Instructor> instructorStream = instructorRepository.streamForExport(
-                    q, finalRegionIds, normalizedClassificationIds, normalizedStatusIds)) {
+            try (Stream<Instructor> instructorStream = instructorRepository.findBy(
+                    filter, query -> query.sortBy(Sort.by("userId")).stream())) {
                 
                 instructorStream.forEach(instructor -> {
                     Row row = sheet.createRow(rowNum.getAndIncrement());
@@ -526,6 +477,51 @@ public class InstructorServiceImpl implements InstructorService {
 
     // Private helper methods
 
+    /**
+     * Region filter: the given regions, narrowed to (or, without regions, replaced by) the regions of the given zones
+     */
+    private List<Long> resolveRegionIds(List<Long> regionIds, List<Long> zoneIds) {
+        List<Long> normalizedRegionIds = (regionIds != null && regionIds.isEmpty()) ? null : regionIds;
+        List<Long> normalizedZoneIds = (zoneIds != null && zoneIds.isEmpty()) ? null : zoneIds;
+
+        // If zoneIds are provided, find all regions that belong to those zones
+        List<Long> finalRegionIds = normalizedRegionIds;
+        if (normalizedZoneIds != null && !normalizedZoneIds.isEmpty()) {
+            // Find all regions where parentId is in the zoneIds list
+            // For multiple zones, we need to find regions for each zone
+            List<Long> regionIdsFromZones = normalizedZoneIds.stream()
+                    .flatMap(zoneId -> masterCodeRegistry.childIds(zoneId).stream())
+                    .distinct()
+                    .toList();
+            
+            // Combine with explicitly provided regionIds
+            if (normalizedRegionIds != null && !normalizedRegionIds.isEmpty()) {
+                // Intersection: only regions that are in both lists
+                finalRegionIds = normalizedRegionIds.stream()
+                        .filter(regionIdsFromZones::contains)
+                        .toList();
+                // If intersection is empty, set to null to return no results
+                if (finalRegionIds.isEmpty()) {
+                    finalRegionIds = null;
+                }
+            } else {
+                // Use regions from zones
+                finalRegionIds = regionIdsFromZones.isEmpty() ? null : regionIdsFromZones;
+            }
+        }
+        return finalRegionIds;
+    }
+
+    /**
+     * LIKE pattern for Instructor.searchText (lower-cased, trigram-indexed), or null when there is no search term
+     */
+    private String searchPattern(String q) {
+        if (q == null || q.isEmpty()) {
+            return null;
+        }
+        return "%" + q.toLowerCase(Locale.ROOT) + "%";
+    }
+
     private Pageable buildPageable(Integer page, Integer size, String sort) {
         int pageNumber = page != null && page >= 0 ? page : 0;
         int pageSize = size != null && size > 0 ? size : 20;
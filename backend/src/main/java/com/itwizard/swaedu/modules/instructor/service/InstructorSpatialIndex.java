@@ -0,0 +1,296 @@
+package com.itwizard.swaedu.modules.instructor.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable KD-tree over instructor home coordinates.
+ *
+ * Homes are stored as unit vectors on the sphere, so the straight-line (chord) distance
+ * between two vectors grows with the great-circle distance and a plain 3-d KD-tree
+ * gives exact nearest neighbours without any projection error. The tree is laid out
+ * implicitly in primitive arrays (the median of each range is its node).
+ *
+ * Changes produce a new index (copy-on-write), so readers never lock.
+ */
+public final class InstructorSpatialIndex {
+
+    private static final InstructorSpatialIndex EMPTY = new InstructorSpatialIndex(new Entry[0], new double[0]);
+
+    private final Entry[] entries;   // in tree order
+    private final double[] xyz;      // unit vectors, 3 per entry
+
+    private InstructorSpatialIndex(Entry[] entries, double[] xyz) {
+        this.entries = entries;
+        this.xyz = xyz;
+    }
+
+    public static InstructorSpatialIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build an index; entries with the same userId must not repeat
+     */
+    public static InstructorSpatialIndex build(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+        Entry[] ordered = entries.toArray(new Entry[0]);
+        double[] points = new double[ordered.length * 3];
+        for (int i = 0; i < ordered.length; i++) {
+            toUnitVector(ordered[i].lat(), ordered[i].lng(), points, i * 3);
+        }
+        arrange(ordered, points, 0, ordered.length, 0);
+        return new InstructorSpatialIndex(ordered, points);
+    }
+
+    /**
+     * Index with the entry added or replacing the one with the same userId
+     * (rebuilds the whole tree: O(n log n))
+     */
+    public InstructorSpatialIndex with(Entry entry) {
+        List<Entry> next = new ArrayList<>(entries.length + 1);
+        for (Entry existing : entries) {
+            if (!existing.userId().equals(entry.userId())) {
+                next.add(existing);
+            }
+        }
+        next.add(entry);
+        return build(next);
+    }
+
+    /**
+     * Index without the entry of an instructor (the same index if it is not there;
+     * otherwise rebuilds the whole tree: O(n log n))
+     */
+    public InstructorSpatialIndex without(Long userId) {
+        List<Entry> next = new ArrayList<>(entries.length);
+        for (Entry existing : entries) {
+            if (!existing.userId().equals(userId)) {
+                next.add(existing);
+            }
+        }
+        return next.size() == entries.length ? this : build(next);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * The k instructors closest to a point that pass the filter, nearest first
+     *
+     * @param lat Latitude in degrees
+     * @param lng Longitude in degrees
+     * @param k Maximum number of results
+     * @param filter Region / classification / status restriction ({@link Filter#NONE} for all)
+     */
+    public List<Entry> nearest(double lat, double lng, int k, Filter filter) {
+        if (k <= 0 || entries.length == 0) {
+            return List.of();
+        }
+        double[] query = new double[3];
+        toUnitVector(lat, lng, query, 0);
+
+        Candidates candidates = new Candidates(Math.min(k, entries.length));
+        search(query, filter, 0, entries.length, 0, candidates);
+        return candidates.sorted(entries);
+    }
+
+    // ========== Build ==========
+
+    /**
+     * Put the median of [from, to) on the given axis in the middle, recursively
+     */
+    private static void arrange(Entry[] entries, double[] points, int from, int to, int axis) {
+        if (to - from <= 1) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        select(entries, points, from, to - 1, mid, axis);
+        int nextAxis = (axis + 1) % 3;
+        arrange(entries, points, from, mid, nextAxis);
+        arrange(entries, points, mid + 1, to, nextAxis);
+    }
+
+    /**
+     * Quickselect: partially order [left, right] so position k holds its axis median
+     */
+    private static void select(Entry[] entries, double[] points, int left, int right, int k, int axis) {
+        while (left < right) {
+            int pivotIndex = (left + right) >>> 1;
+            double pivot = points[pivotIndex * 3 + axis];
+            swap(entries, points, pivotIndex, right);
+            int store = left;
+            for (int i = left; i < right; i++) {
+                if (points[i * 3 + axis] < pivot) {
+                    swap(entries, points, i, store++);
+                }
+            }
+            swap(entries, points, store, right);
+            if (store == k) {
+                return;
+            } else if (store < k) {
+                left = store + 1;
+            } else {
+                right = store - 1;
+            }
+        }
+    }
+
+    private static void swap(Entry[] entries, double[] points, int a, int b) {
+        if (a == b) {
+            return;
+        }
+        Entry entry = entries[a];
+        entries[a] = entries[b];
+        entries[b] = entry;
+        for (int d = 0; d < 3; d++) {
+            double value = points[a * 3 + d];
+            points[a * 3 + d] = points[b * 3 + d];
+            points[b * 3 + d] = value;
+        }
+    }
+
+    // ========== Search ==========
+
+    private void search(double[] query, Filter filter, int from, int to, int axis, Candidates candidates) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        if (filter.matches(entries[mid])) {
+            double dx = xyz[mid * 3] - query[0];
+            double dy = xyz[mid * 3 + 1] - query[1];
+            double dz = xyz[mid * 3 + 2] - query[2];
+            candidates.offer(mid, dx * dx + dy * dy + dz * dz);
+        }
+
+        double delta = query[axis] - xyz[mid * 3 + axis];
+        int nextAxis = (axis + 1) % 3;
+        if (delta < 0) {
+            search(query, filter, from, mid, nextAxis, candidates);
+            if (delta * delta < candidates.worst()) {
+                search(query, filter, mid + 1, to, nextAxis, candidates);
+            }
+        } else {
+            search(query, filter, mid + 1, to, nextAxis, candidates);
+            if (delta * delta < candidates.worst()) {
+                search(query, filter, from, mid, nextAxis, candidates);
+            }
+        }
+    }
+
+    private static void toUnitVector(double lat, double lng, double[] out, int offset) {
+        double latRad = Math.toRadians(lat);
+        double lngRad = Math.toRadians(lng);
+        double cosLat = Math.cos(latRad);
+        out[offset] = cosLat * Math.cos(lngRad);
+        out[offset + 1] = cosLat * Math.sin(lngRad);
+        out[offset + 2] = Math.sin(latRad);
+    }
+
+    /**
+     * Bounded max-heap of the best candidates by squared chord distance
+     */
+    private static final class Candidates {
+        private final int[] positions;
+        private final double[] distances;
+        private int size;
+
+        Candidates(int capacity) {
+            positions = new int[capacity];
+            distances = new double[capacity];
+        }
+
+        double worst() {
+            return size < positions.length ? Double.POSITIVE_INFINITY : distances[0];
+        }
+
+        void offer(int position, double distance) {
+            if (size < positions.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) / 2;
+                    if (distances[parent] >= distance) {
+                        break;
+                    }
+                    positions[i] = positions[parent];
+                    distances[i] = distances[parent];
+                    i = parent;
+                }
+                positions[i] = position;
+                distances[i] = distance;
+            } else if (distance < distances[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && distances[child + 1] > distances[child]) {
+                        child++;
+                    }
+                    if (distances[child] <= distance) {
+                        break;
+                    }
+                    positions[i] = positions[child];
+                    distances[i] = distances[child];
+                    i = child;
+                }
+                positions[i] = position;
+                distances[i] = distance;
+            }
+        }
+
+        List<Entry> sorted(Entry[] entries) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(distances[a], distances[b]));
+            List<Entry> result = new ArrayList<>(size);
+            for (Integer i : order) {
+                result.add(entries[positions[i]]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * An active instructor with home coordinates; the ids may be null
+     */
+    public record Entry(Long userId, String name, double lat, double lng,
+                        Long regionId, Long classificationId, Long statusId) {}
+
+    /**
+     * Allowed region / classification / status ids; a null or empty list allows any value
+     */
+    public record Filter(long[] regionIds, long[] classificationIds, long[] statusIds) {
+
+        public static final Filter NONE = new Filter(null, null, null);
+
+        public static Filter of(List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds) {
+            return new Filter(sortedOrNull(regionIds), sortedOrNull(classificationIds), sortedOrNull(statusIds));
+        }
+
+        boolean matches(Entry entry) {
+            return allows(regionIds, entry.regionId())
+                    && allows(classificationIds, entry.classificationId())
+                    && allows(statusIds, entry.statusId());
+        }
+
+        private static boolean allows(long[] allowed, Long id) {
+            return allowed == null || (id != null && Arrays.binarySearch(allowed, id) >= 0);
+        }
+
+        private static long[] sortedOrNull(List<Long> ids) {
+            if (ids == null || ids.isEmpty()) {
+                return null;
+            }
+            return ids.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+    }
+}
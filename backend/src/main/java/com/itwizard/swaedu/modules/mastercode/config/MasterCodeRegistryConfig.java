@@ -0,0 +1,21 @@
+package com.itwizard.swaedu.modules.mastercode.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Master Code Registry Configuration
+ */
+@Configuration
+@ConfigurationProperties(prefix = "mastercode.registry")
+@Getter
+@Setter
+public class MasterCodeRegistryConfig {
+    /**
+     * How often the master code version counter is read; the snapshot is rebuilt when it moved
+     * (picks up codes added, changed or soft-deleted by SQL or on other nodes)
+     */
+    private long versionCheckIntervalMs = 30000;
+}
@@ -11,8 +11,11 @@ import com.itwizard.swaedu.util.PageResponse;
 import com.itwizard.swaedu.util.ResponseUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -118,12 +121,23 @@ public class MasterCodeController {
     }
 
     // 10. GET /api/v1/mastercode/tree — retrieve master code hierarchy
+    // Sent with an ETag; while no code changes, If-None-Match gets 304 without building the tree
     @GetMapping("/tree")
     public ResponseEntity<ApiResponse> getMasterCodeTree(
             @RequestParam(required = false) Long rootId,
-            @RequestParam(required = false) Integer depth) {
+            @RequestParam(required = false) Integer depth,
+            WebRequest webRequest) {
+        String eTag = masterCodeService.getMasterCodeTreeVersion();
+        // no-cache: clients keep the tree but revalidate it on every use
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        // Also sets the ETag header, on the 304 and on the full response
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
         List<MasterCodeTreeDto> response = masterCodeService.getMasterCodeTree(rootId, depth);
-        return ResponseUtil.success("Master code tree retrieved successfully", response);
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(new ApiResponse(true, "Master code tree retrieved successfully", response));
     }
 
     // 11. GET /api/v1/mastercode/check — check if master code exists
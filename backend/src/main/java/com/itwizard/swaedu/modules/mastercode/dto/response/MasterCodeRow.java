@@ -0,0 +1,21 @@
+package com.itwizard.swaedu.modules.mastercode.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read projection of an active master code (master code registry snapshot)
+ */
+public interface MasterCodeRow {
+
+    Long getId();
+
+    String getCode();
+
+    String getCodeName();
+
+    Long getParentId();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,26 @@
+package com.itwizard.swaedu.modules.mastercode.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that publishes MasterCodeChangedEvent for every master code write
+ * (instantiated through Spring, so the publisher is injected)
+ */
+@Component
+@RequiredArgsConstructor
+public class MasterCodeChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(MasterCodeEntity masterCode) {
+        eventPublisher.publishEvent(new MasterCodeChangedEvent(masterCode.getId()));
+    }
+}
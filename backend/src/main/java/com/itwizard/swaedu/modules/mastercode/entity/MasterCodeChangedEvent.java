@@ -0,0 +1,6 @@
+package com.itwizard.swaedu.modules.mastercode.entity;
+
+/**
+ * Published when a master code row is inserted, updated or deleted
+ */
+public record MasterCodeChangedEvent(Long masterCodeId) {}
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Table(name = "master_code")
+@EntityListeners(MasterCodeChangeListener.class)
 public class MasterCodeEntity {
 
     @Id
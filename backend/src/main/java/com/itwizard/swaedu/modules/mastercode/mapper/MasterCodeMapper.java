@@ -6,9 +6,13 @@ import com.itwizard.swaedu.modules.mastercode.dto.request.MasterCodeUpdateDto;
 import com.itwizard.swaedu.modules.mastercode.dto.response.MasterCodeResponseDto;
 import com.itwizard.swaedu.modules.mastercode.dto.response.MasterCodeTreeDto;
 import com.itwizard.swaedu.modules.mastercode.entity.MasterCodeEntity;
+import com.itwizard.swaedu.modules.mastercode.service.MasterCodeIndex;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -38,6 +42,23 @@ public class MasterCodeMapper {
                 .build();
     }
 
+    /**
+     * Convert a master code registry entry to MasterCodeResponseDto
+     */
+    public static MasterCodeResponseDto toResponseDto(MasterCodeIndex.Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        return MasterCodeResponseDto.builder()
+                .id(entry.id())
+                .code(entry.code())
+                .codeName(entry.codeName())
+                .parentId(entry.parentId())
+                .createdAt(entry.createdAt())
+                .updatedAt(entry.updatedAt())
+                .build();
+    }
+
     /**
      * Convert MasterCodeEntity to MasterCodeTreeDto
      */
@@ -57,6 +78,26 @@ public class MasterCodeMapper {
                 .build();
     }
 
+    /**
+     * Assemble trees in one pass from codes ordered so that every parent comes before its
+     * children (e.g. by depth); codes whose parent is not in the list become roots
+     */
+    public static List<MasterCodeTreeDto> toTreeDtoList(List<MasterCodeEntity> entities) {
+        Map<Long, MasterCodeTreeDto> nodesById = new HashMap<>();
+        List<MasterCodeTreeDto> roots = new ArrayList<>();
+        for (MasterCodeEntity entity : entities) {
+            MasterCodeTreeDto node = toTreeDto(entity, new ArrayList<>());
+            nodesById.put(entity.getId(), node);
+            MasterCodeTreeDto parent = entity.getParentId() != null ? nodesById.get(entity.getParentId()) : null;
+            if (parent != null) {
+                parent.getChildren().add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        return roots;
+    }
+
     /**
      * Convert MasterCodeCreateDto to MasterCodeEntity
      */
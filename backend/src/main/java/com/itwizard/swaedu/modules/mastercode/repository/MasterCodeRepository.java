@@ -1,5 +1,6 @@
 package com.itwizard.swaedu.modules.mastercode.repository;
 
+import com.itwizard.swaedu.modules.mastercode.dto.response.MasterCodeRow;
 import com.itwizard.swaedu.modules.mastercode.entity.MasterCodeEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +19,24 @@ public interface MasterCodeRepository extends JpaRepository<MasterCodeEntity, Lo
     @Query("SELECT mc FROM MasterCodeEntity mc WHERE mc.id = :id AND mc.isDelete = FALSE")
     Optional<MasterCodeEntity> findByIdAndIsDeleteFalse(@Param("id") Long id);
 
+    // All active codes (master code registry snapshot)
+    @Query("SELECT mc.id AS id, mc.code AS code, mc.codeName AS codeName, mc.parentId AS parentId, " +
+           "mc.createdAt AS createdAt, mc.updatedAt AS updatedAt " +
+           "FROM MasterCodeEntity mc WHERE mc.isDelete = FALSE")
+    List<MasterCodeRow> findActiveRows();
+
+    // One active code by id (master code registry miss)
+    @Query("SELECT mc.id AS id, mc.code AS code, mc.codeName AS codeName, mc.parentId AS parentId, " +
+           "mc.createdAt AS createdAt, mc.updatedAt AS updatedAt " +
+           "FROM MasterCodeEntity mc WHERE mc.id = :id AND mc.isDelete = FALSE")
+    Optional<MasterCodeRow> findActiveRowById(@Param("id") Long id);
+
+    // One active code by code (master code registry miss)
+    @Query("SELECT mc.id AS id, mc.code AS code, mc.codeName AS codeName, mc.parentId AS parentId, " +
+           "mc.createdAt AS createdAt, mc.updatedAt AS updatedAt " +
+           "FROM MasterCodeEntity mc WHERE mc.code = :code AND mc.isDelete = FALSE")
+    Optional<MasterCodeRow> findActiveRowByCode(@Param("code") String code);
+
     // Find by code excluding soft-deleted - code is globally unique
     @Query("SELECT mc FROM MasterCodeEntity mc WHERE mc.code = :code AND mc.isDelete = FALSE")
     Optional<MasterCodeEntity> findByCodeAndIsDeleteFalse(@Param("code") String code);
@@ -85,13 +104,52 @@ public interface MasterCodeRepository extends JpaRepository<MasterCodeEntity, Lo
     @Query("SELECT COUNT(mc) FROM MasterCodeEntity mc WHERE mc.parentId = :parentId AND mc.isDelete = FALSE")
     long countByParentIdAndIsDeleteFalse(@Param("parentId") Long parentId);
 
-    // Find all children recursively (for tree building)
+    // Find direct children of a parent (for grandchildren listing)
     @Query("SELECT mc FROM MasterCodeEntity mc WHERE mc.parentId = :parentId AND mc.isDelete = FALSE")
     List<MasterCodeEntity> findByParentIdAndIsDeleteFalse(@Param("parentId") Long parentId);
 
-    // Find root by ID (for tree building)
-    @Query("SELECT mc FROM MasterCodeEntity mc WHERE mc.id = :rootId AND mc.parentId IS NULL AND mc.isDelete = FALSE")
-    Optional<MasterCodeEntity> findRootById(@Param("rootId") Long rootId);
+    // All trees in one query: active roots and their active descendants down to maxDepth levels
+    // below the root, parents before children (for tree building)
+    @Query(value = """
+        WITH RECURSIVE tree (id, depth) AS (
+            SELECT mc.id, 0 FROM master_code mc
+            WHERE mc.is_delete = FALSE
+              AND mc.parent_id IS NULL
+            UNION ALL
+            SELECT child.id, tree.depth + 1 FROM master_code child
+            JOIN tree ON child.parent_id = tree.id
+            WHERE child.is_delete = FALSE
+              AND tree.depth < :maxDepth
+        )
+        SELECT mc.* FROM master_code mc
+        JOIN tree ON tree.id = mc.id
+        ORDER BY tree.depth, mc.id
+        """, nativeQuery = true)
+    List<MasterCodeEntity> findTrees(@Param("maxDepth") int maxDepth);
+
+    // Same as above for the tree of one active root (empty when rootId is not an active root)
+    @Query(value = """
+        WITH RECURSIVE tree (id, depth) AS (
+            SELECT mc.id, 0 FROM master_code mc
+            WHERE mc.is_delete = FALSE
+              AND mc.parent_id IS NULL
+              AND mc.id = :rootId
+            UNION ALL
+            SELECT child.id, tree.depth + 1 FROM master_code child
+            JOIN tree ON child.parent_id = tree.id
+            WHERE child.is_delete = FALSE
+              AND tree.depth < :maxDepth
+        )
+        SELECT mc.* FROM master_code mc
+        JOIN tree ON tree.id = mc.id
+        ORDER BY tree.depth, mc.id
+        """, nativeQuery = true)
+    List<MasterCodeEntity> findTree(@Param("rootId") Long rootId, @Param("maxDepth") int maxDepth);
+
+    // Counter bumped by a trigger on every statement that writes master_code (master code tree ETag);
+    // unlike write timestamps it never moves backwards
+    @Query(value = "SELECT version FROM master_code_version WHERE id = 1", nativeQuery = true)
+    long findVersion();
 
     // Find grandchildren - children where parent_id is in a list of parent IDs - using native query for proper PostgreSQL type handling
     @Query(value = """
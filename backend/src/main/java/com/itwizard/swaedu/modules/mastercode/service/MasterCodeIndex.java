@@ -0,0 +1,91 @@
+package com.itwizard.swaedu.modules.mastercode.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the active master codes.
+ *
+ * Holds three lookups built once from the same rows: id to code, parent id to child ids
+ * (ascending) and code to id. Changes produce a new snapshot, so readers never lock.
+ */
+public final class MasterCodeIndex {
+
+    private static final MasterCodeIndex EMPTY = new MasterCodeIndex(Map.of(), Map.of(), List.of(), Map.of());
+
+    private final Map<Long, Entry> byId;
+    private final Map<Long, List<Long>> childIdsByParent;
+    private final List<Long> rootIds;
+    private final Map<String, Long> idByCode;
+
+    private MasterCodeIndex(Map<Long, Entry> byId, Map<Long, List<Long>> childIdsByParent,
+                            List<Long> rootIds, Map<String, Long> idByCode) {
+        this.byId = byId;
+        this.childIdsByParent = childIdsByParent;
+        this.rootIds = rootIds;
+        this.idByCode = idByCode;
+    }
+
+    public static MasterCodeIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a snapshot; ids and codes must not repeat
+     */
+    public static MasterCodeIndex build(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+        List<Entry> ordered = new ArrayList<>(entries);
+        ordered.sort(Comparator.comparing(Entry::id));
+
+        Map<Long, Entry> byId = new HashMap<>();
+        Map<Long, List<Long>> childIdsByParent = new HashMap<>();
+        List<Long> rootIds = new ArrayList<>();
+        Map<String, Long> idByCode = new HashMap<>();
+        for (Entry entry : ordered) {
+            byId.put(entry.id(), entry);
+            idByCode.put(entry.code(), entry.id());
+            if (entry.parentId() == null) {
+                rootIds.add(entry.id());
+            } else {
+                childIdsByParent.computeIfAbsent(entry.parentId(), parentId -> new ArrayList<>()).add(entry.id());
+            }
+        }
+        childIdsByParent.replaceAll((parentId, childIds) -> List.copyOf(childIds));
+
+        return new MasterCodeIndex(Map.copyOf(byId), Map.copyOf(childIdsByParent),
+                List.copyOf(rootIds), Map.copyOf(idByCode));
+    }
+
+    public Optional<Entry> find(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Ids of the direct children of a code, ascending (the root codes for a null parent)
+     */
+    public List<Long> childIds(Long parentId) {
+        return parentId == null ? rootIds : childIdsByParent.getOrDefault(parentId, List.of());
+    }
+
+    public Optional<Long> idOf(String code) {
+        return code == null ? Optional.empty() : Optional.ofNullable(idByCode.get(code));
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * @param parentId Parent code id (null for a root code)
+     */
+    public record Entry(Long id, String code, String codeName, Long parentId,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {}
+}
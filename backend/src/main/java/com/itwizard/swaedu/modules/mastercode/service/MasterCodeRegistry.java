@@ -0,0 +1,56 @@
+package com.itwizard.swaedu.modules.mastercode.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Master Code Registry Interface
+ * Answers master code lookups from an in-memory snapshot of the active codes
+ * (a lookup by id or code that misses the snapshot checks the database)
+ */
+public interface MasterCodeRegistry {
+
+    /**
+     * Active master code by id (empty for a null id)
+     */
+    Optional<MasterCodeIndex.Entry> find(Long id);
+
+    /**
+     * Active master code by id
+     *
+     * @param fieldName Start of the error message, e.g. "Region master code"
+     * @throws com.itwizard.swaedu.exception.ResourceNotFoundException "{fieldName} not found with id: {id}"
+     */
+    MasterCodeIndex.Entry require(Long id, String fieldName);
+
+    /**
+     * Check several references at once; null ids are skipped
+     *
+     * @param idsByField Id per field name, in the order missing codes are reported
+     * @throws com.itwizard.swaedu.exception.ResourceNotFoundException listing every missing code
+     */
+    void requireAll(Map<String, Long> idsByField);
+
+    /**
+     * Ids of the active direct children of a code, ascending
+     */
+    List<Long> childIds(Long parentId);
+
+    /**
+     * Id of the active code with the given code
+     */
+    Optional<Long> idOf(String code);
+
+    /**
+     * Reload the active codes from the database and swap the snapshot atomically
+     */
+    void refresh();
+
+    /**
+     * Reload only if the master code version counter moved since the snapshot was loaded
+     *
+     * @return Whether the snapshot was reloaded
+     */
+    boolean refreshIfChanged();
+}
@@ -0,0 +1,187 @@
+package com.itwizard.swaedu.modules.mastercode.service;
+
+import com.itwizard.swaedu.exception.ResourceNotFoundException;
+import com.itwizard.swaedu.modules.mastercode.config.MasterCodeRegistryConfig;
+import com.itwizard.swaedu.modules.mastercode.dto.response.MasterCodeRow;
+import com.itwizard.swaedu.modules.mastercode.entity.MasterCodeChangedEvent;
+import com.itwizard.swaedu.modules.mastercode.repository.MasterCodeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Master Code Registry Implementation
+ *
+ * Holds an immutable MasterCodeIndex in a volatile field. The snapshot is loaded at startup
+ * (or on first use) and rebuilt after any transaction that writes a master code commits,
+ * so reference data checks on write paths do not query the database for known codes.
+ * A lookup by id or code that misses the snapshot asks the database once: a code written
+ * outside this process (SQL scripts, other instances) is accepted at once and triggers a
+ * rebuild. Codes deleted outside this process, and children listed by childIds, follow
+ * after the next rebuild: the trigger-maintained master_code_version counter is polled and
+ * the snapshot is rebuilt when it moves.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MasterCodeRegistryImpl implements MasterCodeRegistry {
+
+    private final MasterCodeRepository masterCodeRepository;
+    private final MasterCodeRegistryConfig registryConfig;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("master-code-version").daemon().factory());
+
+    private volatile MasterCodeIndex index;
+    // Counter value read before the rows of the current snapshot
+    private volatile long indexVersion;
+
+    @Override
+    public Optional<MasterCodeIndex.Entry> find(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<MasterCodeIndex.Entry> entry = current().find(id);
+        if (entry.isPresent()) {
+            return entry;
+        }
+        return loadMissing(masterCodeRepository.findActiveRowById(id), snapshot -> snapshot.find(id).isPresent());
+    }
+
+    @Override
+    public MasterCodeIndex.Entry require(Long id, String fieldName) {
+        return find(id)
+                .orElseThrow(() -> new ResourceNotFoundException(fieldName + " not found with id: " + id));
+    }
+
+    @Override
+    public void requireAll(Map<String, Long> idsByField) {
+        MasterCodeIndex snapshot = current();
+        List<String> missing = new ArrayList<>();
+        idsByField.forEach((fieldName, id) -> {
+            if (id != null && snapshot.find(id).isEmpty() && find(id).isEmpty()) {
+                missing.add(fieldName + " not found with id: " + id);
+            }
+        });
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException(String.join("; ", missing));
+        }
+    }
+
+    @Override
+    public List<Long> childIds(Long parentId) {
+        return current().childIds(parentId);
+    }
+
+    @Override
+    public Optional<Long> idOf(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        Optional<Long> id = current().idOf(code);
+        if (id.isPresent()) {
+            return id;
+        }
+        return loadMissing(masterCodeRepository.findActiveRowByCode(code), snapshot -> snapshot.idOf(code).isPresent())
+                .map(MasterCodeIndex.Entry::id);
+    }
+
+    @Override
+    public synchronized void refresh() {
+        // Synchronized as a whole, so a slower earlier reload cannot overwrite a newer snapshot.
+        // Version first: a write landing between the two reads moves the counter past it
+        long version = masterCodeRepository.findVersion();
+        List<MasterCodeIndex.Entry> entries = new ArrayList<>();
+        for (MasterCodeRow row : masterCodeRepository.findActiveRows()) {
+            entries.add(toEntry(row));
+        }
+        index = MasterCodeIndex.build(entries);
+        indexVersion = version;
+        log.info("Loaded {} master codes", index.size());
+    }
+
+    @Override
+    public boolean refreshIfChanged() {
+        if (index != null && masterCodeRepository.findVersion() == indexVersion) {
+            return false;
+        }
+        refresh();
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+        scheduler.scheduleWithFixedDelay(this::checkVersion, registryConfig.getVersionCheckIntervalMs(),
+                registryConfig.getVersionCheckIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMasterCodeChanged(MasterCodeChangedEvent event) {
+        log.debug("Master code {} changed, reloading master code registry", event.masterCodeId());
+        refresh();
+    }
+
+    private void checkVersion() {
+        try {
+            if (refreshIfChanged()) {
+                log.info("Master code version changed, reloaded master code registry");
+            }
+        } catch (Exception e) {
+            // Keep polling; the current snapshot stays in use
+            log.warn("Master code version check failed", e);
+        }
+    }
+
+    /**
+     * A code the snapshot does not know, read from the database; if it exists the snapshot is stale,
+     * so rebuild it (once, however many lookups miss the same code at the same time)
+     */
+    private Optional<MasterCodeIndex.Entry> loadMissing(Optional<MasterCodeRow> row, Predicate<MasterCodeIndex> known) {
+        if (row.isEmpty()) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            if (!known.test(current())) {
+                log.debug("Master code {} is not in the registry snapshot, reloading", row.get().getId());
+                refresh();
+            }
+        }
+        return row.map(MasterCodeRegistryImpl::toEntry);
+    }
+
+    private MasterCodeIndex current() {
+        MasterCodeIndex current = index;
+        return current != null ? current : loadIndex();
+    }
+
+    private synchronized MasterCodeIndex loadIndex() {
+        if (index == null) {
+            refresh();
+        }
+        return index;
+    }
+
+    private static MasterCodeIndex.Entry toEntry(MasterCodeRow row) {
+        return new MasterCodeIndex.Entry(row.getId(), row.getCode(), row.getCodeName(), row.getParentId(),
+                row.getCreatedAt(), row.getUpdatedAt());
+    }
+}
@@ -32,5 +32,8 @@ public interface MasterCodeService {
 
     List<MasterCodeTreeDto> getMasterCodeTree(Long rootId, Integer depth);
 
+    // Changes whenever any master code is written; used as the tree endpoint's ETag
+    String getMasterCodeTreeVersion();
+
     boolean checkCodeExists(String code);
 }
@@ -20,7 +20,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -185,7 +184,7 @@ public class MasterCodeServiceImpl implements MasterCodeService {
         if (parentIds.isEmpty()) {
             return PageResponse.<MasterCodeResponseDto>builder()
                     .items(List.of())
-                    .total(0)
+                    .total(0L)
                     .page(0)
                     .size(0)
                     .totalPages(0)
@@ -207,20 +206,26 @@ public class MasterCodeServiceImpl implements MasterCodeService {
 
     @Override
     public List<MasterCodeTreeDto> getMasterCodeTree(Long rootId, Integer depth) {
+        // One recursive query loads every level the tree shows (all levels without a depth)
+        int maxDepth = depth != null ? depth : Integer.MAX_VALUE;
         if (rootId != null) {
             // Build tree from specific root
-            MasterCodeEntity root = repository.findRootById(rootId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Root master code not found: " + rootId));
-            return List.of(buildTreeRecursive(root, 0, depth));
+            List<MasterCodeEntity> codes = repository.findTree(rootId, maxDepth);
+            if (codes.isEmpty()) {
+                throw new ResourceNotFoundException("Root master code not found: " + rootId);
+            }
+            return MasterCodeMapper.toTreeDtoList(codes);
         } else {
             // Build tree from all roots
-            List<MasterCodeEntity> roots = repository.findRoots(null, Pageable.unpaged()).getContent();
-            return roots.stream()
-                    .map(root -> buildTreeRecursive(root, 0, depth))
-                    .toList();
+            return MasterCodeMapper.toTreeDtoList(repository.findTrees(maxDepth));
         }
     }
 
+    @Override
+    public String getMasterCodeTreeVersion() {
+        return Long.toString(repository.findVersion());
+    }
+
     @Override
     public boolean checkCodeExists(String code) {
         return repository.existsByCodeAndIsDeleteFalse(code);
@@ -280,19 +285,6 @@ public class MasterCodeServiceImpl implements MasterCodeService {
         }
     }
 
-    private MasterCodeTreeDto buildTreeRecursive(MasterCodeEntity node, int currentDepth, Integer maxDepth) {
-        if (maxDepth != null && currentDepth >= maxDepth) {
-            return MasterCodeMapper.toTreeDto(node, new ArrayList<>());
-        }
-
-        List<MasterCodeEntity> children = repository.findByParentIdAndIsDeleteFalse(node.getId());
-        List<MasterCodeTreeDto> childDtos = children.stream()
-                .map(child -> buildTreeRecursive(child, currentDepth + 1, maxDepth))
-                .toList();
-
-        return MasterCodeMapper.toTreeDto(node, childDtos);
-    }
-
     private Pageable buildPageable(Integer page, Integer size, String sort) {
         int pageNumber = page != null && page >= 0 ? page : 0;
         int pageSize = size != null && size > 0 ? size : 20;
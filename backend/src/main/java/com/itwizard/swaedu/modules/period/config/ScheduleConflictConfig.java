@@ -0,0 +1,35 @@
+package com.itwizard.swaedu.modules.period.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Instructor Schedule Conflict Configuration
+ */
+@Configuration
+@ConfigurationProperties(prefix = "schedule.conflict")
+@Getter
+@Setter
+public class ScheduleConflictConfig {
+    /**
+     * Average travel speed between institutions over the travel distance provider's distance
+     */
+    private double averageSpeedKmh = 40;
+
+    /**
+     * Minutes added to every move between two different institutions (parking, check-in)
+     */
+    private int transferBufferMinutes = 10;
+
+    /**
+     * Upper bound of travel time; periods further apart than this never conflict
+     */
+    private int maxTravelMinutes = 180;
+
+    /**
+     * Maximum number of instructor-month interval trees kept in memory
+     */
+    private int cacheMaxEntries = 5000;
+}
@@ -4,7 +4,9 @@ import com.itwizard.swaedu.modules.period.dto.request.PeriodBulkCreateDto;
 import com.itwizard.swaedu.modules.period.dto.request.PeriodCreateDto;
 import com.itwizard.swaedu.modules.period.dto.request.PeriodUpdateDto;
 import com.itwizard.swaedu.modules.period.dto.response.PeriodResponseDto;
+import com.itwizard.swaedu.modules.period.dto.response.ScheduleConflictDto;
 import com.itwizard.swaedu.modules.period.service.PeriodService;
+import com.itwizard.swaedu.modules.period.service.ScheduleConflictService;
 import com.itwizard.swaedu.util.ApiResponse;
 import com.itwizard.swaedu.util.ResponseUtil;
 import jakarta.validation.Valid;
@@ -12,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -20,6 +23,7 @@ import java.util.List;
 public class PeriodController {
 
     private final PeriodService periodService;
+    private final ScheduleConflictService scheduleConflictService;
 
     /**
      * POST /api/v1/periods — Create a single period
@@ -48,6 +52,28 @@ public class PeriodController {
         return ResponseUtil.success("Periods retrieved successfully", response);
     }
 
+    /**
+     * GET /api/v1/periods/conflicts?month=2025-03 — Validate instructor schedules of a month
+     */
+    @GetMapping("/conflicts")
+    public ResponseEntity<ApiResponse> validateMonth(
+            @RequestParam YearMonth month,
+            @RequestParam(required = false) Long instructorId) {
+        List<ScheduleConflictDto> response = scheduleConflictService.validateMonth(month, instructorId);
+        return ResponseUtil.success("Schedule conflicts retrieved successfully", response);
+    }
+
+    /**
+     * GET /api/v1/periods/{id}/conflicts?instructorId= — Check assigning a period to an instructor
+     */
+    @GetMapping("/{id}/conflicts")
+    public ResponseEntity<ApiResponse> checkAssignment(
+            @PathVariable Long id,
+            @RequestParam Long instructorId) {
+        List<ScheduleConflictDto> response = scheduleConflictService.checkAssignment(instructorId, id);
+        return ResponseUtil.success("Schedule conflicts retrieved successfully", response);
+    }
+
     /**
      * GET /api/v1/periods/{id} — Get period by ID
      */
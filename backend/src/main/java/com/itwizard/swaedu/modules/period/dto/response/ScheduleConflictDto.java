@@ -0,0 +1,38 @@
+package com.itwizard.swaedu.modules.period.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleConflictDto {
+
+    private Long instructorId;
+    private String type;              // OVERLAP or TRAVEL_TIME
+
+    // Period that starts first
+    private Long periodId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Long institutionId;
+    private String institutionName;
+
+    // Period that starts at the same time or later
+    private Long conflictingPeriodId;
+    private LocalDate conflictingDate;
+    private LocalTime conflictingStartTime;
+    private LocalTime conflictingEndTime;
+    private Long conflictingInstitutionId;
+    private String conflictingInstitutionName;
+
+    private Long gapMinutes;          // negative when the periods overlap
+    private Integer requiredMinutes;  // travel time needed between the institutions
+}
@@ -0,0 +1,50 @@
+package com.itwizard.swaedu.modules.period.entity;
+
+import com.itwizard.swaedu.modules.instructor.entity.Instructor;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "instructor_period_assignment",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"instructor_id", "period_id"}))
+@EntityListeners(ScheduleChangeListener.class)
+public class InstructorPeriodAssignmentEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "instructor_id", nullable = false, foreignKey = @ForeignKey(name = "fk_assignment_instructor"))
+    private Instructor instructor;
+
+    @Column(name = "instructor_id", insertable = false, updatable = false)
+    private Long instructorId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "period_id", nullable = false, foreignKey = @ForeignKey(name = "fk_assignment_period"))
+    private PeriodEntity period;
+
+    @Column(name = "period_id", insertable = false, updatable = false)
+    private Long periodId;
+
+    @Column(name = "role", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private AssignmentRole role = AssignmentRole.MAIN;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum AssignmentRole {
+        MAIN,
+        ASSISTANT
+    }
+}
@@ -11,6 +11,7 @@ import java.time.LocalTime;
 @Data
 @Entity
 @Table(name = "periods")
+@EntityListeners(ScheduleChangeListener.class)
 public class PeriodEntity {
 
     @Id
@@ -0,0 +1,34 @@
+package com.itwizard.swaedu.modules.period.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns assignment, period and training writes into ScheduleChangedEvent
+ * (instantiated through Spring, so the publisher is injected)
+ */
+@Component
+@RequiredArgsConstructor
+public class ScheduleChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof InstructorPeriodAssignmentEntity assignment) {
+            Long instructorId = assignment.getInstructorId() != null
+                    ? assignment.getInstructorId()
+                    : assignment.getInstructor().getUserId();
+            eventPublisher.publishEvent(new ScheduleChangedEvent(instructorId));
+        } else {
+            // New periods have no assignments yet, but dates, times and institutions of existing ones may move
+            eventPublisher.publishEvent(new ScheduleChangedEvent(null));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.itwizard.swaedu.modules.period.entity;
+
+/**
+ * Published when an instructor's assigned periods may have changed: an assignment row of
+ * that instructor was written, or (instructorId null) a period or training row that any
+ * assigned instructor may depend on
+ */
+public record ScheduleChangedEvent(Long instructorId) {}
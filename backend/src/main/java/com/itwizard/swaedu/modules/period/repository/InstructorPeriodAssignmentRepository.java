@@ -0,0 +1,67 @@
+package com.itwizard.swaedu.modules.period.repository;
+
+import com.itwizard.swaedu.modules.period.entity.InstructorPeriodAssignmentEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InstructorPeriodAssignmentRepository extends JpaRepository<InstructorPeriodAssignmentEntity, Long> {
+
+    /**
+     * Find all assignments in a date range with period, training and institution eagerly loaded
+     */
+    @Query("""
+        SELECT a FROM InstructorPeriodAssignmentEntity a
+        JOIN FETCH a.period p
+        JOIN FETCH p.training t
+        JOIN FETCH t.institution i
+        WHERE p.date BETWEEN :from AND :to
+          AND t.isDelete = false
+        ORDER BY a.instructorId ASC, p.date ASC, p.startTime ASC
+        """)
+    List<InstructorPeriodAssignmentEntity> findAllInDateRangeWithRelations(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * Find one instructor's assignments in a date range with period, training and institution eagerly loaded
+     */
+    @Query("""
+        SELECT a FROM InstructorPeriodAssignmentEntity a
+        JOIN FETCH a.period p
+        JOIN FETCH p.training t
+        JOIN FETCH t.institution i
+        WHERE a.instructorId = :instructorId
+          AND p.date BETWEEN :from AND :to
+          AND t.isDelete = false
+        ORDER BY p.date ASC, p.startTime ASC
+        """)
+    List<InstructorPeriodAssignmentEntity> findByInstructorIdInDateRangeWithRelations(
+            @Param("instructorId") Long instructorId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * Find the assignments of several instructors in a date range with period, training and institution eagerly loaded
+     */
+    @Query("""
+        SELECT a FROM InstructorPeriodAssignmentEntity a
+        JOIN FETCH a.period p
+        JOIN FETCH p.training t
+        JOIN FETCH t.institution i
+        WHERE a.instructorId IN :instructorIds
+          AND p.date BETWEEN :from AND :to
+          AND t.isDelete = false
+        ORDER BY a.instructorId ASC, p.date ASC, p.startTime ASC
+        """)
+    List<InstructorPeriodAssignmentEntity> findByInstructorIdsInDateRangeWithRelations(
+            @Param("instructorIds") Collection<Long> instructorIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
@@ -0,0 +1,126 @@
+package com.itwizard.swaedu.modules.period.service;
+
+import com.itwizard.swaedu.modules.institutions.entity.InstitutionEntity;
+import com.itwizard.swaedu.modules.period.entity.PeriodEntity;
+import com.itwizard.swaedu.modules.training.entity.TrainingEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval tree over one instructor's assigned periods.
+ *
+ * Slots are sorted by start and the sorted array is read as a balanced binary search tree
+ * (the middle of each range is its node); every node keeps the latest end of its subtree,
+ * so an overlap query skips whole subtrees that end too early or start too late and runs
+ * in O(log n + m) for m hits. Times are minutes since the epoch, so periods on different
+ * days compare directly.
+ */
+public final class InstructorIntervalTree {
+
+    private static final InstructorIntervalTree EMPTY = new InstructorIntervalTree(new Slot[0], new long[0]);
+
+    private final Slot[] slots;      // sorted by start
+    private final long[] maxEnd;     // latest end within the subtree rooted at each index
+
+    private InstructorIntervalTree(Slot[] slots, long[] maxEnd) {
+        this.slots = slots;
+        this.maxEnd = maxEnd;
+    }
+
+    public static InstructorIntervalTree empty() {
+        return EMPTY;
+    }
+
+    public static InstructorIntervalTree build(List<Slot> slots) {
+        if (slots.isEmpty()) {
+            return EMPTY;
+        }
+        Slot[] sorted = slots.toArray(new Slot[0]);
+        Arrays.sort(sorted, Comparator.comparingLong(Slot::start).thenComparingLong(Slot::end));
+        long[] maxEnd = new long[sorted.length];
+        fillMaxEnd(sorted, maxEnd, 0, sorted.length);
+        return new InstructorIntervalTree(sorted, maxEnd);
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * Slots that overlap [from, to), ordered by start
+     */
+    public List<Slot> overlapping(long from, long to) {
+        List<Slot> hits = new ArrayList<>();
+        collect(0, slots.length, from, to, hits);
+        return hits;
+    }
+
+    private static long fillMaxEnd(Slot[] slots, long[] maxEnd, int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(slots[mid].end(),
+                Math.max(fillMaxEnd(slots, maxEnd, lo, mid), fillMaxEnd(slots, maxEnd, mid + 1, hi)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    private void collect(int lo, int hi, long from, long to, List<Slot> hits) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] <= from) {
+            return;  // Everything below ends before the window
+        }
+        collect(lo, mid, from, to, hits);
+        Slot slot = slots[mid];
+        if (slot.start() < to) {
+            if (slot.end() > from) {
+                hits.add(slot);
+            }
+            // Right subtree starts at or after this slot, so it can only matter if this one starts inside
+            collect(mid + 1, hi, from, to, hits);
+        }
+    }
+
+    /**
+     * Minutes since 1970-01-01 00:00 (local time) of a date and minute of day
+     */
+    public static long epochMinute(LocalDate date, int minuteOfDay) {
+        return date.toEpochDay() * 24 * 60 + minuteOfDay;
+    }
+
+    /**
+     * An assigned period with the place it is taught
+     *
+     * @param lat Institution latitude (null when unknown; travel time is then not checked)
+     * @param start Start, minutes since the epoch
+     * @param end End, minutes since the epoch (exclusive)
+     */
+    public record Slot(Long periodId, Long trainingId, Long institutionId, String institutionName,
+                       Double lat, Double lng, LocalDate date, long start, long end) {
+
+        public static Slot of(PeriodEntity period) {
+            TrainingEntity training = period.getTraining();
+            InstitutionEntity institution = training != null ? training.getInstitution() : null;
+            return new Slot(
+                    period.getId(),
+                    period.getTrainingId(),
+                    institution != null ? institution.getId() : null,
+                    institution != null ? institution.getName() : null,
+                    institution != null && institution.getInstitutionLat() != null
+                            ? institution.getInstitutionLat().doubleValue() : null,
+                    institution != null && institution.getInstitutionLng() != null
+                            ? institution.getInstitutionLng().doubleValue() : null,
+                    period.getDate(),
+                    epochMinute(period.getDate(), period.getStartTime().toSecondOfDay() / 60),
+                    epochMinute(period.getDate(), period.getEndTime().toSecondOfDay() / 60));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.itwizard.swaedu.modules.period.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Loads instructor period assignments for a date range in a single query
+ */
+public interface InstructorPeriodLoader {
+
+    /**
+     * Load assignments with period → training → institution fetched in one round trip
+     *
+     * @param instructorId Instructor ID (if null, all instructors)
+     * @param from Start date (inclusive)
+     * @param to End date (inclusive)
+     * @return Schedule grouped as instructorId → date → periods sorted by start time
+     */
+    InstructorPeriodSchedule loadSchedule(Long instructorId, LocalDate from, LocalDate to);
+
+    /**
+     * Load the assignments of the given instructors only, in one round trip
+     *
+     * @param instructorIds Instructor IDs
+     * @param from Start date (inclusive)
+     * @param to End date (inclusive)
+     * @return Schedule grouped as instructorId → date → periods sorted by start time
+     */
+    InstructorPeriodSchedule loadSchedule(Collection<Long> instructorIds, LocalDate from, LocalDate to);
+}
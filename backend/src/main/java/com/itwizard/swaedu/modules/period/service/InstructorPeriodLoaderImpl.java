@@ -0,0 +1,37 @@
+package com.itwizard.swaedu.modules.period.service;
+
+import com.itwizard.swaedu.modules.period.entity.InstructorPeriodAssignmentEntity;
+import com.itwizard.swaedu.modules.period.repository.InstructorPeriodAssignmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class InstructorPeriodLoaderImpl implements InstructorPeriodLoader {
+
+    private final InstructorPeriodAssignmentRepository assignmentRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public InstructorPeriodSchedule loadSchedule(Long instructorId, LocalDate from, LocalDate to) {
+        List<InstructorPeriodAssignmentEntity> assignments = instructorId != null
+                ? assignmentRepository.findByInstructorIdInDateRangeWithRelations(instructorId, from, to)
+                : assignmentRepository.findAllInDateRangeWithRelations(from, to);
+        return InstructorPeriodSchedule.of(assignments);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InstructorPeriodSchedule loadSchedule(Collection<Long> instructorIds, LocalDate from, LocalDate to) {
+        if (instructorIds.isEmpty()) {
+            return InstructorPeriodSchedule.empty();
+        }
+        return InstructorPeriodSchedule.of(
+                assignmentRepository.findByInstructorIdsInDateRangeWithRelations(instructorIds, from, to));
+    }
+}
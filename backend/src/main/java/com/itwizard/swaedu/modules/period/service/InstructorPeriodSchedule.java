@@ -0,0 +1,89 @@
+package com.itwizard.swaedu.modules.period.service;
+
+import com.itwizard.swaedu.modules.period.entity.InstructorPeriodAssignmentEntity;
+import com.itwizard.swaedu.modules.period.entity.PeriodEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable in-memory view of instructor period assignments over a date range,
+ * grouped as instructorId → date → periods sorted by start time.
+ *
+ * Periods are loaded with training and institution already initialized, so the
+ * schedule can be shared with transactions other than the one that loaded it.
+ */
+public final class InstructorPeriodSchedule {
+
+    private static final InstructorPeriodSchedule EMPTY = new InstructorPeriodSchedule(Map.of());
+
+    private final Map<Long, Map<LocalDate, List<PeriodEntity>>> periodsByInstructor;
+
+    private InstructorPeriodSchedule(Map<Long, Map<LocalDate, List<PeriodEntity>>> periodsByInstructor) {
+        this.periodsByInstructor = periodsByInstructor;
+    }
+
+    public static InstructorPeriodSchedule empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Group assignments by instructor and date
+     */
+    public static InstructorPeriodSchedule of(List<InstructorPeriodAssignmentEntity> assignments) {
+        if (assignments.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<Long, Map<LocalDate, List<PeriodEntity>>> grouped = new HashMap<>();
+        for (InstructorPeriodAssignmentEntity assignment : assignments) {
+            PeriodEntity period = assignment.getPeriod();
+            grouped.computeIfAbsent(assignment.getInstructorId(), id -> new HashMap<>())
+                    .computeIfAbsent(period.getDate(), date -> new ArrayList<>())
+                    .add(period);
+        }
+
+        Map<Long, Map<LocalDate, List<PeriodEntity>>> frozen = new HashMap<>(grouped.size());
+        grouped.forEach((instructorId, byDate) -> {
+            Map<LocalDate, List<PeriodEntity>> frozenByDate = new HashMap<>(byDate.size());
+            byDate.forEach((date, periods) -> {
+                periods.sort(Comparator.comparing(PeriodEntity::getStartTime));
+                frozenByDate.put(date, Collections.unmodifiableList(periods));
+            });
+            frozen.put(instructorId, Collections.unmodifiableMap(frozenByDate));
+        });
+
+        return new InstructorPeriodSchedule(Collections.unmodifiableMap(frozen));
+    }
+
+    /**
+     * Periods of an instructor on a date, sorted by start time (empty if none)
+     */
+    public List<PeriodEntity> getPeriods(Long instructorId, LocalDate date) {
+        Map<LocalDate, List<PeriodEntity>> byDate = periodsByInstructor.get(instructorId);
+        if (byDate == null) {
+            return List.of();
+        }
+        return byDate.getOrDefault(date, List.of());
+    }
+
+    /**
+     * All periods of an instructor, keyed by date
+     */
+    public Map<LocalDate, List<PeriodEntity>> getPeriodsByDate(Long instructorId) {
+        return periodsByInstructor.getOrDefault(instructorId, Map.of());
+    }
+
+    /**
+     * Instructors with at least one assignment in the range
+     */
+    public Set<Long> getInstructorIds() {
+        return periodsByInstructor.keySet();
+    }
+}
@@ -10,6 +10,7 @@ import com.itwizard.swaedu.modules.period.entity.PeriodEntity;
 import com.itwizard.swaedu.modules.period.mapper.PeriodMapper;
 import com.itwizard.swaedu.modules.period.repository.PeriodRepository;
 import com.itwizard.swaedu.modules.training.repository.TrainingRepository;
+import com.itwizard.swaedu.modules.travelallowance.service.TravelDirtyQueue;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +25,7 @@ public class PeriodServiceImpl implements PeriodService {
 
     private final PeriodRepository periodRepository;
     private final TrainingRepository trainingRepository;
+    private final TravelDirtyQueue travelDirtyQueue;
 
     @Override
     @Transactional
@@ -91,9 +93,15 @@ public class PeriodServiceImpl implements PeriodService {
         // Validate time range
         validateTimeRange(request.getStartTime(), request.getEndTime());
 
+        // Days of assigned instructors before the change (the date may move)
+        travelDirtyQueue.markPeriods(List.of(id));
+
         // Update entity
         PeriodMapper.updateEntityFromDto(entity, request);
-        periodRepository.save(entity);
+        periodRepository.saveAndFlush(entity);
+
+        // ...and after it
+        travelDirtyQueue.markPeriods(List.of(id));
 
         // Reload with relationships
         return getPeriodById(id);
@@ -104,12 +112,14 @@ public class PeriodServiceImpl implements PeriodService {
     public void deletePeriod(Long id) {
         PeriodEntity entity = periodRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Period not found with id: " + id));
+        travelDirtyQueue.markPeriods(List.of(id));
         periodRepository.delete(entity);
     }
 
     @Override
     @Transactional
     public void deletePeriodsByTrainingId(Long trainingId) {
+        travelDirtyQueue.markTraining(trainingId);
         periodRepository.deleteByTrainingId(trainingId);
     }
 
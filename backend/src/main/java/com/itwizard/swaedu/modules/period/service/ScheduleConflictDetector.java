@@ -0,0 +1,116 @@
+package com.itwizard.swaedu.modules.period.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds double bookings in an instructor's assigned periods.
+ *
+ * Two periods conflict when they overlap, or when the gap between them is shorter than the
+ * travel time from the first institution to the second. Travel time is never longer than
+ * maxTravelMinutes, so only periods within that distance of each other are compared.
+ */
+public final class ScheduleConflictDetector {
+
+    private final TravelTime travelTime;
+    private final int maxTravelMinutes;
+
+    public ScheduleConflictDetector(TravelTime travelTime, int maxTravelMinutes) {
+        this.travelTime = travelTime;
+        this.maxTravelMinutes = Math.max(0, maxTravelMinutes);
+    }
+
+    /**
+     * Conflicts a new period would have with the assigned ones: one tree query, O(log n + m)
+     *
+     * @param assigned Assigned periods (the candidate itself is ignored if already assigned)
+     * @param candidate Period to assign
+     */
+    public List<Conflict> check(InstructorIntervalTree assigned, InstructorIntervalTree.Slot candidate) {
+        List<Conflict> conflicts = new ArrayList<>();
+        for (InstructorIntervalTree.Slot other : assigned.overlapping(
+                candidate.start() - maxTravelMinutes, candidate.end() + maxTravelMinutes)) {
+            if (other.periodId().equals(candidate.periodId())) {
+                continue;
+            }
+            Conflict conflict = other.start() <= candidate.start()
+                    ? compare(other, candidate)
+                    : compare(candidate, other);
+            if (conflict != null) {
+                conflicts.add(conflict);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * All conflicts among one instructor's periods in a single pass over them sorted by start
+     *
+     * Only periods that end within maxTravelMinutes before the current one starts are kept
+     * open, so the pass is linear in the number of periods plus the number of pairs compared.
+     *
+     * @param slots Periods sorted by start
+     */
+    public List<Conflict> scan(List<InstructorIntervalTree.Slot> slots) {
+        List<Conflict> conflicts = new ArrayList<>();
+        List<InstructorIntervalTree.Slot> open = new ArrayList<>();
+        for (InstructorIntervalTree.Slot current : slots) {
+            open.removeIf(earlier -> earlier.end() + maxTravelMinutes <= current.start());
+            for (InstructorIntervalTree.Slot earlier : open) {
+                Conflict conflict = compare(earlier, current);
+                if (conflict != null) {
+                    conflicts.add(conflict);
+                }
+            }
+            open.add(current);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Sort order expected by {@link #scan}
+     */
+    public static Comparator<InstructorIntervalTree.Slot> byStart() {
+        return Comparator.comparingLong(InstructorIntervalTree.Slot::start)
+                .thenComparingLong(InstructorIntervalTree.Slot::end);
+    }
+
+    /**
+     * @param first Period that starts first
+     * @param second Period that starts at the same time or later
+     */
+    private Conflict compare(InstructorIntervalTree.Slot first, InstructorIntervalTree.Slot second) {
+        if (second.start() < first.end()) {
+            return new Conflict(ConflictType.OVERLAP, first, second, second.start() - first.end(), 0);
+        }
+        long gap = second.start() - first.end();
+        if (gap >= maxTravelMinutes) {
+            return null;
+        }
+        int required = Math.min(travelTime.minutes(first, second), maxTravelMinutes);
+        return gap < required
+                ? new Conflict(ConflictType.TRAVEL_TIME, first, second, gap, required)
+                : null;
+    }
+
+    /**
+     * Minutes needed to get from one period's institution to another's (0 if not needed or unknown)
+     */
+    @FunctionalInterface
+    public interface TravelTime {
+        int minutes(InstructorIntervalTree.Slot from, InstructorIntervalTree.Slot to);
+    }
+
+    public enum ConflictType {
+        OVERLAP,
+        TRAVEL_TIME
+    }
+
+    /**
+     * @param gapMinutes Minutes between the end of first and the start of second (negative when they overlap)
+     * @param requiredMinutes Travel time needed between them
+     */
+    public record Conflict(ConflictType type, InstructorIntervalTree.Slot first, InstructorIntervalTree.Slot second,
+                           long gapMinutes, int requiredMinutes) {}
+}
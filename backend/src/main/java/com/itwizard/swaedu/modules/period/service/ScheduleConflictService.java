@@ -0,0 +1,26 @@
+package com.itwizard.swaedu.modules.period.service;
+
+import com.itwizard.swaedu.modules.period.dto.response.ScheduleConflictDto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Detects instructor double bookings: overlapping periods, or periods too close together
+ * to travel from one institution to the next
+ */
+public interface ScheduleConflictService {
+
+    /**
+     * Conflicts that assigning a period to an instructor would create
+     * (an empty list means the assignment is safe)
+     */
+    List<ScheduleConflictDto> checkAssignment(Long instructorId, Long periodId);
+
+    /**
+     * All conflicts among assigned periods whose later period falls in a month
+     *
+     * @param instructorId Instructor ID (if null, all instructors)
+     */
+    List<ScheduleConflictDto> validateMonth(YearMonth month, Long instructorId);
+}
@@ -0,0 +1,236 @@
+package com.itwizard.swaedu.modules.period.service;
+
+import com.itwizard.swaedu.exception.ResourceNotFoundException;
+import com.itwizard.swaedu.modules.instructor.repository.InstructorRepository;
+import com.itwizard.swaedu.modules.period.config.ScheduleConflictConfig;
+import com.itwizard.swaedu.modules.period.dto.response.ScheduleConflictDto;
+import com.itwizard.swaedu.modules.period.entity.InstructorPeriodAssignmentEntity;
+import com.itwizard.swaedu.modules.period.entity.PeriodEntity;
+import com.itwizard.swaedu.modules.period.entity.ScheduleChangedEvent;
+import com.itwizard.swaedu.modules.period.repository.InstructorPeriodAssignmentRepository;
+import com.itwizard.swaedu.modules.period.repository.PeriodRepository;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelEndpointChangedEvent;
+import com.itwizard.swaedu.modules.travelallowance.service.DistanceCalculationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Schedule Conflict Service Implementation
+ *
+ * Assignment checks use an InstructorIntervalTree per instructor and month, loaded with one
+ * query and kept in an LRU map until a ScheduleChangedEvent (assignment, period or training
+ * written) or an institution move commits. Month validation loads the month with one query
+ * and scans each instructor's periods in a single pass.
+ * Both stay read-only: travel legs missing from the distance cache are saved by the
+ * distance service in a transaction of their own.
+ */
+@Slf4j
+@Service
+public class ScheduleConflictServiceImpl implements ScheduleConflictService {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final InstructorPeriodAssignmentRepository assignmentRepository;
+    private final PeriodRepository periodRepository;
+    private final InstructorRepository instructorRepository;
+    private final DistanceCalculationService distanceCalculationService;
+    private final ScheduleConflictConfig config;
+    private final ScheduleConflictDetector detector;
+    private final Map<TreeKey, InstructorIntervalTree> trees;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ScheduleConflictServiceImpl(InstructorPeriodAssignmentRepository assignmentRepository,
+                                       PeriodRepository periodRepository,
+                                       InstructorRepository instructorRepository,
+                                       DistanceCalculationService distanceCalculationService,
+                                       ScheduleConflictConfig config) {
+        this.assignmentRepository = assignmentRepository;
+        this.periodRepository = periodRepository;
+        this.instructorRepository = instructorRepository;
+        this.distanceCalculationService = distanceCalculationService;
+        this.config = config;
+        this.detector = new ScheduleConflictDetector(this::travelMinutes, config.getMaxTravelMinutes());
+        int capacity = config.getCacheMaxEntries();
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TreeKey, InstructorIntervalTree> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ScheduleConflictDto> checkAssignment(Long instructorId, Long periodId) {
+        if (!instructorRepository.existsById(instructorId)) {
+            throw new ResourceNotFoundException("Instructor not found with userId: " + instructorId);
+        }
+        PeriodEntity period = periodRepository.findByIdWithRelations(periodId)
+                .orElseThrow(() -> new ResourceNotFoundException("Period not found with id: " + periodId));
+        InstructorIntervalTree.Slot candidate = InstructorIntervalTree.Slot.of(period);
+
+        // Travel time can reach into the neighbouring month
+        YearMonth first = YearMonth.from(toDate(candidate.start() - config.getMaxTravelMinutes()));
+        YearMonth last = YearMonth.from(toDate(candidate.end() + config.getMaxTravelMinutes()));
+
+        List<ScheduleConflictDto> result = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            for (ScheduleConflictDetector.Conflict conflict : detector.check(tree(instructorId, month), candidate)) {
+                result.add(toDto(instructorId, conflict));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ScheduleConflictDto> validateMonth(YearMonth month, Long instructorId) {
+        // The day before is loaded so late periods can conflict with the month's first morning
+        LocalDate from = month.atDay(1).minusDays(1);
+        LocalDate to = month.atEndOfMonth();
+        List<InstructorPeriodAssignmentEntity> assignments = instructorId != null
+                ? assignmentRepository.findByInstructorIdInDateRangeWithRelations(instructorId, from, to)
+                : assignmentRepository.findAllInDateRangeWithRelations(from, to);
+
+        // Sorted by instructor, date and start time: each instructor is one run of slots
+        List<ScheduleConflictDto> result = new ArrayList<>();
+        List<InstructorIntervalTree.Slot> run = new ArrayList<>();
+        Long runInstructorId = null;
+        for (InstructorPeriodAssignmentEntity assignment : assignments) {
+            if (!assignment.getInstructorId().equals(runInstructorId)) {
+                scanRun(runInstructorId, run, month, result);
+                run.clear();
+                runInstructorId = assignment.getInstructorId();
+            }
+            run.add(InstructorIntervalTree.Slot.of(assignment.getPeriod()));
+        }
+        scanRun(runInstructorId, run, month, result);
+
+        log.debug("Validated {} assignments in {}: {} conflicts", assignments.size(), month, result.size());
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        generation.incrementAndGet();
+        synchronized (trees) {
+            if (event.instructorId() != null) {
+                trees.keySet().removeIf(key -> key.instructorId().equals(event.instructorId()));
+            } else {
+                trees.clear();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTravelEndpointChanged(TravelEndpointChangedEvent event) {
+        if (event.institutionId() != null) {
+            // Cached slots carry institution coordinates
+            onScheduleChanged(new ScheduleChangedEvent(null));
+        }
+    }
+
+    // ========== Helpers ==========
+
+    private InstructorIntervalTree tree(Long instructorId, YearMonth month) {
+        TreeKey key = new TreeKey(instructorId, month);
+        synchronized (trees) {
+            InstructorIntervalTree cached = trees.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long loadedAt = generation.get();
+        List<InstructorIntervalTree.Slot> slots = new ArrayList<>();
+        for (InstructorPeriodAssignmentEntity assignment : assignmentRepository.findByInstructorIdInDateRangeWithRelations(
+                instructorId, month.atDay(1), month.atEndOfMonth())) {
+            slots.add(InstructorIntervalTree.Slot.of(assignment.getPeriod()));
+        }
+        InstructorIntervalTree tree = InstructorIntervalTree.build(slots);
+
+        synchronized (trees) {
+            // A change committed while loading may not be in this tree
+            if (generation.get() == loadedAt) {
+                trees.put(key, tree);
+            }
+        }
+        return tree;
+    }
+
+    private void scanRun(Long instructorId, List<InstructorIntervalTree.Slot> run, YearMonth month,
+                         List<ScheduleConflictDto> result) {
+        if (run.size() < 2) {
+            return;
+        }
+        run.sort(ScheduleConflictDetector.byStart());
+        for (ScheduleConflictDetector.Conflict conflict : detector.scan(run)) {
+            if (YearMonth.from(conflict.second().date()).equals(month)) {
+                result.add(toDto(instructorId, conflict));
+            }
+        }
+    }
+
+    /**
+     * Travel time between two institutions over the configured distance provider
+     */
+    private int travelMinutes(InstructorIntervalTree.Slot from, InstructorIntervalTree.Slot to) {
+        if (from.institutionId() != null && from.institutionId().equals(to.institutionId())) {
+            return 0;
+        }
+        if (from.lat() == null || from.lng() == null || to.lat() == null || to.lng() == null) {
+            return 0;
+        }
+        BigDecimal km = distanceCalculationService.calculateDistance(
+                BigDecimal.valueOf(from.lat()), BigDecimal.valueOf(from.lng()),
+                BigDecimal.valueOf(to.lat()), BigDecimal.valueOf(to.lng()));
+        double driving = km.doubleValue() / config.getAverageSpeedKmh() * 60.0;
+        return (int) Math.ceil(driving) + config.getTransferBufferMinutes();
+    }
+
+    private static ScheduleConflictDto toDto(Long instructorId, ScheduleConflictDetector.Conflict conflict) {
+        InstructorIntervalTree.Slot first = conflict.first();
+        InstructorIntervalTree.Slot second = conflict.second();
+        return ScheduleConflictDto.builder()
+                .instructorId(instructorId)
+                .type(conflict.type().name())
+                .periodId(first.periodId())
+                .date(first.date())
+                .startTime(toTime(first.start()))
+                .endTime(toTime(first.end()))
+                .institutionId(first.institutionId())
+                .institutionName(first.institutionName())
+                .conflictingPeriodId(second.periodId())
+                .conflictingDate(second.date())
+                .conflictingStartTime(toTime(second.start()))
+                .conflictingEndTime(toTime(second.end()))
+                .conflictingInstitutionId(second.institutionId())
+                .conflictingInstitutionName(second.institutionName())
+                .gapMinutes(conflict.gapMinutes())
+                .requiredMinutes(conflict.requiredMinutes())
+                .build();
+    }
+
+    private static LocalDate toDate(long epochMinute) {
+        return LocalDate.ofEpochDay(Math.floorDiv(epochMinute, MINUTES_PER_DAY));
+    }
+
+    private static LocalTime toTime(long epochMinute) {
+        return LocalTime.ofSecondOfDay(Math.floorMod(epochMinute, MINUTES_PER_DAY) * 60L);
+    }
+
+    private record TreeKey(Long instructorId, YearMonth month) {}
+}
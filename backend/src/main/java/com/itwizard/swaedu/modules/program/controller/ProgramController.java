@@ -43,9 +43,16 @@ public class ProgramController {
             @RequestParam(required = false) Long sessionPartId,
             @RequestParam(required = false) Long statusId,
             @RequestParam(required = false) List<Long> sessionPartIds,
-            @RequestParam(required = false) List<Long> statusIds) {
-        PageResponse<ProgramResponseDto> response = programService.listPrograms(
-                q, page, size, sort, sessionPartId, statusId, sessionPartIds, statusIds);
+            @RequestParam(required = false) List<Long> statusIds,
+            @RequestParam(required = false, defaultValue = "offset") String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal) {
+        // paging=cursor: keyset paging from cursor (nextCursor of the previous page); page is ignored
+        PageResponse<ProgramResponseDto> response = "cursor".equalsIgnoreCase(paging)
+                ? programService.listProgramsByCursor(
+                        q, cursor, size, sort, withTotal, sessionPartId, statusId, sessionPartIds, statusIds)
+                : programService.listPrograms(
+                        q, page, size, sort, sessionPartId, statusId, sessionPartIds, statusIds);
         return ResponseUtil.success("Programs retrieved successfully", response);
     }
 
@@ -1,5 +1,6 @@
 package com.itwizard.swaedu.modules.program.mapper;
 
+import com.itwizard.swaedu.modules.mastercode.dto.response.MasterCodeResponseDto;
 import com.itwizard.swaedu.modules.mastercode.entity.MasterCodeEntity;
 import com.itwizard.swaedu.modules.mastercode.mapper.MasterCodeMapper;
 import com.itwizard.swaedu.modules.program.dto.request.ProgramCreateDto;
@@ -9,6 +10,7 @@ import com.itwizard.swaedu.modules.program.entity.ProgramEntity;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -24,16 +26,31 @@ public class ProgramMapper {
      * Convert ProgramEntity to ProgramResponseDto
      */
     public static ProgramResponseDto toResponseDto(ProgramEntity entity) {
+        return buildResponseDto(entity, MasterCodeMapper::toResponseDto);
+    }
+
+    /**
+     * Convert ProgramEntity to ProgramResponseDto, with master codes looked up by id
+     * (write paths: the relationships only carry ids, so they are never loaded)
+     */
+    public static ProgramResponseDto toResponseDto(ProgramEntity entity,
+                                        Function<Long, MasterCodeResponseDto> masterCodesById) {
+        return buildResponseDto(entity,
+                masterCode -> masterCode != null ? masterCodesById.apply(masterCode.getId()) : null);
+    }
+
+    private static ProgramResponseDto buildResponseDto(ProgramEntity entity,
+                                            Function<MasterCodeEntity, MasterCodeResponseDto> masterCodes) {
         if (entity == null) {
             return null;
         }
         return ProgramResponseDto.builder()
                 .id(entity.getId())
                 .programId(entity.getProgramId())
-                .sessionPart(MasterCodeMapper.toResponseDto(entity.getSessionPart()))
+                .sessionPart(masterCodes.apply(entity.getSessionPart()))
                 .name(entity.getName())
-                .status(MasterCodeMapper.toResponseDto(entity.getStatus()))
-                .programType(MasterCodeMapper.toResponseDto(entity.getProgramType()))
+                .status(masterCodes.apply(entity.getStatus()))
+                .programType(masterCodes.apply(entity.getProgramType()))
                 .notes(entity.getNotes())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
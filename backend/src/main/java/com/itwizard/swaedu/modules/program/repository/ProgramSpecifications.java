@@ -0,0 +1,38 @@
+package com.itwizard.swaedu.modules.program.repository;
+
+import com.itwizard.swaedu.modules.program.entity.ProgramEntity;
+import com.itwizard.swaedu.util.SearchSpecification;
+
+import java.util.List;
+
+/**
+ * Program list filters, shared by the list and its export
+ */
+public final class ProgramSpecifications {
+
+    // Relationships the list and the export show
+    public static final String[] LIST_RELATIONS = {"sessionPart", "status", "programType"};
+
+    private ProgramSpecifications() {
+    }
+
+    /**
+     * Programs that are not deleted and match the filters; null or empty arguments are left out
+     *
+     * @param q Searched in name and notes
+     */
+    public static SearchSpecification<ProgramEntity> filter(
+            String q,
+            Long sessionPartId,
+            Long statusId,
+            List<Long> sessionPartIds,
+            List<Long> statusIds) {
+        return SearchSpecification.<ProgramEntity>where()
+                .isFalse("isDelete")
+                .containsIgnoreCase(q, "name", "notes")
+                .equal("sessionPartId", sessionPartId)
+                .equal("statusId", statusId)
+                .in("sessionPartId", sessionPartIds)
+                .in("statusId", statusIds);
+    }
+}
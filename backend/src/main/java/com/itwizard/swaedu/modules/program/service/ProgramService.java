@@ -22,6 +22,18 @@ public interface ProgramService {
             List<Long> sessionPartIds,
             List<Long> statusIds);
 
+    // Cursor (keyset) paging: sort by id, name or createdAt; total is only counted when withTotal is set
+    PageResponse<ProgramResponseDto> listProgramsByCursor(
+            String q,
+            String cursor,
+            Integer size,
+            String sort,
+            boolean withTotal,
+            Long sessionPartId,
+            Long statusId,
+            List<Long> sessionPartIds,
+            List<Long> statusIds);
+
     ProgramResponseDto getProgramById(Long id);
 
     ProgramResponseDto updateProgram(Long id, ProgramUpdateDto request);
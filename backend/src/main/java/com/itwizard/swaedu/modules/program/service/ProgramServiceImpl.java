@@ -1,19 +1,24 @@
 package com.itwizard.swaedu.modules.program.service;
 
 import com.itwizard.swaedu.exception.ResourceNotFoundException;
-import com.itwizard.swaedu.modules.mastercode.repository.MasterCodeRepository;
+import com.itwizard.swaedu.modules.mastercode.dto.response.MasterCodeResponseDto;
+import com.itwizard.swaedu.modules.mastercode.mapper.MasterCodeMapper;
+import com.itwizard.swaedu.modules.mastercode.service.MasterCodeRegistry;
 import com.itwizard.swaedu.modules.program.dto.request.ProgramCreateDto;
 import com.itwizard.swaedu.modules.program.dto.request.ProgramUpdateDto;
 import com.itwizard.swaedu.modules.program.dto.response.ProgramResponseDto;
 import com.itwizard.swaedu.modules.program.entity.ProgramEntity;
 import com.itwizard.swaedu.modules.program.mapper.ProgramMapper;
 import com.itwizard.swaedu.modules.program.repository.ProgramRepository;
+import com.itwizard.swaedu.modules.program.repository.ProgramSpecifications;
+import com.itwizard.swaedu.util.KeysetPaging;
 import com.itwizard.swaedu.util.PageResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,8 +38,13 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class ProgramServiceImpl implements ProgramService {
 
+    private static final KeysetPaging<ProgramEntity> CURSOR_PAGING =
+            KeysetPaging.<ProgramEntity>by("id", "name", Sort.Direction.ASC)
+                    .key("name", String.class)
+                    .key("createdAt", LocalDateTime.class);
+
     private final ProgramRepository repository;
-    private final MasterCodeRepository masterCodeRepository;
+    private final MasterCodeRegistry masterCodeRegistry;
 
     @Override
     @Transactional
@@ -55,7 +65,7 @@ public class ProgramServiceImpl implements ProgramService {
         saved.setProgramId(programId);
         saved = repository.save(saved);
 
-        return ProgramMapper.toResponseDto(saved);
+        return ProgramMapper.toResponseDto(saved, this::masterCodeResponse);
     }
 
     /**
@@ -79,17 +89,33 @@ public class ProgramServiceImpl implements ProgramService {
         // Parse sort parameter
         Pageable pageable = buildPageable(page, size, sort);
 
-        // Normalize empty lists to null for JPQL query (empty lists cause issues with IN clause)
-        List<Long> normalizedSessionPartIds = (sessionPartIds != null && sessionPartIds.isEmpty()) ? null : sessionPartIds;
-        List<Long> normalizedStatusIds = (statusIds != null && statusIds.isEmpty()) ? null : statusIds;
-
-        // Search with filters
-        Page<ProgramEntity> pageResult = repository.search(
-                q, sessionPartId, statusId, normalizedSessionPartIds, normalizedStatusIds, pageable);
+        // Search with filters (only the filters supplied become predicates)
+        Specification<ProgramEntity> filter = ProgramSpecifications.filter(
+                        q, sessionPartId, statusId, sessionPartIds, statusIds)
+                .fetch(ProgramSpecifications.LIST_RELATIONS);
+        Page<ProgramEntity> pageResult = repository.findAll(filter, pageable);
 
         return buildPageResponse(pageResult);
     }
 
+    @Override
+    public PageResponse<ProgramResponseDto> listProgramsByCursor(
+            String q,
+            String cursor,
+            Integer size,
+            String sort,
+            boolean withTotal,
+            Long sessionPartId,
+            Long statusId,
+            List<Long> sessionPartIds,
+            List<Long> statusIds) {
+        Specification<ProgramEntity> filter = ProgramSpecifications.filter(
+                        q, sessionPartId, statusId, sessionPartIds, statusIds)
+                .fetch(ProgramSpecifications.LIST_RELATIONS);
+        return CURSOR_PAGING.page(repository, filter, sort, cursor, size, withTotal,
+                ProgramMapper::toResponseDtoList);
+    }
+
     @Override
     public ProgramResponseDto getProgramById(Long id) {
         ProgramEntity entity = repository.findByIdAndIsDeleteFalse(id)
@@ -115,7 +141,7 @@ public class ProgramServiceImpl implements ProgramService {
         entity.setUpdatedAt(LocalDateTime.now());
 
         ProgramEntity updated = repository.save(entity);
-        return ProgramMapper.toResponseDto(updated);
+        return ProgramMapper.toResponseDto(updated, this::masterCodeResponse);
     }
 
     @Override
@@ -133,8 +159,15 @@ public class ProgramServiceImpl implements ProgramService {
     // Private helper methods
 
     private void validateMasterCodeExists(Long id, String fieldName) {
-        masterCodeRepository.findByIdAndIsDeleteFalse(id)
-                .orElseThrow(() -> new ResourceNotFoundException(fieldName + " not found with id: " + id));
+        masterCodeRegistry.require(id, fieldName);
+    }
+
+    /**
+     * Master code for a write response, from the registry snapshot (the saved entity only holds
+     * id references, and loading each one would cost a SELECT per code)
+     */
+    private MasterCodeResponseDto masterCodeResponse(Long id) {
+        return masterCodeRegistry.find(id).map(MasterCodeMapper::toResponseDto).orElse(null);
     }
 
     private Pageable buildPageable(Integer page, Integer size, String sort) {
@@ -172,8 +205,9 @@ public class ProgramServiceImpl implements ProgramService {
             String q,
             List<Long> statusIds) throws IOException {
         
-        // Normalize empty lists to null for JPQL query
-        List<Long> normalizedStatusIds = (statusIds != null && statusIds.isEmpty()) ? null : statusIds;
+        // Same filters as the list
+        Specification<ProgramEntity> filter = ProgramSpecifications.filter(q, null, null, null, statusIds)
+                .fetch(ProgramSpecifications.LIST_RELATIONS);
 
         // Use SXSSFWorkbook for streaming Excel export (memory-efficient)
         // Window size of 100: keeps only last 100 rows in memory, flushes older rows to temp files
@@ -199,7 +233,8 @@ public class ProgramServiceImpl implements ProgramService {
 
             // Stream data from database and write rows
             AtomicInteger rowNum = new AtomicInteger(1);
-            try (Stream<ProgramEntity> programStream = repository.streamForExport(q, normalizedStatusIds)) {
+            try (Stream<ProgramEntity> programStream = repository.findBy(
+                    filter, query -> query.sortBy(Sort.by("id")).stream())) {
                 
                 programStream.forEach(program -> {
                     Row row = sheet.createRow(rowNum.getAndIncrement());
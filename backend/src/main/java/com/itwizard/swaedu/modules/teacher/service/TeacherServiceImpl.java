@@ -13,7 +13,8 @@ import com.itwizard.swaedu.modules.auth.entity.User;
 import com.itwizard.swaedu.modules.auth.repository.RoleRepository;
 import com.itwizard.swaedu.modules.auth.repository.UserRepository;
 import com.itwizard.swaedu.modules.mastercode.repository.MasterCodeRepository;
-import com.itwizard.swaedu.modules.mastercode.entity.MasterCodeEntity;
+import com.itwizard.swaedu.modules.mastercode.service.MasterCodeIndex;
+import com.itwizard.swaedu.modules.mastercode.service.MasterCodeRegistry;
 import com.itwizard.swaedu.util.PageResponse;
 import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.usermodel.Row;
@@ -42,6 +43,7 @@ public class TeacherServiceImpl implements TeacherService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final MasterCodeRepository masterCodeRepository;
+    private final MasterCodeRegistry masterCodeRegistry;
 
     @Override
     @Transactional
@@ -73,16 +75,15 @@ public class TeacherServiceImpl implements TeacherService {
         teacher.setPhone(request.getPhone());
 
         // Set status if provided
-        MasterCodeEntity status = null;
+        MasterCodeIndex.Entry status = null;
         if (request.getStatusId() != null) {
-            status = masterCodeRepository.findByIdAndIsDeleteFalse(request.getStatusId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Status master code not found with id: " + request.getStatusId()));
-            teacher.setStatus(status);
+            status = masterCodeRegistry.require(request.getStatusId(), "Status master code");
+            teacher.setStatus(masterCodeRepository.getReferenceById(status.id()));
         }
 
         // Update user enabled based on status
         if (status != null) {
-            boolean isActive = "Active".equals(status.getCodeName());
+            boolean isActive = "Active".equals(status.codeName());
             savedUser.setEnabled(isActive);
             userRepository.save(savedUser);
         } else {
@@ -118,11 +119,10 @@ public class TeacherServiceImpl implements TeacherService {
         TeacherMapper.updateEntityFromDto(teacher, request);
 
         // Update status if provided
-        MasterCodeEntity status = null;
+        MasterCodeIndex.Entry status = null;
         if (request.getStatusId() != null) {
-            status = masterCodeRepository.findByIdAndIsDeleteFalse(request.getStatusId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Status master code not found with id: " + request.getStatusId()));
-            teacher.setStatus(status);
+            status = masterCodeRegistry.require(request.getStatusId(), "Status master code");
+            teacher.setStatus(masterCodeRepository.getReferenceById(status.id()));
         } else {
             teacher.setStatus(null);
         }
@@ -131,7 +131,7 @@ public class TeacherServiceImpl implements TeacherService {
         User user = teacher.getUser();
         if (status != null) {
             // Status was updated, use the new status
-            boolean isActive = "Active".equals(status.getCodeName());
+            boolean isActive = "Active".equals(status.codeName());
             user.setEnabled(isActive);
             userRepository.save(user);
         } else {
@@ -50,10 +50,18 @@ public class TrainingController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateTo,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateFrom,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateTo) {
-        PageResponse<TrainingResponseDto> response = trainingService.listTrainings(
-                q, page, size, sort, programId, institutionId, programIds, institutionIds,
-                startDateFrom, startDateTo, endDateFrom, endDateTo);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateTo,
+            @RequestParam(required = false, defaultValue = "offset") String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal) {
+        // paging=cursor: keyset paging from cursor (nextCursor of the previous page); page is ignored
+        PageResponse<TrainingResponseDto> response = "cursor".equalsIgnoreCase(paging)
+                ? trainingService.listTrainingsByCursor(
+                        q, cursor, size, sort, withTotal, programId, institutionId, programIds, institutionIds,
+                        startDateFrom, startDateTo, endDateFrom, endDateTo)
+                : trainingService.listTrainings(
+                        q, page, size, sort, programId, institutionId, programIds, institutionIds,
+                        startDateFrom, startDateTo, endDateFrom, endDateTo);
         return ResponseUtil.success("Trainings retrieved successfully", response);
     }
 
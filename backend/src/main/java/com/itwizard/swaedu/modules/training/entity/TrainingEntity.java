@@ -1,6 +1,7 @@
 package com.itwizard.swaedu.modules.training.entity;
 
 import com.itwizard.swaedu.modules.institutions.entity.InstitutionEntity;
+import com.itwizard.swaedu.modules.period.entity.ScheduleChangeListener;
 import com.itwizard.swaedu.modules.program.entity.ProgramEntity;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Table(name = "trainings")
+@EntityListeners(ScheduleChangeListener.class)
 public class TrainingEntity {
 
     @Id
@@ -0,0 +1,49 @@
+package com.itwizard.swaedu.modules.training.repository;
+
+import com.itwizard.swaedu.modules.training.entity.TrainingEntity;
+import com.itwizard.swaedu.util.SearchSpecification;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Training list filters
+ */
+public final class TrainingSpecifications {
+
+    // Relationships the list shows
+    public static final String[] LIST_RELATIONS = {
+            "program.sessionPart", "program.status", "program.programType", "institution"
+    };
+
+    private TrainingSpecifications() {
+    }
+
+    /**
+     * Trainings that are not deleted and match the filters; null or empty arguments are left out
+     *
+     * @param q Searched in training_id, name, grade and classInfo
+     */
+    public static SearchSpecification<TrainingEntity> filter(
+            String q,
+            Long programId,
+            Long institutionId,
+            List<Long> programIds,
+            List<Long> institutionIds,
+            LocalDate startDateFrom,
+            LocalDate startDateTo,
+            LocalDate endDateFrom,
+            LocalDate endDateTo) {
+        return SearchSpecification.<TrainingEntity>where()
+                .isFalse("isDelete")
+                .containsIgnoreCase(q, "trainingId", "name", "grade", "classInfo")
+                .equal("programId", programId)
+                .equal("institutionId", institutionId)
+                .in("programId", programIds)
+                .in("institutionId", institutionIds)
+                .atLeast("startDate", startDateFrom)
+                .atMost("startDate", startDateTo)
+                .atLeast("endDate", endDateFrom)
+                .atMost("endDate", endDateTo);
+    }
+}
@@ -26,6 +26,22 @@ public interface TrainingService {
             LocalDate endDateFrom,
             LocalDate endDateTo);
 
+    // Cursor (keyset) paging: sort by id, name, startDate or createdAt; total is only counted when withTotal is set
+    PageResponse<TrainingResponseDto> listTrainingsByCursor(
+            String q,
+            String cursor,
+            Integer size,
+            String sort,
+            boolean withTotal,
+            Long programId,
+            Long institutionId,
+            List<Long> programIds,
+            List<Long> institutionIds,
+            LocalDate startDateFrom,
+            LocalDate startDateTo,
+            LocalDate endDateFrom,
+            LocalDate endDateTo);
+
     TrainingResponseDto getTrainingById(Long id);
 
     TrainingResponseDto updateTraining(Long id, TrainingUpdateDto request);
@@ -10,12 +10,18 @@ import com.itwizard.swaedu.modules.training.dto.response.TrainingResponseDto;
 import com.itwizard.swaedu.modules.training.entity.TrainingEntity;
 import com.itwizard.swaedu.modules.training.mapper.TrainingMapper;
 import com.itwizard.swaedu.modules.training.repository.TrainingRepository;
+import com.itwizard.swaedu.modules.training.repository.TrainingSpecifications;
+import com.itwizard.swaedu.modules.travelallowance.service.TravelDirtyQueue;
+import com.itwizard.swaedu.util.IdPaging;
+import com.itwizard.swaedu.util.KeysetPaging;
 import com.itwizard.swaedu.util.PageResponse;
+import com.itwizard.swaedu.util.SearchSpecification;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,14 +29,22 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Year;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class TrainingServiceImpl implements TrainingService {
 
+    private static final KeysetPaging<TrainingEntity> CURSOR_PAGING =
+            KeysetPaging.<TrainingEntity>by("id", "name", Sort.Direction.ASC)
+                    .key("name", String.class)
+                    .key("startDate", LocalDate.class)
+                    .key("createdAt", LocalDateTime.class);
+
     private final TrainingRepository repository;
     private final ProgramRepository programRepository;
     private final InstitutionRepository institutionRepository;
+    private final TravelDirtyQueue travelDirtyQueue;
 
     @Override
     @Transactional
@@ -77,29 +91,52 @@ public class TrainingServiceImpl implements TrainingService {
             LocalDate startDateTo,
             LocalDate endDateFrom,
             LocalDate endDateTo) {
-        // Normalize empty lists to null for JPQL query (empty lists cause issues with IN clause)
-        List<Long> normalizedProgramIds = (programIds != null && programIds.isEmpty()) ? null : programIds;
-        List<Long> normalizedInstitutionIds = (institutionIds != null && institutionIds.isEmpty()) ? null : institutionIds;
+        // Only the filters supplied become predicates
+        SearchSpecification<TrainingEntity> filter = TrainingSpecifications.filter(
+                q, programId, institutionId, programIds, institutionIds,
+                startDateFrom, startDateTo, endDateFrom, endDateTo);
 
         // If page and size are not provided, return all records
         if (page == null && size == null) {
-            List<TrainingEntity> allResults = repository.searchAll(
-                    q, programId, institutionId, normalizedProgramIds, normalizedInstitutionIds,
-                    startDateFrom, startDateTo, endDateFrom, endDateTo);
+            List<TrainingEntity> allResults = repository.findAll(
+                    filter.fetch(TrainingSpecifications.LIST_RELATIONS), Sort.by(Sort.Direction.ASC, "name"));
             return buildListResponse(allResults);
         }
 
         // Parse sort parameter and use pagination
         Pageable pageable = buildPageable(page, size, sort);
 
-        // Search with filters
-        Page<TrainingEntity> pageResult = repository.search(
-                q, programId, institutionId, normalizedProgramIds, normalizedInstitutionIds,
-                startDateFrom, startDateTo, endDateFrom, endDateTo, pageable);
+        // Search with filters: one page of ids, then that page's rows
+        Page<Long> idPage = IdPaging.ids(repository, filter, pageable);
+        Page<TrainingEntity> pageResult = IdPaging.load(
+                idPage, repository::findAllForListByIdIn, TrainingEntity::getId);
 
         return buildPageResponse(pageResult);
     }
 
+    @Override
+    public PageResponse<TrainingResponseDto> listTrainingsByCursor(
+            String q,
+            String cursor,
+            Integer size,
+            String sort,
+            boolean withTotal,
+            Long programId,
+            Long institutionId,
+            List<Long> programIds,
+            List<Long> institutionIds,
+            LocalDate startDateFrom,
+            LocalDate startDateTo,
+            LocalDate endDateFrom,
+            LocalDate endDateTo) {
+        Specification<TrainingEntity> filter = TrainingSpecifications.filter(
+                        q, programId, institutionId, programIds, institutionIds,
+                        startDateFrom, startDateTo, endDateFrom, endDateTo)
+                .fetch(TrainingSpecifications.LIST_RELATIONS);
+        return CURSOR_PAGING.page(repository, filter, sort, cursor, size, withTotal,
+                TrainingMapper::toResponseDtoList);
+    }
+
     @Override
     public TrainingResponseDto getTrainingById(Long id) {
         TrainingEntity entity = repository.findByIdAndIsDeleteFalse(id)
@@ -120,12 +157,19 @@ public class TrainingServiceImpl implements TrainingService {
         // Validate date range
         validateDateRange(request.getStartDate(), request.getEndDate());
 
+        boolean institutionChanged = !Objects.equals(entity.getInstitutionId(), request.getInstitutionId());
+
         // Update entity
         TrainingMapper.updateEntityFromDto(entity, request);
         entity.setUpdatedAt(LocalDateTime.now());
 
         TrainingEntity updated = repository.save(entity);
 
+        // Periods now start from another institution
+        if (institutionChanged) {
+            travelDirtyQueue.markTraining(id);
+        }
+
         // Reload with relationships
         return getTrainingById(updated.getId());
     }
@@ -140,6 +184,9 @@ public class TrainingServiceImpl implements TrainingService {
         entity.setIsDelete(true);
         entity.setUpdatedAt(LocalDateTime.now());
         repository.save(entity);
+
+        // Its periods no longer count as travel
+        travelDirtyQueue.markTraining(id);
     }
 
     // Private helper methods
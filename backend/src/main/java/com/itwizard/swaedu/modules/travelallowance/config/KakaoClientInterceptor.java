@@ -0,0 +1,193 @@
+package com.itwizard.swaedu.modules.travelallowance.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-host bulkhead, circuit breaker and metrics for outbound Kakao Maps calls
+ *
+ * A bulkhead permit is held until the response is closed, so the limit covers the
+ * body download and bounds the number of connections in use per host.
+ * Rejected calls fail fast with an IOException (surfaced by RestTemplate as
+ * ResourceAccessException) and are retried by the caller's own retry policy.
+ *
+ * Metrics (visible under /actuator/metrics):
+ * - kakao.maps.client.requests: latency histogram by host and outcome
+ * - kakao.maps.client.bulkhead.active / .waiting / .max: pool saturation by host
+ * - kakao.maps.client.circuit.state: 0 closed, 1 half-open, 2 open
+ * - kakao.maps.client.rejected: calls rejected by the bulkhead or an open circuit
+ */
+public class KakaoClientInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String METRIC_PREFIX = "kakao.maps.client";
+
+    private final KakaoHttpClientConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HostGuard> guards = new ConcurrentHashMap<>();
+
+    public KakaoClientInterceptor(KakaoHttpClientConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        String host = request.getURI().getHost();
+        HostGuard guard = guards.computeIfAbsent(host, this::createGuard);
+
+        if (!guard.circuitBreaker.tryAcquire()) {
+            guard.rejectedByCircuit.increment();
+            throw new IOException("Circuit open for host " + host);
+        }
+
+        try {
+            if (!guard.bulkhead.tryAcquire(config.getBulkheadWaitMs(), TimeUnit.MILLISECONDS)) {
+                guard.rejectedByBulkhead.increment();
+                // Not the host's fault: release a half-open trial without judging it
+                guard.circuitBreaker.releaseUnusedTrial();
+                throw new IOException("Too many concurrent requests to host " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for host " + host, e);
+        }
+
+        long start = System.nanoTime();
+        ClientHttpResponse response = null;
+        boolean handedOver = false;
+        try {
+            response = execution.execute(request, body);
+            HttpStatusCode status = response.getStatusCode();
+            if (status.is5xxServerError() || status.value() == 429) {
+                guard.circuitBreaker.onFailure();
+            } else {
+                guard.circuitBreaker.onSuccess();
+            }
+            ClientHttpResponse guarded = new GuardedResponse(response, () -> {
+                guard.bulkhead.release();
+                record(host, outcome(status), start);
+            });
+            handedOver = true;
+            return guarded;
+        } catch (IOException | RuntimeException e) {
+            if (response != null) {
+                response.close();
+            }
+            guard.circuitBreaker.onFailure();
+            record(host, "IO_ERROR", start);
+            throw e;
+        } finally {
+            // Once handed over, the permit is released when the caller closes the response
+            if (!handedOver) {
+                guard.bulkhead.release();
+            }
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private HostGuard createGuard(String host) {
+        HostGuard guard = new HostGuard(
+                new Semaphore(config.getMaxConcurrentPerHost(), true),
+                new HostCircuitBreaker(config.getCircuitFailureThreshold(), config.getCircuitOpenMs()),
+                Counter.builder(METRIC_PREFIX + ".rejected")
+                        .tag("host", host).tag("reason", "bulkhead")
+                        .register(meterRegistry),
+                Counter.builder(METRIC_PREFIX + ".rejected")
+                        .tag("host", host).tag("reason", "circuit_open")
+                        .register(meterRegistry));
+
+        int max = config.getMaxConcurrentPerHost();
+        Gauge.builder(METRIC_PREFIX + ".bulkhead.active", guard.bulkhead, s -> max - s.availablePermits())
+                .tag("host", host).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".bulkhead.waiting", guard.bulkhead, Semaphore::getQueueLength)
+                .tag("host", host).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".bulkhead.max", () -> max)
+                .tag("host", host).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".circuit.state", guard.circuitBreaker, cb -> cb.getState().ordinal())
+                .tag("host", host).register(meterRegistry);
+        return guard;
+    }
+
+    private void record(String host, String outcome, long startNanos) {
+        Timer.builder(METRIC_PREFIX + ".requests")
+                .tag("host", host)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcome(HttpStatusCode status) {
+        if (status.is2xxSuccessful()) return "SUCCESS";
+        if (status.is4xxClientError()) return "CLIENT_ERROR";
+        if (status.is5xxServerError()) return "SERVER_ERROR";
+        return "UNKNOWN";
+    }
+
+    private record HostGuard(Semaphore bulkhead, HostCircuitBreaker circuitBreaker,
+                             Counter rejectedByBulkhead, Counter rejectedByCircuit) {
+    }
+
+    /**
+     * Releases the bulkhead permit and records latency once, when the response is closed
+     */
+    private static class GuardedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Runnable onClose;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        GuardedResponse(ClientHttpResponse delegate, Runnable onClose) {
+            this.delegate = delegate;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    onClose.run();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.itwizard.swaedu.modules.travelallowance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Outbound HTTP Client Configuration for Kakao Maps API calls
+ */
+@Configuration
+@ConfigurationProperties(prefix = "kakao.maps.http")
+@Getter
+@Setter
+public class KakaoHttpClientConfig {
+    /**
+     * Connect timeout in milliseconds
+     */
+    private int connectTimeoutMs = 5000;
+
+    /**
+     * Read timeout in milliseconds
+     */
+    private int readTimeoutMs = 10000;
+
+    /**
+     * Maximum concurrent requests per host (bulkhead); also bounds open connections per host
+     */
+    private int maxConcurrentPerHost = 8;
+
+    /**
+     * How long a request waits for a bulkhead permit before it is rejected
+     */
+    private long bulkheadWaitMs = 2000;
+
+    /**
+     * Consecutive failures (I/O errors, 5xx, 429) that open the circuit for a host
+     */
+    private int circuitFailureThreshold = 5;
+
+    /**
+     * How long an open circuit rejects requests before a single trial request is let through
+     */
+    private long circuitOpenMs = 30000;
+}
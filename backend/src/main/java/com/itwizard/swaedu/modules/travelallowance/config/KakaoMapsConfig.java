@@ -43,4 +43,9 @@ public class KakaoMapsConfig {
      * Default zoom level (1-14)
      */
     private int defaultZoom = 5;
+
+    /**
+     * Number of route snapshot URLs kept in the in-memory LRU in front of map_snapshot_cache
+     */
+    private int snapshotCacheSize = 10000;
 }
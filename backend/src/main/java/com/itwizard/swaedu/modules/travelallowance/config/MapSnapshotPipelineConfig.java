@@ -0,0 +1,66 @@
+package com.itwizard.swaedu.modules.travelallowance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Map Snapshot Pipeline Configuration
+ */
+@Configuration
+@ConfigurationProperties(prefix = "travel.snapshot")
+@Getter
+@Setter
+public class MapSnapshotPipelineConfig {
+    /**
+     * Route map renderer: "kakao" (Kakao static map API) or "local" (Java2D, no network)
+     */
+    private String renderer = "kakao";
+
+    /**
+     * Administrative boundaries drawn under routes by the "local" renderer (Spring resource location).
+     * Routes are drawn on a plain background when empty or missing
+     */
+    private String boundaryGeojson = "classpath:geo/si-gun-gu.geojson";
+
+    /**
+     * Width of the stored thumbnail variant in pixels (height keeps the aspect ratio)
+     */
+    private int thumbnailWidth = 240;
+
+    /**
+     * JPEG quality (0-1) of the stored variants; PNG is kept when it is smaller
+     */
+    private float jpegQuality = 0.8f;
+
+    /**
+     * Maximum number of daily travel records waiting in memory for a render
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Maximum number of snapshots rendered concurrently (outbound map API calls for the kakao renderer)
+     */
+    private int concurrency = 4;
+
+    /**
+     * Attempts before a record is moved to DEAD_LETTER
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Backoff after the first failed attempt, doubled on each further failure
+     */
+    private long initialBackoffMs = 5000;
+
+    /**
+     * Upper bound for the retry backoff
+     */
+    private long maxBackoffMs = 600000;
+
+    /**
+     * How often PENDING records that are due (retries, overflow, restarts) are picked up from the database
+     */
+    private long sweepIntervalMs = 30000;
+}
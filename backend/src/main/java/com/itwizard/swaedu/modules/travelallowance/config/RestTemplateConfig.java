@@ -1,12 +1,23 @@
 package com.itwizard.swaedu.modules.travelallowance.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
 /**
- * RestTemplate Configuration for Kakao Maps API calls
+ * RestTemplate Configuration
+ *
+ * restTemplate is the general-purpose client. kakaoMapsRestTemplate is only for Kakao Maps
+ * calls: it uses the JDK HttpClient, which keeps persistent (keep-alive) connections per host
+ * instead of opening a new HttpURLConnection per call, and KakaoClientInterceptor adds a
+ * per-host bulkhead, a circuit breaker and latency / saturation metrics.
  */
 @Configuration
 public class RestTemplateConfig {
@@ -18,4 +29,21 @@ public class RestTemplateConfig {
         factory.setReadTimeout(10000); // 10 seconds
         return new RestTemplate(factory);
     }
+
+    @Bean
+    public RestTemplate kakaoMapsRestTemplate(KakaoHttpClientConfig clientConfig, MeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(clientConfig.getConnectTimeoutMs()))
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(clientConfig.getReadTimeoutMs()));
+
+        RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.getInterceptors().add(new KakaoClientInterceptor(clientConfig, meterRegistry));
+        return restTemplate;
+    }
 }
@@ -0,0 +1,40 @@
+package com.itwizard.swaedu.modules.travelallowance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Travel Allowance Batch Rebuild Configuration
+ */
+@Configuration
+@ConfigurationProperties(prefix = "travel.batch")
+@Getter
+@Setter
+public class TravelBatchConfig {
+    /**
+     * Number of worker threads recalculating chunks in parallel
+     */
+    private int workerThreads = 4;
+
+    /**
+     * Number of chunks that may wait for a worker before the job runner blocks
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Maximum number of days per chunk (one instructor per chunk)
+     */
+    private int chunkDays = 31;
+
+    /**
+     * Number of instructors whose period assignments are loaded and held in memory together
+     */
+    private int scheduleInstructors = 200;
+
+    /**
+     * Maximum number of days one job may cover
+     */
+    private int maxRangeDays = 366;
+}
@@ -0,0 +1,30 @@
+package com.itwizard.swaedu.modules.travelallowance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Travel Dirty Queue Configuration
+ */
+@Configuration
+@ConfigurationProperties(prefix = "travel.dirty")
+@Getter
+@Setter
+public class TravelDirtyQueueConfig {
+    /**
+     * Delay between a committed change and the drain it triggers; changes arriving meanwhile are coalesced
+     */
+    private long coalesceDelayMs = 2000;
+
+    /**
+     * How often the queue is drained even without new changes (restarts, other nodes, failed drains)
+     */
+    private long sweepIntervalMs = 60000;
+
+    /**
+     * Instructors recalculated per drain round
+     */
+    private int instructorsPerDrain = 100;
+}
@@ -0,0 +1,37 @@
+package com.itwizard.swaedu.modules.travelallowance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Travel Distance Configuration
+ */
+@Configuration
+@ConfigurationProperties(prefix = "travel.distance")
+@Getter
+@Setter
+public class TravelDistanceConfig {
+    /**
+     * Distance provider behind the cache: "haversine" (straight line) or "road" (offline road graph).
+     * Cached legs are kept per provider
+     */
+    private String provider = "haversine";
+
+    /**
+     * Maximum number of legs kept in memory; the least recently used leg is evicted beyond it
+     * (the database table is not bounded)
+     */
+    private int cacheMaxEntries = 200000;
+
+    /**
+     * Road graph extract used by the "road" provider (see RoadGraphLoader for the format)
+     */
+    private String roadGraphPath;
+
+    /**
+     * Points farther than this from any road node fall back to straight-line distance
+     */
+    private double roadSnapMaxMeters = 2000;
+}
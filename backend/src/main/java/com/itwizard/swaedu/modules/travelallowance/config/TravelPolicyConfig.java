@@ -0,0 +1,21 @@
+package com.itwizard.swaedu.modules.travelallowance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Travel Allowance Policy Configuration
+ */
+@Configuration
+@ConfigurationProperties(prefix = "travel.policy")
+@Getter
+@Setter
+public class TravelPolicyConfig {
+    /**
+     * How often the policy version counter is read; the index is rebuilt when it moved
+     * (picks up policy rows changed by SQL or on other nodes)
+     */
+    private long versionCheckIntervalMs = 30000;
+}
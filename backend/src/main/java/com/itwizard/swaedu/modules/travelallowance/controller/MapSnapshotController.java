@@ -0,0 +1,35 @@
+package com.itwizard.swaedu.modules.travelallowance.controller;
+
+import com.itwizard.swaedu.modules.travelallowance.service.MapSnapshotPipeline;
+import com.itwizard.swaedu.util.ApiResponse;
+import com.itwizard.swaedu.util.ResponseUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Map Snapshot Controller
+ *
+ * Admin APIs for the background map snapshot pipeline
+ */
+@RestController
+@RequestMapping("/api/v1/admin/daily-travel/snapshots")
+@RequiredArgsConstructor
+public class MapSnapshotController {
+
+    private final MapSnapshotPipeline snapshotPipeline;
+
+    /**
+     * POST /api/v1/admin/daily-travel/snapshots/dead-letters/retry
+     * Requeue snapshots that exhausted their retries
+     */
+    @PostMapping("/dead-letters/retry")
+    public ResponseEntity<ApiResponse> retryDeadLetters() {
+        int requeued = snapshotPipeline.retryDeadLetters();
+        return ResponseUtil.success("지도 스냅샷 재시도 요청 완료", Map.of("requeued", requeued));
+    }
+}
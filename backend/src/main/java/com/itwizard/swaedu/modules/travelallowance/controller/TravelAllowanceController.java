@@ -4,6 +4,7 @@ import com.itwizard.swaedu.modules.travelallowance.dto.response.DailyTravelRespo
 import com.itwizard.swaedu.modules.travelallowance.dto.response.MonthlyTravelSummaryDto;
 import com.itwizard.swaedu.modules.travelallowance.service.TravelAllowanceService;
 import com.itwizard.swaedu.util.ApiResponse;
+import com.itwizard.swaedu.util.PageResponse;
 import com.itwizard.swaedu.util.ResponseUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -20,6 +21,7 @@ import java.util.List;
  * - GET daily travel records
  * - POST recalculate daily travel
  * - GET monthly travel summary
+ * - GET monthly daily records (paged)
  */
 @RestController
 @RequestMapping("/api/v1/admin/instructors")
@@ -75,4 +77,20 @@ public class TravelAllowanceController {
         MonthlyTravelSummaryDto summary = travelAllowanceService.getMonthlyTravelSummary(instructorId, month);
         return ResponseUtil.success("월별 여비 요약 조회 성공", summary);
     }
+
+    /**
+     * GET /api/v1/admin/instructors/{instructorId}/monthly-travel/daily
+     * Get the daily travel records of a month (paged)
+     */
+    @GetMapping("/{instructorId}/monthly-travel/daily")
+    public ResponseEntity<ApiResponse> getMonthlyDailyRecords(
+            @PathVariable Long instructorId,
+            @RequestParam String month,  // YYYY-MM format
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+
+        PageResponse<DailyTravelResponseDto> records =
+                travelAllowanceService.getMonthlyDailyRecords(instructorId, month, page, size);
+        return ResponseUtil.success("월별 일일 여비 내역 조회 성공", records);
+    }
 }
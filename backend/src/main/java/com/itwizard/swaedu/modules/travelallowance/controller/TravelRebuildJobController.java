@@ -0,0 +1,86 @@
+package com.itwizard.swaedu.modules.travelallowance.controller;
+
+import com.itwizard.swaedu.modules.travelallowance.dto.request.TravelRebuildJobRequestDto;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.TravelRebuildItemErrorDto;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.TravelRebuildJobResponseDto;
+import com.itwizard.swaedu.modules.travelallowance.service.TravelRebuildJobService;
+import com.itwizard.swaedu.util.ApiResponse;
+import com.itwizard.swaedu.util.PageResponse;
+import com.itwizard.swaedu.util.ResponseUtil;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Travel Rebuild Job Controller
+ *
+ * Admin APIs for month-close batch recalculation:
+ * - POST start a rebuild job (one instructor, a list of instructors, a filter or all instructors)
+ * - GET job progress, throughput and ETA
+ * - GET failed instructor-days of a job
+ * - POST resume an interrupted job from its checkpoint
+ */
+@RestController
+@RequestMapping("/api/v1/admin/daily-travel/rebuild-jobs")
+@RequiredArgsConstructor
+public class TravelRebuildJobController {
+
+    private final TravelRebuildJobService rebuildJobService;
+
+    /**
+     * POST /api/v1/admin/daily-travel/rebuild-jobs
+     * Start a rebuild job in the background
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse> startJob(@Valid @RequestBody TravelRebuildJobRequestDto request) {
+        TravelRebuildJobResponseDto job = rebuildJobService.startJob(request);
+        return ResponseUtil.created("여비 재계산 작업 시작", job);
+    }
+
+    /**
+     * GET /api/v1/admin/daily-travel/rebuild-jobs
+     * List recent rebuild jobs
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse> getRecentJobs() {
+        List<TravelRebuildJobResponseDto> jobs = rebuildJobService.getRecentJobs();
+        return ResponseUtil.success("여비 재계산 작업 목록 조회 성공", jobs);
+    }
+
+    /**
+     * GET /api/v1/admin/daily-travel/rebuild-jobs/{jobId}
+     * Get progress, throughput and ETA of a rebuild job
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse> getJob(@PathVariable Long jobId) {
+        TravelRebuildJobResponseDto job = rebuildJobService.getJob(jobId);
+        return ResponseUtil.success("여비 재계산 작업 조회 성공", job);
+    }
+
+    /**
+     * GET /api/v1/admin/daily-travel/rebuild-jobs/{jobId}/errors
+     * Get the failed instructor-days of a rebuild job (paged)
+     */
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<ApiResponse> getJobErrors(
+            @PathVariable Long jobId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+
+        PageResponse<TravelRebuildItemErrorDto> errors = rebuildJobService.getJobErrors(jobId, page, size);
+        return ResponseUtil.success("여비 재계산 실패 항목 조회 성공", errors);
+    }
+
+    /**
+     * POST /api/v1/admin/daily-travel/rebuild-jobs/{jobId}/resume
+     * Resume a job from its persisted checkpoint
+     */
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ApiResponse> resumeJob(@PathVariable Long jobId) {
+        TravelRebuildJobResponseDto job = rebuildJobService.resumeJob(jobId);
+        return ResponseUtil.success("여비 재계산 작업 재개", job);
+    }
+}
@@ -0,0 +1,125 @@
+package com.itwizard.swaedu.modules.travelallowance.controller;
+
+import com.itwizard.swaedu.exception.ValidationException;
+import com.itwizard.swaedu.modules.travelallowance.service.TravelSettlementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Travel Settlement Controller
+ *
+ * Org-wide monthly travel settlement report for month close
+ */
+@RestController
+@RequestMapping("/api/v1/admin/travel-settlement")
+@RequiredArgsConstructor
+public class TravelSettlementController {
+
+    private final TravelSettlementService travelSettlementService;
+
+    /**
+     * GET /api/v1/admin/travel-settlement/export?month=YYYY-MM&format=xlsx|csv
+     * Export one line per instructor with distance and fee totals
+     * (xlsx adds a sheet with one map snapshot link per day)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMonthlySettlement(
+            @RequestParam String month,  // YYYY-MM format
+            @RequestParam(defaultValue = "xlsx") String format) {
+
+        String workMonth = parseMonth(month);
+        boolean csv = isCsv(format);
+        StreamingResponseBody responseBody = outputStream -> {
+            try {
+                if (csv) {
+                    travelSettlementService.exportMonthlySettlementToCsv(outputStream, workMonth);
+                } else {
+                    travelSettlementService.exportMonthlySettlementToExcel(outputStream, workMonth);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Error exporting travel settlement", e);
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(csv
+                ? MediaType.parseMediaType("text/csv; charset=UTF-8")
+                : MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+        headers.setContentDisposition(
+                ContentDisposition.attachment()
+                        .filename("travel_settlement_" + workMonth + (csv ? ".csv" : ".xlsx"))
+                        .build()
+        );
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(responseBody);
+    }
+
+    /**
+     * GET /api/v1/admin/travel-settlement/export/snapshots?month=YYYY-MM
+     * Export one CSV line per day with its map snapshot link
+     */
+    @GetMapping("/export/snapshots")
+    public ResponseEntity<StreamingResponseBody> exportMonthlySnapshotLinks(
+            @RequestParam String month) {  // YYYY-MM format
+
+        String workMonth = parseMonth(month);
+        StreamingResponseBody responseBody = outputStream -> {
+            try {
+                travelSettlementService.exportMonthlySnapshotLinksToCsv(outputStream, workMonth);
+            } catch (IOException e) {
+                throw new RuntimeException("Error exporting map snapshot links", e);
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv; charset=UTF-8"));
+        headers.setContentDisposition(
+                ContentDisposition.attachment()
+                        .filename("travel_snapshots_" + workMonth + ".csv")
+                        .build()
+        );
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(responseBody);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Validate the month before it reaches the queries and the attachment filename
+     *
+     * @return The month in canonical YYYY-MM form
+     */
+    private static String parseMonth(String month) {
+        try {
+            return YearMonth.parse(month).toString();
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("month must be in YYYY-MM format");
+        }
+    }
+
+    private static boolean isCsv(String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            return true;
+        }
+        if ("xlsx".equalsIgnoreCase(format)) {
+            return false;
+        }
+        throw new ValidationException("format must be csv or xlsx");
+    }
+}
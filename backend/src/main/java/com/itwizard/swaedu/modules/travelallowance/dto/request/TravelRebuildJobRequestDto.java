@@ -0,0 +1,37 @@
+package com.itwizard.swaedu.modules.travelallowance.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Rebuild job target and date range.
+ * Instructors are taken from instructorIds, else instructorId, else the filter
+ * (instructors with home coordinates matching every given list); all empty means all instructors.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelRebuildJobRequestDto {
+
+    private Long instructorId;
+
+    private List<Long> instructorIds;
+
+    // Filter
+    private List<Long> regionIds;
+    private List<Long> classificationIds;
+    private List<Long> statusIds;
+
+    @NotNull(message = "From date is required")
+    private LocalDate fromDate;
+
+    @NotNull(message = "To date is required")
+    private LocalDate toDate;
+}
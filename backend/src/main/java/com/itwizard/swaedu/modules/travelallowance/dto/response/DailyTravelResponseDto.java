@@ -21,7 +21,9 @@ public class DailyTravelResponseDto {
     private String workMonth;  // YYYY-MM
     private BigDecimal totalDistanceKm;
     private Integer travelFeeAmountKrw;
-    private String mapSnapshotUrl;
+    private String mapSnapshotUrl;  // Compressed full-size image
+    private String mapSnapshotThumbnailUrl;  // Small image for list pages
     private String status;  // DRAFT or FINAL
+    private String snapshotStatus;  // NONE, PENDING, DONE or DEAD_LETTER
     private List<WaypointResponseDto> waypoints;
 }
@@ -0,0 +1,34 @@
+package com.itwizard.swaedu.modules.travelallowance.dto.response;
+
+import com.itwizard.swaedu.modules.travelallowance.entity.InstructorDailyTravel;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read projection of a daily travel record with the instructor name (no entity loading)
+ */
+public interface DailyTravelRow {
+
+    Long getId();
+
+    Long getInstructorId();
+
+    String getInstructorName();
+
+    LocalDate getTravelDate();
+
+    String getWorkMonth();
+
+    BigDecimal getTotalDistanceKm();
+
+    Integer getTravelFeeAmountKrw();
+
+    String getMapSnapshotUrl();
+
+    String getMapSnapshotThumbnailUrl();
+
+    InstructorDailyTravel.TravelStatus getStatus();
+
+    InstructorDailyTravel.SnapshotStatus getSnapshotStatus();
+}
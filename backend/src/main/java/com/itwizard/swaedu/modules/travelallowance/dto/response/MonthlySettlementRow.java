@@ -0,0 +1,30 @@
+package com.itwizard.swaedu.modules.travelallowance.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * One instructor line of the monthly travel settlement report
+ * (projection of the settlement query over instructor_monthly_travel)
+ */
+public interface MonthlySettlementRow {
+
+    Long getInstructorUserId();
+
+    String getInstructorCode();
+
+    String getInstructorName();
+
+    String getRegionName();
+
+    Integer getRecordDays();
+
+    Integer getTravelDays();
+
+    Integer getFinalDays();
+
+    BigDecimal getTotalDistanceKm();
+
+    Long getTotalFeeKrw();
+
+    Long getFinalFeeKrw();
+}
@@ -0,0 +1,24 @@
+package com.itwizard.swaedu.modules.travelallowance.dto.response;
+
+import com.itwizard.swaedu.modules.travelallowance.entity.InstructorDailyTravel;
+
+import java.time.LocalDate;
+
+/**
+ * One day of the monthly settlement map snapshot list
+ * (projection of the snapshot link query)
+ */
+public interface MonthlySnapshotLinkRow {
+
+    String getInstructorCode();
+
+    String getInstructorName();
+
+    LocalDate getTravelDate();
+
+    Integer getTravelFeeAmountKrw();
+
+    InstructorDailyTravel.TravelStatus getStatus();
+
+    String getMapSnapshotUrl();
+}
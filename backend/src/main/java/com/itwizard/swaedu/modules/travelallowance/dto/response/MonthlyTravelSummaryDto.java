@@ -5,7 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.List;
+import java.math.BigDecimal;
 
 @Data
 @Builder
@@ -14,6 +14,11 @@ import java.util.List;
 public class MonthlyTravelSummaryDto {
     private Long instructorId;
     private String month;  // YYYY-MM
-    private List<DailyTravelResponseDto> dailyRecords;
-    private Integer totalTravelExpense;  // Sum of all daily travel fees for the month
+    private Integer totalTravelExpense;  // Sum of FINAL daily travel fees for the month
+    private BigDecimal totalDistanceKm;
+    private Integer recordDays;  // Daily records, including days without travel
+    private Integer travelDays;  // Days with distance > 0
+    private Integer finalDays;
+    private Integer draftDays;
+    // Daily records: GET /api/v1/admin/instructors/{instructorId}/monthly-travel/daily (paged)
 }
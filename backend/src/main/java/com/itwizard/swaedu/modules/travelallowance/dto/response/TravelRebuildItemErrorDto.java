@@ -0,0 +1,20 @@
+package com.itwizard.swaedu.modules.travelallowance.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelRebuildItemErrorDto {
+    private Long instructorId;
+    private LocalDate travelDate;  // NULL means the whole chunk failed
+    private String message;
+    private LocalDateTime createdAt;
+}
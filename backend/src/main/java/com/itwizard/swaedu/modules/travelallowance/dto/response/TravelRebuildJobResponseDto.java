@@ -0,0 +1,39 @@
+package com.itwizard.swaedu.modules.travelallowance.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelRebuildJobResponseDto {
+    private Long jobId;
+    private Long instructorId;  // NULL means several instructors (see target)
+    private Integer instructorCount;
+    private String target;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String status;
+    private Integer totalItems;  // instructor-days
+    private Integer processedItems;
+    private Integer failedItems;
+    private Long totalChunks;
+    private Long completedChunks;
+    private Long failedChunks;
+    private Double progressPercent;
+    private Double itemsPerSecond;  // Throughput of the current run
+    private Integer remainingItems;
+    private Long estimatedSecondsRemaining;  // NULL until throughput is known or once finished
+    private LocalDateTime estimatedFinishAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long errorCount;  // Failed items recorded (see GET /{jobId}/errors)
+    private List<String> errors;  // First chunk errors
+}
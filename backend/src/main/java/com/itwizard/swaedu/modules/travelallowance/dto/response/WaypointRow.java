@@ -0,0 +1,25 @@
+package com.itwizard.swaedu.modules.travelallowance.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Read projection of a waypoint, keyed by its daily travel record
+ */
+public interface WaypointRow {
+
+    Long getDailyTravelId();
+
+    Integer getSeq();
+
+    Long getInstitutionId();
+
+    String getInstitutionName();
+
+    String getInstitutionAddress();
+
+    BigDecimal getLat();
+
+    BigDecimal getLng();
+
+    Long getTrainingId();
+}
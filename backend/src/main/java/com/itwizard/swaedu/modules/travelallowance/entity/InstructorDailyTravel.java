@@ -28,8 +28,10 @@ import java.util.List;
 public class InstructorDailyTravel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "instructor_daily_travel_seq")
+    @SequenceGenerator(name = "instructor_daily_travel_seq",
+                       sequenceName = "instructor_daily_travel_id_seq", allocationSize = 50)
+    private Long id;  // Pooled sequence (not IDENTITY) so range recalculations insert in JDBC batches
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "instructor_id", nullable = false, foreignKey = @ForeignKey(name = "fk_daily_travel_instructor"))
@@ -53,11 +55,37 @@ public class InstructorDailyTravel {
     @Column(name = "map_snapshot_url", length = 1000)
     private String mapSnapshotUrl;  // NOT NULL once finalized, but nullable for DRAFT
 
+    @Column(name = "map_snapshot_thumbnail_url", length = 1000)
+    private String mapSnapshotThumbnailUrl;  // Small variant for list pages, set together with mapSnapshotUrl
+
     @Column(name = "status", nullable = false, length = 20)
     @Enumerated(EnumType.STRING)
     @Builder.Default
     private TravelStatus status = TravelStatus.DRAFT;
 
+    @Column(name = "snapshot_status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private SnapshotStatus snapshotStatus = SnapshotStatus.NONE;
+
+    @Column(name = "snapshot_revision", nullable = false)
+    @Builder.Default
+    private Integer snapshotRevision = 0;  // Bumped whenever the route changes; stale renders are discarded
+
+    @Column(name = "snapshot_attempts", nullable = false)
+    @Builder.Default
+    private Integer snapshotAttempts = 0;
+
+    @Column(name = "snapshot_next_attempt_at")
+    private LocalDateTime snapshotNextAttemptAt;
+
+    @Column(name = "snapshot_last_error", length = 1000)
+    private String snapshotLastError;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;  // Null until persisted, so Spring Data still treats a new record as new
+
     @OneToMany(mappedBy = "dailyTravel", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     @OrderBy("seq ASC")
@@ -87,4 +115,11 @@ public class InstructorDailyTravel {
         DRAFT,  // Missing address or geocode failed
         FINAL   // All data complete, map snapshot generated
     }
+
+    public enum SnapshotStatus {
+        NONE,        // Nothing to render (no periods on this date, or no renderer configured)
+        PENDING,     // Waiting for the snapshot pipeline (including retries)
+        DONE,        // Snapshot stored, record is FINAL
+        DEAD_LETTER  // Gave up after the maximum number of attempts
+    }
 }
@@ -0,0 +1,59 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Instructor Monthly Travel Entity
+ * Aggregate of an instructor's daily travel records for one work month.
+ * Written only through InstructorMonthlyTravelRepository.applyDelta, in the same
+ * transaction as the daily record change.
+ */
+@Data
+@Entity
+@Table(name = "instructor_monthly_travel")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstructorMonthlyTravel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "instructor_id", nullable = false)
+    private Long instructorId;
+
+    @Column(name = "work_month", nullable = false, length = 7)
+    private String workMonth;  // YYYY-MM
+
+    @Column(name = "record_days", nullable = false)
+    private Integer recordDays;
+
+    @Column(name = "travel_days", nullable = false)
+    private Integer travelDays;
+
+    @Column(name = "final_days", nullable = false)
+    private Integer finalDays;
+
+    @Column(name = "draft_days", nullable = false)
+    private Integer draftDays;
+
+    @Column(name = "total_distance_km", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalDistanceKm;
+
+    @Column(name = "total_fee_krw", nullable = false)
+    private Long totalFeeKrw;
+
+    @Column(name = "final_fee_krw", nullable = false)
+    private Long finalFeeKrw;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
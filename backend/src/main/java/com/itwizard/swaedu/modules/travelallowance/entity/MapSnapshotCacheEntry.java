@@ -0,0 +1,55 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Map Snapshot Cache Entry
+ * Stored route image for one canonical route (map size, zoom and ordered coordinates)
+ */
+@Data
+@Entity
+@Table(name = "map_snapshot_cache")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MapSnapshotCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "route_hash", nullable = false, unique = true, length = 64)
+    private String routeHash;
+
+    @Column(name = "image_url", nullable = false, length = 500)
+    private String imageUrl;  // Compressed full-size variant
+
+    @Column(name = "thumbnail_url", length = 500)
+    private String thumbnailUrl;  // NULL for images stored before thumbnails were generated
+
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    @Column(name = "zoom", nullable = false)
+    private Integer zoom;
+
+    @Column(name = "point_count", nullable = false)
+    private Integer pointCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -17,6 +17,7 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Table(name = "travel_allowance_policy")
+@EntityListeners(TravelAllowancePolicyListener.class)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
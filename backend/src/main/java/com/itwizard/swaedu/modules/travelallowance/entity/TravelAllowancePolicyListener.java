@@ -0,0 +1,26 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns policy row changes into TravelPolicyChangedEvent
+ * (instantiated through Spring, so the publisher is injected)
+ */
+@Component
+@RequiredArgsConstructor
+public class TravelAllowancePolicyListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(TravelAllowancePolicy policy) {
+        eventPublisher.publishEvent(new TravelPolicyChangedEvent(policy.getId()));
+    }
+}
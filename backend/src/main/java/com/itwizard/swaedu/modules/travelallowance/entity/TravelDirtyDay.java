@@ -0,0 +1,37 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Travel Dirty Day Entity
+ * An (instructor, date) whose daily travel is stale and waits for TravelDirtyQueue to recalculate it.
+ * Written only through the mark queries of TravelDirtyDayRepository (one row per key).
+ */
+@Data
+@Entity
+@Table(name = "travel_dirty_day")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelDirtyDay {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "instructor_id", nullable = false)
+    private Long instructorId;
+
+    @Column(name = "travel_date", nullable = false)
+    private LocalDate travelDate;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt;
+}
@@ -0,0 +1,53 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Travel Distance Cache Entry
+ * Distance of one directed leg as computed by a distance provider
+ */
+@Data
+@Entity
+@Table(name = "travel_distance_cache")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelDistanceCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "provider", nullable = false, length = 30)
+    private String provider;
+
+    @Column(name = "from_lat", nullable = false, precision = 10, scale = 7)
+    private BigDecimal fromLat;
+
+    @Column(name = "from_lng", nullable = false, precision = 10, scale = 7)
+    private BigDecimal fromLng;
+
+    @Column(name = "to_lat", nullable = false, precision = 10, scale = 7)
+    private BigDecimal toLat;
+
+    @Column(name = "to_lng", nullable = false, precision = 10, scale = 7)
+    private BigDecimal toLng;
+
+    @Column(name = "distance_km", nullable = false, precision = 10, scale = 2)
+    private BigDecimal distanceKm;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,9 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+/**
+ * Published when an instructor home or an institution gets different coordinates
+ * (including first set or cleared), so the daily travel that uses it can be recalculated.
+ * Exactly one of the ids is set.
+ */
+public record TravelEndpointChangedEvent(Long instructorId, Long institutionId) {
+}
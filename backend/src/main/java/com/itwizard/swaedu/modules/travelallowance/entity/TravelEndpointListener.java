@@ -0,0 +1,84 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+import com.itwizard.swaedu.modules.institutions.entity.InstitutionEntity;
+import com.itwizard.swaedu.modules.instructor.entity.Instructor;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * JPA entity listener that turns instructor home / institution coordinate changes
+ * into TravelEndpointMovedEvent and TravelEndpointChangedEvent
+ * (instantiated through Spring, so the publisher is injected)
+ */
+@Component
+@RequiredArgsConstructor
+public class TravelEndpointListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    @PostPersist
+    public void remember(Object entity) {
+        if (entity instanceof Instructor instructor) {
+            instructor.setLoadedHomeLat(instructor.getHomeLat());
+            instructor.setLoadedHomeLng(instructor.getHomeLng());
+        } else if (entity instanceof InstitutionEntity institution) {
+            institution.setLoadedInstitutionLat(institution.getInstitutionLat());
+            institution.setLoadedInstitutionLng(institution.getInstitutionLng());
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof Instructor instructor) {
+            publishIfMoved(instructor.getLoadedHomeLat(), instructor.getLoadedHomeLng(),
+                    instructor.getHomeLat(), instructor.getHomeLng());
+            if (changed(instructor.getLoadedHomeLat(), instructor.getLoadedHomeLng(),
+                    instructor.getHomeLat(), instructor.getHomeLng())) {
+                eventPublisher.publishEvent(new TravelEndpointChangedEvent(instructor.getUserId(), null));
+            }
+        } else if (entity instanceof InstitutionEntity institution) {
+            publishIfMoved(institution.getLoadedInstitutionLat(), institution.getLoadedInstitutionLng(),
+                    institution.getInstitutionLat(), institution.getInstitutionLng());
+            if (changed(institution.getLoadedInstitutionLat(), institution.getLoadedInstitutionLng(),
+                    institution.getInstitutionLat(), institution.getInstitutionLng())) {
+                eventPublisher.publishEvent(new TravelEndpointChangedEvent(null, institution.getId()));
+            }
+        }
+        remember(entity);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Instructor instructor) {
+            publishIfMoved(instructor.getLoadedHomeLat(), instructor.getLoadedHomeLng(), null, null);
+        } else if (entity instanceof InstitutionEntity institution) {
+            publishIfMoved(institution.getLoadedInstitutionLat(), institution.getLoadedInstitutionLng(), null, null);
+        }
+    }
+
+    private void publishIfMoved(BigDecimal oldLat, BigDecimal oldLng, BigDecimal newLat, BigDecimal newLng) {
+        if (oldLat == null || oldLng == null) {
+            return;
+        }
+        if (newLat != null && newLng != null && oldLat.compareTo(newLat) == 0 && oldLng.compareTo(newLng) == 0) {
+            return;
+        }
+        eventPublisher.publishEvent(new TravelEndpointMovedEvent(oldLat, oldLng));
+    }
+
+    private boolean changed(BigDecimal oldLat, BigDecimal oldLng, BigDecimal newLat, BigDecimal newLng) {
+        return !sameValue(oldLat, newLat) || !sameValue(oldLng, newLng);
+    }
+
+    private boolean sameValue(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
@@ -0,0 +1,10 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when an instructor home or an institution moves away from (lat, lng)
+ * (or is deleted), so cached distances touching the old point can be dropped
+ */
+public record TravelEndpointMovedEvent(BigDecimal lat, BigDecimal lng) {
+}
@@ -0,0 +1,6 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+/**
+ * Published when a travel allowance policy row is inserted, updated or deleted
+ */
+public record TravelPolicyChangedEvent(Long policyId) {}
@@ -0,0 +1,68 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Travel Rebuild Chunk Entity
+ * One instructor over a contiguous date slice; the unit of work and of commit.
+ * Completed chunks form the persisted checkpoint used to resume a job.
+ */
+@Data
+@Entity
+@Table(name = "travel_rebuild_chunk")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelRebuildChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "instructor_id", nullable = false)
+    private Long instructorId;
+
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate;
+
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private ChunkStatus status = ChunkStatus.PENDING;
+
+    @Column(name = "processed_items", nullable = false)
+    @Builder.Default
+    private Integer processedItems = 0;
+
+    @Column(name = "failed_items", nullable = false)
+    @Builder.Default
+    private Integer failedItems = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum ChunkStatus {
+        PENDING,
+        COMPLETED,
+        FAILED  // Chunk transaction rolled back; retried on resume
+    }
+}
@@ -0,0 +1,52 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Travel Rebuild Item Error Entity
+ * One instructor-day of a rebuild job that could not be recalculated.
+ * travelDate is NULL when the whole chunk was rolled back. Rows of a chunk are
+ * replaced whenever the chunk runs again.
+ */
+@Data
+@Entity
+@Table(name = "travel_rebuild_item_error")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelRebuildItemError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "chunk_id", nullable = false)
+    private Long chunkId;
+
+    @Column(name = "instructor_id", nullable = false)
+    private Long instructorId;
+
+    @Column(name = "travel_date")
+    private LocalDate travelDate;  // NULL means the whole chunk
+
+    @Column(name = "message", nullable = false, length = 1000)
+    private String message;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,95 @@
+package com.itwizard.swaedu.modules.travelallowance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Travel Rebuild Job Entity
+ * Tracks a batch recalculation of daily travel records over instructor × date work
+ */
+@Data
+@Entity
+@Table(name = "travel_rebuild_job")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelRebuildJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "instructor_id")
+    private Long instructorId;  // NULL means several instructors (see target)
+
+    @Column(name = "instructor_count", nullable = false)
+    @Builder.Default
+    private Integer instructorCount = 0;
+
+    @Column(name = "target", length = 500)
+    private String target;  // How instructors were selected, e.g. "regionIds=[3, 4]"
+
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate;
+
+    @Column(name = "status", nullable = false, length = 30)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private JobStatus status = JobStatus.PENDING;
+
+    @Column(name = "total_items", nullable = false)
+    @Builder.Default
+    private Integer totalItems = 0;
+
+    @Column(name = "processed_items", nullable = false)
+    @Builder.Default
+    private Integer processedItems = 0;
+
+    @Column(name = "failed_items", nullable = false)
+    @Builder.Default
+    private Integer failedItems = 0;
+
+    @Column(name = "resumed_from_items", nullable = false)
+    @Builder.Default
+    private Integer resumedFromItems = 0;  // Items already done when the current run started
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum JobStatus {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        COMPLETED_WITH_ERRORS,  // Finished, but some instructor-days failed
+        INTERRUPTED             // Server stopped while running; can be resumed
+    }
+}
@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
  * Travel Waypoint Entity
  * Represents a point in the daily travel route
  * Sequence: 0 = home, 1+ = institutions in order
+ * Rows are rewritten by seq only where the recalculated route differs.
  */
 @Data
 @Entity
@@ -25,8 +26,10 @@ import java.time.LocalDateTime;
 public class TravelWaypoint {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "travel_waypoint_seq")
+    @SequenceGenerator(name = "travel_waypoint_seq",
+                       sequenceName = "instructor_daily_travel_waypoint_id_seq", allocationSize = 50)
+    private Long id;  // Pooled sequence (not IDENTITY) so route writes go out in JDBC batches
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "daily_travel_id", nullable = false, foreignKey = @ForeignKey(name = "fk_waypoint_daily_travel"))
@@ -0,0 +1,116 @@
+package com.itwizard.swaedu.modules.travelallowance.render;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Administrative boundary rings read once from GeoJSON, kept in projected (Web Mercator) units
+ *
+ * Only Polygon and MultiPolygon geometries are used; each ring keeps its bounding box so
+ * rings outside the map view are skipped without touching their vertices.
+ */
+public final class BoundaryLayer {
+
+    private static final BoundaryLayer EMPTY = new BoundaryLayer(List.of());
+
+    private final List<Ring> rings;
+
+    private BoundaryLayer(List<Ring> rings) {
+        this.rings = rings;
+    }
+
+    public static BoundaryLayer empty() {
+        return EMPTY;
+    }
+
+    public static BoundaryLayer load(InputStream in, ObjectMapper objectMapper) throws IOException {
+        return read(objectMapper.readTree(in));
+    }
+
+    static BoundaryLayer read(JsonNode root) throws IOException {
+        JsonNode features = root.path("features");
+        if (!features.isArray()) {
+            throw new IOException("GeoJSON FeatureCollection expected");
+        }
+
+        List<Ring> rings = new ArrayList<>();
+        for (JsonNode feature : features) {
+            JsonNode geometry = feature.path("geometry");
+            JsonNode coordinates = geometry.path("coordinates");
+            switch (geometry.path("type").asText()) {
+                case "Polygon" -> addPolygon(coordinates, rings);
+                case "MultiPolygon" -> coordinates.forEach(polygon -> addPolygon(polygon, rings));
+                default -> {
+                    // Points and lines carry no boundary
+                }
+            }
+        }
+        return new BoundaryLayer(List.copyOf(rings));
+    }
+
+    public boolean isEmpty() {
+        return rings.isEmpty();
+    }
+
+    public int getRingCount() {
+        return rings.size();
+    }
+
+    /**
+     * Rings whose bounding box intersects the given projected box
+     */
+    List<Ring> ringsWithin(double minX, double minY, double maxX, double maxY) {
+        List<Ring> visible = new ArrayList<>();
+        for (Ring ring : rings) {
+            if (ring.maxX >= minX && ring.minX <= maxX && ring.maxY >= minY && ring.minY <= maxY) {
+                visible.add(ring);
+            }
+        }
+        return visible;
+    }
+
+    private static void addPolygon(JsonNode polygon, List<Ring> rings) {
+        // Outer ring and holes are drawn alike: only the outlines matter on the map
+        for (JsonNode ring : polygon) {
+            if (ring.size() >= 3) {
+                rings.add(Ring.of(ring));
+            }
+        }
+    }
+
+    /**
+     * Closed ring as interleaved projected x, y
+     */
+    record Ring(double[] xy, double minX, double minY, double maxX, double maxY) {
+
+        static Ring of(JsonNode positions) {
+            double[] xy = new double[positions.size() * 2];
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            int i = 0;
+            for (JsonNode position : positions) {
+                // GeoJSON positions are [lng, lat]
+                double x = RouteMapRenderer.projectX(position.get(0).asDouble());
+                double y = RouteMapRenderer.projectY(position.get(1).asDouble());
+                xy[i++] = x;
+                xy[i++] = y;
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+            }
+            return new Ring(xy, minX, minY, maxX, maxY);
+        }
+
+        int size() {
+            return xy.length / 2;
+        }
+    }
+}
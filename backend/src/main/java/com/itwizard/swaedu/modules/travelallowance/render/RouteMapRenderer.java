@@ -0,0 +1,264 @@
+package com.itwizard.swaedu.modules.travelallowance.render;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Draws a route polyline and its markers to PNG with Java2D, over optional boundaries
+ *
+ * The view is fitted to the route in Web Mercator with a margin, so no tiles or network
+ * are needed. Home is drawn as a red "H" marker and institutions as numbered blue markers
+ * in visiting order. Thread-safe: every call draws into its own image.
+ */
+public final class RouteMapRenderer {
+
+    private static final double MARGIN_RATIO = 0.15;
+    private static final double MIN_SPAN = Math.toRadians(0.01);  // ~1 km, keeps one-point routes readable
+    private static final double MIN_SEGMENT_PX = 0.75;             // boundary vertices closer than this are skipped
+
+    private static final Color BACKGROUND = new Color(0xEAF1F7);
+    private static final Color LAND = new Color(0xF7F6F2);
+    private static final Color BOUNDARY = new Color(0xB7B4AC);
+    private static final Color ROUTE = new Color(0x1E64DC);
+    private static final Color ROUTE_CASING = Color.WHITE;
+    private static final Color HOME_MARKER = new Color(0xD93025);
+    private static final Color WAYPOINT_MARKER = new Color(0x1A4FB0);
+
+    private static final int MARKER_RADIUS = 11;
+
+    private final int width;
+    private final int height;
+    private final BoundaryLayer boundaries;
+
+    public RouteMapRenderer(int width, int height, BoundaryLayer boundaries) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Map size must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.boundaries = boundaries != null ? boundaries : BoundaryLayer.empty();
+    }
+
+    /**
+     * Render a route to PNG
+     *
+     * @param route Points in visiting order (home first; a round trip ends at home again)
+     * @return PNG bytes
+     */
+    public byte[] render(List<RoutePoint> route) {
+        if (route.isEmpty()) {
+            throw new IllegalArgumentException("Route must have at least one point");
+        }
+
+        View view = fit(route);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            g.setColor(boundaries.isEmpty() ? LAND : BACKGROUND);
+            g.fillRect(0, 0, width, height);
+            drawBoundaries(g, view);
+            drawRoute(g, view, route);
+            drawMarkers(g, view, route);
+        } finally {
+            g.dispose();
+        }
+        return encode(image);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    // ========== Projection ==========
+
+    static double projectX(double lng) {
+        return Math.toRadians(lng);
+    }
+
+    static double projectY(double lat) {
+        return Math.log(Math.tan(Math.PI / 4 + Math.toRadians(lat) / 2));
+    }
+
+    /**
+     * Projected box fitted to the route, scaled to the image with the aspect ratio kept
+     */
+    private View fit(List<RoutePoint> route) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (RoutePoint point : route) {
+            double x = projectX(point.lng());
+            double y = projectY(point.lat());
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+
+        double spanX = Math.max(maxX - minX, MIN_SPAN);
+        double spanY = Math.max(maxY - minY, MIN_SPAN);
+        double usableWidth = width * (1 - 2 * MARGIN_RATIO);
+        double usableHeight = height * (1 - 2 * MARGIN_RATIO);
+        double scale = Math.min(usableWidth / spanX, usableHeight / spanY);
+
+        double centerX = (minX + maxX) / 2;
+        double centerY = (minY + maxY) / 2;
+        return new View(centerX, centerY, scale, width, height);
+    }
+
+    // ========== Layers ==========
+
+    private void drawBoundaries(Graphics2D g, View view) {
+        if (boundaries.isEmpty()) {
+            return;
+        }
+
+        Path2D.Double path = new Path2D.Double(Path2D.WIND_EVEN_ODD);
+        for (BoundaryLayer.Ring ring : boundaries.ringsWithin(
+                view.minX(), view.minY(), view.maxX(), view.maxY())) {
+            double[] xy = ring.xy();
+            double lastPx = view.pixelX(xy[0]);
+            double lastPy = view.pixelY(xy[1]);
+            path.moveTo(lastPx, lastPy);
+            for (int i = 1; i < ring.size(); i++) {
+                double px = view.pixelX(xy[2 * i]);
+                double py = view.pixelY(xy[2 * i + 1]);
+                if (Math.abs(px - lastPx) >= MIN_SEGMENT_PX || Math.abs(py - lastPy) >= MIN_SEGMENT_PX) {
+                    path.lineTo(px, py);
+                    lastPx = px;
+                    lastPy = py;
+                }
+            }
+            path.closePath();
+        }
+
+        g.setColor(LAND);
+        g.fill(path);
+        g.setColor(BOUNDARY);
+        g.setStroke(new BasicStroke(1f));
+        g.draw(path);
+    }
+
+    private void drawRoute(Graphics2D g, View view, List<RoutePoint> route) {
+        if (route.size() < 2) {
+            return;
+        }
+
+        Path2D.Double path = new Path2D.Double();
+        path.moveTo(view.pixelX(projectX(route.get(0).lng())), view.pixelY(projectY(route.get(0).lat())));
+        for (int i = 1; i < route.size(); i++) {
+            path.lineTo(view.pixelX(projectX(route.get(i).lng())), view.pixelY(projectY(route.get(i).lat())));
+        }
+
+        g.setColor(ROUTE_CASING);
+        g.setStroke(new BasicStroke(7f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        g.draw(path);
+        g.setColor(ROUTE);
+        g.setStroke(new BasicStroke(4f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        g.draw(path);
+    }
+
+    private void drawMarkers(Graphics2D g, View view, List<RoutePoint> route) {
+        g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 12));
+        FontMetrics metrics = g.getFontMetrics();
+
+        int number = 0;
+        boolean homeDrawn = false;
+        for (RoutePoint point : route) {
+            String label;
+            Color color;
+            if (point.home()) {
+                if (homeDrawn) {
+                    continue;  // Return leg ends on the same marker
+                }
+                homeDrawn = true;
+                label = "H";
+                color = HOME_MARKER;
+            } else {
+                label = String.valueOf(++number);
+                color = WAYPOINT_MARKER;
+            }
+
+            double cx = view.pixelX(projectX(point.lng()));
+            double cy = view.pixelY(projectY(point.lat()));
+            Ellipse2D.Double marker = new Ellipse2D.Double(
+                    cx - MARKER_RADIUS, cy - MARKER_RADIUS, 2 * MARKER_RADIUS, 2 * MARKER_RADIUS);
+            g.setColor(color);
+            g.fill(marker);
+            g.setColor(Color.WHITE);
+            g.setStroke(new BasicStroke(2f));
+            g.draw(marker);
+            g.drawString(label,
+                    (float) (cx - metrics.stringWidth(label) / 2.0),
+                    (float) (cy + (metrics.getAscent() - metrics.getDescent()) / 2.0));
+        }
+    }
+
+    private static byte[] encode(BufferedImage image) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try {
+            if (!ImageIO.write(image, "png", out)) {
+                throw new IllegalStateException("No PNG writer available");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A route point in degrees
+     */
+    public record RoutePoint(double lat, double lng, boolean home) {}
+
+    /**
+     * Projected view centered on the route; y grows northwards, pixels grow downwards
+     */
+    private record View(double centerX, double centerY, double scale, int width, int height) {
+
+        double pixelX(double x) {
+            return width / 2.0 + (x - centerX) * scale;
+        }
+
+        double pixelY(double y) {
+            return height / 2.0 - (y - centerY) * scale;
+        }
+
+        double minX() {
+            return centerX - width / 2.0 / scale;
+        }
+
+        double maxX() {
+            return centerX + width / 2.0 / scale;
+        }
+
+        double minY() {
+            return centerY - height / 2.0 / scale;
+        }
+
+        double maxY() {
+            return centerY + height / 2.0 / scale;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.itwizard.swaedu.modules.travelallowance.render;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Builds the stored variants of a rendered route image: a compressed full-size image and a thumbnail
+ *
+ * Each variant is encoded as JPEG and as PNG and the smaller one is kept: photo-like static maps
+ * shrink a lot as JPEG, while flat locally rendered maps are usually smaller as PNG. The full-size
+ * variant keeps the source bytes when neither encoding beats them.
+ */
+public final class SnapshotImageVariants {
+
+    private SnapshotImageVariants() {
+    }
+
+    /**
+     * @param source Rendered image (PNG or JPEG)
+     * @param thumbnailWidth Thumbnail width in pixels; the height keeps the aspect ratio
+     * @param jpegQuality JPEG quality between 0 and 1
+     */
+    public static Variants create(byte[] source, int thumbnailWidth, float jpegQuality) throws IOException {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(source));
+        if (decoded == null) {
+            throw new IOException("Unsupported map image format");
+        }
+        BufferedImage image = toRgb(decoded);
+
+        int width = Math.min(thumbnailWidth, image.getWidth());
+        int height = Math.max(1, Math.round(image.getHeight() * (float) width / image.getWidth()));
+        BufferedImage thumbnail = scale(image, width, height);
+
+        Encoded full = smallest(image, jpegQuality);
+        Encoded original = sniff(source);
+        if (original != null && original.bytes().length <= full.bytes().length) {
+            // Re-encoding would not make it smaller
+            full = original;
+        }
+
+        return new Variants(
+                full,
+                smallest(thumbnail, jpegQuality),
+                image.getWidth(), image.getHeight(), width, height);
+    }
+
+    /**
+     * Drop alpha so the image can be written as JPEG (transparent areas become white)
+     */
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.drawImage(image, 0, 0, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * Downscale in halving steps so thin route lines survive (single-step bilinear drops pixels)
+     */
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    private static Encoded smallest(BufferedImage image, float jpegQuality) throws IOException {
+        byte[] jpeg = writeJpeg(image, jpegQuality);
+        byte[] png = writePng(image);
+        return jpeg.length < png.length
+                ? new Encoded(jpeg, "jpg", "image/jpeg")
+                : new Encoded(png, "png", "image/png");
+    }
+
+    /**
+     * The source itself as a candidate, when it is PNG or JPEG
+     */
+    private static Encoded sniff(byte[] source) {
+        if (source.length > 8 && (source[0] & 0xFF) == 0x89 && source[1] == 'P' && source[2] == 'N' && source[3] == 'G') {
+            return new Encoded(source, "png", "image/png");
+        }
+        if (source.length > 3 && (source[0] & 0xFF) == 0xFF && (source[1] & 0xFF) == 0xD8) {
+            return new Encoded(source, "jpg", "image/jpeg");
+        }
+        return null;
+    }
+
+    private static byte[] writeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "png", out)) {
+            throw new IOException("No PNG writer available");
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * One encoded image
+     */
+    public record Encoded(byte[] bytes, String extension, String contentType) {}
+
+    /**
+     * Full-size and thumbnail variants with their pixel sizes
+     */
+    public record Variants(Encoded full, Encoded thumbnail,
+                           int width, int height, int thumbnailWidth, int thumbnailHeight) {}
+}
@@ -1,14 +1,25 @@
 package com.itwizard.swaedu.modules.travelallowance.repository;
 
+import com.itwizard.swaedu.modules.travelallowance.dto.response.DailyTravelRow;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.MonthlySnapshotLinkRow;
 import com.itwizard.swaedu.modules.travelallowance.entity.InstructorDailyTravel;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InstructorDailyTravelRepository extends JpaRepository<InstructorDailyTravel, Long> {
@@ -35,6 +46,67 @@ public interface InstructorDailyTravelRepository extends JpaRepository<Instructo
             @Param("instructorId") Long instructorId, 
             @Param("workMonth") String workMonth);
 
+    /**
+     * Read rows of an instructor's daily travels in a date range, with the instructor name
+     */
+    @Query("""
+        SELECT dt.id AS id, dt.instructorId AS instructorId, i.name AS instructorName,
+               dt.travelDate AS travelDate, dt.workMonth AS workMonth,
+               dt.totalDistanceKm AS totalDistanceKm, dt.travelFeeAmountKrw AS travelFeeAmountKrw,
+               dt.mapSnapshotUrl AS mapSnapshotUrl, dt.mapSnapshotThumbnailUrl AS mapSnapshotThumbnailUrl,
+               dt.status AS status, dt.snapshotStatus AS snapshotStatus
+        FROM InstructorDailyTravel dt
+        JOIN dt.instructor i
+        WHERE dt.instructorId = :instructorId
+          AND dt.travelDate BETWEEN :from AND :to
+        ORDER BY dt.travelDate ASC
+        """)
+    List<DailyTravelRow> findRowsByInstructorIdAndTravelDateBetween(@Param("instructorId") Long instructorId,
+                                                                   @Param("from") LocalDate from,
+                                                                   @Param("to") LocalDate to);
+
+    /**
+     * Page of read rows of an instructor's daily travels in a month (no count query;
+     * see countByInstructorIdAndWorkMonth)
+     */
+    @Query("""
+        SELECT dt.id AS id, dt.instructorId AS instructorId, i.name AS instructorName,
+               dt.travelDate AS travelDate, dt.workMonth AS workMonth,
+               dt.totalDistanceKm AS totalDistanceKm, dt.travelFeeAmountKrw AS travelFeeAmountKrw,
+               dt.mapSnapshotUrl AS mapSnapshotUrl, dt.mapSnapshotThumbnailUrl AS mapSnapshotThumbnailUrl,
+               dt.status AS status, dt.snapshotStatus AS snapshotStatus
+        FROM InstructorDailyTravel dt
+        JOIN dt.instructor i
+        WHERE dt.instructorId = :instructorId
+          AND dt.workMonth = :workMonth
+        ORDER BY dt.travelDate ASC
+        """)
+    List<DailyTravelRow> findRowsByInstructorIdAndWorkMonth(@Param("instructorId") Long instructorId,
+                                                            @Param("workMonth") String workMonth,
+                                                            Pageable pageable);
+
+    /**
+     * Count an instructor's daily travels in a month
+     */
+    long countByInstructorIdAndWorkMonth(Long instructorId, String workMonth);
+
+    /**
+     * Map snapshot link of every stored day in a month, in instructor and date order.
+     * Rows are streamed; the caller must hold a transaction open.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        SELECT i.instructorId AS instructorCode, i.name AS instructorName,
+               dt.travelDate AS travelDate, dt.travelFeeAmountKrw AS travelFeeAmountKrw,
+               dt.status AS status, dt.mapSnapshotUrl AS mapSnapshotUrl
+        FROM InstructorDailyTravel dt
+        JOIN dt.instructor i
+        WHERE dt.workMonth = :workMonth
+          AND dt.mapSnapshotUrl IS NOT NULL
+        ORDER BY dt.instructorId ASC, dt.travelDate ASC
+        """)
+    Stream<MonthlySnapshotLinkRow> streamMonthlySnapshotLinks(@Param("workMonth") String workMonth);
+
     /**
      * Calculate monthly total travel expense for an instructor
      */
@@ -54,4 +126,67 @@ public interface InstructorDailyTravelRepository extends JpaRepository<Instructo
      * Check if daily travel exists for instructor and date
      */
     boolean existsByInstructorIdAndTravelDate(Long instructorId, LocalDate travelDate);
+
+    /**
+     * Find a daily travel with its waypoints (snapshot rendering)
+     */
+    @Query("SELECT DISTINCT dt FROM InstructorDailyTravel dt " +
+           "LEFT JOIN FETCH dt.waypoints " +
+           "WHERE dt.id = :id")
+    Optional<InstructorDailyTravel> findByIdWithWaypoints(@Param("id") Long id);
+
+    /**
+     * IDs of PENDING snapshots whose next attempt is due, oldest first
+     */
+    @Query("SELECT dt.id FROM InstructorDailyTravel dt " +
+           "WHERE dt.snapshotStatus = com.itwizard.swaedu.modules.travelallowance.entity.InstructorDailyTravel.SnapshotStatus.PENDING " +
+           "AND (dt.snapshotNextAttemptAt IS NULL OR dt.snapshotNextAttemptAt <= :now) " +
+           "ORDER BY dt.snapshotNextAttemptAt ASC NULLS FIRST")
+    List<Long> findDueSnapshotIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Find a daily travel and lock its row until the transaction ends (snapshot completion)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT dt FROM InstructorDailyTravel dt WHERE dt.id = :id")
+    Optional<InstructorDailyTravel> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Record a failed render attempt, unless the record was recalculated meanwhile
+     */
+    @Modifying
+    @Query("UPDATE InstructorDailyTravel dt SET dt.snapshotStatus = :status, " +
+           "dt.snapshotAttempts = :attempts, dt.snapshotNextAttemptAt = :nextAttemptAt, " +
+           "dt.snapshotLastError = :error, dt.version = dt.version + 1 " +
+           "WHERE dt.id = :id AND dt.snapshotRevision = :revision")
+    int recordSnapshotFailure(@Param("id") Long id,
+                              @Param("revision") Integer revision,
+                              @Param("status") InstructorDailyTravel.SnapshotStatus status,
+                              @Param("attempts") Integer attempts,
+                              @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                              @Param("error") String error);
+
+    /**
+     * Leave a PENDING record without a snapshot (no renderer configured), unless it was
+     * recalculated meanwhile
+     */
+    @Modifying
+    @Query("UPDATE InstructorDailyTravel dt SET " +
+           "dt.snapshotStatus = com.itwizard.swaedu.modules.travelallowance.entity.InstructorDailyTravel.SnapshotStatus.NONE, " +
+           "dt.snapshotAttempts = 0, dt.snapshotNextAttemptAt = NULL, dt.snapshotLastError = NULL, " +
+           "dt.version = dt.version + 1 " +
+           "WHERE dt.id = :id AND dt.snapshotRevision = :revision " +
+           "AND dt.snapshotStatus = com.itwizard.swaedu.modules.travelallowance.entity.InstructorDailyTravel.SnapshotStatus.PENDING")
+    int skipSnapshot(@Param("id") Long id, @Param("revision") Integer revision);
+
+    /**
+     * Move DEAD_LETTER snapshots back to PENDING with a fresh attempt budget
+     */
+    @Modifying
+    @Query("UPDATE InstructorDailyTravel dt SET " +
+           "dt.snapshotStatus = com.itwizard.swaedu.modules.travelallowance.entity.InstructorDailyTravel.SnapshotStatus.PENDING, " +
+           "dt.snapshotAttempts = 0, dt.snapshotNextAttemptAt = NULL, dt.snapshotLastError = NULL, " +
+           "dt.version = dt.version + 1 " +
+           "WHERE dt.snapshotStatus = com.itwizard.swaedu.modules.travelallowance.entity.InstructorDailyTravel.SnapshotStatus.DEAD_LETTER")
+    int requeueDeadLetters();
 }
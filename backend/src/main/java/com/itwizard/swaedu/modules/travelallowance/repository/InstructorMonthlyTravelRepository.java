@@ -0,0 +1,79 @@
+package com.itwizard.swaedu.modules.travelallowance.repository;
+
+import com.itwizard.swaedu.modules.travelallowance.dto.response.MonthlySettlementRow;
+import com.itwizard.swaedu.modules.travelallowance.entity.InstructorMonthlyTravel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface InstructorMonthlyTravelRepository extends JpaRepository<InstructorMonthlyTravel, Long> {
+
+    /**
+     * Find the aggregate of an instructor for a month
+     */
+    Optional<InstructorMonthlyTravel> findByInstructorIdAndWorkMonth(Long instructorId, String workMonth);
+
+    /**
+     * Settlement lines of every instructor with travel records in a month, read from the aggregate.
+     * Rows are streamed in instructor order; the caller must hold a transaction open.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+        SELECT i.user_id AS instructorUserId,
+               i.instructor_id AS instructorCode,
+               i.name AS instructorName,
+               r.code_name AS regionName,
+               m.record_days AS recordDays,
+               m.travel_days AS travelDays,
+               m.final_days AS finalDays,
+               m.total_distance_km AS totalDistanceKm,
+               m.total_fee_krw AS totalFeeKrw,
+               m.final_fee_krw AS finalFeeKrw
+        FROM instructor_monthly_travel m
+        JOIN instructors i ON i.user_id = m.instructor_id
+        LEFT JOIN master_code r ON r.id = i.region_id
+        WHERE m.work_month = :workMonth
+          AND m.record_days > 0
+        ORDER BY i.user_id
+        """, nativeQuery = true)
+    Stream<MonthlySettlementRow> streamMonthlySettlement(@Param("workMonth") String workMonth);
+
+    /**
+     * Add a delta to a month aggregate, creating the row on first use.
+     * The row lock taken by the upsert serializes concurrent changes to the same month.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO instructor_monthly_travel AS m (instructor_id, work_month, record_days, travel_days, " +
+                   "final_days, draft_days, total_distance_km, total_fee_krw, final_fee_krw, updated_at) " +
+                   "VALUES (:instructorId, :workMonth, :recordDays, :travelDays, :finalDays, :draftDays, " +
+                   ":distanceKm, :feeKrw, :finalFeeKrw, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (instructor_id, work_month) DO UPDATE SET " +
+                   "record_days = m.record_days + EXCLUDED.record_days, " +
+                   "travel_days = m.travel_days + EXCLUDED.travel_days, " +
+                   "final_days = m.final_days + EXCLUDED.final_days, " +
+                   "draft_days = m.draft_days + EXCLUDED.draft_days, " +
+                   "total_distance_km = m.total_distance_km + EXCLUDED.total_distance_km, " +
+                   "total_fee_krw = m.total_fee_krw + EXCLUDED.total_fee_krw, " +
+                   "final_fee_krw = m.final_fee_krw + EXCLUDED.final_fee_krw, " +
+                   "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int applyDelta(@Param("instructorId") Long instructorId,
+                   @Param("workMonth") String workMonth,
+                   @Param("recordDays") int recordDays,
+                   @Param("travelDays") int travelDays,
+                   @Param("finalDays") int finalDays,
+                   @Param("draftDays") int draftDays,
+                   @Param("distanceKm") BigDecimal distanceKm,
+                   @Param("feeKrw") long feeKrw,
+                   @Param("finalFeeKrw") long finalFeeKrw);
+}
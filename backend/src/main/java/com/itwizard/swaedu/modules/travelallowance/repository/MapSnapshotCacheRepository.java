@@ -0,0 +1,16 @@
+package com.itwizard.swaedu.modules.travelallowance.repository;
+
+import com.itwizard.swaedu.modules.travelallowance.entity.MapSnapshotCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MapSnapshotCacheRepository extends JpaRepository<MapSnapshotCacheEntry, Long> {
+
+    /**
+     * Find a stored snapshot by canonical route hash
+     */
+    Optional<MapSnapshotCacheEntry> findByRouteHash(String routeHash);
+}
@@ -19,6 +19,12 @@ public interface TravelAllowancePolicyRepository extends JpaRepository<TravelAll
      */
     List<TravelAllowancePolicy> findByIsActiveTrueOrderByMinKmAsc();
 
+    /**
+     * Counter bumped by a trigger on every statement that writes travel_allowance_policy
+     */
+    @Query(value = "SELECT version FROM travel_allowance_policy_version WHERE id = 1", nativeQuery = true)
+    long findVersion();
+
     /**
      * Find policy that matches the given distance
      * Returns the policy where minKm <= distance < maxKm (or maxKm is NULL)
@@ -0,0 +1,124 @@
+package com.itwizard.swaedu.modules.travelallowance.repository;
+
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelDirtyDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Dirty (instructor, date) keys.
+ * Marks are upserts, so a key marked many times is recalculated once; re-marking
+ * refreshes enqueued_at. Mark queries join the caller's transaction.
+ */
+@Repository
+public interface TravelDirtyDayRepository extends JpaRepository<TravelDirtyDay, Long> {
+
+    /**
+     * Mark the days of every instructor assigned to the given periods
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO travel_dirty_day (instructor_id, travel_date, enqueued_at)
+        SELECT DISTINCT a.instructor_id, p.date, CURRENT_TIMESTAMP
+        FROM instructor_period_assignment a
+        JOIN periods p ON p.id = a.period_id
+        WHERE p.id IN (:periodIds)
+        ON CONFLICT (instructor_id, travel_date) DO UPDATE SET enqueued_at = EXCLUDED.enqueued_at
+        """, nativeQuery = true)
+    int markPeriods(@Param("periodIds") Collection<Long> periodIds);
+
+    /**
+     * Mark the days of every instructor assigned to a period of the training
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO travel_dirty_day (instructor_id, travel_date, enqueued_at)
+        SELECT DISTINCT a.instructor_id, p.date, CURRENT_TIMESTAMP
+        FROM instructor_period_assignment a
+        JOIN periods p ON p.id = a.period_id
+        WHERE p.training_id = :trainingId
+        ON CONFLICT (instructor_id, travel_date) DO UPDATE SET enqueued_at = EXCLUDED.enqueued_at
+        """, nativeQuery = true)
+    int markTraining(@Param("trainingId") Long trainingId);
+
+    /**
+     * Mark the days of every instructor assigned to a period held at the institution
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO travel_dirty_day (instructor_id, travel_date, enqueued_at)
+        SELECT DISTINCT a.instructor_id, p.date, CURRENT_TIMESTAMP
+        FROM instructor_period_assignment a
+        JOIN periods p ON p.id = a.period_id
+        JOIN trainings t ON t.id = p.training_id
+        WHERE t.institution_id = :institutionId
+          AND t.is_delete = false
+        ON CONFLICT (instructor_id, travel_date) DO UPDATE SET enqueued_at = EXCLUDED.enqueued_at
+        """, nativeQuery = true)
+    int markInstitution(@Param("institutionId") Long institutionId);
+
+    /**
+     * Mark every day of an instructor that has a daily record or an assigned period
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO travel_dirty_day (instructor_id, travel_date, enqueued_at)
+        SELECT :instructorId, d.travel_date, CURRENT_TIMESTAMP
+        FROM (
+            SELECT dt.travel_date FROM instructor_daily_travel dt
+            WHERE dt.instructor_id = :instructorId
+            UNION
+            SELECT p.date FROM instructor_period_assignment a
+            JOIN periods p ON p.id = a.period_id
+            JOIN trainings t ON t.id = p.training_id
+            WHERE a.instructor_id = :instructorId
+              AND t.is_delete = false
+        ) d
+        ON CONFLICT (instructor_id, travel_date) DO UPDATE SET enqueued_at = EXCLUDED.enqueued_at
+        """, nativeQuery = true)
+    int markInstructor(@Param("instructorId") Long instructorId);
+
+    /**
+     * Instructors with dirty days, oldest mark first
+     */
+    @Query(value = """
+        SELECT instructor_id FROM travel_dirty_day
+        GROUP BY instructor_id
+        ORDER BY MIN(enqueued_at) ASC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Long> findInstructorIdsToDrain(@Param("limit") int limit);
+
+    /**
+     * Move the dirty days of an instructor behind every other key (after a failed drain)
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE travel_dirty_day SET enqueued_at = CURRENT_TIMESTAMP
+        WHERE instructor_id = :instructorId
+        """, nativeQuery = true)
+    int deferInstructor(@Param("instructorId") Long instructorId);
+
+    /**
+     * Lock the dirty days of an instructor for recalculation, skipping keys another node holds.
+     * A mark of a locked key waits for the drain to commit and then inserts it again.
+     */
+    @Query(value = """
+        SELECT * FROM travel_dirty_day
+        WHERE instructor_id = :instructorId
+        ORDER BY travel_date ASC
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<TravelDirtyDay> claimByInstructorId(@Param("instructorId") Long instructorId);
+}
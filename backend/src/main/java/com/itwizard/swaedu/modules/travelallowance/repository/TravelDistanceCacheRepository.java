@@ -0,0 +1,54 @@
+package com.itwizard.swaedu.modules.travelallowance.repository;
+
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelDistanceCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface TravelDistanceCacheRepository extends JpaRepository<TravelDistanceCacheEntry, Long> {
+
+    /**
+     * Cached legs of a provider, newest first (used to warm the in-memory map)
+     */
+    List<TravelDistanceCacheEntry> findByProviderOrderByIdDesc(String provider, Pageable pageable);
+
+    /**
+     * Insert legs in one statement, skipping those another transaction cached first
+     * (parallel arrays: element i of each array describes leg i). Runs in its own transaction,
+     * so it works under read-only callers and never rolls back (or is rolled back with) the
+     * calculation that computed the legs
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "INSERT INTO travel_distance_cache (provider, from_lat, from_lng, to_lat, to_lng, distance_km) " +
+                   "SELECT :provider, leg.from_lat, leg.from_lng, leg.to_lat, leg.to_lng, leg.distance_km " +
+                   "FROM unnest(CAST(:fromLats AS numeric[]), CAST(:fromLngs AS numeric[]), " +
+                   "CAST(:toLats AS numeric[]), CAST(:toLngs AS numeric[]), CAST(:distancesKm AS numeric[])) " +
+                   "AS leg(from_lat, from_lng, to_lat, to_lng, distance_km) " +
+                   "ON CONFLICT ON CONSTRAINT uk_travel_distance_cache_leg DO NOTHING",
+           nativeQuery = true)
+    int insertAllIgnoringDuplicates(@Param("provider") String provider,
+                                    @Param("fromLats") BigDecimal[] fromLats,
+                                    @Param("fromLngs") BigDecimal[] fromLngs,
+                                    @Param("toLats") BigDecimal[] toLats,
+                                    @Param("toLngs") BigDecimal[] toLngs,
+                                    @Param("distancesKm") BigDecimal[] distancesKm);
+
+    /**
+     * Delete every leg (any provider) that starts or ends at a point
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TravelDistanceCacheEntry e " +
+           "WHERE (e.fromLat = :lat AND e.fromLng = :lng) OR (e.toLat = :lat AND e.toLng = :lng)")
+    int deleteTouching(@Param("lat") BigDecimal lat, @Param("lng") BigDecimal lng);
+}
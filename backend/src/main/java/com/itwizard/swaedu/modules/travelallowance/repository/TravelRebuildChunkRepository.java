@@ -0,0 +1,57 @@
+package com.itwizard.swaedu.modules.travelallowance.repository;
+
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TravelRebuildChunkRepository extends JpaRepository<TravelRebuildChunk, Long> {
+
+    /**
+     * Find chunks of a job that still need work (PENDING or FAILED), in creation order
+     */
+    @Query("SELECT c FROM TravelRebuildChunk c " +
+           "WHERE c.jobId = :jobId " +
+           "AND c.status <> com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildChunk.ChunkStatus.COMPLETED " +
+           "ORDER BY c.id ASC")
+    List<TravelRebuildChunk> findIncompleteByJobId(@Param("jobId") Long jobId);
+
+    /**
+     * Count chunks of a job by status
+     */
+    long countByJobIdAndStatus(Long jobId, TravelRebuildChunk.ChunkStatus status);
+
+    /**
+     * Count all chunks of a job
+     */
+    long countByJobId(Long jobId);
+
+    /**
+     * Sum of item counts of FAILED chunks (already added to the job's failed counter)
+     */
+    @Query("SELECT COALESCE(SUM(c.itemCount), 0) FROM TravelRebuildChunk c " +
+           "WHERE c.jobId = :jobId " +
+           "AND c.status = com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildChunk.ChunkStatus.FAILED")
+    Long sumFailedChunkItems(@Param("jobId") Long jobId);
+
+    /**
+     * Reset FAILED chunks of a job to PENDING so they are retried
+     */
+    @Modifying
+    @Query("UPDATE TravelRebuildChunk c " +
+           "SET c.status = com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildChunk.ChunkStatus.PENDING, " +
+           "c.lastError = NULL " +
+           "WHERE c.jobId = :jobId " +
+           "AND c.status = com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildChunk.ChunkStatus.FAILED")
+    int resetFailedChunks(@Param("jobId") Long jobId);
+
+    /**
+     * Find the first chunks of a job that recorded an error
+     */
+    List<TravelRebuildChunk> findTop20ByJobIdAndLastErrorIsNotNullOrderByIdAsc(Long jobId);
+}
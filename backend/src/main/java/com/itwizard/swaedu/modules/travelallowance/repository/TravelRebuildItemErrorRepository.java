@@ -0,0 +1,31 @@
+package com.itwizard.swaedu.modules.travelallowance.repository;
+
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildItemError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TravelRebuildItemErrorRepository extends JpaRepository<TravelRebuildItemError, Long> {
+
+    /**
+     * Find the failed items of a job in the order they were recorded
+     */
+    Page<TravelRebuildItemError> findByJobIdOrderByIdAsc(Long jobId, Pageable pageable);
+
+    /**
+     * Count failed items recorded for a job
+     */
+    long countByJobId(Long jobId);
+
+    /**
+     * Remove errors of a previous run of a chunk
+     */
+    @Modifying
+    @Query("DELETE FROM TravelRebuildItemError e WHERE e.chunkId = :chunkId")
+    int deleteByChunkId(@Param("chunkId") Long chunkId);
+}
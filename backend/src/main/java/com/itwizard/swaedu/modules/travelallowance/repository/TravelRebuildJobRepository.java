@@ -0,0 +1,40 @@
+package com.itwizard.swaedu.modules.travelallowance.repository;
+
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TravelRebuildJobRepository extends JpaRepository<TravelRebuildJob, Long> {
+
+    /**
+     * Find the most recent jobs
+     */
+    List<TravelRebuildJob> findTop20ByOrderByIdDesc();
+
+    /**
+     * Atomically add chunk results to the job counters
+     */
+    @Modifying
+    @Query("UPDATE TravelRebuildJob j " +
+           "SET j.processedItems = j.processedItems + :processed, " +
+           "j.failedItems = j.failedItems + :failed " +
+           "WHERE j.id = :jobId")
+    int incrementProgress(@Param("jobId") Long jobId,
+                          @Param("processed") int processed,
+                          @Param("failed") int failed);
+
+    /**
+     * Mark jobs left RUNNING by a previous server process as INTERRUPTED
+     */
+    @Modifying
+    @Query("UPDATE TravelRebuildJob j " +
+           "SET j.status = com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildJob.JobStatus.INTERRUPTED " +
+           "WHERE j.status = com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildJob.JobStatus.RUNNING")
+    int markRunningAsInterrupted();
+}
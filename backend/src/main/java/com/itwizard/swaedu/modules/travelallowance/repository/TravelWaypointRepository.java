@@ -1,9 +1,13 @@
 package com.itwizard.swaedu.modules.travelallowance.repository;
 
+import com.itwizard.swaedu.modules.travelallowance.dto.response.WaypointRow;
 import com.itwizard.swaedu.modules.travelallowance.entity.TravelWaypoint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,6 +18,19 @@ public interface TravelWaypointRepository extends JpaRepository<TravelWaypoint,
      */
     List<TravelWaypoint> findByDailyTravelIdOrderBySeqAsc(Long dailyTravelId);
 
+    /**
+     * Read rows of the waypoints of several daily travel records, in route order
+     */
+    @Query("""
+        SELECT w.dailyTravelId AS dailyTravelId, w.seq AS seq, w.institutionId AS institutionId,
+               w.institutionName AS institutionName, w.institutionAddress AS institutionAddress,
+               w.lat AS lat, w.lng AS lng, w.trainingId AS trainingId
+        FROM TravelWaypoint w
+        WHERE w.dailyTravelId IN :dailyTravelIds
+        ORDER BY w.dailyTravelId ASC, w.seq ASC
+        """)
+    List<WaypointRow> findRowsByDailyTravelIdIn(@Param("dailyTravelIds") Collection<Long> dailyTravelIds);
+
     /**
      * Delete all waypoints for a daily travel record
      */
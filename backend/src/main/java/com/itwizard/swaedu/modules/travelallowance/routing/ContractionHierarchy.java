@@ -0,0 +1,555 @@
+package com.itwizard.swaedu.modules.travelallowance.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contraction hierarchy over a RoadGraph
+ *
+ * Preprocessing contracts nodes in order of edge difference plus contracted neighbours
+ * (lazy updates), adding a shortcut u → x whenever a bounded witness search finds no path
+ * from u to x avoiding v that is at most as short as u → v → x. Queries only relax edges
+ * towards higher-ranked nodes: a bidirectional upward Dijkstra for single pairs, and the
+ * bucket-based many-to-many algorithm for matrices (one backward search per target,
+ * one forward search per source).
+ *
+ * Distances are in meters. Instances are immutable; query scratch space is per thread.
+ */
+public final class ContractionHierarchy {
+
+    public static final long UNREACHABLE = -1L;
+
+    private static final int INF = Integer.MAX_VALUE;
+    private static final int SIMULATION_SETTLE_LIMIT = 50;
+    private static final int CONTRACTION_SETTLE_LIMIT = 500;
+    private static final int PRIORITY_OFFSET = 1 << 20;
+
+    private final int nodeCount;
+    private final int shortcutCount;
+    private final int[] upFirst;     // forward search: edges u → x with rank[x] > rank[u]
+    private final int[] upTarget;
+    private final int[] upWeight;
+    private final int[] downFirst;   // backward search: reversed edges x ← u with rank[u] > rank[x]
+    private final int[] downTarget;
+    private final int[] downWeight;
+    private final ThreadLocal<SearchSpace> forwardSpace;
+    private final ThreadLocal<SearchSpace> backwardSpace;
+
+    private ContractionHierarchy(int nodeCount, int shortcutCount,
+                                 int[] upFirst, int[] upTarget, int[] upWeight,
+                                 int[] downFirst, int[] downTarget, int[] downWeight) {
+        this.nodeCount = nodeCount;
+        this.shortcutCount = shortcutCount;
+        this.upFirst = upFirst;
+        this.upTarget = upTarget;
+        this.upWeight = upWeight;
+        this.downFirst = downFirst;
+        this.downTarget = downTarget;
+        this.downWeight = downWeight;
+        this.forwardSpace = ThreadLocal.withInitial(() -> new SearchSpace(nodeCount));
+        this.backwardSpace = ThreadLocal.withInitial(() -> new SearchSpace(nodeCount));
+    }
+
+    /**
+     * Contract all nodes of a graph
+     */
+    public static ContractionHierarchy build(RoadGraph graph) {
+        int n = graph.getNodeCount();
+        DynamicGraph g = DynamicGraph.of(graph);
+        int originalEdges = g.edgeCount;
+        boolean[] contracted = new boolean[n];
+        int[] contractedNeighbours = new int[n];
+        int[] depth = new int[n];
+        int[] rank = new int[n];
+        SearchSpace witness = new SearchSpace(n);
+
+        int[] currentPriority = new int[n];
+        LongHeap queue = new LongHeap();
+        for (int v = 0; v < n; v++) {
+            currentPriority[v] = priority(g, contracted, contractedNeighbours, depth, witness, v);
+            queue.push(key(currentPriority[v], v));
+        }
+
+        int nextRank = 0;
+        while (!queue.isEmpty()) {
+            long top = queue.pop();
+            int v = (int) (top & 0xFFFFFFFFL);
+            if (contracted[v] || top != key(currentPriority[v], v)) {
+                continue;  // superseded heap entry
+            }
+            int p = priority(g, contracted, contractedNeighbours, depth, witness, v);
+            if (p > currentPriority[v] && !queue.isEmpty() && key(p, v) > queue.peek()) {
+                currentPriority[v] = p;  // lazy update: retry with the fresh priority
+                queue.push(key(p, v));
+                continue;
+            }
+
+            contract(g, contracted, witness, v, false);
+            contracted[v] = true;
+            rank[v] = nextRank++;
+
+            // Neighbour priorities grow; they are re-evaluated lazily when popped
+            EdgeList[] sides = {g.out[v], g.in[v]};
+            for (EdgeList side : sides) {
+                for (int i = 0; i < side.size; i++) {
+                    int u = side.target[i];
+                    if (!contracted[u]) {
+                        contractedNeighbours[u]++;
+                        depth[u] = Math.max(depth[u], depth[v] + 1);
+                    }
+                }
+            }
+        }
+
+        return split(g, rank, g.edgeCount - originalEdges);
+    }
+
+    /**
+     * Shortest distance in meters between two nodes, or UNREACHABLE
+     */
+    public long distance(int source, int target) {
+        if (source == target) {
+            return 0;
+        }
+        SearchSpace forward = forwardSpace.get();
+        SearchSpace backward = backwardSpace.get();
+        forward.reset();
+        backward.reset();
+        forward.start(source);
+        backward.start(target);
+
+        long best = Long.MAX_VALUE;
+        while (!forward.heap.isEmpty() || !backward.heap.isEmpty()) {
+            long forwardMin = forward.heap.isEmpty() ? Long.MAX_VALUE : forward.heap.peek() >>> 32;
+            long backwardMin = backward.heap.isEmpty() ? Long.MAX_VALUE : backward.heap.peek() >>> 32;
+            if (Math.min(forwardMin, backwardMin) >= best) {
+                break;
+            }
+            boolean stepForward = forwardMin <= backwardMin;
+            SearchSpace space = stepForward ? forward : backward;
+            SearchSpace other = stepForward ? backward : forward;
+
+            long entry = space.heap.pop();
+            int v = (int) (entry & 0xFFFFFFFFL);
+            int d = (int) (entry >>> 32);
+            if (d > space.dist[v]) {
+                continue;  // stale heap entry
+            }
+            if (other.dist[v] != INF) {
+                best = Math.min(best, (long) d + other.dist[v]);
+            }
+            if (stepForward) {
+                if (!stalled(space, v, d, downFirst, downTarget, downWeight)) {
+                    relax(space, v, d, upFirst, upTarget, upWeight);
+                }
+            } else if (!stalled(space, v, d, upFirst, upTarget, upWeight)) {
+                relax(space, v, d, downFirst, downTarget, downWeight);
+            }
+        }
+        return best == Long.MAX_VALUE ? UNREACHABLE : best;
+    }
+
+    /**
+     * Distances in meters from every source to every target (UNREACHABLE where there is no path)
+     */
+    public long[][] matrix(int[] sources, int[] targets) {
+        // Backward upward search from each target; buckets[v] holds (target index, distance)
+        Map<Integer, List<int[]>> buckets = new HashMap<>();
+        SearchSpace space = backwardSpace.get();
+        for (int j = 0; j < targets.length; j++) {
+            int targetIndex = j;
+            searchAll(space, targets[j], downFirst, downTarget, downWeight, (v, d) ->
+                    buckets.computeIfAbsent(v, k -> new ArrayList<>()).add(new int[]{targetIndex, d}));
+        }
+
+        long[][] result = new long[sources.length][targets.length];
+        SearchSpace forward = forwardSpace.get();
+        for (int i = 0; i < sources.length; i++) {
+            long[] row = result[i];
+            Arrays.fill(row, Long.MAX_VALUE);
+            searchAll(forward, sources[i], upFirst, upTarget, upWeight, (v, d) -> {
+                List<int[]> bucket = buckets.get(v);
+                if (bucket != null) {
+                    for (int[] item : bucket) {
+                        row[item[0]] = Math.min(row[item[0]], (long) d + item[1]);
+                    }
+                }
+            });
+            for (int j = 0; j < row.length; j++) {
+                if (row[j] == Long.MAX_VALUE) {
+                    row[j] = UNREACHABLE;
+                }
+            }
+        }
+        return result;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getShortcutCount() {
+        return shortcutCount;
+    }
+
+    // ========== Preprocessing ==========
+
+    private static long key(int priority, int node) {
+        return ((long) (priority + PRIORITY_OFFSET) << 32) | node;
+    }
+
+    private static int priority(DynamicGraph g, boolean[] contracted, int[] contractedNeighbours, int[] depth,
+                                SearchSpace witness, int v) {
+        int shortcuts = contract(g, contracted, witness, v, true);
+        int removed = 0;
+        for (int i = 0; i < g.out[v].size; i++) {
+            if (!contracted[g.out[v].target[i]]) removed++;
+        }
+        for (int i = 0; i < g.in[v].size; i++) {
+            if (!contracted[g.in[v].target[i]]) removed++;
+        }
+        return 2 * (shortcuts - removed) + contractedNeighbours[v] + depth[v];
+    }
+
+    /**
+     * Contract (or simulate contracting) v
+     *
+     * @return Number of shortcuts needed
+     */
+    private static int contract(DynamicGraph g, boolean[] contracted, SearchSpace witness, int v, boolean simulate) {
+        EdgeList in = g.in[v];
+        EdgeList out = g.out[v];
+        int shortcuts = 0;
+        for (int i = 0; i < in.size; i++) {
+            int u = in.target[i];
+            if (contracted[u]) {
+                continue;
+            }
+            int toV = in.weight[i];
+
+            int maxOut = -1;
+            for (int k = 0; k < out.size; k++) {
+                int x = out.target[k];
+                if (!contracted[x] && x != u) {
+                    maxOut = Math.max(maxOut, out.weight[k]);
+                }
+            }
+            if (maxOut < 0) {
+                continue;
+            }
+
+            witnessSearch(g, contracted, witness, u, v, (long) toV + maxOut,
+                    simulate ? SIMULATION_SETTLE_LIMIT : CONTRACTION_SETTLE_LIMIT);
+            for (int k = 0; k < out.size; k++) {
+                int x = out.target[k];
+                if (contracted[x] || x == u) {
+                    continue;
+                }
+                long via = (long) toV + out.weight[k];
+                if (witness.dist[x] > via) {
+                    shortcuts++;
+                    if (!simulate) {
+                        g.addOrImprove(u, x, (int) via);
+                    }
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    /**
+     * Bounded Dijkstra from u on uncontracted nodes, skipping v
+     */
+    private static void witnessSearch(DynamicGraph g, boolean[] contracted, SearchSpace space,
+                                      int u, int v, long maxDistance, int settleLimit) {
+        space.reset();
+        space.start(u);
+        int settled = 0;
+        while (!space.heap.isEmpty() && settled < settleLimit) {
+            long entry = space.heap.pop();
+            int w = (int) (entry & 0xFFFFFFFFL);
+            int d = (int) (entry >>> 32);
+            if (d > space.dist[w]) {
+                continue;
+            }
+            if (d > maxDistance) {
+                break;
+            }
+            settled++;
+            EdgeList out = g.out[w];
+            for (int i = 0; i < out.size; i++) {
+                int x = out.target[i];
+                if (x == v || contracted[x]) {
+                    continue;
+                }
+                space.offer(x, (long) d + out.weight[i]);
+            }
+        }
+    }
+
+    /**
+     * Split all edges (original and shortcuts) into the upward forward and backward search graphs
+     */
+    private static ContractionHierarchy split(DynamicGraph g, int[] rank, int shortcutCount) {
+        int n = g.out.length;
+        int[] upFirst = new int[n + 1];
+        int[] downFirst = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            EdgeList out = g.out[u];
+            for (int i = 0; i < out.size; i++) {
+                int x = out.target[i];
+                if (rank[x] > rank[u]) {
+                    upFirst[u + 1]++;
+                } else {
+                    downFirst[x + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            upFirst[i + 1] += upFirst[i];
+            downFirst[i + 1] += downFirst[i];
+        }
+
+        int[] upTarget = new int[upFirst[n]];
+        int[] upWeight = new int[upFirst[n]];
+        int[] downTarget = new int[downFirst[n]];
+        int[] downWeight = new int[downFirst[n]];
+        int[] upCursor = upFirst.clone();
+        int[] downCursor = downFirst.clone();
+        for (int u = 0; u < n; u++) {
+            EdgeList out = g.out[u];
+            for (int i = 0; i < out.size; i++) {
+                int x = out.target[i];
+                if (rank[x] > rank[u]) {
+                    int slot = upCursor[u]++;
+                    upTarget[slot] = x;
+                    upWeight[slot] = out.weight[i];
+                } else {
+                    int slot = downCursor[x]++;
+                    downTarget[slot] = u;
+                    downWeight[slot] = out.weight[i];
+                }
+            }
+        }
+
+        return new ContractionHierarchy(n, shortcutCount,
+                upFirst, upTarget, upWeight, downFirst, downTarget, downWeight);
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * Stall-on-demand: v is reached more cheaply through a higher-ranked node already in the
+     * search, so no shortest path continues upward from v (the opposite graph lists those edges)
+     */
+    private static boolean stalled(SearchSpace space, int v, int d, int[] first, int[] target, int[] weight) {
+        for (int e = first[v]; e < first[v + 1]; e++) {
+            int w = space.dist[target[e]];
+            if (w != INF && (long) w + weight[e] < d) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void relax(SearchSpace space, int v, int d, int[] first, int[] target, int[] weight) {
+        for (int e = first[v]; e < first[v + 1]; e++) {
+            space.offer(target[e], (long) d + weight[e]);
+        }
+    }
+
+    private static void searchAll(SearchSpace space, int start, int[] first, int[] target, int[] weight,
+                                  SettledVisitor visitor) {
+        space.reset();
+        space.start(start);
+        while (!space.heap.isEmpty()) {
+            long entry = space.heap.pop();
+            int v = (int) (entry & 0xFFFFFFFFL);
+            int d = (int) (entry >>> 32);
+            if (d > space.dist[v]) {
+                continue;
+            }
+            visitor.settled(v, d);
+            relax(space, v, d, first, target, weight);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SettledVisitor {
+        void settled(int node, int distance);
+    }
+
+    // ========== Data Structures ==========
+
+    /**
+     * Dijkstra scratch space; distances are reset through the touched list, not the whole array
+     */
+    private static final class SearchSpace {
+        final int[] dist;
+        final LongHeap heap = new LongHeap();
+        private int[] touched = new int[64];
+        private int touchedCount;
+
+        SearchSpace(int nodeCount) {
+            dist = new int[nodeCount];
+            Arrays.fill(dist, INF);
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                dist[touched[i]] = INF;
+            }
+            touchedCount = 0;
+            heap.clear();
+        }
+
+        void start(int node) {
+            offer(node, 0);
+        }
+
+        void offer(int node, long distance) {
+            if (distance >= dist[node]) {
+                return;
+            }
+            if (dist[node] == INF) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = node;
+            }
+            dist[node] = (int) distance;
+            heap.push((distance << 32) | node);
+        }
+    }
+
+    /**
+     * Binary min-heap of longs
+     */
+    private static final class LongHeap {
+        private long[] items = new long[64];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        long peek() {
+            return items[0];
+        }
+
+        void push(long item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (items[parent] <= item) {
+                    break;
+                }
+                items[i] = items[parent];
+                i = parent;
+            }
+            items[i] = item;
+        }
+
+        long pop() {
+            long top = items[0];
+            long last = items[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && items[child + 1] < items[child]) {
+                    child++;
+                }
+                if (items[child] >= last) {
+                    break;
+                }
+                items[i] = items[child];
+                i = child;
+            }
+            if (size > 0) {
+                items[i] = last;
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Growable (target, weight) list
+     */
+    private static final class EdgeList {
+        int[] target = new int[4];
+        int[] weight = new int[4];
+        int size;
+
+        int indexOf(int node) {
+            for (int i = 0; i < size; i++) {
+                if (target[i] == node) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void add(int node, int w) {
+            if (size == target.length) {
+                target = Arrays.copyOf(target, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+            }
+            target[size] = node;
+            weight[size] = w;
+            size++;
+        }
+    }
+
+    /**
+     * Mutable out/in adjacency used during contraction
+     */
+    private static final class DynamicGraph {
+        final EdgeList[] out;
+        final EdgeList[] in;
+        int edgeCount;
+
+        private DynamicGraph(int n) {
+            out = new EdgeList[n];
+            in = new EdgeList[n];
+            for (int i = 0; i < n; i++) {
+                out[i] = new EdgeList();
+                in[i] = new EdgeList();
+            }
+        }
+
+        static DynamicGraph of(RoadGraph graph) {
+            DynamicGraph g = new DynamicGraph(graph.getNodeCount());
+            for (int u = 0; u < graph.getNodeCount(); u++) {
+                for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                    g.addOrImprove(u, graph.edgeTarget(e), graph.edgeWeight(e));
+                }
+            }
+            return g;
+        }
+
+        void addOrImprove(int from, int to, int w) {
+            int i = out[from].indexOf(to);
+            if (i < 0) {
+                out[from].add(to, w);
+                in[to].add(from, w);
+                edgeCount++;
+            } else if (w < out[from].weight[i]) {
+                out[from].weight[i] = w;
+                in[to].weight[in[to].indexOf(from)] = w;
+            }
+        }
+    }
+}
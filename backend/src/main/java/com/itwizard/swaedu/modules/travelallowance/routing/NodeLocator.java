@@ -0,0 +1,90 @@
+package com.itwizard.swaedu.modules.travelallowance.routing;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Snaps coordinates to the nearest road graph node using a uniform lat/lng grid
+ */
+public final class NodeLocator {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final double CELL_DEGREES = 0.01;          // ~1.1 km of latitude
+    private static final double METERS_PER_DEGREE = 111_195.0;
+
+    private final RoadGraph graph;
+    private final Map<Long, int[]> cells;
+
+    private NodeLocator(RoadGraph graph, Map<Long, int[]> cells) {
+        this.graph = graph;
+        this.cells = cells;
+    }
+
+    public static NodeLocator build(RoadGraph graph) {
+        Map<Long, int[]> cells = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            long cell = cell(row(graph.lat(node)), column(graph.lng(node)));
+            int size = sizes.merge(cell, 1, Integer::sum);
+            int[] members = cells.computeIfAbsent(cell, c -> new int[4]);
+            if (size > members.length) {
+                members = Arrays.copyOf(members, members.length * 2);
+                cells.put(cell, members);
+            }
+            members[size - 1] = node;
+        }
+        cells.replaceAll((cell, members) -> Arrays.copyOf(members, sizes.get(cell)));
+        return new NodeLocator(graph, cells);
+    }
+
+    /**
+     * Nearest node within maxMeters, or NOT_FOUND
+     */
+    public int nearest(double lat, double lng, double maxMeters) {
+        int rings = (int) Math.ceil(maxMeters / (CELL_DEGREES * METERS_PER_DEGREE * Math.cos(Math.toRadians(lat))));
+        int row = row(lat);
+        int column = column(lng);
+
+        int best = NOT_FOUND;
+        double bestMeters = maxMeters;
+        for (int dr = -rings; dr <= rings; dr++) {
+            for (int dc = -rings; dc <= rings; dc++) {
+                int[] members = cells.get(cell(row + dr, column + dc));
+                if (members == null) {
+                    continue;
+                }
+                for (int node : members) {
+                    double meters = approximateMeters(lat, lng, graph.lat(node), graph.lng(node));
+                    if (meters <= bestMeters) {
+                        bestMeters = meters;
+                        best = node;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Equirectangular distance, accurate enough at snapping range
+     */
+    public static double approximateMeters(double lat1, double lng1, double lat2, double lng2) {
+        double x = Math.toRadians(lng2 - lng1) * Math.cos(Math.toRadians((lat1 + lat2) / 2.0));
+        double y = Math.toRadians(lat2 - lat1);
+        return Math.sqrt(x * x + y * y) * (METERS_PER_DEGREE * 180.0 / Math.PI);
+    }
+
+    private static int row(double lat) {
+        return (int) Math.floor(lat / CELL_DEGREES);
+    }
+
+    private static int column(double lng) {
+        return (int) Math.floor(lng / CELL_DEGREES);
+    }
+
+    private static long cell(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+}
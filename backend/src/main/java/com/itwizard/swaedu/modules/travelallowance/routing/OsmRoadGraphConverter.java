@@ -0,0 +1,233 @@
+package com.itwizard.swaedu.modules.travelallowance.routing;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Converts an OSM XML extract into the text format read by RoadGraphLoader
+ *
+ * Keeps drivable ways only (highway values below, without access=no/private) and writes
+ * one E line per consecutive node pair, with its straight-line length in meters. Ways
+ * marked oneway=yes/1/true or junction=roundabout are one-way, oneway=-1 runs against the
+ * node order. Nodes no kept way uses are dropped.
+ *
+ * Producing the road graph for the province from the Geofabrik extract (osmium-tool):
+ * <pre>
+ * osmium extract -p province.geojson south-korea-latest.osm.pbf -o province.osm.pbf
+ * osmium tags-filter province.osm.pbf w/highway -o province-roads.osm.gz
+ * java -cp target/swa-edu-0.0.1-SNAPSHOT.jar -Dloader.main=com.itwizard.swaedu.modules.travelallowance.routing.OsmRoadGraphConverter \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher province-roads.osm.gz road-graph.txt.gz
+ * </pre>
+ * then set travel.distance.road-graph-path=road-graph.txt.gz and travel.distance.provider=road.
+ * The input is read twice (ways follow nodes in OSM files), so it must be a file, not a pipe.
+ */
+public final class OsmRoadGraphConverter {
+
+    private static final Set<String> DRIVABLE = Set.of(
+            "motorway", "motorway_link", "trunk", "trunk_link", "primary", "primary_link",
+            "secondary", "secondary_link", "tertiary", "tertiary_link", "unclassified",
+            "residential", "living_street", "service", "road");
+    private static final Set<String> NO_ACCESS = Set.of("no", "private");
+    private static final Set<String> ONEWAY = Set.of("yes", "1", "true");
+
+    private OsmRoadGraphConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: OsmRoadGraphConverter <input.osm[.gz]> <output.txt[.gz]>");
+            System.exit(2);
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        try (OutputStream raw = Files.newOutputStream(output);
+             OutputStream out = output.toString().endsWith(".gz") ? new GZIPOutputStream(raw) : raw;
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            Result result = convert(() -> open(input), writer);
+            System.err.printf(Locale.ROOT, "Wrote %d nodes and %d edges to %s%n",
+                    result.nodes(), result.edges(), output);
+        }
+    }
+
+    /**
+     * Convert an OSM XML document; {@code input} is opened twice
+     */
+    static Result convert(InputSource input, Writer writer) throws IOException {
+        // First pass: ids of the nodes referenced by drivable ways, sorted and distinct
+        LongList referenced = new LongList();
+        read(input, (id, lat, lng) -> {
+        }, way -> referenced.addAll(way.refs, way.size));
+        long[] usedIds = referenced.sortedDistinct();
+
+        double[] lat = new double[usedIds.length];
+        double[] lng = new double[usedIds.length];
+        boolean[] present = new boolean[usedIds.length];
+        int[] counts = new int[2];  // nodes, edges
+
+        writer.write("# Road graph converted from an OSM extract by OsmRoadGraphConverter\n");
+        read(input, (id, nodeLat, nodeLng) -> {
+            int index = Arrays.binarySearch(usedIds, id);
+            if (index >= 0 && !present[index]) {
+                lat[index] = nodeLat;
+                lng[index] = nodeLng;
+                present[index] = true;
+                writer.write(String.format(Locale.ROOT, "N,%d,%.7f,%.7f%n", id, nodeLat, nodeLng));
+                counts[0]++;
+            }
+        }, way -> counts[1] += writeEdges(way, usedIds, lat, lng, present, writer));
+        return new Result(counts[0], counts[1]);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Stream the document once, passing every node and every drivable way
+     */
+    private static void read(InputSource input, NodeVisitor onNode, WayVisitor onDrivableWay) throws IOException {
+        try (InputStream in = input.open()) {
+            XMLStreamReader xml = newReader(in);
+            Way way = null;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "node" -> onNode.visit(Long.parseLong(xml.getAttributeValue(null, "id")),
+                                Double.parseDouble(xml.getAttributeValue(null, "lat")),
+                                Double.parseDouble(xml.getAttributeValue(null, "lon")));
+                        case "way" -> way = new Way();
+                        case "nd" -> {
+                            if (way != null) {
+                                way.add(Long.parseLong(xml.getAttributeValue(null, "ref")));
+                            }
+                        }
+                        case "tag" -> {
+                            if (way != null) {
+                                way.tags.put(xml.getAttributeValue(null, "k"), xml.getAttributeValue(null, "v"));
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "way".equals(xml.getLocalName())) {
+                    if (way.isDrivable()) {
+                        onDrivableWay.visit(way);
+                    }
+                    way = null;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid OSM XML: " + e.getMessage(), e);
+        }
+    }
+
+    private static int writeEdges(Way way, long[] usedIds, double[] lat, double[] lng, boolean[] present,
+                                  Writer writer) throws IOException {
+        String oneway = way.tags.getOrDefault("oneway", "");
+        boolean reversed = "-1".equals(oneway);
+        boolean isOneway = reversed || ONEWAY.contains(oneway) || "roundabout".equals(way.tags.get("junction"));
+        int written = 0;
+        for (int i = 1; i < way.size; i++) {
+            int a = Arrays.binarySearch(usedIds, way.refs[i - 1]);
+            int b = Arrays.binarySearch(usedIds, way.refs[i]);
+            // Ways clipped at the extract boundary reference nodes outside it
+            if (!present[a] || !present[b]) {
+                continue;
+            }
+            double meters = NodeLocator.approximateMeters(lat[a], lng[a], lat[b], lng[b]);
+            int from = reversed ? b : a;
+            int to = reversed ? a : b;
+            writer.write(String.format(Locale.ROOT, "E,%d,%d,%.1f,%d%n",
+                    usedIds[from], usedIds[to], meters, isOneway ? 1 : 0));
+            written++;
+        }
+        return written;
+    }
+
+    private static XMLStreamReader newReader(InputStream in) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory.createXMLStreamReader(in, StandardCharsets.UTF_8.name());
+    }
+
+    private static InputStream open(Path path) throws IOException {
+        InputStream raw = Files.newInputStream(path);
+        return path.toString().endsWith(".gz") ? new GZIPInputStream(raw, 1 << 16) : raw;
+    }
+
+    /**
+     * Opens the OSM document; called once per pass
+     */
+    @FunctionalInterface
+    interface InputSource {
+        InputStream open() throws IOException;
+    }
+
+    record Result(int nodes, int edges) {
+    }
+
+    @FunctionalInterface
+    private interface NodeVisitor {
+        void visit(long id, double lat, double lng) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface WayVisitor {
+        void visit(Way way) throws IOException;
+    }
+
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void addAll(long[] source, int length) {
+            if (size + length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + length));
+            }
+            System.arraycopy(source, 0, values, size, length);
+            size += length;
+        }
+
+        long[] sortedDistinct() {
+            return Arrays.stream(values, 0, size).sorted().distinct().toArray();
+        }
+    }
+
+    private static final class Way {
+        private final Map<String, String> tags = new HashMap<>();
+        private long[] refs = new long[16];
+        private int size;
+
+        void add(long ref) {
+            if (size == refs.length) {
+                refs = Arrays.copyOf(refs, size * 2);
+            }
+            refs[size++] = ref;
+        }
+
+        boolean isDrivable() {
+            // Set.of rejects contains(null), so absent tags are looked up as ""
+            return DRIVABLE.contains(tags.getOrDefault("highway", ""))
+                    && !NO_ACCESS.contains(tags.getOrDefault("access", ""))
+                    && !NO_ACCESS.contains(tags.getOrDefault("motor_vehicle", ""));
+        }
+    }
+}
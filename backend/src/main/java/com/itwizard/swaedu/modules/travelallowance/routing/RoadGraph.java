@@ -0,0 +1,132 @@
+package com.itwizard.swaedu.modules.travelallowance.routing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable directed road graph in compressed sparse row form
+ *
+ * Nodes are dense indexes 0..n-1 with coordinates; edge weights are lengths in meters.
+ * Parallel edges are collapsed to the shortest one.
+ */
+public final class RoadGraph {
+
+    private final double[] lat;
+    private final double[] lng;
+    private final int[] firstEdge;   // edges of node i are firstEdge[i] .. firstEdge[i + 1] - 1
+    private final int[] edgeTarget;
+    private final int[] edgeWeight;
+
+    private RoadGraph(double[] lat, double[] lng, int[] firstEdge, int[] edgeTarget, int[] edgeWeight) {
+        this.lat = lat;
+        this.lng = lng;
+        this.firstEdge = firstEdge;
+        this.edgeTarget = edgeTarget;
+        this.edgeWeight = edgeWeight;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getNodeCount() {
+        return lat.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeTarget.length;
+    }
+
+    public double lat(int node) {
+        return lat[node];
+    }
+
+    public double lng(int node) {
+        return lng[node];
+    }
+
+    public int firstEdge(int node) {
+        return firstEdge[node];
+    }
+
+    public int endEdge(int node) {
+        return firstEdge[node + 1];
+    }
+
+    public int edgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    public int edgeWeight(int edge) {
+        return edgeWeight[edge];
+    }
+
+    /**
+     * Collects nodes by external (e.g. OSM) id and edges between them
+     */
+    public static final class Builder {
+        private final Map<Long, Integer> indexById = new HashMap<>();
+        private final List<double[]> coordinates = new ArrayList<>();
+        private final Map<Long, Integer> edges = new HashMap<>();  // (from << 32 | to) → meters
+
+        private Builder() {
+        }
+
+        public Builder addNode(long id, double lat, double lng) {
+            if (indexById.putIfAbsent(id, coordinates.size()) == null) {
+                coordinates.add(new double[]{lat, lng});
+            }
+            return this;
+        }
+
+        /**
+         * Add a road segment; two-way segments add both directions
+         */
+        public Builder addEdge(long fromId, long toId, int meters, boolean oneway) {
+            Integer from = indexById.get(fromId);
+            Integer to = indexById.get(toId);
+            if (from == null || to == null) {
+                throw new IllegalArgumentException("Edge " + fromId + " -> " + toId + " references an unknown node");
+            }
+            if (from.equals(to) || meters < 0) {
+                return this;
+            }
+            edges.merge(((long) from << 32) | to, meters, Math::min);
+            if (!oneway) {
+                edges.merge(((long) to << 32) | from, meters, Math::min);
+            }
+            return this;
+        }
+
+        public RoadGraph build() {
+            int n = coordinates.size();
+            double[] lat = new double[n];
+            double[] lng = new double[n];
+            for (int i = 0; i < n; i++) {
+                lat[i] = coordinates.get(i)[0];
+                lng[i] = coordinates.get(i)[1];
+            }
+
+            int[] firstEdge = new int[n + 1];
+            for (long key : edges.keySet()) {
+                firstEdge[(int) (key >>> 32) + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                firstEdge[i + 1] += firstEdge[i];
+            }
+
+            int[] cursor = firstEdge.clone();
+            int[] edgeTarget = new int[edges.size()];
+            int[] edgeWeight = new int[edges.size()];
+            edges.forEach((key, meters) -> {
+                int slot = cursor[(int) (key >>> 32)]++;
+                edgeTarget[slot] = (int) (key & 0xFFFFFFFFL);
+                edgeWeight[slot] = meters;
+            });
+
+            return new RoadGraph(lat, lng, firstEdge, edgeTarget, edgeWeight);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.itwizard.swaedu.modules.travelallowance.routing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loads a road graph from a local text extract (optionally gzip-compressed)
+ *
+ * The extract is produced offline from an OSM extract of the province (drivable ways only)
+ * by OsmRoadGraphConverter, which documents the commands:
+ * <pre>
+ * # comment
+ * N,&lt;nodeId&gt;,&lt;lat&gt;,&lt;lng&gt;
+ * E,&lt;fromNodeId&gt;,&lt;toNodeId&gt;,&lt;meters&gt;,&lt;oneway 0|1&gt;
+ * </pre>
+ * All N lines must precede the E lines that reference them.
+ */
+public final class RoadGraphLoader {
+
+    private RoadGraphLoader() {
+    }
+
+    public static RoadGraph load(Path path) throws IOException {
+        try (InputStream raw = Files.newInputStream(path);
+             InputStream in = path.toString().endsWith(".gz") ? new GZIPInputStream(raw) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return read(reader);
+        }
+    }
+
+    static RoadGraph read(BufferedReader reader) throws IOException {
+        RoadGraph.Builder builder = RoadGraph.builder();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(",");
+            try {
+                switch (parts[0]) {
+                    case "N" -> builder.addNode(Long.parseLong(parts[1]),
+                            Double.parseDouble(parts[2]), Double.parseDouble(parts[3]));
+                    case "E" -> builder.addEdge(Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                            (int) Math.round(Double.parseDouble(parts[3])), "1".equals(parts[4]));
+                    default -> throw new IllegalArgumentException("unknown record type " + parts[0]);
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Invalid road graph line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return builder.build();
+    }
+}
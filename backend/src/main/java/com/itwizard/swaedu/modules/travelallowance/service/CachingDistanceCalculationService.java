@@ -0,0 +1,269 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.config.TravelDistanceConfig;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelDistanceCacheEntry;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelEndpointMovedEvent;
+import com.itwizard.swaedu.modules.travelallowance.repository.TravelDistanceCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caching Distance Calculation Service
+ *
+ * Sits in front of the configured distance provider (the bean qualified "distanceProvider")
+ * and memoizes directed leg distances. Legs are keyed by their coordinates at column scale
+ * (7 decimals), packed into longs, in an in-process LRU map backed by travel_distance_cache.
+ * The map keeps at most travel.distance.cache-max-entries legs and evicts the least recently
+ * used one, so it keeps following the legs in use. Route distances are the sum of the cached
+ * legs, so only legs not in memory reach the provider; matrix requests send all missing rows
+ * to the provider in one call, and the legs computed by one request are saved in one insert.
+ * That insert runs in its own transaction and its failures are only logged, so a cache write
+ * never breaks a read-only caller or rolls back the recalculation that computed the legs.
+ * Legs touching an instructor home or institution that moved are dropped
+ * after the move commits.
+ */
+@Slf4j
+@Service
+@Primary
+public class CachingDistanceCalculationService implements DistanceCalculationService {
+
+    private static final int COORDINATE_SCALE = 7;  // DECIMAL(10, 7) lat/lng columns
+
+    private final DistanceCalculationService provider;
+    private final TravelDistanceCacheRepository cacheRepository;
+    private final TravelDistanceConfig distanceConfig;
+    private final Map<Leg, Long> legs;  // hundredths of a km, access order; guarded by itself
+
+    private volatile boolean warmed;
+
+    public CachingDistanceCalculationService(@Qualifier("distanceProvider") DistanceCalculationService provider,
+                                             TravelDistanceCacheRepository cacheRepository,
+                                             TravelDistanceConfig distanceConfig) {
+        this.provider = provider;
+        this.cacheRepository = cacheRepository;
+        this.distanceConfig = distanceConfig;
+        int capacity = distanceConfig.getCacheMaxEntries();
+        this.legs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Leg, Long> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public BigDecimal calculateDistance(BigDecimal fromLat, BigDecimal fromLng,
+                                         BigDecimal toLat, BigDecimal toLng) {
+        if (fromLat == null || fromLng == null || toLat == null || toLng == null) {
+            throw new IllegalArgumentException("All coordinates must be provided");
+        }
+        List<ComputedLeg> computed = new ArrayList<>(1);
+        long hundredths = legHundredths(fromLat, fromLng, toLat, toLng, computed);
+        persist(computed);
+        return BigDecimal.valueOf(hundredths, 2);
+    }
+
+    @Override
+    public BigDecimal calculateRouteDistance(List<Waypoint> waypoints) {
+        if (waypoints == null || waypoints.size() < 2) {
+            return BigDecimal.ZERO;
+        }
+
+        long totalHundredths = 0L;
+        List<ComputedLeg> computed = new ArrayList<>();
+        for (int i = 1; i < waypoints.size(); i++) {
+            Waypoint from = waypoints.get(i - 1);
+            Waypoint to = waypoints.get(i);
+            if (from.lat() == null || from.lng() == null || to.lat() == null || to.lng() == null) {
+                throw new IllegalArgumentException("All coordinates must be provided");
+            }
+            totalHundredths += legHundredths(from.lat(), from.lng(), to.lat(), to.lng(), computed);
+        }
+        persist(computed);
+        return BigDecimal.valueOf(totalHundredths, 2);
+    }
+
+    @Override
+    public BigDecimal[][] calculateDistanceMatrix(List<Waypoint> sources, List<Waypoint> targets) {
+        if (!warmed) {
+            warm();
+        }
+
+        BigDecimal[][] matrix = new BigDecimal[sources.size()][targets.size()];
+        List<Integer> missingRows = new ArrayList<>();
+        for (int i = 0; i < sources.size(); i++) {
+            Waypoint from = sources.get(i);
+            boolean missing = false;
+            for (int j = 0; j < targets.size(); j++) {
+                Waypoint to = targets.get(j);
+                Long cached = cached(new Leg(pack(from.lat(), from.lng()), pack(to.lat(), to.lng())));
+                if (cached != null) {
+                    matrix[i][j] = BigDecimal.valueOf(cached, 2);
+                } else {
+                    missing = true;
+                }
+            }
+            if (missing) {
+                missingRows.add(i);
+            }
+        }
+        if (missingRows.isEmpty()) {
+            return matrix;
+        }
+
+        // One provider matrix call for every source row with a missing leg
+        List<Waypoint> missingSources = missingRows.stream().map(sources::get).toList();
+        BigDecimal[][] computed = provider.calculateDistanceMatrix(missingSources, targets);
+        List<ComputedLeg> computedLegs = new ArrayList<>();
+        for (int r = 0; r < missingRows.size(); r++) {
+            int i = missingRows.get(r);
+            Waypoint from = sources.get(i);
+            for (int j = 0; j < targets.size(); j++) {
+                if (matrix[i][j] == null) {
+                    Waypoint to = targets.get(j);
+                    long hundredths = remember(from.lat(), from.lng(), to.lat(), to.lng(), computed[r][j], computedLegs);
+                    matrix[i][j] = BigDecimal.valueOf(hundredths, 2);
+                }
+            }
+        }
+        persist(computedLegs);
+        return matrix;
+    }
+
+    /**
+     * Drop cached legs touching a point that an instructor home or institution moved away from
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEndpointMoved(TravelEndpointMovedEvent event) {
+        long point = pack(event.lat(), event.lng());
+        synchronized (legs) {
+            legs.keySet().removeIf(leg -> leg.from() == point || leg.to() == point);
+        }
+        int deleted = cacheRepository.deleteTouching(scale(event.lat()), scale(event.lng()));
+        log.info("Travel endpoint ({}, {}) moved, dropped {} cached distances", event.lat(), event.lng(), deleted);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private long legHundredths(BigDecimal fromLat, BigDecimal fromLng, BigDecimal toLat, BigDecimal toLng,
+                               List<ComputedLeg> computed) {
+        if (!warmed) {
+            warm();
+        }
+
+        Long cached = cached(new Leg(pack(fromLat, fromLng), pack(toLat, toLng)));
+        if (cached != null) {
+            return cached;
+        }
+
+        return remember(fromLat, fromLng, toLat, toLng,
+                provider.calculateDistance(fromLat, fromLng, toLat, toLng), computed);
+    }
+
+    /**
+     * Remember a leg computed by the provider and queue it for {@link #persist}
+     */
+    private long remember(BigDecimal fromLat, BigDecimal fromLng, BigDecimal toLat, BigDecimal toLng,
+                          BigDecimal computed, List<ComputedLeg> computedLegs) {
+        BigDecimal distance = computed.setScale(2, RoundingMode.HALF_UP);
+        computedLegs.add(new ComputedLeg(scale(fromLat), scale(fromLng), scale(toLat), scale(toLng), distance));
+
+        long hundredths = distance.unscaledValue().longValueExact();
+        put(new Leg(pack(fromLat, fromLng), pack(toLat, toLng)), hundredths);
+        return hundredths;
+    }
+
+    /**
+     * Save computed legs in one multi-row insert (legs cached meanwhile are skipped), in a new
+     * transaction; a failure leaves them in memory only
+     */
+    private void persist(List<ComputedLeg> computed) {
+        if (computed.isEmpty()) {
+            return;
+        }
+        int n = computed.size();
+        BigDecimal[] fromLats = new BigDecimal[n];
+        BigDecimal[] fromLngs = new BigDecimal[n];
+        BigDecimal[] toLats = new BigDecimal[n];
+        BigDecimal[] toLngs = new BigDecimal[n];
+        BigDecimal[] distances = new BigDecimal[n];
+        for (int i = 0; i < n; i++) {
+            ComputedLeg leg = computed.get(i);
+            fromLats[i] = leg.fromLat();
+            fromLngs[i] = leg.fromLng();
+            toLats[i] = leg.toLat();
+            toLngs[i] = leg.toLng();
+            distances[i] = leg.distanceKm();
+        }
+        try {
+            cacheRepository.insertAllIgnoringDuplicates(distanceConfig.getProvider(),
+                    fromLats, fromLngs, toLats, toLngs, distances);
+        } catch (RuntimeException e) {
+            log.warn("Failed to save {} computed travel distances: {}", n, e.getMessage());
+        }
+    }
+
+    /**
+     * Load the most recent cached legs of the configured provider once
+     */
+    private synchronized void warm() {
+        if (warmed) {
+            return;
+        }
+        List<TravelDistanceCacheEntry> entries = cacheRepository.findByProviderOrderByIdDesc(
+                distanceConfig.getProvider(), PageRequest.of(0, distanceConfig.getCacheMaxEntries()));
+        for (TravelDistanceCacheEntry entry : entries) {
+            put(new Leg(pack(entry.getFromLat(), entry.getFromLng()), pack(entry.getToLat(), entry.getToLng())),
+                    entry.getDistanceKm().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+        warmed = true;
+        log.info("Loaded {} cached {} travel distances", entries.size(), distanceConfig.getProvider());
+    }
+
+    private Long cached(Leg leg) {
+        synchronized (legs) {
+            return legs.get(leg);
+        }
+    }
+
+    private void put(Leg leg, long hundredths) {
+        synchronized (legs) {
+            legs.put(leg, hundredths);
+        }
+    }
+
+    private static BigDecimal scale(BigDecimal coordinate) {
+        return coordinate.setScale(COORDINATE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Pack a point into a long: latitude and longitude in 1e-7 degrees fit in an int each
+     */
+    private static long pack(BigDecimal lat, BigDecimal lng) {
+        int latE7 = scale(lat).unscaledValue().intValueExact();
+        int lngE7 = scale(lng).unscaledValue().intValueExact();
+        return ((long) latE7 << 32) | (lngE7 & 0xFFFFFFFFL);
+    }
+
+    private record Leg(long from, long to) {
+    }
+
+    /**
+     * A provider result waiting to be saved, coordinates at column scale
+     */
+    private record ComputedLeg(BigDecimal fromLat, BigDecimal fromLng, BigDecimal toLat, BigDecimal toLng,
+                               BigDecimal distanceKm) {
+    }
+}
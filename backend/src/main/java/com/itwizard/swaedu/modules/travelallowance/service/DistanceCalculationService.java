@@ -1,6 +1,7 @@
 package com.itwizard.swaedu.modules.travelallowance.service;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Distance Calculation Service Interface
@@ -29,6 +30,26 @@ public interface DistanceCalculationService {
      */
     BigDecimal calculateRouteDistance(List<Waypoint> waypoints);
 
+    /**
+     * Calculate distances from every source to every target (many-to-many)
+     * Providers with a batch algorithm override this; the default calls calculateDistance per pair.
+     *
+     * @param sources Origins (rows)
+     * @param targets Destinations (columns)
+     * @return Distances in kilometers, matrix[source][target]
+     */
+    default BigDecimal[][] calculateDistanceMatrix(List<Waypoint> sources, List<Waypoint> targets) {
+        BigDecimal[][] matrix = new BigDecimal[sources.size()][targets.size()];
+        for (int i = 0; i < sources.size(); i++) {
+            Waypoint from = sources.get(i);
+            for (int j = 0; j < targets.size(); j++) {
+                Waypoint to = targets.get(j);
+                matrix[i][j] = calculateDistance(from.lat(), from.lng(), to.lat(), to.lng());
+            }
+        }
+        return matrix;
+    }
+
     /**
      * Waypoint data structure
      */
@@ -1,50 +1,44 @@
 package com.itwizard.swaedu.modules.travelallowance.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 
 /**
  * Distance Calculation Service Implementation
- * 
+ *
  * Uses Haversine formula for straight-line distance calculation.
- * 
- * TODO: In final implementation, integrate with Kakao Maps Directions API
- * to get actual shortest route distance (not straight-line).
+ * All trigonometry runs on primitive doubles; each segment is rounded to
+ * 0.01 km (HALF_UP) and accumulated as a long count of hundredths, so a
+ * route allocates a single BigDecimal for its total.
+ * Callers go through CachingDistanceCalculationService, which memoizes legs.
+ *
+ * Selected by travel.distance.provider=haversine (default); see RoadNetworkDistanceService
+ * for shortest road distance.
  */
 @Slf4j
 @Service
+@Qualifier("distanceProvider")
+@ConditionalOnProperty(name = "travel.distance.provider", havingValue = "haversine", matchIfMissing = true)
 public class DistanceCalculationServiceImpl implements DistanceCalculationService {
 
-    private static final BigDecimal EARTH_RADIUS_KM = new BigDecimal("6371.0");
+    private static final double EARTH_RADIUS_KM = 6371.0;
 
     @Override
-    public BigDecimal calculateDistance(BigDecimal fromLat, BigDecimal fromLng, 
+    public BigDecimal calculateDistance(BigDecimal fromLat, BigDecimal fromLng,
                                          BigDecimal toLat, BigDecimal toLng) {
         if (fromLat == null || fromLng == null || toLat == null || toLng == null) {
             throw new IllegalArgumentException("All coordinates must be provided");
         }
 
-        // Haversine formula for great-circle distance
-        BigDecimal lat1Rad = toRadians(fromLat);
-        BigDecimal lat2Rad = toRadians(toLat);
-        BigDecimal deltaLat = toRadians(toLat.subtract(fromLat));
-        BigDecimal deltaLng = toRadians(toLng.subtract(fromLng));
-
-        BigDecimal a = sin(deltaLat.divide(new BigDecimal("2"), 10, RoundingMode.HALF_UP))
-                .pow(2)
-                .add(cos(lat1Rad)
-                        .multiply(cos(lat2Rad))
-                        .multiply(sin(deltaLng.divide(new BigDecimal("2"), 10, RoundingMode.HALF_UP)).pow(2)));
-
-        BigDecimal c = new BigDecimal("2")
-                .multiply(atan2(sqrt(a), sqrt(new BigDecimal("1").subtract(a))));
-
-        BigDecimal distance = EARTH_RADIUS_KM.multiply(c);
-        return distance.setScale(2, RoundingMode.HALF_UP);
+        long hundredths = segmentHundredths(
+                fromLat.doubleValue(), fromLng.doubleValue(),
+                toLat.doubleValue(), toLng.doubleValue());
+        return BigDecimal.valueOf(hundredths, 2);
     }
 
     @Override
@@ -53,35 +47,50 @@ public class DistanceCalculationServiceImpl implements DistanceCalculationServic
             return BigDecimal.ZERO;
         }
 
-        BigDecimal totalDistance = BigDecimal.ZERO;
-        for (int i = 0; i < waypoints.size() - 1; i++) {
-            Waypoint from = waypoints.get(i);
-            Waypoint to = waypoints.get(i + 1);
-            BigDecimal segmentDistance = calculateDistance(from.lat(), from.lng(), to.lat(), to.lng());
-            totalDistance = totalDistance.add(segmentDistance);
+        Waypoint first = waypoints.get(0);
+        if (first.lat() == null || first.lng() == null) {
+            throw new IllegalArgumentException("All coordinates must be provided");
+        }
+        double prevLat = first.lat().doubleValue();
+        double prevLng = first.lng().doubleValue();
+
+        long totalHundredths = 0L;
+        for (int i = 1; i < waypoints.size(); i++) {
+            Waypoint to = waypoints.get(i);
+            if (to.lat() == null || to.lng() == null) {
+                throw new IllegalArgumentException("All coordinates must be provided");
+            }
+            double lat = to.lat().doubleValue();
+            double lng = to.lng().doubleValue();
+            totalHundredths += segmentHundredths(prevLat, prevLng, lat, lng);
+            prevLat = lat;
+            prevLng = lng;
         }
 
-        return totalDistance.setScale(2, RoundingMode.HALF_UP);
-    }
-
-    // Helper methods for trigonometric calculations
-    private BigDecimal toRadians(BigDecimal degrees) {
-        return degrees.multiply(new BigDecimal(Math.PI)).divide(new BigDecimal("180"), 10, RoundingMode.HALF_UP);
+        return BigDecimal.valueOf(totalHundredths, 2);
     }
 
-    private BigDecimal sin(BigDecimal radians) {
-        return new BigDecimal(Math.sin(radians.doubleValue()));
-    }
+    /**
+     * Great-circle distance in kilometers (Haversine formula), unrounded
+     */
+    public static double haversineKm(double fromLat, double fromLng, double toLat, double toLng) {
+        double lat1Rad = Math.toRadians(fromLat);
+        double lat2Rad = Math.toRadians(toLat);
+        double sinHalfDeltaLat = Math.sin(Math.toRadians(toLat - fromLat) / 2.0);
+        double sinHalfDeltaLng = Math.sin(Math.toRadians(toLng - fromLng) / 2.0);
 
-    private BigDecimal cos(BigDecimal radians) {
-        return new BigDecimal(Math.cos(radians.doubleValue()));
-    }
+        double a = sinHalfDeltaLat * sinHalfDeltaLat
+                + Math.cos(lat1Rad) * Math.cos(lat2Rad) * sinHalfDeltaLng * sinHalfDeltaLng;
+        double c = 2.0 * Math.atan2(Math.sqrt(a), Math.sqrt(1.0 - a));
 
-    private BigDecimal sqrt(BigDecimal value) {
-        return new BigDecimal(Math.sqrt(value.doubleValue()));
+        return EARTH_RADIUS_KM * c;
     }
 
-    private BigDecimal atan2(BigDecimal y, BigDecimal x) {
-        return new BigDecimal(Math.atan2(y.doubleValue(), x.doubleValue()));
+    /**
+     * Segment distance rounded HALF_UP to 0.01 km, expressed in hundredths of a kilometer
+     */
+    static long segmentHundredths(double fromLat, double fromLng, double toLat, double toLng) {
+        // Distances are non-negative, so Math.round is HALF_UP here
+        return Math.round(haversineKm(fromLat, fromLng, toLat, toLng) * 100.0);
     }
 }
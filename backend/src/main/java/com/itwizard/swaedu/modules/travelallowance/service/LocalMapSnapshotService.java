@@ -0,0 +1,123 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.edu.exception.BusinessException;
+import com.edu.exception.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itwizard.swaedu.modules.travelallowance.config.KakaoMapsConfig;
+import com.itwizard.swaedu.modules.travelallowance.config.MapSnapshotPipelineConfig;
+import com.itwizard.swaedu.modules.travelallowance.render.BoundaryLayer;
+import com.itwizard.swaedu.modules.travelallowance.render.RouteMapRenderer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Local Map Snapshot Service
+ *
+ * Renders route map images in-process with Java2D (RouteMapRenderer), optionally over the
+ * administrative boundaries of travel.snapshot.boundary-geojson, and stores them through
+ * MapSnapshotStore like the Kakao renderer. Needs no API key or network.
+ * Images use the kakao.maps default size so both renderers produce the same dimensions.
+ * Selected by travel.snapshot.renderer=local.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "travel.snapshot.renderer", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalMapSnapshotService implements MapSnapshotService {
+
+    private static final int NO_ZOOM = 0;  // View is fitted to the route, not a zoom level
+
+    private final KakaoMapsConfig kakaoMapsConfig;
+    private final MapSnapshotPipelineConfig pipelineConfig;
+    private final MapSnapshotStore snapshotStore;
+    private final ObjectMapper objectMapper;
+    private final ResourceLoader resourceLoader;
+
+    private RouteMapRenderer renderer;
+    private String view;
+
+    @PostConstruct
+    public void loadBoundaries() {
+        BoundaryLayer boundaries = BoundaryLayer.empty();
+        String location = pipelineConfig.getBoundaryGeojson();
+        if (location != null && !location.isBlank()) {
+            Resource resource = resourceLoader.getResource(location);
+            if (resource.exists()) {
+                long started = System.currentTimeMillis();
+                try (InputStream in = resource.getInputStream()) {
+                    boundaries = BoundaryLayer.load(in, objectMapper);
+                    log.info("Loaded {} boundary ring(s) from {} in {} ms",
+                            boundaries.getRingCount(), location, System.currentTimeMillis() - started);
+                } catch (IOException e) {
+                    log.warn("Failed to read map boundaries from {}, rendering without them: {}",
+                            location, e.getMessage());
+                }
+            } else {
+                log.warn("Map boundaries {} not found, rendering without them", location);
+            }
+        }
+
+        renderer = new RouteMapRenderer(kakaoMapsConfig.getDefaultWidth(), kakaoMapsConfig.getDefaultHeight(),
+                boundaries);
+        // Images drawn with another boundary set must not be reused
+        view = "local:" + renderer.getWidth() + "x" + renderer.getHeight() + ":b" + boundaries.getRingCount();
+    }
+
+    @Override
+    public RouteSnapshot generateRouteSnapshot(
+            BigDecimal homeLat,
+            BigDecimal homeLng,
+            String homeAddress,
+            List<Waypoint> waypoints,
+            boolean returnHome
+    ) {
+        List<Waypoint> route = new ArrayList<>();
+        List<RouteMapRenderer.RoutePoint> points = new ArrayList<>();
+        route.add(new Waypoint(homeLat, homeLng, homeAddress, "HOME"));
+        points.add(new RouteMapRenderer.RoutePoint(homeLat.doubleValue(), homeLng.doubleValue(), true));
+        for (Waypoint waypoint : waypoints) {
+            route.add(waypoint);
+            points.add(new RouteMapRenderer.RoutePoint(waypoint.lat().doubleValue(), waypoint.lng().doubleValue(), false));
+        }
+        if (returnHome && !waypoints.isEmpty()) {
+            route.add(route.get(0));
+            points.add(points.get(0));
+        }
+
+        try {
+            String routeHash = MapSnapshotStore.routeHash(view, route);
+            Optional<RouteSnapshot> cached = snapshotStore.find(routeHash);
+            if (cached.isPresent()) {
+                log.debug("Reusing cached map snapshot {} for route {}", cached.get().imageUrl(), routeHash);
+                return cached.get();
+            }
+
+            long started = System.nanoTime();
+            byte[] png = renderer.render(points);
+            log.debug("Rendered route {} locally in {} ms ({} bytes)",
+                    routeHash, (System.nanoTime() - started) / 1_000_000, png.length);
+
+            RouteSnapshot snapshot = snapshotStore.store(routeHash, png,
+                    renderer.getWidth(), renderer.getHeight(), NO_ZOOM, route.size());
+            log.info("Successfully rendered and saved map snapshot: {}", snapshot.imageUrl());
+            return snapshot;
+
+        } catch (Exception e) {
+            log.error("Failed to render map snapshot: {}", e.getMessage(), e);
+            throw new BusinessException(ErrorCode.MAP_SNAPSHOT_GENERATION_FAILED,
+                    "지도 이미지 생성에 실패했습니다: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import java.util.Optional;
+
+/**
+ * Map Snapshot Cache
+ *
+ * Content-addressed index of stored route images. The key is a canonical hash of
+ * the map size, zoom and ordered route coordinates, so identical routes share one image.
+ */
+public interface MapSnapshotCache {
+
+    /**
+     * Find the stored images for a route hash
+     *
+     * @param routeHash Canonical route hash
+     * @return Image and thumbnail URLs if the route was rendered before and the image still exists
+     */
+    Optional<MapSnapshotService.RouteSnapshot> find(String routeHash);
+
+    /**
+     * Remember the stored images for a route hash
+     *
+     * @return The URLs to use (existing URLs if another render stored the same route first)
+     */
+    MapSnapshotService.RouteSnapshot put(String routeHash, MapSnapshotService.RouteSnapshot snapshot,
+                                         int width, int height, int zoom, int pointCount);
+}
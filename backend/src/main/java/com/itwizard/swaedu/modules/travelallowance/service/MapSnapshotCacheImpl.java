@@ -0,0 +1,113 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.storage.service.StorageService;
+import com.itwizard.swaedu.modules.travelallowance.config.KakaoMapsConfig;
+import com.itwizard.swaedu.modules.travelallowance.entity.MapSnapshotCacheEntry;
+import com.itwizard.swaedu.modules.travelallowance.repository.MapSnapshotCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Map Snapshot Cache Implementation
+ *
+ * An access-ordered LRU of hash → image and thumbnail URLs sits in front of the map_snapshot_cache table.
+ * Entries found only in the table are checked against storage once before being
+ * promoted, so a deleted image is rendered again instead of served as a broken link.
+ */
+@Slf4j
+@Service
+public class MapSnapshotCacheImpl implements MapSnapshotCache {
+
+    private final MapSnapshotCacheRepository cacheRepository;
+    private final StorageService storageService;
+    private final Map<String, MapSnapshotService.RouteSnapshot> lru;
+
+    public MapSnapshotCacheImpl(MapSnapshotCacheRepository cacheRepository,
+                                StorageService storageService,
+                                KakaoMapsConfig kakaoMapsConfig) {
+        this.cacheRepository = cacheRepository;
+        this.storageService = storageService;
+        int capacity = Math.max(1, kakaoMapsConfig.getSnapshotCacheSize());
+        this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MapSnapshotService.RouteSnapshot> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public Optional<MapSnapshotService.RouteSnapshot> find(String routeHash) {
+        synchronized (lru) {
+            MapSnapshotService.RouteSnapshot snapshot = lru.get(routeHash);
+            if (snapshot != null) {
+                return Optional.of(snapshot);
+            }
+        }
+
+        Optional<MapSnapshotCacheEntry> entry = cacheRepository.findByRouteHash(routeHash);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String url = entry.get().getImageUrl();
+        if (entry.get().getThumbnailUrl() == null) {
+            // Stored before thumbnails existed; render again so both variants exist
+            log.debug("Cached map snapshot {} has no thumbnail, rendering again", url);
+            cacheRepository.delete(entry.get());
+            return Optional.empty();
+        }
+        if (!storageService.fileExists(url)) {
+            log.warn("Cached map snapshot {} is missing from storage, rendering again", url);
+            cacheRepository.delete(entry.get());
+            return Optional.empty();
+        }
+
+        MapSnapshotService.RouteSnapshot snapshot = toSnapshot(entry.get());
+        remember(routeHash, snapshot);
+        return Optional.of(snapshot);
+    }
+
+    @Override
+    public MapSnapshotService.RouteSnapshot put(String routeHash, MapSnapshotService.RouteSnapshot snapshot,
+                                                int width, int height, int zoom, int pointCount) {
+        try {
+            cacheRepository.save(MapSnapshotCacheEntry.builder()
+                    .routeHash(routeHash)
+                    .imageUrl(snapshot.imageUrl())
+                    .thumbnailUrl(snapshot.thumbnailUrl())
+                    .width(width)
+                    .height(height)
+                    .zoom(zoom)
+                    .pointCount(pointCount)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Same route rendered concurrently: keep the first stored image
+            Optional<MapSnapshotCacheEntry> existing = cacheRepository.findByRouteHash(routeHash);
+            if (existing.isPresent()) {
+                MapSnapshotService.RouteSnapshot stored = toSnapshot(existing.get());
+                remember(routeHash, stored);
+                return stored;
+            }
+            throw e;
+        }
+
+        remember(routeHash, snapshot);
+        return snapshot;
+    }
+
+    private static MapSnapshotService.RouteSnapshot toSnapshot(MapSnapshotCacheEntry entry) {
+        return new MapSnapshotService.RouteSnapshot(entry.getImageUrl(), entry.getThumbnailUrl());
+    }
+
+    private void remember(String routeHash, MapSnapshotService.RouteSnapshot snapshot) {
+        synchronized (lru) {
+            lru.put(routeHash, snapshot);
+        }
+    }
+}
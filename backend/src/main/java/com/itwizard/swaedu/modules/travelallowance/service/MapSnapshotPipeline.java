@@ -0,0 +1,32 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+/**
+ * Map Snapshot Pipeline
+ *
+ * Renders route map snapshots for daily travel records outside the recalculation
+ * transaction. Recalculation saves the record as DRAFT with snapshot status PENDING;
+ * the pipeline stores the image and flips the record to FINAL. Without a configured
+ * renderer nothing is queued: records stay DRAFT with snapshot status NONE.
+ */
+public interface MapSnapshotPipeline {
+
+    /**
+     * Queue a daily travel record for rendering once the current transaction commits
+     * (immediately if there is no transaction)
+     *
+     * @param dailyTravelId Daily travel record ID
+     */
+    void enqueueAfterCommit(Long dailyTravelId);
+
+    /**
+     * Whether snapshots can be rendered at all (a renderer is configured)
+     */
+    boolean isEnabled();
+
+    /**
+     * Move all DEAD_LETTER records back to PENDING
+     *
+     * @return Number of records requeued
+     */
+    int retryDeadLetters();
+}
@@ -0,0 +1,352 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.config.MapSnapshotPipelineConfig;
+import com.itwizard.swaedu.modules.travelallowance.entity.InstructorDailyTravel;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelWaypoint;
+import com.itwizard.swaedu.modules.travelallowance.repository.InstructorDailyTravelRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map Snapshot Pipeline Implementation
+ *
+ * Record IDs are queued in a bounded in-memory queue after the recalculation commits.
+ * A dispatcher thread hands them to virtual threads, at most {@code travel.snapshot.concurrency}
+ * at a time, so slow map API calls never hold a database connection or a recalculation
+ * transaction. The database is the source of truth: a record that does not fit in the queue,
+ * or was pending when the server stopped, stays PENDING and is picked up by the sweeper.
+ *
+ * Every recalculation bumps snapshot_revision; a render only lands if the revision it read
+ * is still current, so a stale image never overwrites a newer route. Completion locks the row,
+ * and the version column makes a recalculation that read the record before it was finalized
+ * fail rather than write it back to DRAFT.
+ * Failures are retried with exponential backoff, then parked as DEAD_LETTER. A renderer that
+ * is not configured (no Kakao API key) is not a failure: the record is left DRAFT with
+ * snapshot status NONE and is not retried.
+ */
+@Slf4j
+@Service
+public class MapSnapshotPipelineImpl implements MapSnapshotPipeline {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final InstructorDailyTravelRepository dailyTravelRepository;
+    private final MapSnapshotService mapSnapshotService;
+    private final MonthlyTravelAggregator monthlyAggregator;
+    private final MapSnapshotPipelineConfig pipelineConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final BlockingQueue<Long> queue;
+    private final Set<Long> tracked = ConcurrentHashMap.newKeySet();  // queued or rendering
+    private final Semaphore renderPermits;
+    private final ExecutorService renderers;
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService scheduler;
+
+    public MapSnapshotPipelineImpl(InstructorDailyTravelRepository dailyTravelRepository,
+                                   MapSnapshotService mapSnapshotService,
+                                   MonthlyTravelAggregator monthlyAggregator,
+                                   MapSnapshotPipelineConfig pipelineConfig,
+                                   PlatformTransactionManager transactionManager) {
+        this.dailyTravelRepository = dailyTravelRepository;
+        this.mapSnapshotService = mapSnapshotService;
+        this.monthlyAggregator = monthlyAggregator;
+        this.pipelineConfig = pipelineConfig;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+
+        this.queue = new ArrayBlockingQueue<>(pipelineConfig.getQueueCapacity());
+        this.renderPermits = new Semaphore(pipelineConfig.getConcurrency());
+        this.renderers = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("map-snapshot-", 0).factory());
+        this.dispatcher = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("map-snapshot-dispatcher").daemon().factory());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("map-snapshot-scheduler").daemon().factory());
+    }
+
+    /**
+     * Start dispatching and sweeping once the application (and database) is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        dispatcher.execute(this::dispatchLoop);
+        scheduler.scheduleWithFixedDelay(this::sweep, 0,
+                pipelineConfig.getSweepIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void enqueueAfterCommit(Long dailyTravelId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(dailyTravelId);
+                }
+            });
+        } else {
+            enqueue(dailyTravelId);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return mapSnapshotService.isAvailable();
+    }
+
+    @Override
+    public int retryDeadLetters() {
+        Integer requeued = transactionTemplate.execute(status -> dailyTravelRepository.requeueDeadLetters());
+        log.info("Requeued {} dead-letter map snapshots", requeued);
+        scheduler.execute(this::sweep);
+        return requeued != null ? requeued : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        dispatcher.shutdownNow();
+        renderers.shutdownNow();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Offer a record to the queue; if the queue is full it stays PENDING for the sweeper
+     */
+    private void enqueue(Long dailyTravelId) {
+        if (tracked.add(dailyTravelId) && !queue.offer(dailyTravelId)) {
+            tracked.remove(dailyTravelId);
+            log.debug("Map snapshot queue full, daily travel {} left for the sweeper", dailyTravelId);
+        }
+    }
+
+    private void dispatchLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Long dailyTravelId = queue.take();
+                renderPermits.acquire();
+                try {
+                    renderers.execute(() -> {
+                        try {
+                            process(dailyTravelId);
+                        } finally {
+                            renderPermits.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    renderPermits.release();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Pick up due PENDING records from the database (retries, queue overflow, restarts)
+     */
+    private void sweep() {
+        try {
+            int free = queue.remainingCapacity();
+            if (free == 0) {
+                return;
+            }
+            List<Long> dueIds = readOnlyTransactionTemplate.execute(status ->
+                    dailyTravelRepository.findDueSnapshotIds(LocalDateTime.now(), PageRequest.of(0, free)));
+            if (dueIds != null) {
+                dueIds.forEach(this::enqueue);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Map snapshot sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private void process(Long dailyTravelId) {
+        boolean stale;
+        try {
+            stale = render(dailyTravelId);
+        } catch (RuntimeException e) {
+            log.error("Unexpected error rendering map snapshot for daily travel {}", dailyTravelId, e);
+            stale = false;
+        } finally {
+            tracked.remove(dailyTravelId);
+        }
+        if (stale) {
+            // Recalculated while rendering: render the new revision
+            enqueue(dailyTravelId);
+        }
+    }
+
+    /**
+     * Render and store one snapshot
+     *
+     * @return true if the record was recalculated while rendering
+     */
+    private boolean render(Long dailyTravelId) {
+        RenderRequest request = readOnlyTransactionTemplate.execute(status ->
+                dailyTravelRepository.findByIdWithWaypoints(dailyTravelId)
+                        .filter(d -> d.getSnapshotStatus() == InstructorDailyTravel.SnapshotStatus.PENDING)
+                        .map(RenderRequest::of)
+                        .orElse(null));
+        if (request == null) {
+            return false;
+        }
+
+        MapSnapshotService.RouteSnapshot snapshot;
+        try {
+            snapshot = mapSnapshotService.generateRouteSnapshot(
+                    request.homeLat(), request.homeLng(), request.homeAddress(),
+                    request.waypoints(), true);
+            if (snapshot == null && !mapSnapshotService.isAvailable()) {
+                return skip(request);
+            }
+            if (snapshot == null || snapshot.imageUrl() == null || snapshot.imageUrl().trim().isEmpty()) {
+                throw new IllegalStateException("Map snapshot service returned no image");
+            }
+        } catch (RuntimeException e) {
+            return recordFailure(request, e.getMessage());
+        }
+
+        Boolean completed = transactionTemplate.execute(status ->
+                complete(request.id(), request.revision(), snapshot));
+        return completed == null || !completed;
+    }
+
+    /**
+     * Store the snapshot and finalize the record, unless it was recalculated meanwhile.
+     * The row is locked while the month aggregate is updated, and the contribution is taken
+     * from the locked row, so the fee is current and a record is never counted as final twice.
+     *
+     * Runs in the caller's transaction (package-private for tests).
+     *
+     * @param revision Snapshot revision the image was rendered for
+     * @return true if the record was finalized by this call
+     */
+    boolean complete(Long dailyTravelId, Integer revision, MapSnapshotService.RouteSnapshot snapshot) {
+        InstructorDailyTravel dailyTravel = dailyTravelRepository.findByIdForUpdate(dailyTravelId)
+                .filter(d -> d.getSnapshotStatus() == InstructorDailyTravel.SnapshotStatus.PENDING)
+                .filter(d -> d.getSnapshotRevision().equals(revision))
+                .orElse(null);
+        if (dailyTravel == null) {
+            return false;
+        }
+
+        MonthlyTravelAggregator.Contribution before = MonthlyTravelAggregator.Contribution.of(dailyTravel);
+        dailyTravel.setMapSnapshotUrl(snapshot.imageUrl());
+        dailyTravel.setMapSnapshotThumbnailUrl(snapshot.thumbnailUrl());
+        dailyTravel.setStatus(InstructorDailyTravel.TravelStatus.FINAL);
+        dailyTravel.setSnapshotStatus(InstructorDailyTravel.SnapshotStatus.DONE);
+        dailyTravel.setSnapshotNextAttemptAt(null);
+        dailyTravel.setSnapshotLastError(null);
+        monthlyAggregator.applyChange(dailyTravel.getInstructorId(), dailyTravel.getWorkMonth(),
+                before, MonthlyTravelAggregator.Contribution.of(dailyTravel));
+        return true;
+    }
+
+    /**
+     * No renderer is configured: leave the record DRAFT without a snapshot instead of retrying
+     * (recalculation queues it again once a renderer is available)
+     *
+     * @return true if the record was recalculated while rendering
+     */
+    private boolean skip(RenderRequest request) {
+        Integer updated = transactionTemplate.execute(tx ->
+                dailyTravelRepository.skipSnapshot(request.id(), request.revision()));
+        if (updated == null || updated == 0) {
+            return true;
+        }
+        log.debug("No map renderer configured, daily travel {} left without a snapshot", request.id());
+        return false;
+    }
+
+    /**
+     * Schedule a retry with exponential backoff, or park the record as DEAD_LETTER
+     *
+     * @return true if the record was recalculated while rendering
+     */
+    private boolean recordFailure(RenderRequest request, String message) {
+        int attempts = request.attempts() + 1;
+        String error = message != null && message.length() > MAX_ERROR_LENGTH
+                ? message.substring(0, MAX_ERROR_LENGTH)
+                : message;
+
+        boolean deadLetter = attempts >= pipelineConfig.getMaxAttempts();
+        long backoffMs = Math.min(
+                pipelineConfig.getInitialBackoffMs() << Math.min(attempts - 1, 30),
+                pipelineConfig.getMaxBackoffMs());
+        LocalDateTime nextAttemptAt = deadLetter ? null : LocalDateTime.now().plusNanos(backoffMs * 1_000_000);
+        InstructorDailyTravel.SnapshotStatus status = deadLetter
+                ? InstructorDailyTravel.SnapshotStatus.DEAD_LETTER
+                : InstructorDailyTravel.SnapshotStatus.PENDING;
+
+        Integer updated = transactionTemplate.execute(tx -> dailyTravelRepository.recordSnapshotFailure(
+                request.id(), request.revision(), status, attempts, nextAttemptAt, error));
+        if (updated == null || updated == 0) {
+            return true;
+        }
+
+        if (deadLetter) {
+            log.error("Map snapshot for daily travel {} moved to dead letter after {} attempts: {}",
+                    request.id(), attempts, error);
+        } else {
+            log.warn("Map snapshot for daily travel {} failed (attempt {}), retrying in {} ms: {}",
+                    request.id(), attempts, backoffMs, error);
+            scheduler.schedule(() -> enqueue(request.id()), backoffMs, TimeUnit.MILLISECONDS);
+        }
+        return false;
+    }
+
+    /**
+     * Everything needed to render, detached from the persistence context
+     */
+    private record RenderRequest(Long id, Integer revision, Integer attempts,
+                                 BigDecimal homeLat, BigDecimal homeLng, String homeAddress,
+                                 List<MapSnapshotService.Waypoint> waypoints) {
+
+        static RenderRequest of(InstructorDailyTravel dailyTravel) {
+            List<TravelWaypoint> route = dailyTravel.getWaypoints().stream()
+                    .sorted(Comparator.comparing(TravelWaypoint::getSeq))
+                    .toList();
+            if (route.isEmpty()) {
+                return null;
+            }
+            TravelWaypoint home = route.get(0);
+            List<MapSnapshotService.Waypoint> institutions = route.stream()
+                    .filter(w -> !w.isHome())
+                    .map(w -> new MapSnapshotService.Waypoint(
+                            w.getLat(), w.getLng(), w.getInstitutionAddress(), w.getInstitutionName()))
+                    .toList();
+            return new RenderRequest(dailyTravel.getId(), dailyTravel.getSnapshotRevision(),
+                    dailyTravel.getSnapshotAttempts(),
+                    home.getLat(), home.getLng(),
+                    home.getInstitutionAddress(), institutions);
+        }
+    }
+}
@@ -17,9 +17,9 @@ public interface MapSnapshotService {
      * @param homeAddress Home address (for display)
      * @param waypoints List of waypoints (institution coordinates and addresses)
      * @param returnHome Whether to return to home (true for round trip)
-     * @return URL to the generated map snapshot image
+     * @return URLs of the stored full-size image and its thumbnail (null if the renderer is unavailable)
      */
-    String generateRouteSnapshot(
+    RouteSnapshot generateRouteSnapshot(
             BigDecimal homeLat,
             BigDecimal homeLng,
             String homeAddress,
@@ -27,6 +27,22 @@ public interface MapSnapshotService {
             boolean returnHome
     );
 
+    /**
+     * Whether this renderer can produce images (the Kakao renderer needs an API key);
+     * generateRouteSnapshot returns null while it cannot
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Stored variants of a route image
+     */
+    record RouteSnapshot(
+            String imageUrl,
+            String thumbnailUrl
+    ) {}
+
     /**
      * Waypoint data structure
      */
@@ -2,26 +2,24 @@ package com.itwizard.swaedu.modules.travelallowance.service;
 
 import com.edu.exception.BusinessException;
 import com.edu.exception.ErrorCode;
-import com.itwizard.swaedu.modules.storage.service.StorageService;
 import com.itwizard.swaedu.modules.travelallowance.config.KakaoMapsConfig;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -29,18 +27,36 @@ import java.util.stream.Collectors;
  * 
  * Generates route map images using Kakao Maps Static Map API
  * and stores them via StorageService.
+ *
+ * Images are content-addressed: a route with the same map size, zoom and ordered
+ * coordinates as an earlier one reuses the stored image through MapSnapshotStore
+ * instead of downloading and storing it again.
+ * Selected by travel.snapshot.renderer=kakao (the default).
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "travel.snapshot.renderer", havingValue = "kakao", matchIfMissing = true)
 public class MapSnapshotServiceImpl implements MapSnapshotService {
 
     private final KakaoMapsConfig kakaoMapsConfig;
-    private final StorageService storageService;
     private final RestTemplate restTemplate;
+    private final MapSnapshotStore snapshotStore;
+
+    public MapSnapshotServiceImpl(KakaoMapsConfig kakaoMapsConfig,
+                                  @Qualifier("kakaoMapsRestTemplate") RestTemplate restTemplate,
+                                  MapSnapshotStore snapshotStore) {
+        this.kakaoMapsConfig = kakaoMapsConfig;
+        this.restTemplate = restTemplate;
+        this.snapshotStore = snapshotStore;
+    }
 
     @Override
-    public String generateRouteSnapshot(
+    public boolean isAvailable() {
+        return kakaoMapsConfig.getApiKey() != null && !kakaoMapsConfig.getApiKey().trim().isEmpty();
+    }
+
+    @Override
+    public RouteSnapshot generateRouteSnapshot(
             BigDecimal homeLat,
             BigDecimal homeLng,
             String homeAddress,
@@ -51,7 +67,7 @@ public class MapSnapshotServiceImpl implements MapSnapshotService {
                 homeAddress, homeLat, homeLng, waypoints.size());
 
         // Validate API key
-        if (kakaoMapsConfig.getApiKey() == null || kakaoMapsConfig.getApiKey().trim().isEmpty()) {
+        if (!isAvailable()) {
             log.warn("Kakao Maps API key is not configured. Returning null.");
             return null;
         }
@@ -72,24 +88,36 @@ public class MapSnapshotServiceImpl implements MapSnapshotService {
             // 2. Calculate center and bounds for map view
             MapBounds bounds = calculateBounds(allPoints);
             Point center = bounds.getCenter();
+            int zoom = calculateZoom(bounds);
+
+            // 3. Reuse the stored image of an identical route
+            String routeHash = MapSnapshotStore.routeHash(
+                    kakaoMapsConfig.getDefaultWidth() + "x" + kakaoMapsConfig.getDefaultHeight() + "@" + zoom,
+                    allPoints.stream().map(p -> new Waypoint(p.lat, p.lng, p.address, p.name)).toList());
+            Optional<RouteSnapshot> cached = snapshotStore.find(routeHash);
+            if (cached.isPresent()) {
+                log.debug("Reusing cached map snapshot {} for route {}", cached.get().imageUrl(), routeHash);
+                return cached.get();
+            }
 
-            // 3. Build markers string (home + waypoints)
+            // 4. Build markers string (home + waypoints)
             String markers = buildMarkersString(allPoints);
 
-            // 4. Build polyline string (route path)
+            // 5. Build polyline string (route path)
             String polyline = buildPolylineString(allPoints);
 
-            // 5. Build Static Map API URL
-            String staticMapUrl = buildStaticMapUrl(center, bounds, markers, polyline);
+            // 6. Build Static Map API URL
+            String staticMapUrl = buildStaticMapUrl(center, zoom, markers, polyline);
 
-            // 6. Download image from Kakao Maps API
+            // 7. Download image from Kakao Maps API
             byte[] imageBytes = downloadMapImage(staticMapUrl);
 
-            // 7. Save image to storage
-            String imageUrl = saveImageToStorage(imageBytes, generateFileName(homeLat, homeLng, waypoints.size()));
+            // 8. Save image to storage and index it by route hash
+            RouteSnapshot snapshot = snapshotStore.store(routeHash, imageBytes,
+                    kakaoMapsConfig.getDefaultWidth(), kakaoMapsConfig.getDefaultHeight(), zoom, allPoints.size());
 
-            log.info("Successfully generated and saved map snapshot: {}", imageUrl);
-            return imageUrl;
+            log.info("Successfully generated and saved map snapshot: {}", snapshot.imageUrl());
+            return snapshot;
 
         } catch (Exception e) {
             log.error("Failed to generate map snapshot: {}", e.getMessage(), e);
@@ -152,7 +180,7 @@ public class MapSnapshotServiceImpl implements MapSnapshotService {
      * Kakao Maps Static Map API format:
      * center=lng,lat&level=zoom&width=w&height=h&markers=lat,lng|lat,lng&path=lat,lng lat,lng
      */
-    private String buildStaticMapUrl(Point center, MapBounds bounds, String markers, String polyline) {
+    private String buildStaticMapUrl(Point center, int zoom, String markers, String polyline) {
         StringBuilder url = new StringBuilder();
         url.append(kakaoMapsConfig.getBaseUrl());
         url.append(kakaoMapsConfig.getStaticMapEndpoint());
@@ -165,8 +193,7 @@ public class MapSnapshotServiceImpl implements MapSnapshotService {
         url.append("&width=").append(kakaoMapsConfig.getDefaultWidth());
         url.append("&height=").append(kakaoMapsConfig.getDefaultHeight());
         
-        // Zoom level (calculate based on bounds)
-        int zoom = calculateZoom(bounds);
+        // Zoom level (calculated from bounds)
         url.append("&level=").append(zoom);
         
         // Markers (format: lat,lng|lat,lng|...)
@@ -229,33 +256,6 @@ public class MapSnapshotServiceImpl implements MapSnapshotService {
         }
     }
 
-    /**
-     * Save image to storage service
-     */
-    private String saveImageToStorage(byte[] imageBytes, String fileName) throws IOException {
-        // Create MultipartFile from byte array
-        MultipartFile multipartFile = new ByteArrayMultipartFile(
-                imageBytes,
-                fileName,
-                "image/png"
-        );
-
-        // Upload to storage
-        return storageService.uploadFile(multipartFile, "map-snapshots");
-    }
-
-    /**
-     * Generate file name for map snapshot
-     */
-    private String generateFileName(BigDecimal homeLat, BigDecimal homeLng, int waypointCount) {
-        long timestamp = System.currentTimeMillis();
-        return String.format("route_%s_%s_%d_%d.png", 
-                homeLat.toPlainString().replace(".", "_"),
-                homeLng.toPlainString().replace(".", "_"),
-                waypointCount,
-                timestamp);
-    }
-
     // ========== Helper Classes ==========
 
     private static class Point {
@@ -291,59 +291,4 @@ public class MapSnapshotServiceImpl implements MapSnapshotService {
             return center;
         }
     }
-
-    /**
-     * MultipartFile implementation from byte array
-     */
-    private static class ByteArrayMultipartFile implements MultipartFile {
-        private final byte[] content;
-        private final String name;
-        private final String contentType;
-
-        ByteArrayMultipartFile(byte[] content, String name, String contentType) {
-            this.content = content;
-            this.name = name;
-            this.contentType = contentType;
-        }
-
-        @Override
-        public String getName() {
-            return name;
-        }
-
-        @Override
-        public String getOriginalFilename() {
-            return name;
-        }
-
-        @Override
-        public String getContentType() {
-            return contentType;
-        }
-
-        @Override
-        public boolean isEmpty() {
-            return content == null || content.length == 0;
-        }
-
-        @Override
-        public long getSize() {
-            return content != null ? content.length : 0;
-        }
-
-        @Override
-        public byte[] getBytes() throws IOException {
-            return content;
-        }
-
-        @Override
-        public InputStream getInputStream() throws IOException {
-            return new ByteArrayInputStream(content);
-        }
-
-        @Override
-        public void transferTo(java.io.File dest) throws IOException, IllegalStateException {
-            java.nio.file.Files.write(dest.toPath(), content);
-        }
-    }
 }
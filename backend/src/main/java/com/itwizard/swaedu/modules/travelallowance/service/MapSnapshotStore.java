@@ -0,0 +1,168 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.storage.service.StorageService;
+import com.itwizard.swaedu.modules.travelallowance.config.MapSnapshotPipelineConfig;
+import com.itwizard.swaedu.modules.travelallowance.render.SnapshotImageVariants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage of rendered route images, shared by the MapSnapshotService renderers
+ *
+ * A route is identified by a hash of the renderer's view (size, zoom, layers) and the ordered
+ * coordinates; an identical route reuses the stored image through MapSnapshotCache.
+ * Each render is stored as a compressed full-size image and a thumbnail for list pages.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MapSnapshotStore {
+
+    private static final int COORDINATE_SCALE = 7;  // DECIMAL(10, 7) lat/lng columns
+    private static final String FOLDER = "map-snapshots";
+
+    private final StorageService storageService;
+    private final MapSnapshotCache snapshotCache;
+    private final MapSnapshotPipelineConfig pipelineConfig;
+
+    /**
+     * Canonical route hash: SHA-256 over the view and the ordered coordinates normalized
+     * to the column scale, so equal routes hash equally regardless of BigDecimal scale
+     * (37.5 vs 37.5000000)
+     *
+     * @param view Renderer view, e.g. "800x600@7"
+     * @param points Route points in drawing order
+     */
+    public static String routeHash(String view, List<MapSnapshotService.Waypoint> points) {
+        StringBuilder canonical = new StringBuilder(view);
+        for (MapSnapshotService.Waypoint point : points) {
+            canonical.append('|')
+                    .append(point.lat().setScale(COORDINATE_SCALE, RoundingMode.HALF_UP).toPlainString())
+                    .append(',')
+                    .append(point.lng().setScale(COORDINATE_SCALE, RoundingMode.HALF_UP).toPlainString());
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Stored images of a route, if it was rendered before
+     */
+    public Optional<MapSnapshotService.RouteSnapshot> find(String routeHash) {
+        return snapshotCache.find(routeHash);
+    }
+
+    /**
+     * Store the compressed full-size and thumbnail variants of a rendered image and index them by route hash
+     *
+     * @param image Rendered image (PNG or JPEG)
+     * @return URLs of the stored variants (earlier copies when the same route was stored concurrently)
+     */
+    public MapSnapshotService.RouteSnapshot store(String routeHash, byte[] image, int width, int height,
+                                                  int zoom, int pointCount) throws IOException {
+        SnapshotImageVariants.Variants variants = SnapshotImageVariants.create(
+                image, pipelineConfig.getThumbnailWidth(), pipelineConfig.getJpegQuality());
+        String imageUrl = upload(variants.full(), "route_" + routeHash);
+        String thumbnailUrl = upload(variants.thumbnail(), "route_" + routeHash + "_thumb");
+        log.debug("Stored map snapshot {}: {} bytes -> {} bytes full, {} bytes thumbnail",
+                routeHash, image.length, variants.full().bytes().length, variants.thumbnail().bytes().length);
+
+        MapSnapshotService.RouteSnapshot stored = new MapSnapshotService.RouteSnapshot(imageUrl, thumbnailUrl);
+        MapSnapshotService.RouteSnapshot indexed = snapshotCache.put(routeHash, stored, width, height, zoom, pointCount);
+        if (!indexed.equals(stored)) {
+            // Same route was stored concurrently; drop our copies
+            deleteQuietly(imageUrl);
+            deleteQuietly(thumbnailUrl);
+        }
+        return indexed;
+    }
+
+    private String upload(SnapshotImageVariants.Encoded encoded, String baseName) throws IOException {
+        return storageService.uploadFile(new ByteArrayMultipartFile(
+                encoded.bytes(), baseName + "." + encoded.extension(), encoded.contentType()), FOLDER);
+    }
+
+    /**
+     * Delete a duplicate image, logging instead of failing the snapshot
+     */
+    private void deleteQuietly(String fileUrl) {
+        try {
+            storageService.deleteFile(fileUrl);
+        } catch (IOException e) {
+            log.warn("Failed to delete duplicate map snapshot {}: {}", fileUrl, e.getMessage());
+        }
+    }
+
+    /**
+     * MultipartFile implementation from byte array
+     */
+    private static class ByteArrayMultipartFile implements MultipartFile {
+        private final byte[] content;
+        private final String name;
+        private final String contentType;
+
+        ByteArrayMultipartFile(byte[] content, String name, String contentType) {
+            this.content = content;
+            this.name = name;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return name;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return content == null || content.length == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return content != null ? content.length : 0;
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return content;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public void transferTo(java.io.File dest) throws IOException, IllegalStateException {
+            java.nio.file.Files.write(dest.toPath(), content);
+        }
+    }
+}
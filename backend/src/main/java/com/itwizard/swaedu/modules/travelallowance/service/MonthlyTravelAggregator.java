@@ -0,0 +1,69 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.entity.InstructorDailyTravel;
+import com.itwizard.swaedu.modules.travelallowance.repository.InstructorMonthlyTravelRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Keeps instructor_monthly_travel in step with daily travel records
+ *
+ * Callers take a Contribution of a daily record before changing it and pass the
+ * contribution after the change; only the difference is written, inside the
+ * caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class MonthlyTravelAggregator {
+
+    private final InstructorMonthlyTravelRepository monthlyTravelRepository;
+
+    /**
+     * Apply the change of one daily record to its month aggregate
+     */
+    public void applyChange(Long instructorId, String workMonth, Contribution before, Contribution after) {
+        Contribution delta = after.minus(before);
+        if (delta.isZero()) {
+            return;
+        }
+        monthlyTravelRepository.applyDelta(instructorId, workMonth,
+                delta.recordDays(), delta.travelDays(), delta.finalDays(), delta.draftDays(),
+                delta.distanceKm(), delta.feeKrw(), delta.finalFeeKrw());
+    }
+
+    /**
+     * What one daily record adds to its month aggregate
+     */
+    public record Contribution(int recordDays, int travelDays, int finalDays, int draftDays,
+                               BigDecimal distanceKm, long feeKrw, long finalFeeKrw) {
+
+        public static final Contribution NONE = new Contribution(0, 0, 0, 0, BigDecimal.ZERO, 0, 0);
+
+        /**
+         * Contribution of a record in its current state (NONE for a record not saved yet)
+         */
+        public static Contribution of(InstructorDailyTravel dailyTravel) {
+            if (dailyTravel == null || dailyTravel.getId() == null) {
+                return NONE;
+            }
+            BigDecimal distance = dailyTravel.getTotalDistanceKm() != null ? dailyTravel.getTotalDistanceKm() : BigDecimal.ZERO;
+            long fee = dailyTravel.getTravelFeeAmountKrw() != null ? dailyTravel.getTravelFeeAmountKrw() : 0;
+            boolean isFinal = dailyTravel.getStatus() == InstructorDailyTravel.TravelStatus.FINAL;
+            return new Contribution(1, distance.signum() > 0 ? 1 : 0, isFinal ? 1 : 0, isFinal ? 0 : 1,
+                    distance, fee, isFinal ? fee : 0);
+        }
+
+        Contribution minus(Contribution other) {
+            return new Contribution(recordDays - other.recordDays, travelDays - other.travelDays,
+                    finalDays - other.finalDays, draftDays - other.draftDays,
+                    distanceKm.subtract(other.distanceKm), feeKrw - other.feeKrw, finalFeeKrw - other.finalFeeKrw);
+        }
+
+        boolean isZero() {
+            return recordDays == 0 && travelDays == 0 && finalDays == 0 && draftDays == 0
+                    && distanceKm.signum() == 0 && feeKrw == 0 && finalFeeKrw == 0;
+        }
+    }
+}
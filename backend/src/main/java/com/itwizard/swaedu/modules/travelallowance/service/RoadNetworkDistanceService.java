@@ -0,0 +1,145 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.config.TravelDistanceConfig;
+import com.itwizard.swaedu.modules.travelallowance.routing.ContractionHierarchy;
+import com.itwizard.swaedu.modules.travelallowance.routing.NodeLocator;
+import com.itwizard.swaedu.modules.travelallowance.routing.RoadGraph;
+import com.itwizard.swaedu.modules.travelallowance.routing.RoadGraphLoader;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Road Network Distance Service
+ *
+ * Shortest road distance over a local road graph (travel.distance.road-graph-path),
+ * contracted into a ContractionHierarchy at startup. Each point is snapped to its nearest
+ * road node; the straight-line access distance to and from the road is added to the road
+ * distance. Points off the graph, or pairs without a road path, fall back to Haversine.
+ * Selected by travel.distance.provider=road.
+ */
+@Slf4j
+@Service
+@Qualifier("distanceProvider")
+@ConditionalOnProperty(name = "travel.distance.provider", havingValue = "road")
+public class RoadNetworkDistanceService implements DistanceCalculationService {
+
+    private final TravelDistanceConfig distanceConfig;
+
+    private RoadGraph graph;
+    private NodeLocator locator;
+    private ContractionHierarchy hierarchy;
+
+    public RoadNetworkDistanceService(TravelDistanceConfig distanceConfig) {
+        this.distanceConfig = distanceConfig;
+    }
+
+    @PostConstruct
+    public void loadGraph() throws IOException {
+        if (distanceConfig.getRoadGraphPath() == null || distanceConfig.getRoadGraphPath().isBlank()) {
+            throw new IllegalStateException("travel.distance.road-graph-path is required for the road distance provider");
+        }
+
+        long started = System.currentTimeMillis();
+        graph = RoadGraphLoader.load(Path.of(distanceConfig.getRoadGraphPath()));
+        locator = NodeLocator.build(graph);
+        hierarchy = ContractionHierarchy.build(graph);
+        log.info("Loaded road graph {}: {} nodes, {} edges, {} shortcuts in {} ms",
+                distanceConfig.getRoadGraphPath(), graph.getNodeCount(), graph.getEdgeCount(),
+                hierarchy.getShortcutCount(), System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public BigDecimal calculateDistance(BigDecimal fromLat, BigDecimal fromLng,
+                                         BigDecimal toLat, BigDecimal toLng) {
+        if (fromLat == null || fromLng == null || toLat == null || toLng == null) {
+            throw new IllegalArgumentException("All coordinates must be provided");
+        }
+        Snap from = snap(fromLat.doubleValue(), fromLng.doubleValue());
+        Snap to = snap(toLat.doubleValue(), toLng.doubleValue());
+        long roadMeters = from.node() == NodeLocator.NOT_FOUND || to.node() == NodeLocator.NOT_FOUND
+                ? ContractionHierarchy.UNREACHABLE
+                : hierarchy.distance(from.node(), to.node());
+        return BigDecimal.valueOf(legHundredths(from, to, roadMeters), 2);
+    }
+
+    @Override
+    public BigDecimal calculateRouteDistance(List<Waypoint> waypoints) {
+        if (waypoints == null || waypoints.size() < 2) {
+            return BigDecimal.ZERO;
+        }
+
+        long totalHundredths = 0L;
+        for (int i = 1; i < waypoints.size(); i++) {
+            Waypoint from = waypoints.get(i - 1);
+            Waypoint to = waypoints.get(i);
+            totalHundredths += calculateDistance(from.lat(), from.lng(), to.lat(), to.lng())
+                    .unscaledValue().longValueExact();
+        }
+        return BigDecimal.valueOf(totalHundredths, 2);
+    }
+
+    @Override
+    public BigDecimal[][] calculateDistanceMatrix(List<Waypoint> sources, List<Waypoint> targets) {
+        Snap[] sourceSnaps = sources.stream().map(w -> snap(w.lat().doubleValue(), w.lng().doubleValue()))
+                .toArray(Snap[]::new);
+        Snap[] targetSnaps = targets.stream().map(w -> snap(w.lat().doubleValue(), w.lng().doubleValue()))
+                .toArray(Snap[]::new);
+
+        // Unsnapped points are sent as node 0 and overridden below
+        long[][] roadMeters = hierarchy.matrix(nodesOf(sourceSnaps), nodesOf(targetSnaps));
+
+        BigDecimal[][] matrix = new BigDecimal[sources.size()][targets.size()];
+        for (int i = 0; i < sourceSnaps.length; i++) {
+            for (int j = 0; j < targetSnaps.length; j++) {
+                boolean snapped = sourceSnaps[i].node() != NodeLocator.NOT_FOUND
+                        && targetSnaps[j].node() != NodeLocator.NOT_FOUND;
+                long meters = snapped ? roadMeters[i][j] : ContractionHierarchy.UNREACHABLE;
+                matrix[i][j] = BigDecimal.valueOf(legHundredths(sourceSnaps[i], targetSnaps[j], meters), 2);
+            }
+        }
+        return matrix;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private Snap snap(double lat, double lng) {
+        int node = locator.nearest(lat, lng, distanceConfig.getRoadSnapMaxMeters());
+        double accessMeters = node == NodeLocator.NOT_FOUND
+                ? 0
+                : NodeLocator.approximateMeters(lat, lng, graph.lat(node), graph.lng(node));
+        return new Snap(lat, lng, node, accessMeters);
+    }
+
+    /**
+     * Leg distance in hundredths of a km: access + road + egress, or Haversine without a road path
+     */
+    private static long legHundredths(Snap from, Snap to, long roadMeters) {
+        if (from.lat() == to.lat() && from.lng() == to.lng()) {
+            return 0;
+        }
+        if (roadMeters == ContractionHierarchy.UNREACHABLE) {
+            return DistanceCalculationServiceImpl.segmentHundredths(from.lat(), from.lng(), to.lat(), to.lng());
+        }
+        double meters = from.accessMeters() + roadMeters + to.accessMeters();
+        return Math.round(meters / 10.0);
+    }
+
+    private static int[] nodesOf(Snap[] snaps) {
+        int[] nodes = new int[snaps.length];
+        for (int i = 0; i < snaps.length; i++) {
+            nodes[i] = Math.max(snaps[i].node(), 0);
+        }
+        return nodes;
+    }
+
+    private record Snap(double lat, double lng, int node, double accessMeters) {
+    }
+}
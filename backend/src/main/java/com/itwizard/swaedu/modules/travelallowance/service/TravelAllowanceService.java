@@ -1,10 +1,13 @@
 package com.itwizard.swaedu.modules.travelallowance.service;
 
+import com.itwizard.swaedu.modules.period.service.InstructorPeriodSchedule;
 import com.itwizard.swaedu.modules.travelallowance.dto.response.DailyTravelResponseDto;
 import com.itwizard.swaedu.modules.travelallowance.dto.response.MonthlyTravelSummaryDto;
+import com.itwizard.swaedu.util.PageResponse;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.SortedSet;
 
 /**
  * Travel Allowance Service Interface
@@ -22,6 +25,41 @@ public interface TravelAllowanceService {
      */
     DailyTravelResponseDto recalculateDailyTravel(Long instructorId, LocalDate date);
 
+    /**
+     * Recalculate daily travel records for an instructor over a date range.
+     * Period assignments for the whole range are loaded in one query.
+     * Days that fail business validation are counted and skipped.
+     * 
+     * @param instructorId Instructor ID
+     * @param from Start date (inclusive)
+     * @param to End date (inclusive)
+     * @return Processed/failed day counts and the first error
+     */
+    RangeRecalculationResult recalculateDailyTravelRange(Long instructorId, LocalDate from, LocalDate to);
+
+    /**
+     * Recalculate daily travel records for an instructor over a date range
+     * using an already loaded schedule (shared by batch jobs across instructors)
+     * 
+     * @param instructorId Instructor ID
+     * @param from Start date (inclusive)
+     * @param to End date (inclusive)
+     * @param schedule Period assignments covering the range
+     * @return Processed/failed day counts and the first error
+     */
+    RangeRecalculationResult recalculateDailyTravelRange(Long instructorId, LocalDate from, LocalDate to,
+                                                         InstructorPeriodSchedule schedule);
+
+    /**
+     * Recalculate only the given days of an instructor (e.g. dirty days after a schedule change).
+     * Assignments and existing records between the first and last day are loaded once.
+     * 
+     * @param instructorId Instructor ID
+     * @param dates Days to recalculate, ascending
+     * @return Processed/failed day counts and the first error
+     */
+    RangeRecalculationResult recalculateDailyTravelDates(Long instructorId, SortedSet<LocalDate> dates);
+
     /**
      * Get daily travel records for an instructor in a date range
      * 
@@ -33,14 +71,26 @@ public interface TravelAllowanceService {
     List<DailyTravelResponseDto> getDailyTravelRecords(Long instructorId, LocalDate from, LocalDate to);
 
     /**
-     * Get monthly travel summary for an instructor
+     * Get monthly travel summary for an instructor (read from the monthly aggregate)
      * 
      * @param instructorId Instructor ID
      * @param month Month in YYYY-MM format
-     * @return Monthly summary with daily records and total
+     * @return Monthly totals and day counts
      */
     MonthlyTravelSummaryDto getMonthlyTravelSummary(Long instructorId, String month);
 
+    /**
+     * Get the daily travel records of a month, one page at a time
+     * 
+     * @param instructorId Instructor ID
+     * @param month Month in YYYY-MM format
+     * @param page Page number (0-based, default 0)
+     * @param size Page size (default 31)
+     * @return Daily records ordered by travel date
+     */
+    PageResponse<DailyTravelResponseDto> getMonthlyDailyRecords(Long instructorId, String month,
+                                                                Integer page, Integer size);
+
     /**
      * Rebuild daily travel records for an instructor when:
      * - Instructor home address changes
@@ -49,10 +99,33 @@ public interface TravelAllowanceService {
      * - Training schedule date/time changes
      * 
      * This method will recalculate all affected daily travel records.
+     * A single instructor is rebuilt synchronously; all instructors are rebuilt
+     * by a background batch job (see TravelRebuildJobService).
      * 
      * @param instructorId Instructor ID (if null, rebuilds all)
-     * @param fromDate Start date for recalculation (if null, from earliest)
-     * @param toDate End date for recalculation (if null, to latest)
+     * @param fromDate Start date for recalculation (if null, first day of current month)
+     * @param toDate End date for recalculation (if null, last day of current month)
      */
     void rebuildDailyTravelRecords(Long instructorId, LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Result of a range recalculation
+     */
+    record RangeRecalculationResult(int processed, int failed, List<DayFailure> failures) {
+
+        public String firstError() {
+            return failures.isEmpty() ? null : failures.get(0).toString();
+        }
+    }
+
+    /**
+     * A day that could not be recalculated
+     */
+    record DayFailure(LocalDate date, String message) {
+
+        @Override
+        public String toString() {
+            return date + ": " + message;
+        }
+    }
 }
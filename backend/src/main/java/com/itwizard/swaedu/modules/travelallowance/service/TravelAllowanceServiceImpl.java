@@ -8,37 +8,57 @@ import com.itwizard.swaedu.modules.instructor.repository.InstructorRepository;
 import com.itwizard.swaedu.modules.institutions.entity.InstitutionEntity;
 import com.itwizard.swaedu.modules.institutions.repository.InstitutionRepository;
 import com.itwizard.swaedu.modules.period.entity.PeriodEntity;
-import com.itwizard.swaedu.modules.period.repository.PeriodRepository;
+import com.itwizard.swaedu.modules.period.service.InstructorPeriodLoader;
+import com.itwizard.swaedu.modules.period.service.InstructorPeriodSchedule;
 import com.itwizard.swaedu.modules.travelallowance.dto.response.DailyTravelResponseDto;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.DailyTravelRow;
 import com.itwizard.swaedu.modules.travelallowance.dto.response.MonthlyTravelSummaryDto;
 import com.itwizard.swaedu.modules.travelallowance.dto.response.WaypointResponseDto;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.WaypointRow;
 import com.itwizard.swaedu.modules.travelallowance.entity.InstructorDailyTravel;
-import com.itwizard.swaedu.modules.travelallowance.entity.TravelAllowancePolicy;
 import com.itwizard.swaedu.modules.travelallowance.entity.TravelWaypoint;
+import com.itwizard.swaedu.modules.travelallowance.entity.InstructorMonthlyTravel;
 import com.itwizard.swaedu.modules.travelallowance.repository.InstructorDailyTravelRepository;
-import com.itwizard.swaedu.modules.travelallowance.repository.TravelAllowancePolicyRepository;
+import com.itwizard.swaedu.modules.travelallowance.repository.InstructorMonthlyTravelRepository;
+import com.itwizard.swaedu.modules.travelallowance.repository.TravelWaypointRepository;
+import com.itwizard.swaedu.util.PageResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Travel Allowance Service Implementation
  * 
- * NOTE: This implementation assumes that instructor assignments to periods exist.
- * If there's no assignment table yet, you'll need to:
- * 1. Create an assignment table (instructor_period_assignment) linking instructors to periods
- * 2. Update the queryInstructorPeriods method to use that table
- * 
- * For now, this is a placeholder that will need the assignment table to be created.
+ * Instructor periods come from instructor_period_assignment via InstructorPeriodLoader,
+ * which loads a whole date range (period → training → institution) in one query.
+ * Range recalculation loads the instructor, the assignments and the existing daily
+ * records once and then works through the days in memory.
+ * Every daily save also applies its delta to instructor_monthly_travel in the same
+ * transaction, so monthly summaries are a single-row read.
+ * Reads go through projections: record rows with the instructor name in one query and
+ * their waypoints in a second, never through lazy associations.
+ * Map snapshots are rendered by MapSnapshotPipeline after commit; records are saved as DRAFT
+ * and become FINAL once their snapshot is stored.
  */
 @Slf4j
 @Service
@@ -47,24 +67,178 @@ public class TravelAllowanceServiceImpl implements TravelAllowanceService {
 
     private final InstructorRepository instructorRepository;
     private final InstitutionRepository institutionRepository;
-    private final PeriodRepository periodRepository;
+    private final InstructorPeriodLoader periodLoader;
     private final InstructorDailyTravelRepository dailyTravelRepository;
-    private final TravelAllowancePolicyRepository policyRepository;
+    private final TravelWaypointRepository waypointRepository;
+    private final TravelPolicyResolver policyResolver;
     private final DistanceCalculationService distanceService;
-    private final MapSnapshotService mapSnapshotService;
+    private final MapSnapshotPipeline snapshotPipeline;
+    private final MonthlyTravelAggregator monthlyAggregator;
+    private final InstructorMonthlyTravelRepository monthlyTravelRepository;
+    private final TravelRebuildJobService rebuildJobService;
 
     private static final ZoneId SEOUL_ZONE = ZoneId.of("Asia/Seoul");
+    private static final int MAX_DAYS_PER_MONTH = 31;
 
     @Override
-    @Transactional
+    @Transactional(noRollbackFor = BusinessException.class)
     public DailyTravelResponseDto recalculateDailyTravel(Long instructorId, LocalDate date) {
         log.info("Recalculating daily travel for instructor {} on date {}", instructorId, date);
 
-        // 1. Get instructor
+        // 1. Get instructor with home coordinates
+        Instructor instructor = findInstructorWithHome(instructorId);
+
+        // 2. Find all periods for this instructor on this date
+        List<PeriodEntity> periods = periodLoader.loadSchedule(instructorId, date, date)
+                .getPeriods(instructorId, date);
+
+        InstructorDailyTravel existing = dailyTravelRepository
+                .findByInstructorIdAndTravelDate(instructorId, date)
+                .orElse(null);
+
+        return toDto(recalculate(instructor, date, periods, existing));
+    }
+
+    @Override
+    @Transactional(noRollbackFor = BusinessException.class)
+    public RangeRecalculationResult recalculateDailyTravelRange(Long instructorId, LocalDate from, LocalDate to) {
+        return recalculateDailyTravelRange(instructorId, from, to,
+                periodLoader.loadSchedule(instructorId, from, to));
+    }
+
+    @Override
+    @Transactional(noRollbackFor = BusinessException.class)
+    public RangeRecalculationResult recalculateDailyTravelRange(Long instructorId, LocalDate from, LocalDate to,
+                                                                InstructorPeriodSchedule schedule) {
+        List<LocalDate> days = from.datesUntil(to.plusDays(1)).toList();
+        return recalculateDays(instructorId, days, schedule);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = BusinessException.class)
+    public RangeRecalculationResult recalculateDailyTravelDates(Long instructorId, SortedSet<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return new RangeRecalculationResult(0, 0, List.of());
+        }
+        InstructorPeriodSchedule schedule = periodLoader.loadSchedule(instructorId, dates.first(), dates.last());
+        return recalculateDays(instructorId, new ArrayList<>(dates), schedule);
+    }
+
+    /**
+     * Recalculate the given days (ascending) with one load of the instructor and existing records
+     */
+    private RangeRecalculationResult recalculateDays(Long instructorId, List<LocalDate> days,
+                                                     InstructorPeriodSchedule schedule) {
+        LocalDate from = days.get(0);
+        LocalDate to = days.get(days.size() - 1);
+
+        Instructor instructor;
+        try {
+            instructor = findInstructorWithHome(instructorId);
+        } catch (BusinessException e) {
+            List<DayFailure> failures = days.stream()
+                    .map(date -> new DayFailure(date, e.getMessage()))
+                    .toList();
+            return new RangeRecalculationResult(0, days.size(), failures);
+        }
+
+        Map<LocalDate, InstructorDailyTravel> existingByDate = dailyTravelRepository
+                .findByInstructorIdAndTravelDateBetween(instructorId, from, to).stream()
+                .collect(Collectors.toMap(InstructorDailyTravel::getTravelDate, Function.identity()));
+
+        prefetchLegs(instructor, schedule, from, to);
+
+        int processed = 0;
+        List<DayFailure> failures = new ArrayList<>();
+        for (LocalDate date : days) {
+            try {
+                recalculate(instructor, date, schedule.getPeriods(instructorId, date), existingByDate.get(date));
+                processed++;
+            } catch (BusinessException e) {
+                failures.add(new DayFailure(date, e.getMessage()));
+                log.warn("Failed to recalculate daily travel for instructor {} on date {}: {}",
+                        instructorId, date, e.getMessage());
+            }
+        }
+
+        return new RangeRecalculationResult(processed, failures.size(), failures);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyTravelResponseDto> getDailyTravelRecords(Long instructorId, LocalDate from, LocalDate to) {
+        return readDtos(dailyTravelRepository.findRowsByInstructorIdAndTravelDateBetween(instructorId, from, to));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MonthlyTravelSummaryDto getMonthlyTravelSummary(Long instructorId, String month) {
+        // One row read from the aggregate; daily detail is paged via getMonthlyDailyRecords
+        return monthlyTravelRepository.findByInstructorIdAndWorkMonth(instructorId, month)
+                .map(this::toSummaryDto)
+                .orElseGet(() -> MonthlyTravelSummaryDto.builder()
+                        .instructorId(instructorId)
+                        .month(month)
+                        .totalTravelExpense(0)
+                        .totalDistanceKm(BigDecimal.ZERO)
+                        .recordDays(0)
+                        .travelDays(0)
+                        .finalDays(0)
+                        .draftDays(0)
+                        .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<DailyTravelResponseDto> getMonthlyDailyRecords(Long instructorId, String month,
+                                                                       Integer page, Integer size) {
+        int pageNumber = page != null && page >= 0 ? page : 0;
+        int pageSize = size != null && size > 0 ? size : MAX_DAYS_PER_MONTH;
+        Pageable pageable = PageRequest.of(pageNumber, pageSize);
+        List<DailyTravelRow> rows = dailyTravelRepository.findRowsByInstructorIdAndWorkMonth(instructorId, month, pageable);
+
+        // One record per day: a first page of 31 or more holds the whole month, so the total needs no count
+        Page<DailyTravelRow> result = pageNumber == 0 && pageSize >= MAX_DAYS_PER_MONTH
+                ? new PageImpl<>(rows, pageable, rows.size())
+                : PageableExecutionUtils.getPage(rows, pageable,
+                        () -> dailyTravelRepository.countByInstructorIdAndWorkMonth(instructorId, month));
+
+        return PageResponse.<DailyTravelResponseDto>builder()
+                .items(readDtos(result.getContent()))
+                .total(result.getTotalElements())
+                .page(result.getNumber())
+                .size(result.getSize())
+                .totalPages(result.getTotalPages())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void rebuildDailyTravelRecords(Long instructorId, LocalDate fromDate, LocalDate toDate) {
+        // Default to current month if not specified
+        LocalDate today = LocalDate.now(SEOUL_ZONE);
+        LocalDate from = fromDate != null ? fromDate : today.withDayOfMonth(1);
+        LocalDate to = toDate != null ? toDate : today.withDayOfMonth(today.lengthOfMonth());
+
+        if (instructorId != null) {
+            // Rebuild for specific instructor
+            rebuildForInstructor(instructorId, from, to);
+        } else {
+            // Rebuild for all instructors as a chunked background job
+            log.info("Rebuilding daily travel records for ALL instructors from {} to {} as a batch job", from, to);
+            rebuildJobService.startJob(null, from, to);
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Find instructor and validate home address and coordinates
+     */
+    private Instructor findInstructorWithHome(Long instructorId) {
         Instructor instructor = instructorRepository.findByUserId(instructorId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.INSTRUCTOR_NOT_FOUND));
 
-        // 2. Validate instructor has home address
         if (instructor.getHomeAddress() == null || instructor.getHomeAddress().trim().isEmpty()) {
             throw new BusinessException(ErrorCode.INSTRUCTOR_ADDRESS_MISSING);
         }
@@ -72,158 +246,137 @@ public class TravelAllowanceServiceImpl implements TravelAllowanceService {
             throw new BusinessException(ErrorCode.INSTRUCTOR_ADDRESS_MISSING, 
                     "강사의 집 주소 좌표가 등록되지 않았습니다.");
         }
+        return instructor;
+    }
 
-        // 3. Find all periods for this instructor on this date
-        List<PeriodEntity> periods = queryInstructorPeriods(instructorId, date);
-        
-        if (periods.isEmpty()) {
-            // No periods = no travel, but we still create a record with 0 distance
-            return createEmptyDailyTravel(instructor, date);
-        }
+    /**
+     * Recalculate one day and save it, updating the existing record and the month aggregate
+     */
+    private InstructorDailyTravel recalculate(Instructor instructor, LocalDate date,
+                                              List<PeriodEntity> periods, InstructorDailyTravel dailyTravel) {
+        MonthlyTravelAggregator.Contribution before = MonthlyTravelAggregator.Contribution.of(dailyTravel);
+
+        // No periods = no travel, but we still create a record with 0 distance
+        InstructorDailyTravel saved = periods.isEmpty()
+                ? saveEmptyDailyTravel(instructor, date, dailyTravel)
+                : saveDailyTravel(instructor, date, periods, dailyTravel);
+
+        monthlyAggregator.applyChange(saved.getInstructorId(), saved.getWorkMonth(),
+                before, MonthlyTravelAggregator.Contribution.of(saved));
+        return saved;
+    }
 
-        // 4. Build route: Home → Inst1 → Inst2 → ... → Home
+    /**
+     * Calculate route, distance and fee for a day with periods and save the record
+     */
+    private InstructorDailyTravel saveDailyTravel(Instructor instructor, LocalDate date,
+                                                  List<PeriodEntity> periods, InstructorDailyTravel dailyTravel) {
+        // 1. Build route: Home → Inst1 → Inst2 → ... → Home
         List<RoutePoint> routePoints = buildRoute(instructor, periods);
 
-        // 5. Calculate total distance
+        // 2. Calculate total distance
         BigDecimal totalDistance = calculateRouteDistance(routePoints);
 
-        // 6. Apply policy to get travel fee amount
+        // 3. Apply policy to get travel fee amount
         Integer travelFeeAmount = applyPolicy(totalDistance, date);
 
-        // 7. Generate map snapshot
-        String mapSnapshotUrl = null;
-        InstructorDailyTravel.TravelStatus status = InstructorDailyTravel.TravelStatus.DRAFT;
-        
-        try {
-            List<MapSnapshotService.Waypoint> waypoints = routePoints.stream()
-                    .skip(1) // Skip home (first point)
-                    .filter(p -> !p.isHome()) // Only institutions
-                    .map(p -> new MapSnapshotService.Waypoint(
-                            p.getLat(), p.getLng(), p.getAddress(), p.getName()))
-                    .collect(Collectors.toList());
-
-            mapSnapshotUrl = mapSnapshotService.generateRouteSnapshot(
-                    instructor.getHomeLat(),
-                    instructor.getHomeLng(),
-                    instructor.getHomeAddress(),
-                    waypoints,
-                    true // returnHome = true
-            );
-
-            if (mapSnapshotUrl != null && !mapSnapshotUrl.trim().isEmpty()) {
-                status = InstructorDailyTravel.TravelStatus.FINAL;
-            }
-        } catch (Exception e) {
-            log.warn("Failed to generate map snapshot for instructor {} on date {}: {}", 
-                    instructorId, date, e.getMessage());
-            // Continue with DRAFT status
-        }
-
-        // 8. Save or update daily travel record
-        InstructorDailyTravel dailyTravel = dailyTravelRepository
-                .findByInstructorIdAndTravelDate(instructorId, date)
-                .orElse(null);
-
+        // 4. Save or update daily travel record
         if (dailyTravel == null) {
             dailyTravel = InstructorDailyTravel.builder()
                     .instructor(instructor)
-                    .instructorId(instructorId)
+                    .instructorId(instructor.getUserId())
                     .travelDate(date)
                     .workMonth(date.toString().substring(0, 7)) // YYYY-MM
                     .totalDistanceKm(totalDistance)
                     .travelFeeAmountKrw(travelFeeAmount)
-                    .mapSnapshotUrl(mapSnapshotUrl)
-                    .status(status)
                     .waypoints(new ArrayList<>())
                     .build();
         } else {
             dailyTravel.setTotalDistanceKm(totalDistance);
             dailyTravel.setTravelFeeAmountKrw(travelFeeAmount);
-            dailyTravel.setMapSnapshotUrl(mapSnapshotUrl);
-            dailyTravel.setStatus(status);
-            dailyTravel.getWaypoints().clear();
         }
 
-        // 9. Create waypoints
-        int seq = 0;
-        for (RoutePoint point : routePoints) {
-            TravelWaypoint waypoint = TravelWaypoint.builder()
-                    .dailyTravel(dailyTravel)
-                    .seq(seq++)
-                    .institution(point.getInstitution())
-                    .institutionId(point.getInstitutionId())
-                    .institutionName(point.getName())
-                    .institutionAddress(point.getAddress())
-                    .lat(point.getLat())
-                    .lng(point.getLng())
-                    .training(point.getTraining())
-                    .trainingId(point.getTrainingId())
-                    .build();
-            dailyTravel.getWaypoints().add(waypoint);
+        // 5. Write only the waypoints that differ from the stored route
+        boolean routeChanged = applyRoute(dailyTravel, routePoints);
+
+        // 6. Stay DRAFT until the pipeline has rendered the snapshot for this route;
+        //    an unchanged route keeps its snapshot and status. Without a renderer the record
+        //    stays DRAFT with no snapshot, and is queued on the first recalculation after one
+        //    is configured
+        boolean queueSnapshot = snapshotPipeline.isEnabled() && (routeChanged
+                || dailyTravel.getSnapshotStatus() == InstructorDailyTravel.SnapshotStatus.NONE);
+        if (queueSnapshot) {
+            resetSnapshot(dailyTravel, InstructorDailyTravel.SnapshotStatus.PENDING);
+        } else if (routeChanged) {
+            resetSnapshot(dailyTravel, InstructorDailyTravel.SnapshotStatus.NONE);
         }
 
         InstructorDailyTravel saved = dailyTravelRepository.save(dailyTravel);
-        return toDto(saved);
-    }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<DailyTravelResponseDto> getDailyTravelRecords(Long instructorId, LocalDate from, LocalDate to) {
-        List<InstructorDailyTravel> records = dailyTravelRepository
-                .findByInstructorIdAndTravelDateBetween(instructorId, from, to);
-        return records.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        // 7. Render the map snapshot in the background once this transaction commits
+        if (queueSnapshot) {
+            snapshotPipeline.enqueueAfterCommit(saved.getId());
+        }
+        return saved;
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public MonthlyTravelSummaryDto getMonthlyTravelSummary(Long instructorId, String month) {
-        List<InstructorDailyTravel> records = dailyTravelRepository
-                .findByInstructorIdAndWorkMonth(instructorId, month);
-        
-        Integer totalAmount = dailyTravelRepository.calculateMonthlyTotal(instructorId, month);
+    /**
+     * Bring the stored waypoints in line with the route by seq: differing rows are updated
+     * in place, missing rows are added and surplus rows are removed as orphans.
+     * Nothing is touched when the route is unchanged.
+     *
+     * @return true if any waypoint was written
+     */
+    private boolean applyRoute(InstructorDailyTravel dailyTravel, List<RoutePoint> routePoints) {
+        List<TravelWaypoint> waypoints = dailyTravel.getWaypoints();  // Ordered by seq
+        boolean changed = waypoints.size() != routePoints.size();
+
+        for (int seq = 0; seq < routePoints.size(); seq++) {
+            RoutePoint point = routePoints.get(seq);
+            if (seq < waypoints.size()) {
+                TravelWaypoint waypoint = waypoints.get(seq);
+                if (!matches(waypoint, point)) {
+                    copyPoint(point, waypoint);
+                    changed = true;
+                }
+            } else {
+                TravelWaypoint waypoint = TravelWaypoint.builder()
+                        .dailyTravel(dailyTravel)
+                        .seq(seq)
+                        .build();
+                copyPoint(point, waypoint);
+                waypoints.add(waypoint);
+            }
+        }
 
-        return MonthlyTravelSummaryDto.builder()
-                .instructorId(instructorId)
-                .month(month)
-                .dailyRecords(records.stream().map(this::toDto).collect(Collectors.toList()))
-                .totalTravelExpense(totalAmount != null ? totalAmount : 0)
-                .build();
+        while (waypoints.size() > routePoints.size()) {
+            waypoints.remove(waypoints.size() - 1);
+        }
+        return changed;
     }
 
-    @Override
-    @Transactional
-    public void rebuildDailyTravelRecords(Long instructorId, LocalDate fromDate, LocalDate toDate) {
-        if (instructorId != null) {
-            // Rebuild for specific instructor
-            rebuildForInstructor(instructorId, fromDate, toDate);
-        } else {
-            // Rebuild for all instructors (expensive operation)
-            log.warn("Rebuilding daily travel records for ALL instructors - this may take a while");
-            // TODO: Implement batch processing for all instructors
-        }
+    private static boolean matches(TravelWaypoint waypoint, RoutePoint point) {
+        return Objects.equals(waypoint.getInstitutionId(), point.getInstitutionId())
+                && Objects.equals(waypoint.getTrainingId(), point.getTrainingId())
+                && Objects.equals(waypoint.getInstitutionName(), point.getName())
+                && Objects.equals(waypoint.getInstitutionAddress(), point.getAddress())
+                && sameCoordinate(waypoint.getLat(), point.getLat())
+                && sameCoordinate(waypoint.getLng(), point.getLng());
     }
 
-    // ========== Private Helper Methods ==========
+    private static boolean sameCoordinate(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
 
-    /**
-     * Query periods for an instructor on a specific date
-     * 
-     * TODO: This method needs to be updated when instructor-period assignment table is created.
-     * For now, this is a placeholder that assumes we can query periods by date and instructor.
-     * 
-     * Current assumption: We need to create an assignment table or modify PeriodEntity to include instructor_id.
-     * Alternative: Query all periods on the date and filter by some assignment logic.
-     */
-    private List<PeriodEntity> queryInstructorPeriods(Long instructorId, LocalDate date) {
-        // TODO: Implement actual query when assignment table exists
-        // For now, return empty list - this will need to be implemented based on your assignment model
-        log.warn("queryInstructorPeriods is not yet implemented - needs assignment table");
-        return new ArrayList<>();
-        
-        // Example implementation (when assignment table exists):
-        // return periodRepository.findByInstructorIdAndDate(instructorId, date);
+    private static void copyPoint(RoutePoint point, TravelWaypoint waypoint) {
+        waypoint.setInstitution(point.getInstitution());
+        waypoint.setInstitutionId(point.getInstitutionId());
+        waypoint.setInstitutionName(point.getName());
+        waypoint.setInstitutionAddress(point.getAddress());
+        waypoint.setLat(point.getLat());
+        waypoint.setLng(point.getLng());
+        waypoint.setTraining(point.getTraining());
+        waypoint.setTrainingId(point.getTrainingId());
     }
 
     /**
@@ -290,34 +443,91 @@ public class TravelAllowanceServiceImpl implements TravelAllowanceService {
     }
 
     /**
-     * Apply policy to get travel fee amount
+     * Warm the distance cache for a range with one many-to-many call over the instructor's
+     * home and every institution visited in the range
      */
-    private Integer applyPolicy(BigDecimal distanceKm, LocalDate date) {
-        TravelAllowancePolicy policy = policyRepository.findMatchingPolicy(distanceKm, date)
-                .orElseThrow(() -> new BusinessException(ErrorCode.TRAVEL_POLICY_NOT_FOUND,
-                        "거리 " + distanceKm + "km에 해당하는 여비 정책을 찾을 수 없습니다."));
+    private void prefetchLegs(Instructor instructor, InstructorPeriodSchedule schedule, LocalDate from, LocalDate to) {
+        Map<String, DistanceCalculationService.Waypoint> points = new LinkedHashMap<>();
+        addPoint(points, instructor.getHomeLat(), instructor.getHomeLng());
+        schedule.getPeriodsByDate(instructor.getUserId()).forEach((date, periods) -> {
+            if (date.isBefore(from) || date.isAfter(to)) {
+                return;
+            }
+            for (PeriodEntity period : periods) {
+                InstitutionEntity institution = period.getTraining().getInstitution();
+                if (institution.getInstitutionLat() != null && institution.getInstitutionLng() != null) {
+                    addPoint(points, institution.getInstitutionLat(), institution.getInstitutionLng());
+                }
+            }
+        });
 
-        return policy.getAmountKrw();
+        if (points.size() > 1) {
+            List<DistanceCalculationService.Waypoint> waypoints = new ArrayList<>(points.values());
+            distanceService.calculateDistanceMatrix(waypoints, waypoints);
+        }
+    }
+
+    private static void addPoint(Map<String, DistanceCalculationService.Waypoint> points, BigDecimal lat, BigDecimal lng) {
+        points.putIfAbsent(lat.stripTrailingZeros().toPlainString() + "," + lng.stripTrailingZeros().toPlainString(),
+                new DistanceCalculationService.Waypoint(lat, lng));
     }
 
     /**
-     * Create empty daily travel record (no periods on this date)
+     * Apply policy to get travel fee amount (in-memory policy index, no DB round trip)
      */
-    private DailyTravelResponseDto createEmptyDailyTravel(Instructor instructor, LocalDate date) {
-        InstructorDailyTravel dailyTravel = InstructorDailyTravel.builder()
-                .instructor(instructor)
-                .instructorId(instructor.getUserId())
-                .travelDate(date)
-                .workMonth(date.toString().substring(0, 7))
-                .totalDistanceKm(BigDecimal.ZERO)
-                .travelFeeAmountKrw(0)
-                .mapSnapshotUrl(null)
-                .status(InstructorDailyTravel.TravelStatus.DRAFT)
-                .waypoints(new ArrayList<>())
-                .build();
+    private Integer applyPolicy(BigDecimal distanceKm, LocalDate date) {
+        int amount = policyResolver.resolveAmount(distanceKm, date);
+        if (amount == TravelPolicyIndex.NO_MATCH) {
+            throw new BusinessException(ErrorCode.TRAVEL_POLICY_NOT_FOUND,
+                    "거리 " + distanceKm + "km에 해당하는 여비 정책을 찾을 수 없습니다.");
+        }
+        return amount;
+    }
 
-        InstructorDailyTravel saved = dailyTravelRepository.save(dailyTravel);
-        return toDto(saved);
+    /**
+     * Save empty daily travel record (no periods on this date)
+     */
+    private InstructorDailyTravel saveEmptyDailyTravel(Instructor instructor, LocalDate date,
+                                                       InstructorDailyTravel dailyTravel) {
+        if (dailyTravel == null) {
+            dailyTravel = InstructorDailyTravel.builder()
+                    .instructor(instructor)
+                    .instructorId(instructor.getUserId())
+                    .travelDate(date)
+                    .workMonth(date.toString().substring(0, 7))
+                    .totalDistanceKm(BigDecimal.ZERO)
+                    .travelFeeAmountKrw(0)
+                    .waypoints(new ArrayList<>())
+                    .build();
+        } else {
+            dailyTravel.setTotalDistanceKm(BigDecimal.ZERO);
+            dailyTravel.setTravelFeeAmountKrw(0);
+        }
+
+        // New record, or periods were removed since the last calculation
+        if (dailyTravel.getId() == null || !dailyTravel.getWaypoints().isEmpty()
+                || dailyTravel.getSnapshotStatus() != InstructorDailyTravel.SnapshotStatus.NONE) {
+            dailyTravel.getWaypoints().clear();
+            // Nothing to render; the revision bump discards any render still in flight
+            resetSnapshot(dailyTravel, InstructorDailyTravel.SnapshotStatus.NONE);
+        }
+
+        return dailyTravelRepository.save(dailyTravel);
+    }
+
+    /**
+     * Clear the snapshot of a recalculated record and start a new snapshot revision
+     */
+    private void resetSnapshot(InstructorDailyTravel dailyTravel, InstructorDailyTravel.SnapshotStatus snapshotStatus) {
+        boolean pending = snapshotStatus == InstructorDailyTravel.SnapshotStatus.PENDING;
+        dailyTravel.setMapSnapshotUrl(null);
+        dailyTravel.setMapSnapshotThumbnailUrl(null);
+        dailyTravel.setStatus(InstructorDailyTravel.TravelStatus.DRAFT);
+        dailyTravel.setSnapshotStatus(snapshotStatus);
+        dailyTravel.setSnapshotRevision(dailyTravel.getSnapshotRevision() + 1);
+        dailyTravel.setSnapshotAttempts(0);
+        dailyTravel.setSnapshotNextAttemptAt(pending ? LocalDateTime.now() : null);
+        dailyTravel.setSnapshotLastError(null);
     }
 
     /**
@@ -333,13 +543,71 @@ public class TravelAllowanceServiceImpl implements TravelAllowanceService {
                 .totalDistanceKm(entity.getTotalDistanceKm())
                 .travelFeeAmountKrw(entity.getTravelFeeAmountKrw())
                 .mapSnapshotUrl(entity.getMapSnapshotUrl())
+                .mapSnapshotThumbnailUrl(entity.getMapSnapshotThumbnailUrl())
                 .status(entity.getStatus().name())
+                .snapshotStatus(entity.getSnapshotStatus().name())
                 .waypoints(entity.getWaypoints().stream()
                         .map(this::waypointToDto)
                         .collect(Collectors.toList()))
                 .build();
     }
 
+    /**
+     * Read model: record rows (one query) plus all their waypoints (one query)
+     */
+    private List<DailyTravelResponseDto> readDtos(List<DailyTravelRow> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<WaypointResponseDto>> waypointsByRecord = waypointRepository
+                .findRowsByDailyTravelIdIn(rows.stream().map(DailyTravelRow::getId).toList()).stream()
+                .collect(Collectors.groupingBy(WaypointRow::getDailyTravelId, LinkedHashMap::new,
+                        Collectors.mapping(this::waypointRowToDto, Collectors.toList())));
+
+        return rows.stream()
+                .map(row -> DailyTravelResponseDto.builder()
+                        .id(row.getId())
+                        .instructorId(row.getInstructorId())
+                        .instructorName(row.getInstructorName())
+                        .travelDate(row.getTravelDate())
+                        .workMonth(row.getWorkMonth())
+                        .totalDistanceKm(row.getTotalDistanceKm())
+                        .travelFeeAmountKrw(row.getTravelFeeAmountKrw())
+                        .mapSnapshotUrl(row.getMapSnapshotUrl())
+                        .mapSnapshotThumbnailUrl(row.getMapSnapshotThumbnailUrl())
+                        .status(row.getStatus().name())
+                        .snapshotStatus(row.getSnapshotStatus().name())
+                        .waypoints(waypointsByRecord.getOrDefault(row.getId(), new ArrayList<>()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private WaypointResponseDto waypointRowToDto(WaypointRow waypoint) {
+        return WaypointResponseDto.builder()
+                .seq(waypoint.getSeq())
+                .institutionId(waypoint.getInstitutionId())
+                .institutionName(waypoint.getInstitutionName())
+                .institutionAddress(waypoint.getInstitutionAddress())
+                .lat(waypoint.getLat())
+                .lng(waypoint.getLng())
+                .trainingId(waypoint.getTrainingId())
+                .isHome(waypoint.getSeq() == 0 || waypoint.getInstitutionId() == null)
+                .build();
+    }
+
+    private MonthlyTravelSummaryDto toSummaryDto(InstructorMonthlyTravel aggregate) {
+        return MonthlyTravelSummaryDto.builder()
+                .instructorId(aggregate.getInstructorId())
+                .month(aggregate.getWorkMonth())
+                .totalTravelExpense(Math.toIntExact(aggregate.getFinalFeeKrw()))
+                .totalDistanceKm(aggregate.getTotalDistanceKm())
+                .recordDays(aggregate.getRecordDays())
+                .travelDays(aggregate.getTravelDays())
+                .finalDays(aggregate.getFinalDays())
+                .draftDays(aggregate.getDraftDays())
+                .build();
+    }
+
     private WaypointResponseDto waypointToDto(TravelWaypoint waypoint) {
         return WaypointResponseDto.builder()
                 .seq(waypoint.getSeq())
@@ -354,8 +622,10 @@ public class TravelAllowanceServiceImpl implements TravelAllowanceService {
     }
 
     private void rebuildForInstructor(Long instructorId, LocalDate fromDate, LocalDate toDate) {
-        // TODO: Implement batch recalculation for date range
         log.info("Rebuilding daily travel for instructor {} from {} to {}", instructorId, fromDate, toDate);
+        RangeRecalculationResult result = recalculateDailyTravelRange(instructorId, fromDate, toDate);
+        log.info("Rebuilt daily travel for instructor {}: {} processed, {} failed",
+                instructorId, result.processed(), result.failed());
     }
 
     /**
@@ -0,0 +1,42 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import java.util.Collection;
+
+/**
+ * Queue of (instructor, date) keys whose daily travel is stale
+ *
+ * Mark methods are called by the services that change schedules, trainings, institutions
+ * or instructor homes, inside their transaction and before the change removes the link
+ * they query (e.g. before a period is deleted). Keys are deduplicated and recalculated
+ * in the background once the change has committed.
+ */
+public interface TravelDirtyQueue {
+
+    /**
+     * Mark the days of instructors assigned to the given periods
+     */
+    void markPeriods(Collection<Long> periodIds);
+
+    /**
+     * Mark the days of instructors assigned to any period of a training
+     */
+    void markTraining(Long trainingId);
+
+    /**
+     * Mark the days of instructors assigned to periods held at an institution
+     */
+    void markInstitution(Long institutionId);
+
+    /**
+     * Mark every day of an instructor with a record or an assigned period
+     */
+    void markInstructor(Long instructorId);
+
+    /**
+     * Recalculate queued keys now, one instructor at a time.
+     * An instructor that fails is moved to the back of the queue and retried on a later sweep.
+     *
+     * @return Number of days recalculated
+     */
+    int drain();
+}
@@ -0,0 +1,224 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.config.TravelDirtyQueueConfig;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelDirtyDay;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelEndpointChangedEvent;
+import com.itwizard.swaedu.modules.travelallowance.repository.TravelDirtyDayRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Travel Dirty Queue Implementation
+ *
+ * Keys live in travel_dirty_day. Services mark them in the transaction of the change, so a
+ * rolled back change marks nothing and a committed one is never lost across restarts.
+ * Coordinate changes detected by TravelEndpointListener are the exception: the entity
+ * listener fires during the commit flush, too late to join, so they are marked in a new
+ * transaction right after commit and are lost if the process stops in between (a travel
+ * rebuild job recalculates them). A committed mark schedules a drain after a short
+ * coalescing delay; a periodic sweep covers restarts and other nodes.
+ *
+ * A drain works instructor by instructor: it locks that instructor's keys (SKIP LOCKED),
+ * recalculates exactly those days with one schedule load, and deletes the keys in the same
+ * transaction. A change that marks a key during the drain waits for the lock and re-inserts it.
+ * An instructor whose drain fails is moved behind the other keys and retried on a later sweep,
+ * so one failing instructor never blocks the rest of the queue.
+ */
+@Slf4j
+@Service
+public class TravelDirtyQueueImpl implements TravelDirtyQueue {
+
+    private final TravelDirtyDayRepository dirtyDayRepository;
+    private final TravelAllowanceService travelAllowanceService;
+    private final TravelDirtyQueueConfig queueConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNewTemplate;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    public TravelDirtyQueueImpl(TravelDirtyDayRepository dirtyDayRepository,
+                                TravelAllowanceService travelAllowanceService,
+                                TravelDirtyQueueConfig queueConfig,
+                                PlatformTransactionManager transactionManager) {
+        this.dirtyDayRepository = dirtyDayRepository;
+        this.travelAllowanceService = travelAllowanceService;
+        this.queueConfig = queueConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("travel-dirty-drain").daemon().factory());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::sweep, queueConfig.getSweepIntervalMs(),
+                queueConfig.getSweepIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public void markPeriods(Collection<Long> periodIds) {
+        if (periodIds == null || periodIds.isEmpty()) {
+            return;
+        }
+        marked(dirtyDayRepository.markPeriods(periodIds));
+    }
+
+    @Override
+    public void markTraining(Long trainingId) {
+        marked(dirtyDayRepository.markTraining(trainingId));
+    }
+
+    @Override
+    public void markInstitution(Long institutionId) {
+        marked(dirtyDayRepository.markInstitution(institutionId));
+    }
+
+    @Override
+    public void markInstructor(Long instructorId) {
+        marked(dirtyDayRepository.markInstructor(instructorId));
+    }
+
+    /**
+     * Coordinates of a home or institution changed. The entity listener usually fires during
+     * the flush at commit, which is too late to join that transaction, so mark in a new one.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEndpointChanged(TravelEndpointChangedEvent event) {
+        requiresNewTemplate.executeWithoutResult(status -> {
+            if (event.instructorId() != null) {
+                markInstructor(event.instructorId());
+            } else if (event.institutionId() != null) {
+                markInstitution(event.institutionId());
+            }
+        });
+    }
+
+    @Override
+    public int drain() {
+        int recalculated = 0;
+        Set<Long> attempted = new HashSet<>();
+        List<Long> instructorIds;
+        do {
+            instructorIds = dirtyDayRepository.findInstructorIdsToDrain(queueConfig.getInstructorsPerDrain());
+            boolean progressed = false;
+            for (Long instructorId : instructorIds) {
+                if (!attempted.add(instructorId)) {
+                    // Already tried in this drain (locked by another node, or failed)
+                    continue;
+                }
+                progressed = true;
+                try {
+                    Integer days = transactionTemplate.execute(status -> drainInstructor(instructorId));
+                    recalculated += days != null ? days : 0;
+                } catch (RuntimeException e) {
+                    log.error("Draining dirty travel days for instructor {} failed: {}",
+                            instructorId, e.getMessage(), e);
+                    defer(instructorId);
+                }
+            }
+            // Stop when every instructor left was already tried in this drain
+            if (!progressed) {
+                break;
+            }
+        } while (instructorIds.size() == queueConfig.getInstructorsPerDrain());
+        return recalculated;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private int drainInstructor(Long instructorId) {
+        List<TravelDirtyDay> claimed = dirtyDayRepository.claimByInstructorId(instructorId);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        SortedSet<LocalDate> dates = new TreeSet<>();
+        claimed.forEach(key -> dates.add(key.getTravelDate()));
+
+        TravelAllowanceService.RangeRecalculationResult result =
+                travelAllowanceService.recalculateDailyTravelDates(instructorId, dates);
+        if (result.failed() > 0) {
+            // Business failures (e.g. no home coordinates) are dropped; fixing the cause marks the days again
+            log.warn("Dirty travel days for instructor {}: {} recalculated, {} failed, first error: {}",
+                    instructorId, result.processed(), result.failed(), result.firstError());
+        }
+
+        dirtyDayRepository.deleteAllInBatch(claimed);
+        return result.processed();
+    }
+
+    /**
+     * Keys of a failed drain stay queued; move them behind the other keys so they are retried
+     * on a later sweep without blocking the instructors queued after them
+     */
+    private void defer(Long instructorId) {
+        try {
+            dirtyDayRepository.deferInstructor(instructorId);
+        } catch (RuntimeException e) {
+            log.warn("Could not defer dirty travel days for instructor {}: {}", instructorId, e.getMessage());
+        }
+    }
+
+    private void marked(int count) {
+        if (count == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduleDrain();
+                }
+            });
+        } else {
+            scheduleDrain();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::sweep, queueConfig.getCoalesceDelayMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void sweep() {
+        drainScheduled.set(false);
+        try {
+            int recalculated = drain();
+            if (recalculated > 0) {
+                log.info("Recalculated {} dirty travel days", recalculated);
+            }
+        } catch (RuntimeException e) {
+            // Keys stay queued and are retried on the next sweep
+            log.error("Draining dirty travel days failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelAllowancePolicy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Immutable interval index over active travel allowance policies.
+ *
+ * Validity dates are cut into epochs at every validFrom / validTo+1 boundary, so the set of
+ * valid policies is constant within an epoch. Within each epoch the km bands are cut into
+ * disjoint segments at every minKm / maxKm boundary, and each segment keeps the amount of
+ * the matching policy with the largest minKm (same tie-break as
+ * TravelAllowancePolicyRepository.findMatchingPolicy).
+ *
+ * Lookups are two binary searches over primitive arrays and allocate nothing.
+ * Distances are handled in hundredths of a kilometer, matching DECIMAL(10, 2).
+ */
+public final class TravelPolicyIndex {
+
+    /**
+     * Returned by {@link #resolveAmount} when no policy matches
+     */
+    public static final int NO_MATCH = -1;
+
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final long[] epochStarts;      // epoch day where each epoch starts, ascending
+    private final Epoch[] epochs;
+    private final int policyCount;
+
+    private TravelPolicyIndex(long[] epochStarts, Epoch[] epochs, int policyCount) {
+        this.epochStarts = epochStarts;
+        this.epochs = epochs;
+        this.policyCount = policyCount;
+    }
+
+    /**
+     * Build an index from active policies
+     */
+    public static TravelPolicyIndex build(List<TravelAllowancePolicy> policies) {
+        List<TravelAllowancePolicy> active = policies.stream()
+                .filter(p -> Boolean.TRUE.equals(p.getIsActive()))
+                .toList();
+
+        TreeSet<Long> boundaries = new TreeSet<>();
+        boundaries.add(Long.MIN_VALUE);
+        for (TravelAllowancePolicy policy : active) {
+            if (policy.getValidFrom() != null) {
+                boundaries.add(policy.getValidFrom().toEpochDay());
+            }
+            if (policy.getValidTo() != null) {
+                boundaries.add(policy.getValidTo().toEpochDay() + 1);
+            }
+        }
+
+        long[] epochStarts = new long[boundaries.size()];
+        Epoch[] epochs = new Epoch[boundaries.size()];
+        int i = 0;
+        for (long start : boundaries) {
+            epochStarts[i] = start;
+            epochs[i] = Epoch.build(active, start);
+            i++;
+        }
+
+        return new TravelPolicyIndex(epochStarts, epochs, active.size());
+    }
+
+    /**
+     * Resolve the fee amount for a distance on a date
+     *
+     * @param distanceHundredths Distance in hundredths of a kilometer
+     * @param epochDay Travel date as {@link java.time.LocalDate#toEpochDay()}
+     * @return Amount in KRW, or {@link #NO_MATCH}
+     */
+    public int resolveAmount(long distanceHundredths, long epochDay) {
+        int epoch = floorIndex(epochStarts, epochStarts.length, epochDay);
+        if (epoch < 0) {
+            return NO_MATCH;
+        }
+        return epochs[epoch].resolveAmount(distanceHundredths);
+    }
+
+    /**
+     * Convert a km distance to hundredths of a kilometer (HALF_UP)
+     */
+    public static long toHundredths(BigDecimal km) {
+        return km.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public int getPolicyCount() {
+        return policyCount;
+    }
+
+    /**
+     * Index of the last element <= key, or -1
+     */
+    private static int floorIndex(long[] sorted, int length, long key) {
+        int low = 0;
+        int high = length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Disjoint km segments for one validity epoch
+     */
+    private static final class Epoch {
+        private final long[] segmentStarts;  // inclusive, ascending
+        private final long[] segmentEnds;    // exclusive, UNBOUNDED for infinity
+        private final int[] amounts;         // NO_MATCH if no policy covers the segment
+
+        private Epoch(long[] segmentStarts, long[] segmentEnds, int[] amounts) {
+            this.segmentStarts = segmentStarts;
+            this.segmentEnds = segmentEnds;
+            this.amounts = amounts;
+        }
+
+        static Epoch build(List<TravelAllowancePolicy> active, long epochStart) {
+            List<TravelAllowancePolicy> valid = new ArrayList<>();
+            TreeSet<Long> cuts = new TreeSet<>();
+            for (TravelAllowancePolicy policy : active) {
+                boolean fromOk = policy.getValidFrom() == null || policy.getValidFrom().toEpochDay() <= epochStart;
+                boolean toOk = policy.getValidTo() == null || policy.getValidTo().toEpochDay() >= epochStart;
+                if (fromOk && toOk) {
+                    valid.add(policy);
+                    cuts.add(toHundredths(policy.getMinKm()));
+                    if (policy.getMaxKm() != null) {
+                        cuts.add(toHundredths(policy.getMaxKm()));
+                    }
+                }
+            }
+
+            long[] starts = new long[cuts.size()];
+            long[] ends = new long[cuts.size()];
+            int[] amounts = new int[cuts.size()];
+            Long[] sortedCuts = cuts.toArray(new Long[0]);
+            for (int s = 0; s < sortedCuts.length; s++) {
+                long start = sortedCuts[s];
+                starts[s] = start;
+                ends[s] = s + 1 < sortedCuts.length ? sortedCuts[s + 1] : UNBOUNDED;
+
+                // Winner: matching policy with the largest minKm
+                long bestMin = Long.MIN_VALUE;
+                int amount = NO_MATCH;
+                for (TravelAllowancePolicy policy : valid) {
+                    long min = toHundredths(policy.getMinKm());
+                    long max = policy.getMaxKm() != null ? toHundredths(policy.getMaxKm()) : UNBOUNDED;
+                    if (min <= start && start < max && min > bestMin) {
+                        bestMin = min;
+                        amount = policy.getAmountKrw();
+                    }
+                }
+                amounts[s] = amount;
+            }
+
+            return new Epoch(starts, ends, amounts);
+        }
+
+        int resolveAmount(long distanceHundredths) {
+            int segment = floorIndex(segmentStarts, segmentStarts.length, distanceHundredths);
+            if (segment < 0 || distanceHundredths >= segmentEnds[segment]) {
+                return NO_MATCH;
+            }
+            return amounts[segment];
+        }
+    }
+}
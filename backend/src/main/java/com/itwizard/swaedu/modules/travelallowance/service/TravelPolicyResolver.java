@@ -0,0 +1,33 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Travel Policy Resolver Interface
+ * Matches distances to travel allowance policies from an in-memory index
+ */
+public interface TravelPolicyResolver {
+
+    /**
+     * Resolve the travel fee amount for a distance on a date
+     * 
+     * @param distanceKm Total route distance in kilometers
+     * @param date Travel date (checked against validFrom/validTo)
+     * @return Amount in KRW, or {@link TravelPolicyIndex#NO_MATCH} if no active policy matches
+     */
+    int resolveAmount(BigDecimal distanceKm, LocalDate date);
+
+    /**
+     * Reload active policies from the database and swap the index atomically
+     */
+    void refresh();
+
+    /**
+     * Reload only if the policy table was written since the index was built
+     * (also picks up writes made by SQL or on other nodes)
+     *
+     * @return true if the index was reloaded
+     */
+    boolean refreshIfChanged();
+}
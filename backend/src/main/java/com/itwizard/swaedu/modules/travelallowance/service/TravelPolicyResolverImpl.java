@@ -0,0 +1,106 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.config.TravelPolicyConfig;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelPolicyChangedEvent;
+import com.itwizard.swaedu.modules.travelallowance.repository.TravelAllowancePolicyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Travel Policy Resolver Implementation
+ *
+ * Holds an immutable TravelPolicyIndex in a volatile field. The index is built on first use
+ * and rebuilt after any transaction that inserts, updates or deletes a policy row commits,
+ * so lookups never query the database. Rows written by SQL or on other nodes raise no entity
+ * event; a trigger-maintained version counter (travel_allowance_policy_version) is polled
+ * instead and the index is rebuilt when it moves.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TravelPolicyResolverImpl implements TravelPolicyResolver {
+
+    private final TravelAllowancePolicyRepository policyRepository;
+    private final TravelPolicyConfig policyConfig;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("travel-policy-version").daemon().factory());
+
+    private volatile TravelPolicyIndex index;
+    // Counter value read before the rows of the current index
+    private volatile long indexVersion;
+
+    @Override
+    public int resolveAmount(BigDecimal distanceKm, LocalDate date) {
+        TravelPolicyIndex current = index;
+        if (current == null) {
+            current = loadIndex();
+        }
+        return current.resolveAmount(TravelPolicyIndex.toHundredths(distanceKm), date.toEpochDay());
+    }
+
+    @Override
+    public synchronized void refresh() {
+        // Version first: a write landing between the two reads moves the counter past it,
+        // so the next check reloads again instead of missing the write
+        long version = policyRepository.findVersion();
+        index = TravelPolicyIndex.build(policyRepository.findByIsActiveTrueOrderByMinKmAsc());
+        indexVersion = version;
+        log.info("Loaded {} active travel allowance policies", index.getPolicyCount());
+    }
+
+    @Override
+    public boolean refreshIfChanged() {
+        if (index != null && policyRepository.findVersion() == indexVersion) {
+            return false;
+        }
+        refresh();
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::checkVersion, policyConfig.getVersionCheckIntervalMs(),
+                policyConfig.getVersionCheckIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPolicyChanged(TravelPolicyChangedEvent event) {
+        log.info("Travel allowance policy {} changed, reloading policy index", event.policyId());
+        refresh();
+    }
+
+    private void checkVersion() {
+        try {
+            if (refreshIfChanged()) {
+                log.info("Travel allowance policy version changed, reloaded policy index");
+            }
+        } catch (Exception e) {
+            // Keep polling; the current index stays in use
+            log.warn("Travel allowance policy version check failed", e);
+        }
+    }
+
+    private synchronized TravelPolicyIndex loadIndex() {
+        if (index == null) {
+            refresh();
+        }
+        return index;
+    }
+}
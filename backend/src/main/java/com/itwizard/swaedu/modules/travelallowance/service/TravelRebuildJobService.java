@@ -0,0 +1,68 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.dto.request.TravelRebuildJobRequestDto;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.TravelRebuildItemErrorDto;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.TravelRebuildJobResponseDto;
+import com.itwizard.swaedu.util.PageResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Travel Rebuild Job Service Interface
+ * Runs batch recalculation of daily travel records as chunked, resumable jobs
+ */
+public interface TravelRebuildJobService {
+
+    /**
+     * Create a rebuild job and start it in the background
+     *
+     * @param instructorId Instructor ID (if null, all instructors with home coordinates)
+     * @param fromDate Start date (inclusive)
+     * @param toDate End date (inclusive)
+     * @return Job status at creation time
+     */
+    TravelRebuildJobResponseDto startJob(Long instructorId, LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Create a rebuild job for a list of instructors or an instructor filter and start it in the background
+     *
+     * @param request Instructors (IDs, single ID or filter) and date range
+     * @return Job status at creation time
+     */
+    TravelRebuildJobResponseDto startJob(TravelRebuildJobRequestDto request);
+
+    /**
+     * Resume an interrupted or partially failed job from its persisted checkpoint.
+     * Completed chunks are skipped; failed chunks are retried.
+     *
+     * @param jobId Job ID
+     * @return Job status after the resume was scheduled
+     */
+    TravelRebuildJobResponseDto resumeJob(Long jobId);
+
+    /**
+     * Get job progress and throughput
+     *
+     * @param jobId Job ID
+     * @return Job status
+     */
+    TravelRebuildJobResponseDto getJob(Long jobId);
+
+    /**
+     * Get the most recent jobs
+     *
+     * @return Recent jobs, newest first
+     */
+    List<TravelRebuildJobResponseDto> getRecentJobs();
+
+    /**
+     * Get the instructor-days of a job that failed, in the order they were recorded
+     *
+     * @param jobId Job ID
+     * @param page Page number (0-based, default 0)
+     * @param size Page size (default 50)
+     * @return Failed items
+     */
+    PageResponse<TravelRebuildItemErrorDto> getJobErrors(Long jobId, Integer page, Integer size);
+}
@@ -0,0 +1,505 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.edu.exception.BusinessException;
+import com.edu.exception.ErrorCode;
+import com.itwizard.swaedu.modules.instructor.repository.InstructorRepository;
+import com.itwizard.swaedu.modules.period.service.InstructorPeriodLoader;
+import com.itwizard.swaedu.modules.period.service.InstructorPeriodSchedule;
+import com.itwizard.swaedu.modules.travelallowance.config.TravelBatchConfig;
+import com.itwizard.swaedu.modules.travelallowance.dto.request.TravelRebuildJobRequestDto;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.TravelRebuildItemErrorDto;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.TravelRebuildJobResponseDto;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildChunk;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildItemError;
+import com.itwizard.swaedu.modules.travelallowance.entity.TravelRebuildJob;
+import com.itwizard.swaedu.modules.travelallowance.repository.TravelRebuildChunkRepository;
+import com.itwizard.swaedu.modules.travelallowance.repository.TravelRebuildItemErrorRepository;
+import com.itwizard.swaedu.modules.travelallowance.repository.TravelRebuildJobRepository;
+import com.itwizard.swaedu.util.PageResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Travel Rebuild Job Service Implementation
+ *
+ * A job is split into chunks of one instructor over at most {@code travel.batch.chunk-days} days.
+ * Jobs run one at a time on a coordinator thread, which fans chunks out to a bounded worker pool
+ * (the coordinator runs a chunk itself when the queue is full). Each chunk is recalculated and
+ * marked COMPLETED in its own transaction, together with the job counters, so the chunk table is
+ * the checkpoint: resuming a job only re-runs chunks that are not COMPLETED.
+ * Period assignments are loaded for up to {@code travel.batch.schedule-instructors} instructors at a
+ * time over the job range and shared by those instructors' chunks, so memory stays bounded for
+ * filter jobs over many instructors.
+ * Every failed instructor-day is kept in travel_rebuild_item_error, replaced when its chunk runs again.
+ */
+@Slf4j
+@Service
+public class TravelRebuildJobServiceImpl implements TravelRebuildJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MAX_TARGET_LENGTH = 500;
+
+    private final TravelRebuildJobRepository jobRepository;
+    private final TravelRebuildChunkRepository chunkRepository;
+    private final TravelRebuildItemErrorRepository itemErrorRepository;
+    private final InstructorRepository instructorRepository;
+    private final InstructorPeriodLoader periodLoader;
+    private final ObjectProvider<TravelAllowanceService> travelAllowanceService;
+    private final TravelBatchConfig batchConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService coordinator;
+    private final ThreadPoolExecutor workers;
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public TravelRebuildJobServiceImpl(TravelRebuildJobRepository jobRepository,
+                                       TravelRebuildChunkRepository chunkRepository,
+                                       TravelRebuildItemErrorRepository itemErrorRepository,
+                                       InstructorRepository instructorRepository,
+                                       InstructorPeriodLoader periodLoader,
+                                       ObjectProvider<TravelAllowanceService> travelAllowanceService,
+                                       TravelBatchConfig batchConfig,
+                                       PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.chunkRepository = chunkRepository;
+        this.itemErrorRepository = itemErrorRepository;
+        this.instructorRepository = instructorRepository;
+        this.periodLoader = periodLoader;
+        this.travelAllowanceService = travelAllowanceService;
+        this.batchConfig = batchConfig;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.coordinator = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("travel-rebuild-job").factory());
+        this.workers = new ThreadPoolExecutor(
+                batchConfig.getWorkerThreads(),
+                batchConfig.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchConfig.getQueueCapacity()),
+                Thread.ofPlatform().name("travel-rebuild-worker-", 0).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public TravelRebuildJobResponseDto startJob(Long instructorId, LocalDate fromDate, LocalDate toDate) {
+        return startJob(TravelRebuildJobRequestDto.builder()
+                .instructorId(instructorId)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .build());
+    }
+
+    @Override
+    public TravelRebuildJobResponseDto startJob(TravelRebuildJobRequestDto request) {
+        LocalDate fromDate = request.getFromDate();
+        LocalDate toDate = request.getToDate();
+        if (fromDate == null || toDate == null || toDate.isBefore(fromDate)) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "재계산 기간이 올바르지 않습니다.");
+        }
+        // Every chunk row is inserted before the job starts, so the range bounds the request
+        if (toDate.toEpochDay() - fromDate.toEpochDay() + 1 > batchConfig.getMaxRangeDays()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    "재계산 기간은 최대 " + batchConfig.getMaxRangeDays() + "일입니다.");
+        }
+
+        String target;
+        List<Long> instructorIds;
+        if (request.getInstructorIds() != null && !request.getInstructorIds().isEmpty()) {
+            Set<Long> requested = new TreeSet<>(request.getInstructorIds());
+            instructorIds = instructorRepository.findExistingUserIds(requested);
+            if (instructorIds.size() != requested.size()) {
+                requested.removeAll(instructorIds);
+                throw new BusinessException(ErrorCode.INSTRUCTOR_NOT_FOUND, "강사를 찾을 수 없습니다: " + requested);
+            }
+            target = "instructorIds(" + instructorIds.size() + ")";
+        } else if (request.getInstructorId() != null) {
+            Long instructorId = request.getInstructorId();
+            if (!instructorRepository.existsById(instructorId)) {
+                throw new BusinessException(ErrorCode.INSTRUCTOR_NOT_FOUND);
+            }
+            instructorIds = List.of(instructorId);
+            target = "instructorId=" + instructorId;
+        } else {
+            List<Long> regionIds = emptyToNull(request.getRegionIds());
+            List<Long> classificationIds = emptyToNull(request.getClassificationIds());
+            List<Long> statusIds = emptyToNull(request.getStatusIds());
+            instructorIds = instructorRepository.findUserIdsWithHomeCoordinates(regionIds, classificationIds, statusIds);
+            target = describeFilter(regionIds, classificationIds, statusIds);
+        }
+
+        // The job row names its instructor only when there is exactly one
+        Long singleInstructorId = instructorIds.size() == 1 ? instructorIds.get(0) : null;
+        Long jobId = createJob(singleInstructorId, instructorIds, target, fromDate, toDate);
+
+        log.info("Created travel rebuild job {} for {} instructor(s) ({}) from {} to {}",
+                jobId, instructorIds.size(), target, fromDate, toDate);
+        coordinator.submit(() -> runJob(jobId));
+        return getJob(jobId);
+    }
+
+    @Override
+    public TravelRebuildJobResponseDto resumeJob(Long jobId) {
+        TravelRebuildJob job = findJob(jobId);
+        if (runningJobs.contains(jobId)
+                || job.getStatus() == TravelRebuildJob.JobStatus.RUNNING
+                || job.getStatus() == TravelRebuildJob.JobStatus.COMPLETED) {
+            throw new BusinessException(ErrorCode.REBUILD_JOB_NOT_RESUMABLE,
+                    "재개할 수 없는 상태의 작업입니다: " + job.getStatus());
+        }
+
+        log.info("Resuming travel rebuild job {} from status {}", jobId, job.getStatus());
+        coordinator.submit(() -> runJob(jobId));
+        return toDto(job);
+    }
+
+    @Override
+    public TravelRebuildJobResponseDto getJob(Long jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    @Override
+    public List<TravelRebuildJobResponseDto> getRecentJobs() {
+        return jobRepository.findTop20ByOrderByIdDesc().stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponse<TravelRebuildItemErrorDto> getJobErrors(Long jobId, Integer page, Integer size) {
+        findJob(jobId);
+        int pageNumber = page != null && page >= 0 ? page : 0;
+        int pageSize = size != null && size > 0 ? size : 50;
+        Page<TravelRebuildItemError> result = itemErrorRepository.findByJobIdOrderByIdAsc(
+                jobId, PageRequest.of(pageNumber, pageSize));
+
+        return PageResponse.<TravelRebuildItemErrorDto>builder()
+                .items(result.getContent().stream()
+                        .map(error -> TravelRebuildItemErrorDto.builder()
+                                .instructorId(error.getInstructorId())
+                                .travelDate(error.getTravelDate())
+                                .message(error.getMessage())
+                                .createdAt(error.getCreatedAt())
+                                .build())
+                        .collect(Collectors.toList()))
+                .total(result.getTotalElements())
+                .page(result.getNumber())
+                .size(result.getSize())
+                .totalPages(result.getTotalPages())
+                .build();
+    }
+
+    /**
+     * Jobs cannot survive a restart; flag them so an admin can resume them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void markInterruptedJobs() {
+        Integer count = transactionTemplate.execute(status -> jobRepository.markRunningAsInterrupted());
+        if (count != null && count > 0) {
+            log.warn("Marked {} travel rebuild job(s) left RUNNING as INTERRUPTED", count);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Run all incomplete chunks of a job and wait for them to finish
+     */
+    private void runJob(Long jobId) {
+        if (!runningJobs.add(jobId)) {
+            log.warn("Travel rebuild job {} is already running", jobId);
+            return;
+        }
+
+        try {
+            TravelRebuildJob job = findJob(jobId);
+
+            List<TravelRebuildChunk> chunks = transactionTemplate.execute(status -> {
+                TravelRebuildJob current = findJob(jobId);
+
+                // Failed chunks are retried, so take their items back out of the failed counter
+                int retriedItems = chunkRepository.sumFailedChunkItems(jobId).intValue();
+                chunkRepository.resetFailedChunks(jobId);
+
+                current.setFailedItems(current.getFailedItems() - retriedItems);
+                current.setResumedFromItems(current.getProcessedItems() + current.getFailedItems());
+                current.setStatus(TravelRebuildJob.JobStatus.RUNNING);
+                current.setStartedAt(LocalDateTime.now());
+                current.setFinishedAt(null);
+                jobRepository.save(current);
+
+                return chunkRepository.findIncompleteByJobId(jobId);
+            });
+
+            log.info("Travel rebuild job {} running {} chunk(s) on {} worker(s)",
+                    jobId, chunks.size(), batchConfig.getWorkerThreads());
+
+            // Chunks are in creation order, i.e. grouped by instructor
+            Map<Long, List<TravelRebuildChunk>> chunksByInstructor = chunks.stream()
+                    .collect(Collectors.groupingBy(TravelRebuildChunk::getInstructorId,
+                            LinkedHashMap::new, Collectors.toList()));
+            List<Long> instructorIds = new ArrayList<>(chunksByInstructor.keySet());
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>(chunks.size());
+            for (int start = 0; start < instructorIds.size(); start += batchConfig.getScheduleInstructors()) {
+                List<Long> batch = instructorIds.subList(start,
+                        Math.min(start + batchConfig.getScheduleInstructors(), instructorIds.size()));
+                InstructorPeriodSchedule schedule = periodLoader.loadSchedule(
+                        batch, job.getFromDate(), job.getToDate());
+                for (Long instructorId : batch) {
+                    for (TravelRebuildChunk chunk : chunksByInstructor.get(instructorId)) {
+                        futures.add(CompletableFuture.runAsync(() -> processChunk(chunk, schedule), workers));
+                    }
+                }
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            TravelRebuildJob finished = transactionTemplate.execute(status -> {
+                TravelRebuildJob current = findJob(jobId);
+                current.setStatus(current.getFailedItems() > 0
+                        ? TravelRebuildJob.JobStatus.COMPLETED_WITH_ERRORS
+                        : TravelRebuildJob.JobStatus.COMPLETED);
+                current.setFinishedAt(LocalDateTime.now());
+                return jobRepository.save(current);
+            });
+
+            log.info("Travel rebuild job {} finished with status {}: {} processed, {} failed ({} instructor-days/sec)",
+                    jobId, finished.getStatus(), finished.getProcessedItems(), finished.getFailedItems(),
+                    calculateThroughput(finished));
+        } catch (RuntimeException e) {
+            log.error("Travel rebuild job {} stopped unexpectedly: {}", jobId, e.getMessage(), e);
+            transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(TravelRebuildJob.JobStatus.INTERRUPTED);
+                job.setFinishedAt(LocalDateTime.now());
+                jobRepository.save(job);
+            }));
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * Recalculate every day of a chunk in one transaction and record the checkpoint.
+     * Business failures (missing address, no matching policy) are counted per day;
+     * any other failure rolls the whole chunk back and marks it FAILED for retry.
+     */
+    private void processChunk(TravelRebuildChunk chunk, InstructorPeriodSchedule schedule) {
+        TravelAllowanceService service = travelAllowanceService.getObject();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                TravelAllowanceService.RangeRecalculationResult result = service.recalculateDailyTravelRange(
+                        chunk.getInstructorId(), chunk.getFromDate(), chunk.getToDate(), schedule);
+
+                chunk.setStatus(TravelRebuildChunk.ChunkStatus.COMPLETED);
+                chunk.setProcessedItems(result.processed());
+                chunk.setFailedItems(result.failed());
+                chunk.setLastError(result.firstError() != null ? formatError(chunk, result.firstError()) : null);
+                chunk.setCompletedAt(LocalDateTime.now());
+                chunkRepository.save(chunk);
+                replaceItemErrors(chunk, result.failures().stream()
+                        .map(failure -> itemError(chunk, failure.date(), failure.message()))
+                        .toList());
+                jobRepository.incrementProgress(chunk.getJobId(), result.processed(), result.failed());
+            });
+        } catch (RuntimeException e) {
+            log.error("Travel rebuild chunk {} (instructor {}, {} ~ {}) failed: {}",
+                    chunk.getId(), chunk.getInstructorId(), chunk.getFromDate(), chunk.getToDate(), e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> {
+                chunk.setStatus(TravelRebuildChunk.ChunkStatus.FAILED);
+                chunk.setProcessedItems(0);
+                chunk.setFailedItems(chunk.getItemCount());
+                chunk.setLastError(formatError(chunk, chunk.getFromDate() + " ~ " + chunk.getToDate() + ": " + e.getMessage()));
+                chunk.setCompletedAt(null);
+                chunkRepository.save(chunk);
+                replaceItemErrors(chunk, List.of(itemError(chunk, null,
+                        chunk.getFromDate() + " ~ " + chunk.getToDate() + ": " + e.getMessage())));
+                jobRepository.incrementProgress(chunk.getJobId(), 0, chunk.getItemCount());
+            });
+        }
+    }
+
+    /**
+     * Persist the job with one chunk per instructor and date slice
+     */
+    private Long createJob(Long instructorId, List<Long> instructorIds, String target,
+                           LocalDate fromDate, LocalDate toDate) {
+        return transactionTemplate.execute(status -> {
+            List<TravelRebuildChunk> chunks = new ArrayList<>();
+            TravelRebuildJob job = jobRepository.save(TravelRebuildJob.builder()
+                    .instructorId(instructorId)
+                    .instructorCount(instructorIds.size())
+                    .target(target)
+                    .fromDate(fromDate)
+                    .toDate(toDate)
+                    .build());
+
+            int totalItems = 0;
+            for (Long id : instructorIds) {
+                LocalDate sliceStart = fromDate;
+                while (!sliceStart.isAfter(toDate)) {
+                    LocalDate sliceEnd = sliceStart.plusDays(batchConfig.getChunkDays() - 1L);
+                    if (sliceEnd.isAfter(toDate)) {
+                        sliceEnd = toDate;
+                    }
+                    int itemCount = (int) (sliceEnd.toEpochDay() - sliceStart.toEpochDay() + 1);
+                    chunks.add(TravelRebuildChunk.builder()
+                            .jobId(job.getId())
+                            .instructorId(id)
+                            .fromDate(sliceStart)
+                            .toDate(sliceEnd)
+                            .itemCount(itemCount)
+                            .build());
+                    totalItems += itemCount;
+                    sliceStart = sliceEnd.plusDays(1);
+                }
+            }
+
+            chunkRepository.saveAll(chunks);
+            job.setTotalItems(totalItems);
+            jobRepository.save(job);
+            return job.getId();
+        });
+    }
+
+    private static List<Long> emptyToNull(List<Long> ids) {
+        return ids == null || ids.isEmpty() ? null : ids;
+    }
+
+    private static String describeFilter(List<Long> regionIds, List<Long> classificationIds, List<Long> statusIds) {
+        List<String> parts = new ArrayList<>();
+        if (regionIds != null) {
+            parts.add("regionIds=" + regionIds);
+        }
+        if (classificationIds != null) {
+            parts.add("classificationIds=" + classificationIds);
+        }
+        if (statusIds != null) {
+            parts.add("statusIds=" + statusIds);
+        }
+        String target = parts.isEmpty() ? "all" : String.join(", ", parts);
+        return target.length() > MAX_TARGET_LENGTH ? target.substring(0, MAX_TARGET_LENGTH) : target;
+    }
+
+    private TravelRebuildJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.REBUILD_JOB_NOT_FOUND));
+    }
+
+    private void replaceItemErrors(TravelRebuildChunk chunk, List<TravelRebuildItemError> errors) {
+        itemErrorRepository.deleteByChunkId(chunk.getId());
+        if (!errors.isEmpty()) {
+            itemErrorRepository.saveAll(errors);
+        }
+    }
+
+    private TravelRebuildItemError itemError(TravelRebuildChunk chunk, LocalDate travelDate, String message) {
+        String text = message != null ? message : "unknown error";
+        return TravelRebuildItemError.builder()
+                .jobId(chunk.getJobId())
+                .chunkId(chunk.getId())
+                .instructorId(chunk.getInstructorId())
+                .travelDate(travelDate)
+                .message(text.length() > MAX_ERROR_LENGTH ? text.substring(0, MAX_ERROR_LENGTH) : text)
+                .build();
+    }
+
+    private String formatError(TravelRebuildChunk chunk, String message) {
+        String error = "instructor " + chunk.getInstructorId() + ", " + message;
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    /**
+     * Instructor-days per second for the current (or last) run of a job
+     */
+    private double calculateThroughput(TravelRebuildJob job) {
+        if (job.getStartedAt() == null) {
+            return 0.0;
+        }
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        long elapsedMs = Duration.between(job.getStartedAt(), end).toMillis();
+        int runItems = job.getProcessedItems() + job.getFailedItems() - job.getResumedFromItems();
+        if (elapsedMs <= 0 || runItems <= 0) {
+            return 0.0;
+        }
+        return Math.round(runItems * 100_000.0 / elapsedMs) / 100.0;
+    }
+
+    private TravelRebuildJobResponseDto toDto(TravelRebuildJob job) {
+        int doneItems = job.getProcessedItems() + job.getFailedItems();
+        double progress = job.getTotalItems() > 0
+                ? Math.round(doneItems * 10_000.0 / job.getTotalItems()) / 100.0
+                : (job.getStatus() == TravelRebuildJob.JobStatus.COMPLETED ? 100.0 : 0.0);
+
+        double itemsPerSecond = calculateThroughput(job);
+        int remainingItems = Math.max(job.getTotalItems() - doneItems, 0);
+        Long etaSeconds = null;
+        LocalDateTime etaAt = null;
+        if (job.getStatus() == TravelRebuildJob.JobStatus.RUNNING && itemsPerSecond > 0) {
+            etaSeconds = (long) Math.ceil(remainingItems / itemsPerSecond);
+            etaAt = LocalDateTime.now().plusSeconds(etaSeconds);
+        }
+
+        List<String> errors = chunkRepository.findTop20ByJobIdAndLastErrorIsNotNullOrderByIdAsc(job.getId())
+                .stream()
+                .map(TravelRebuildChunk::getLastError)
+                .collect(Collectors.toList());
+
+        return TravelRebuildJobResponseDto.builder()
+                .jobId(job.getId())
+                .instructorId(job.getInstructorId())
+                .instructorCount(job.getInstructorCount())
+                .target(job.getTarget())
+                .fromDate(job.getFromDate())
+                .toDate(job.getToDate())
+                .status(job.getStatus().name())
+                .totalItems(job.getTotalItems())
+                .processedItems(job.getProcessedItems())
+                .failedItems(job.getFailedItems())
+                .totalChunks(chunkRepository.countByJobId(job.getId()))
+                .completedChunks(chunkRepository.countByJobIdAndStatus(job.getId(), TravelRebuildChunk.ChunkStatus.COMPLETED))
+                .failedChunks(chunkRepository.countByJobIdAndStatus(job.getId(), TravelRebuildChunk.ChunkStatus.FAILED))
+                .progressPercent(progress)
+                .itemsPerSecond(itemsPerSecond)
+                .remainingItems(remainingItems)
+                .estimatedSecondsRemaining(etaSeconds)
+                .estimatedFinishAt(etaAt)
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .errorCount(itemErrorRepository.countByJobId(job.getId()))
+                .errors(errors)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Monthly travel settlement report across all instructors
+ */
+public interface TravelSettlementService {
+
+    /**
+     * Stream the settlement report of a month to Excel, with a second sheet of map snapshot links
+     *
+     * @param outputStream Target stream
+     * @param month Month in YYYY-MM format
+     */
+    void exportMonthlySettlementToExcel(OutputStream outputStream, String month) throws IOException;
+
+    /**
+     * Stream the settlement report of a month to CSV (UTF-8 with BOM)
+     *
+     * @param outputStream Target stream
+     * @param month Month in YYYY-MM format
+     */
+    void exportMonthlySettlementToCsv(OutputStream outputStream, String month) throws IOException;
+
+    /**
+     * Stream the map snapshot links of a month to CSV, one line per day (UTF-8 with BOM)
+     *
+     * @param outputStream Target stream
+     * @param month Month in YYYY-MM format
+     */
+    void exportMonthlySnapshotLinksToCsv(OutputStream outputStream, String month) throws IOException;
+}
@@ -0,0 +1,220 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.dto.response.MonthlySettlementRow;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.MonthlySnapshotLinkRow;
+import com.itwizard.swaedu.modules.travelallowance.repository.InstructorDailyTravelRepository;
+import com.itwizard.swaedu.modules.travelallowance.repository.InstructorMonthlyTravelRepository;
+import lombok.RequiredArgsConstructor;
+import org.apache.poi.common.usermodel.HyperlinkType;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CreationHelper;
+import org.apache.poi.ss.usermodel.Hyperlink;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Monthly travel settlement report
+ *
+ * Totals come from instructor_monthly_travel, which is kept in step with every daily record
+ * change. Map snapshots are listed one link per day (a second sheet, or a separate CSV),
+ * so no cell grows with the month. Rows are written while the result set is read, so memory
+ * stays flat however many instructors there are.
+ */
+@Service
+@RequiredArgsConstructor
+public class TravelSettlementServiceImpl implements TravelSettlementService {
+
+    private static final List<String> HEADERS = List.of(
+            "Instructor ID", "Name", "Region Name", "Record Days", "Travel Days", "Final Days",
+            "Total Distance (km)", "Total Fee (KRW)", "Final Fee (KRW)");
+
+    private static final List<String> SNAPSHOT_HEADERS = List.of(
+            "Instructor ID", "Name", "Travel Date", "Fee (KRW)", "Status", "Map Snapshot");
+
+    private final InstructorMonthlyTravelRepository monthlyTravelRepository;
+    private final InstructorDailyTravelRepository dailyTravelRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMonthlySettlementToExcel(OutputStream outputStream, String month) throws IOException {
+        // Window size of 100: keeps only last 100 rows in memory, flushes older rows to temp files
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100)) {
+            workbook.setCompressTempFiles(true);
+
+            Sheet sheet = workbook.createSheet("Settlement " + month);
+            writeHeader(sheet, HEADERS);
+
+            AtomicInteger rowNum = new AtomicInteger(1);
+            try (Stream<MonthlySettlementRow> rows = monthlyTravelRepository.streamMonthlySettlement(month)) {
+                rows.forEach(line -> {
+                    Row row = sheet.createRow(rowNum.getAndIncrement());
+                    int cellNum = 0;
+                    row.createCell(cellNum++).setCellValue(text(line.getInstructorCode()));
+                    row.createCell(cellNum++).setCellValue(text(line.getInstructorName()));
+                    row.createCell(cellNum++).setCellValue(text(line.getRegionName()));
+                    row.createCell(cellNum++).setCellValue(number(line.getRecordDays()));
+                    row.createCell(cellNum++).setCellValue(number(line.getTravelDays()));
+                    row.createCell(cellNum++).setCellValue(number(line.getFinalDays()));
+                    row.createCell(cellNum++).setCellValue(distance(line.getTotalDistanceKm()).doubleValue());
+                    row.createCell(cellNum++).setCellValue(number(line.getTotalFeeKrw()));
+                    row.createCell(cellNum++).setCellValue(number(line.getFinalFeeKrw()));
+                });
+            }
+
+            Sheet snapshotSheet = workbook.createSheet("Map Snapshots " + month);
+            writeHeader(snapshotSheet, SNAPSHOT_HEADERS);
+
+            CreationHelper creationHelper = workbook.getCreationHelper();
+            AtomicInteger snapshotRowNum = new AtomicInteger(1);
+            try (Stream<MonthlySnapshotLinkRow> links = dailyTravelRepository.streamMonthlySnapshotLinks(month)) {
+                links.forEach(link -> {
+                    Row row = snapshotSheet.createRow(snapshotRowNum.getAndIncrement());
+                    int cellNum = 0;
+                    row.createCell(cellNum++).setCellValue(text(link.getInstructorCode()));
+                    row.createCell(cellNum++).setCellValue(text(link.getInstructorName()));
+                    row.createCell(cellNum++).setCellValue(link.getTravelDate().toString());
+                    row.createCell(cellNum++).setCellValue(number(link.getTravelFeeAmountKrw()));
+                    row.createCell(cellNum++).setCellValue(link.getStatus().name());
+                    Cell urlCell = row.createCell(cellNum);
+                    urlCell.setCellValue(link.getMapSnapshotUrl());
+                    Hyperlink hyperlink = hyperlink(creationHelper, link.getMapSnapshotUrl());
+                    if (hyperlink != null) {
+                        urlCell.setHyperlink(hyperlink);
+                    }
+                });
+            }
+
+            workbook.write(outputStream);
+            outputStream.flush();
+
+            // Dispose to clean up temporary files created by SXSSFWorkbook
+            workbook.dispose();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMonthlySettlementToCsv(OutputStream outputStream, String month) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        // BOM so Excel opens Korean names as UTF-8
+        writer.write('\uFEFF');
+        writeCsvLine(writer, HEADERS);
+
+        try (Stream<MonthlySettlementRow> rows = monthlyTravelRepository.streamMonthlySettlement(month)) {
+            rows.forEach(line -> {
+                try {
+                    writeCsvLine(writer, List.of(
+                            text(line.getInstructorCode()),
+                            text(line.getInstructorName()),
+                            text(line.getRegionName()),
+                            String.valueOf(number(line.getRecordDays())),
+                            String.valueOf(number(line.getTravelDays())),
+                            String.valueOf(number(line.getFinalDays())),
+                            distance(line.getTotalDistanceKm()).toPlainString(),
+                            String.valueOf(number(line.getTotalFeeKrw())),
+                            String.valueOf(number(line.getFinalFeeKrw()))));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMonthlySnapshotLinksToCsv(OutputStream outputStream, String month) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        // BOM so Excel opens Korean names as UTF-8
+        writer.write('\uFEFF');
+        writeCsvLine(writer, SNAPSHOT_HEADERS);
+
+        try (Stream<MonthlySnapshotLinkRow> links = dailyTravelRepository.streamMonthlySnapshotLinks(month)) {
+            links.forEach(link -> {
+                try {
+                    writeCsvLine(writer, List.of(
+                            text(link.getInstructorCode()),
+                            text(link.getInstructorName()),
+                            link.getTravelDate().toString(),
+                            String.valueOf(number(link.getTravelFeeAmountKrw())),
+                            link.getStatus().name(),
+                            link.getMapSnapshotUrl()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // Private helper methods
+
+    private void writeHeader(Sheet sheet, List<String> headers) {
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < headers.size(); i++) {
+            headerRow.createCell(i).setCellValue(headers.get(i));
+        }
+    }
+
+    /**
+     * Link to a stored snapshot, or null if the URL is not a valid link target
+     */
+    private Hyperlink hyperlink(CreationHelper creationHelper, String url) {
+        try {
+            Hyperlink hyperlink = creationHelper.createHyperlink(HyperlinkType.URL);
+            hyperlink.setAddress(url);
+            return hyperlink;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void writeCsvLine(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private String text(String value) {
+        return value != null ? value : "";
+    }
+
+    private long number(Number value) {
+        return value != null ? value.longValue() : 0L;
+    }
+
+    private BigDecimal distance(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
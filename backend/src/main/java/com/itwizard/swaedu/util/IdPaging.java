@@ -0,0 +1,68 @@
+package com.itwizard.swaedu.util;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Two-step paged search.
+ *
+ * Paging a query with fetch joins makes the database sort and cut the joined rows, and
+ * Hibernate falls back to paging in memory once a fetch join can multiply rows. Instead,
+ * step one pages over bare ids (LIMIT/OFFSET and the count run in SQL on the main table
+ * only) and step two loads just that page's rows with their fetch joins in one IN query.
+ */
+public final class IdPaging {
+
+    private IdPaging() {
+    }
+
+    /**
+     * Step one: one page of the ids matching the filter (the filter's fetch joins are not applied)
+     */
+    public static <T> Page<Long> ids(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                     Pageable pageable) {
+        return repository.findBy(filter, query -> query.as(IdRow.class).page(pageable)).map(IdRow::getId);
+    }
+
+    /**
+     * Step two: rows of a page of ids, in the order of the ids
+     *
+     * @param ids Page of ids (step one)
+     * @param fetch Loads the rows of the given ids (step two); not called for an empty page
+     * @param idOf Id of a loaded row
+     */
+    public static <T> Page<T> load(Page<Long> ids, Function<List<Long>, List<T>> fetch, Function<T, Long> idOf) {
+        if (!ids.hasContent()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        Map<Long, T> byId = new HashMap<>();
+        for (T row : fetch.apply(ids.getContent())) {
+            byId.put(idOf.apply(row), row);
+        }
+        List<T> rows = new ArrayList<>(ids.getNumberOfElements());
+        for (Long id : ids.getContent()) {
+            T row = byId.get(id);
+            if (row != null) {  // Deleted between the two steps
+                rows.add(row);
+            }
+        }
+        return new PageImpl<>(rows, ids.getPageable(), ids.getTotalElements());
+    }
+
+    /**
+     * Read projection of an entity's id only
+     */
+    public interface IdRow {
+
+        Long getId();
+    }
+}
@@ -0,0 +1,226 @@
+package com.itwizard.swaedu.util;
+
+import com.itwizard.swaedu.exception.ValidationException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cursor-based (keyset) paging for list endpoints.
+ *
+ * Rows are ordered by one sort key plus the id as a tie breaker, and a page starts right
+ * after the last row of the previous one: (key, id) > (lastKey, lastId), written as
+ * key >= lastKey AND (key > lastKey OR id > lastId) so the leading conjunct is an index
+ * range bound on the (key, id) index. Unlike OFFSET the database does not read and throw
+ * away the skipped rows, so deep pages cost the same as the first one, and rows added
+ * meanwhile do not shift page boundaries.
+ *
+ * The cursor is an opaque url-safe string holding the sort and the last row's key and id.
+ * Only non-null columns may be registered as sort keys.
+ *
+ * @param <T> Entity type
+ */
+public final class KeysetPaging<T> {
+
+    private static final int DEFAULT_SIZE = 20;
+    private static final String SEPARATOR = "\n";
+
+    private final String idAttribute;
+    private final String defaultKey;
+    private final Sort.Direction defaultDirection;
+    private final Map<String, Class<?>> keys;
+
+    private KeysetPaging(String idAttribute, String defaultKey, Sort.Direction defaultDirection,
+                         Map<String, Class<?>> keys) {
+        this.idAttribute = idAttribute;
+        this.defaultKey = defaultKey;
+        this.defaultDirection = defaultDirection;
+        this.keys = keys;
+    }
+
+    /**
+     * @param idAttribute Long id attribute of the entity (always a valid sort key)
+     * @param defaultKey Sort key used when the request has none
+     * @param defaultDirection Direction used when the request has no sort
+     */
+    public static <T> KeysetPaging<T> by(String idAttribute, String defaultKey, Sort.Direction defaultDirection) {
+        Map<String, Class<?>> keys = new LinkedHashMap<>();
+        keys.put(idAttribute, Long.class);
+        return new KeysetPaging<>(idAttribute, defaultKey, defaultDirection, keys);
+    }
+
+    /**
+     * Copy that also accepts the given attribute as sort key
+     *
+     * @param type String, Long, Integer, LocalDate or LocalDateTime
+     */
+    public KeysetPaging<T> key(String attribute, Class<? extends Comparable<?>> type) {
+        Map<String, Class<?>> next = new LinkedHashMap<>(keys);
+        next.put(attribute, type);
+        return new KeysetPaging<>(idAttribute, defaultKey, defaultDirection, next);
+    }
+
+    /**
+     * Fetch one page: a single query for size + 1 rows (the extra row only tells whether
+     * there is a next page) and, when withTotal is set, one count query
+     *
+     * @param filter List filters (must not depend on the sort)
+     * @param sort "key,asc|desc"; may be omitted when a cursor is given
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param mapper Converts the page's entities to response items
+     */
+    public <D> PageResponse<D> page(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                    String sort, String cursor, Integer size, boolean withTotal,
+                                    Function<List<T>, List<D>> mapper) {
+        Position position = position(sort, cursor);
+        int pageSize = size != null && size > 0 ? size : DEFAULT_SIZE;
+
+        Specification<T> seek = position.lastId() != null ? filter.and(after(position)) : filter;
+        List<T> rows = repository.findBy(seek, query -> query
+                .sortBy(sortOf(position))
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<T> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        return PageResponse.<D>builder()
+                .items(mapper.apply(pageRows))
+                .total(withTotal ? repository.count(filter) : null)
+                .size(pageSize)
+                .nextCursor(hasNext ? encode(position, pageRows.get(pageSize - 1)) : null)
+                .build();
+    }
+
+    // ========== Sort and cursor ==========
+
+    /**
+     * Where to start, from the sort parameter and the cursor (which must agree)
+     */
+    Position position(String sort, String cursor) {
+        Position requested = sort != null && !sort.isBlank() ? parseSort(sort) : null;
+        if (cursor == null || cursor.isBlank()) {
+            return requested != null ? requested : new Position(defaultKey, defaultDirection, null, null);
+        }
+        Position decoded = decode(cursor);
+        if (requested != null && (!requested.key().equals(decoded.key())
+                || requested.direction() != decoded.direction())) {
+            throw new ValidationException("Cursor does not match the requested sort");
+        }
+        return decoded;
+    }
+
+    private Position parseSort(String sort) {
+        String[] sortParts = sort.split(",");
+        String key = sortParts[0].trim();
+        if (!keys.containsKey(key)) {
+            throw new ValidationException("Cursor paging cannot sort by: " + key
+                    + " (allowed: " + String.join(", ", keys.keySet()) + ")");
+        }
+        Sort.Direction direction = sortParts.length > 1 && "desc".equalsIgnoreCase(sortParts[1].trim())
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        return new Position(key, direction, null, null);
+    }
+
+    private Sort sortOf(Position position) {
+        Sort sort = Sort.by(position.direction(), position.key());
+        return position.key().equals(idAttribute) ? sort : sort.and(Sort.by(position.direction(), idAttribute));
+    }
+
+    String encode(Position position, T lastRow) {
+        Object id = PropertyAccessorFactory.forBeanPropertyAccess(lastRow).getPropertyValue(idAttribute);
+        Object value = PropertyAccessorFactory.forBeanPropertyAccess(lastRow).getPropertyValue(position.key());
+        return encode(new Position(position.key(), position.direction(), value, (Long) id));
+    }
+
+    static String encode(Position position) {
+        String raw = position.key() + SEPARATOR
+                + position.direction().name() + SEPARATOR
+                + position.lastId() + SEPARATOR
+                + position.lastValue();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The value goes last, so a separator inside it is kept
+            String[] parts = raw.split(SEPARATOR, 4);
+            Class<?> type = keys.get(parts[0]);
+            if (parts.length != 4 || type == null) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return new Position(parts[0], Sort.Direction.valueOf(parts[1]),
+                    parseValue(type, parts[3]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    private static Object parseValue(Class<?> type, String value) {
+        if (type == String.class) {
+            return value;
+        } else if (type == Long.class) {
+            return Long.valueOf(value);
+        } else if (type == Integer.class) {
+            return Integer.valueOf(value);
+        } else if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        throw new IllegalStateException("Unsupported sort key type: " + type.getName());
+    }
+
+    // ========== Seek predicate ==========
+
+    /**
+     * Rows after the cursor's row in the requested order
+     */
+    private Specification<T> after(Position position) {
+        boolean ascending = position.direction().isAscending();
+        return (root, query, cb) -> {
+            Path<Long> id = root.get(idAttribute);
+            Predicate idAfter = beyond(cb, id, position.lastId(), ascending);
+            if (position.key().equals(idAttribute)) {
+                return idAfter;
+            }
+            Path<Object> key = root.get(position.key());
+            Comparable<?> lastValue = (Comparable<?>) position.lastValue();
+            // The OR alone is not sargable; the redundant bound in front of it is
+            return cb.and(
+                    notBefore(cb, key, lastValue, ascending),
+                    cb.or(beyond(cb, key, lastValue, ascending), idAfter));
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate beyond(CriteriaBuilder cb, Path path, Comparable value, boolean ascending) {
+        return ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate notBefore(CriteriaBuilder cb, Path path, Comparable value, boolean ascending) {
+        return ascending ? cb.greaterThanOrEqualTo(path, value) : cb.lessThanOrEqualTo(path, value);
+    }
+
+    /**
+     * @param lastValue Sort key of the last row seen (null on the first page)
+     * @param lastId Id of the last row seen (null on the first page)
+     */
+    record Position(String key, Sort.Direction direction, Object lastValue, Long lastId) {}
+}
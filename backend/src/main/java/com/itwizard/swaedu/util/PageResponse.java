@@ -9,6 +9,9 @@ import java.util.List;
 
 /**
  * Pagination response wrapper for list endpoints
+ *
+ * Offset paging fills page, total and totalPages. Cursor paging (see {@link KeysetPaging})
+ * fills nextCursor instead; total is only counted when asked for, page and totalPages stay null.
  */
 @Data
 @Builder
@@ -16,8 +19,10 @@ import java.util.List;
 @AllArgsConstructor
 public class PageResponse<T> {
     private List<T> items;
-    private long total;
-    private int page;
+    private Long total;
+    private Integer page;
     private int size;
-    private int totalPages;
+    private Integer totalPages;
+    // Cursor of the following page (null on the last page and in offset paging)
+    private String nextCursor;
 }
@@ -0,0 +1,170 @@
+package com.itwizard.swaedu.util;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Specification for list searches with optional filters.
+ *
+ * Only filters that are actually supplied become predicates (a null value or an empty list
+ * adds nothing), so the SQL holds no "(:param IS NULL OR ...)" branches and PostgreSQL plans
+ * each query for the filters present, e.g. an index scan for a single region. The same
+ * specification serves the list, its count and the export, which keeps them consistent.
+ *
+ * Fetch joins are only added when the query selects whole entities (not to counts or projections).
+ *
+ * @param <T> Entity type
+ */
+public final class SearchSpecification<T> implements Specification<T> {
+
+    private final List<Clause> clauses = new ArrayList<>();
+    private final List<String> fetches = new ArrayList<>();
+
+    private SearchSpecification() {
+    }
+
+    public static <T> SearchSpecification<T> where() {
+        return new SearchSpecification<>();
+    }
+
+    /**
+     * Boolean attribute is false (always applied)
+     */
+    public SearchSpecification<T> isFalse(String attribute) {
+        clauses.add((root, cb) -> cb.isFalse(root.get(attribute)));
+        return this;
+    }
+
+    /**
+     * Attributes are all set (always applied)
+     */
+    public SearchSpecification<T> isNotNull(String... attributes) {
+        for (String attribute : attributes) {
+            clauses.add((root, cb) -> cb.isNotNull(root.get(attribute)));
+        }
+        return this;
+    }
+
+    /**
+     * attribute = value, when value is not null
+     */
+    public SearchSpecification<T> equal(String attribute, Object value) {
+        if (value != null) {
+            clauses.add((root, cb) -> cb.equal(root.get(attribute), value));
+        }
+        return this;
+    }
+
+    /**
+     * attribute IN values, when values is neither null nor empty
+     */
+    public SearchSpecification<T> in(String attribute, Collection<?> values) {
+        if (values != null && !values.isEmpty()) {
+            clauses.add((root, cb) -> root.get(attribute).in(values));
+        }
+        return this;
+    }
+
+    /**
+     * attribute >= value, when value is not null
+     */
+    public <Y extends Comparable<? super Y>> SearchSpecification<T> atLeast(String attribute, Y value) {
+        if (value != null) {
+            clauses.add((root, cb) -> cb.greaterThanOrEqualTo(root.<Y>get(attribute), value));
+        }
+        return this;
+    }
+
+    /**
+     * attribute <= value, when value is not null
+     */
+    public <Y extends Comparable<? super Y>> SearchSpecification<T> atMost(String attribute, Y value) {
+        if (value != null) {
+            clauses.add((root, cb) -> cb.lessThanOrEqualTo(root.<Y>get(attribute), value));
+        }
+        return this;
+    }
+
+    /**
+     * attribute LIKE pattern (pattern used as given), when pattern is not null
+     */
+    public SearchSpecification<T> like(String attribute, String pattern) {
+        if (pattern != null) {
+            clauses.add((root, cb) -> cb.like(root.get(attribute), pattern));
+        }
+        return this;
+    }
+
+    /**
+     * Any of the attributes contains q, ignoring case (null attributes never match), when q is not empty
+     */
+    public SearchSpecification<T> containsIgnoreCase(String q, String... attributes) {
+        if (q != null && !q.isEmpty()) {
+            String pattern = "%" + q.toLowerCase(Locale.ROOT) + "%";
+            clauses.add((root, cb) -> {
+                Predicate[] any = new Predicate[attributes.length];
+                for (int i = 0; i < attributes.length; i++) {
+                    Expression<String> value = cb.coalesce(root.<String>get(attributes[i]), "");
+                    any[i] = cb.like(cb.lower(value), pattern);
+                }
+                return cb.or(any);
+            });
+        }
+        return this;
+    }
+
+    /**
+     * Left fetch joins along dotted paths, e.g. "teacher.user"
+     */
+    public SearchSpecification<T> fetch(String... paths) {
+        fetches.addAll(List.of(paths));
+        return this;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (query.getResultType() == root.getJavaType()) {
+            Map<String, FetchParent<?, ?>> fetched = new HashMap<>();
+            fetched.put("", root);
+            for (String path : fetches) {
+                fetchPath(fetched, path);
+            }
+        }
+        Predicate[] predicates = new Predicate[clauses.size()];
+        for (int i = 0; i < clauses.size(); i++) {
+            predicates[i] = clauses.get(i).toPredicate(root, cb);
+        }
+        return cb.and(predicates);
+    }
+
+    private static FetchParent<?, ?> fetchPath(Map<String, FetchParent<?, ?>> fetched, String path) {
+        FetchParent<?, ?> existing = fetched.get(path);
+        if (existing != null) {
+            return existing;
+        }
+        int dot = path.lastIndexOf('.');
+        FetchParent<?, ?> parent = fetchPath(fetched, dot < 0 ? "" : path.substring(0, dot));
+        Fetch<?, ?> fetch = parent.fetch(path.substring(dot + 1), JoinType.LEFT);
+        fetched.put(path, fetch);
+        return fetch;
+    }
+
+    @FunctionalInterface
+    private interface Clause {
+        Predicate toPredicate(Root<?> root, CriteriaBuilder cb);
+    }
+}
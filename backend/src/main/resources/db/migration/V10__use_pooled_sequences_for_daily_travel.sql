@@ -0,0 +1,13 @@
+-- Pooled Sequences for Daily Travel Migration
+-- Version: V10
+-- Daily travel and waypoint ids are allocated by Hibernate in blocks of 50 (SEQUENCE
+-- with pooled optimizer) so inserts can be batched; IDENTITY disables JDBC batching.
+-- Column defaults keep working for plain SQL inserts.
+
+ALTER SEQUENCE instructor_daily_travel_id_seq INCREMENT BY 50;
+SELECT setval('instructor_daily_travel_id_seq',
+              COALESCE((SELECT MAX(id) FROM instructor_daily_travel), 0) + 50);
+
+ALTER SEQUENCE instructor_daily_travel_waypoint_id_seq INCREMENT BY 50;
+SELECT setval('instructor_daily_travel_waypoint_id_seq',
+              COALESCE((SELECT MAX(id) FROM instructor_daily_travel_waypoint), 0) + 50);
@@ -0,0 +1,25 @@
+-- Bulk Travel Rebuild Migration
+-- Version: V11
+-- Rebuild jobs can target a list of instructors or an instructor filter,
+-- and record every instructor-day that failed instead of one error per chunk
+
+ALTER TABLE travel_rebuild_job
+    ADD COLUMN IF NOT EXISTS instructor_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS target VARCHAR(500);  -- How instructors were selected, e.g. "regionIds=[3, 4]"
+
+-- Rebuild Item Error Table
+-- One row per failed instructor-day; travel_date is NULL when a whole chunk was rolled back
+CREATE TABLE IF NOT EXISTS travel_rebuild_item_error (
+    id BIGSERIAL PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    chunk_id BIGINT NOT NULL,
+    instructor_id BIGINT NOT NULL,
+    travel_date DATE,
+    message VARCHAR(1000) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_rebuild_item_error_job FOREIGN KEY (job_id) REFERENCES travel_rebuild_job(id) ON DELETE CASCADE,
+    CONSTRAINT fk_rebuild_item_error_chunk FOREIGN KEY (chunk_id) REFERENCES travel_rebuild_chunk(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_rebuild_item_error_job ON travel_rebuild_item_error(job_id, id);
+CREATE INDEX IF NOT EXISTS idx_rebuild_item_error_chunk ON travel_rebuild_item_error(chunk_id);
@@ -0,0 +1,9 @@
+-- Map Snapshot Thumbnail Migration
+-- Version: V12
+-- Route images are stored as a compressed full-size variant plus a thumbnail for list pages
+
+ALTER TABLE map_snapshot_cache
+    ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(500);  -- NULL for images stored before thumbnails; rendered again on next use
+
+ALTER TABLE instructor_daily_travel
+    ADD COLUMN IF NOT EXISTS map_snapshot_thumbnail_url VARCHAR(1000);
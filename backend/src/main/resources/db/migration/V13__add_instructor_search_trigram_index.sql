@@ -0,0 +1,57 @@
+-- Instructor Search Trigram Index Migration
+-- Version: V13
+-- The instructor list searches a substring of name, email, phone or username. LIKE '%q%'
+-- cannot use b-tree indexes, so the four fields are kept lower-cased in one search_text
+-- column (maintained by triggers; username comes from users) behind a pg_trgm GIN index.
+-- Fields are joined with a newline so a search never matches across two fields.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE instructors
+    ADD COLUMN IF NOT EXISTS search_text VARCHAR(1000);
+
+CREATE OR REPLACE FUNCTION instructor_search_text(p_name TEXT, p_email TEXT, p_phone TEXT, p_username TEXT)
+RETURNS TEXT AS $$
+    SELECT LOWER(CONCAT_WS(E'\n', p_name, p_email, p_phone, p_username));
+$$ LANGUAGE SQL IMMUTABLE;
+
+-- Instructor rows: recompute on insert and when a searched field changes
+CREATE OR REPLACE FUNCTION instructors_set_search_text()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_text := instructor_search_text(NEW.name, NEW.email, NEW.phone,
+            (SELECT u.username FROM users u WHERE u.id = NEW.user_id));
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER set_instructor_search_text
+    BEFORE INSERT OR UPDATE OF name, email, phone, user_id ON instructors
+    FOR EACH ROW
+    EXECUTE FUNCTION instructors_set_search_text();
+
+-- Renamed users: refresh their instructor row
+CREATE OR REPLACE FUNCTION users_refresh_instructor_search_text()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE instructors
+    SET search_text = instructor_search_text(name, email, phone, NEW.username)
+    WHERE user_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER refresh_instructor_search_text
+    AFTER UPDATE OF username ON users
+    FOR EACH ROW
+    WHEN (OLD.username IS DISTINCT FROM NEW.username)
+    EXECUTE FUNCTION users_refresh_instructor_search_text();
+
+-- Backfill existing instructors
+UPDATE instructors i
+SET search_text = instructor_search_text(i.name, i.email, i.phone, u.username)
+FROM users u
+WHERE u.id = i.user_id;
+
+CREATE INDEX IF NOT EXISTS idx_instructors_search_text_trgm
+    ON instructors USING GIN (search_text gin_trgm_ops);
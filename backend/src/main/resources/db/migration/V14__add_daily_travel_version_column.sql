@@ -0,0 +1,7 @@
+-- Daily Travel Version Migration
+-- Version: V14
+-- Optimistic lock column: a recalculation that read the record before the snapshot pipeline
+-- finalized it fails instead of writing the record back to DRAFT
+
+ALTER TABLE instructor_daily_travel
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
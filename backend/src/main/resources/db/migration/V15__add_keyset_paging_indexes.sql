@@ -0,0 +1,27 @@
+-- Keyset Paging Index Migration
+-- Version: V15
+-- Cursor paging orders by (sort key, id) and seeks with (sort key, id) > (cursor values),
+-- so each sort key needs a composite index with the id as tie-breaker; both directions
+-- are served by the same index (backward scan for desc)
+
+-- Institutions: name, createdAt (id alone uses the primary key)
+CREATE INDEX IF NOT EXISTS idx_institutions_name_id ON institutions(name, id);
+CREATE INDEX IF NOT EXISTS idx_institutions_created_at_id ON institutions(created_at, id);
+
+-- Instructors: name (userId alone uses the primary key)
+CREATE INDEX IF NOT EXISTS idx_instructors_name_user_id ON instructors(name, user_id);
+
+-- Programs: name, createdAt
+CREATE INDEX IF NOT EXISTS idx_programs_name_id ON programs(name, id);
+CREATE INDEX IF NOT EXISTS idx_programs_created_at_id ON programs(created_at, id);
+
+-- Trainings: name, startDate, createdAt
+CREATE INDEX IF NOT EXISTS idx_training_name_id ON trainings(name, id);
+CREATE INDEX IF NOT EXISTS idx_training_start_date_id ON trainings(start_date, id);
+CREATE INDEX IF NOT EXISTS idx_training_created_at_id ON trainings(created_at, id);
+
+-- Single-column indexes covered by the composites above
+DROP INDEX IF EXISTS idx_institutions_name;
+DROP INDEX IF EXISTS idx_programs_name;
+DROP INDEX IF EXISTS idx_training_name;
+DROP INDEX IF EXISTS idx_training_start_date;
@@ -0,0 +1,35 @@
+-- Master Code Version Counter Migration
+-- Version: V16
+-- The master code tree ETag was built from the row count and MAX(updated_at). Timestamps
+-- come from the writer's clock, so a write stamped earlier than the latest one (clock skew,
+-- explicit updated_at, a missed update of the column) left the ETag unchanged and clients
+-- kept a stale tree on 304. A single-row counter bumped by a statement trigger on every
+-- insert, update, delete or truncate only ever moves forward.
+
+CREATE TABLE IF NOT EXISTS master_code_version (
+    id SMALLINT PRIMARY KEY DEFAULT 1,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT ck_master_code_version_single_row CHECK (id = 1)
+);
+
+INSERT INTO master_code_version (id, version) VALUES (1, 0)
+ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION master_code_bump_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE master_code_version SET version = version + 1 WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Once per statement, so bulk writes bump the counter once
+CREATE TRIGGER bump_master_code_version
+    AFTER INSERT OR UPDATE OR DELETE ON master_code
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION master_code_bump_version();
+
+CREATE TRIGGER bump_master_code_version_on_truncate
+    AFTER TRUNCATE ON master_code
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION master_code_bump_version();
@@ -0,0 +1,33 @@
+-- Travel Allowance Policy Version Counter Migration
+-- Version: V17
+-- The policy index is rebuilt on JPA entity events, which only fire for writes made by
+-- this process. A single-row counter bumped by a statement trigger on every write to
+-- travel_allowance_policy lets each instance poll for changes made by SQL or other nodes.
+
+CREATE TABLE IF NOT EXISTS travel_allowance_policy_version (
+    id SMALLINT PRIMARY KEY DEFAULT 1,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT ck_travel_policy_version_single_row CHECK (id = 1)
+);
+
+INSERT INTO travel_allowance_policy_version (id, version) VALUES (1, 0)
+ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION travel_allowance_policy_bump_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE travel_allowance_policy_version SET version = version + 1 WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Once per statement, so bulk writes bump the counter once
+CREATE TRIGGER bump_travel_allowance_policy_version
+    AFTER INSERT OR UPDATE OR DELETE ON travel_allowance_policy
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION travel_allowance_policy_bump_version();
+
+CREATE TRIGGER bump_travel_allowance_policy_version_on_truncate
+    AFTER TRUNCATE ON travel_allowance_policy
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION travel_allowance_policy_bump_version();
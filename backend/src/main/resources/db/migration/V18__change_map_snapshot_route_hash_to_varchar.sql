@@ -0,0 +1,8 @@
+-- Map Snapshot Route Hash Column Type Migration
+-- Version: V18
+-- route_hash was created as CHAR(64) (bpchar), while MapSnapshotCacheEntry maps a String
+-- (varchar); schema validation (ddl-auto=validate) rejects the mismatch. Hashes are always
+-- 64 hex characters, so no value changes. The unique constraint is rebuilt with the column.
+
+ALTER TABLE map_snapshot_cache
+    ALTER COLUMN route_hash TYPE VARCHAR(64);
@@ -0,0 +1,51 @@
+-- Travel Allowance Batch Rebuild Migration
+-- Version: V3
+-- Creates job/chunk tables for the month-close daily travel rebuild engine
+
+-- Rebuild Job Table
+-- One row per rebuild request (single instructor or all instructors)
+CREATE TABLE IF NOT EXISTS travel_rebuild_job (
+    id BIGSERIAL PRIMARY KEY,
+    instructor_id BIGINT,  -- NULL means all instructors
+    from_date DATE NOT NULL,
+    to_date DATE NOT NULL,
+    status VARCHAR(30) NOT NULL DEFAULT 'PENDING',
+    total_items INTEGER NOT NULL DEFAULT 0,  -- instructor-days
+    processed_items INTEGER NOT NULL DEFAULT 0,
+    failed_items INTEGER NOT NULL DEFAULT 0,
+    resumed_from_items INTEGER NOT NULL DEFAULT 0,  -- items already done when the current run started
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_rebuild_job_date_range CHECK (to_date >= from_date),
+    CONSTRAINT chk_rebuild_job_status CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'COMPLETED_WITH_ERRORS', 'INTERRUPTED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_rebuild_job_status ON travel_rebuild_job(status);
+
+-- Rebuild Chunk Table (persisted checkpoint)
+-- Each chunk is one instructor over a contiguous date slice, committed in its own transaction
+CREATE TABLE IF NOT EXISTS travel_rebuild_chunk (
+    id BIGSERIAL PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    instructor_id BIGINT NOT NULL,
+    from_date DATE NOT NULL,
+    to_date DATE NOT NULL,
+    item_count INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',  -- PENDING, COMPLETED, FAILED
+    processed_items INTEGER NOT NULL DEFAULT 0,
+    failed_items INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    completed_at TIMESTAMP,
+    CONSTRAINT fk_rebuild_chunk_job FOREIGN KEY (job_id) REFERENCES travel_rebuild_job(id) ON DELETE CASCADE,
+    CONSTRAINT chk_rebuild_chunk_status CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_rebuild_chunk_job_status ON travel_rebuild_chunk(job_id, status);
+
+-- Add updated_at trigger for travel_rebuild_job
+CREATE TRIGGER update_rebuild_job_updated_at
+    BEFORE UPDATE ON travel_rebuild_job
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
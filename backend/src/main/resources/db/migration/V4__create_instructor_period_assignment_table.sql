@@ -0,0 +1,22 @@
+-- Instructor Period Assignment Migration
+-- Version: V4
+-- Links instructors to the periods (class sessions) they teach
+
+CREATE TABLE IF NOT EXISTS instructor_period_assignment (
+    id BIGSERIAL PRIMARY KEY,
+    instructor_id BIGINT NOT NULL,
+    period_id BIGINT NOT NULL,
+    role VARCHAR(20) NOT NULL DEFAULT 'MAIN',  -- MAIN or ASSISTANT
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_assignment_instructor FOREIGN KEY (instructor_id) REFERENCES instructors(user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_assignment_period FOREIGN KEY (period_id) REFERENCES periods(id) ON DELETE CASCADE,
+    CONSTRAINT uk_assignment_instructor_period UNIQUE (instructor_id, period_id),
+    CONSTRAINT chk_assignment_role CHECK (role IN ('MAIN', 'ASSISTANT'))
+);
+
+-- Indexes for assignments
+-- (instructor_id, period_id) is covered by the unique constraint
+CREATE INDEX IF NOT EXISTS idx_assignment_period_id ON instructor_period_assignment(period_id);
+
+-- Date-range loads filter periods by date before joining assignments
+CREATE INDEX IF NOT EXISTS idx_period_date_start_time ON periods(date, start_time);
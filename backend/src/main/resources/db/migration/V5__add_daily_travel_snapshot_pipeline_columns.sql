@@ -0,0 +1,22 @@
+-- Map Snapshot Pipeline Migration
+-- Version: V5
+-- Tracks background map snapshot rendering per daily travel record
+
+ALTER TABLE instructor_daily_travel
+    ADD COLUMN IF NOT EXISTS snapshot_status VARCHAR(20) NOT NULL DEFAULT 'NONE',  -- NONE, PENDING, DONE, DEAD_LETTER
+    ADD COLUMN IF NOT EXISTS snapshot_revision INTEGER NOT NULL DEFAULT 0,  -- Bumped on every recalculation
+    ADD COLUMN IF NOT EXISTS snapshot_attempts INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS snapshot_next_attempt_at TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS snapshot_last_error VARCHAR(1000);
+
+ALTER TABLE instructor_daily_travel
+    ADD CONSTRAINT chk_daily_travel_snapshot_status
+    CHECK (snapshot_status IN ('NONE', 'PENDING', 'DONE', 'DEAD_LETTER'));
+
+-- Existing records with a snapshot are already done
+UPDATE instructor_daily_travel SET snapshot_status = 'DONE' WHERE map_snapshot_url IS NOT NULL;
+
+-- Index for the pipeline sweeper (due pending snapshots)
+CREATE INDEX IF NOT EXISTS idx_daily_travel_snapshot_pending
+    ON instructor_daily_travel(snapshot_next_attempt_at)
+    WHERE snapshot_status = 'PENDING';
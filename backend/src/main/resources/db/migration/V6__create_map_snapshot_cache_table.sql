@@ -0,0 +1,15 @@
+-- Map Snapshot Cache Migration
+-- Version: V6
+-- Content-addressed index of stored route map images
+
+CREATE TABLE IF NOT EXISTS map_snapshot_cache (
+    id BIGSERIAL PRIMARY KEY,
+    route_hash CHAR(64) NOT NULL,  -- SHA-256 of map size, zoom and ordered route coordinates
+    image_url VARCHAR(500) NOT NULL,
+    width INTEGER NOT NULL,
+    height INTEGER NOT NULL,
+    zoom INTEGER NOT NULL,
+    point_count INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_map_snapshot_cache_route_hash UNIQUE (route_hash)
+);
@@ -0,0 +1,19 @@
+-- Travel Distance Cache Migration
+-- Version: V7
+-- Directed leg distances per provider, keyed by coordinates at column scale
+
+CREATE TABLE IF NOT EXISTS travel_distance_cache (
+    id BIGSERIAL PRIMARY KEY,
+    provider VARCHAR(30) NOT NULL,  -- haversine, road, ...
+    from_lat DECIMAL(10, 7) NOT NULL,
+    from_lng DECIMAL(10, 7) NOT NULL,
+    to_lat DECIMAL(10, 7) NOT NULL,
+    to_lng DECIMAL(10, 7) NOT NULL,
+    distance_km DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_travel_distance_cache_leg UNIQUE (provider, from_lat, from_lng, to_lat, to_lng)
+);
+
+-- Invalidation deletes every leg touching a moved point
+CREATE INDEX IF NOT EXISTS idx_travel_distance_cache_from ON travel_distance_cache(from_lat, from_lng);
+CREATE INDEX IF NOT EXISTS idx_travel_distance_cache_to ON travel_distance_cache(to_lat, to_lng);
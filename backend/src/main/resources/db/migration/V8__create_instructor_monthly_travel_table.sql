@@ -0,0 +1,38 @@
+-- Instructor Monthly Travel Aggregate Migration
+-- Version: V8
+-- Per instructor/month totals maintained incrementally with daily travel saves
+
+CREATE TABLE IF NOT EXISTS instructor_monthly_travel (
+    id BIGSERIAL PRIMARY KEY,
+    instructor_id BIGINT NOT NULL,
+    work_month VARCHAR(7) NOT NULL,  -- YYYY-MM
+    record_days INTEGER NOT NULL DEFAULT 0,  -- Daily records (including days without travel)
+    travel_days INTEGER NOT NULL DEFAULT 0,  -- Days with distance > 0
+    final_days INTEGER NOT NULL DEFAULT 0,
+    draft_days INTEGER NOT NULL DEFAULT 0,
+    total_distance_km DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    total_fee_krw BIGINT NOT NULL DEFAULT 0,  -- All records
+    final_fee_krw BIGINT NOT NULL DEFAULT 0,  -- FINAL records only (payable total)
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_monthly_travel_instructor FOREIGN KEY (instructor_id) REFERENCES instructors(user_id) ON DELETE CASCADE,
+    CONSTRAINT uk_monthly_travel_instructor_month UNIQUE (instructor_id, work_month)
+);
+
+-- Organization-wide month queries
+CREATE INDEX IF NOT EXISTS idx_monthly_travel_work_month ON instructor_monthly_travel(work_month);
+
+-- Backfill from existing daily records
+INSERT INTO instructor_monthly_travel (instructor_id, work_month, record_days, travel_days, final_days, draft_days,
+                                       total_distance_km, total_fee_krw, final_fee_krw)
+SELECT instructor_id,
+       work_month,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE total_distance_km > 0),
+       COUNT(*) FILTER (WHERE status = 'FINAL'),
+       COUNT(*) FILTER (WHERE status = 'DRAFT'),
+       COALESCE(SUM(total_distance_km), 0),
+       COALESCE(SUM(travel_fee_amount_krw), 0),
+       COALESCE(SUM(travel_fee_amount_krw) FILTER (WHERE status = 'FINAL'), 0)
+FROM instructor_daily_travel
+GROUP BY instructor_id, work_month
+ON CONFLICT (instructor_id, work_month) DO NOTHING;
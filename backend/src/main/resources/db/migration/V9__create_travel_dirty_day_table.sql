@@ -0,0 +1,16 @@
+-- Travel Dirty Day Queue Migration
+-- Version: V9
+-- (instructor, date) keys whose daily travel must be recalculated after a schedule,
+-- institution or home change; written in the same transaction as the change
+
+CREATE TABLE IF NOT EXISTS travel_dirty_day (
+    id BIGSERIAL PRIMARY KEY,
+    instructor_id BIGINT NOT NULL,
+    travel_date DATE NOT NULL,
+    enqueued_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,  -- Last time the key was marked
+    CONSTRAINT fk_dirty_day_instructor FOREIGN KEY (instructor_id) REFERENCES instructors(user_id) ON DELETE CASCADE,
+    CONSTRAINT uk_dirty_day_instructor_date UNIQUE (instructor_id, travel_date)
+);
+
+-- Drainer picks instructors with the oldest keys first
+CREATE INDEX IF NOT EXISTS idx_dirty_day_enqueued_at ON travel_dirty_day(enqueued_at);
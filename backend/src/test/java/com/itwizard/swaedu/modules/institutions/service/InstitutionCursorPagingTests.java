@@ -0,0 +1,144 @@
+package com.itwizard.swaedu.modules.institutions.service;
+
+import com.itwizard.swaedu.exception.ValidationException;
+import com.itwizard.swaedu.modules.institutions.dto.response.InstitutionResponseDto;
+import com.itwizard.swaedu.support.SqlStatementCounter;
+import com.itwizard.swaedu.util.PageResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cursor paging over the institution list: walking every page must return each row exactly
+ * once in (sort key, id) order, with one select per page and no OFFSET or COUNT, and the
+ * seek must be an index range condition (runs against the configured database; rolls back).
+ * Criteria values are inlined so captured statements can be run through EXPLAIN as they are.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.itwizard.swaedu.support.SqlStatementCounter",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+@Transactional
+class InstitutionCursorPagingTests {
+
+    private static final String PREFIX = "ksp_seed_";
+    private static final int INSTITUTIONS = 250;
+    private static final int PAGE_SIZE = 40;
+
+    @Autowired
+    private InstitutionService institutionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedInstitutions() {
+        // Only 50 distinct names, so pages often end inside a run of equal names
+        jdbcTemplate.update("INSERT INTO institutions (name, created_at, is_delete) "
+                + "SELECT ? || (g % 50), NOW() - (g % 7) * INTERVAL '1 day', FALSE "
+                + "FROM generate_series(1, ?) g", PREFIX, INSTITUTIONS);
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void walkingAllPagesReturnsEveryRowOnceInOrder() {
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM institutions WHERE name LIKE ? ORDER BY name DESC, id DESC", Long.class, PREFIX + "%");
+
+        List<Long> seen = walk("name,desc");
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void walkingByCreatedAtReturnsEveryRowOnce() {
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM institutions WHERE name LIKE ? ORDER BY created_at, id", Long.class, PREFIX + "%");
+
+        assertThat(walk("createdAt,asc")).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void pagesAreReadWithoutOffsetOrCount() {
+        PageResponse<InstitutionResponseDto> first = page(null, "name,asc", false);
+        page(first.getNextCursor(), null, false);
+
+        List<String> statements = SqlStatementCounter.statements();
+        assertThat(statements).hasSize(2);
+        assertThat(statements).noneMatch(sql -> sql.contains(" offset ") || sql.contains("count("));
+        assertThat(first.getTotal()).isNull();
+    }
+
+    @Test
+    void seekIsAnIndexRangeCondition() {
+        // Enough rows that reading the whole table is not the cheaper plan
+        jdbcTemplate.update("INSERT INTO institutions (name, created_at, is_delete) "
+                + "SELECT 'ksp_bulk_' || g, NOW(), FALSE FROM generate_series(1, 5000) g");
+        jdbcTemplate.execute("ANALYZE institutions");
+
+        PageResponse<InstitutionResponseDto> first = institutionService.listInstitutionsByCursor(
+                null, null, PAGE_SIZE, "name,asc", false, null, null, null, null, null, null, null, null);
+        SqlStatementCounter.reset();
+        institutionService.listInstitutionsByCursor(
+                null, first.getNextCursor(), PAGE_SIZE, null, false, null, null, null, null, null, null, null, null);
+
+        String select = SqlStatementCounter.statements().stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(">="))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no seek statement in " + SqlStatementCounter.statements()));
+
+        // Only the row limit is still a parameter
+        String bound = select.replace("?", String.valueOf(PAGE_SIZE + 1));
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + bound, String.class));
+
+        assertThat(plan)
+                .as("plan for %s", bound)
+                .contains("idx_institutions_name_id")
+                .containsPattern("Index Cond: .*name.* >= ")
+                .doesNotContain("Seq Scan on institutions");
+    }
+
+    @Test
+    void totalIsCountedOnlyWhenAsked() {
+        PageResponse<InstitutionResponseDto> first = page(null, "name,asc", true);
+
+        assertThat(first.getTotal()).isEqualTo((long) INSTITUTIONS);
+        assertThat(SqlStatementCounter.statements()).filteredOn(sql -> sql.contains("count(")).hasSize(1);
+    }
+
+    @Test
+    void cursorMustMatchTheRequestedSort() {
+        String cursor = page(null, "name,asc", false).getNextCursor();
+
+        assertThatThrownBy(() -> page(cursor, "createdAt,asc", false)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> page("not-a-cursor", null, false)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> page(null, "notes,asc", false)).isInstanceOf(ValidationException.class);
+    }
+
+    private List<Long> walk(String sort) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponse<InstitutionResponseDto> result = page(cursor, sort, false);
+            assertThat(result.getItems().size()).isLessThanOrEqualTo(PAGE_SIZE);
+            result.getItems().forEach(item -> seen.add(item.getId()));
+            cursor = result.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private PageResponse<InstitutionResponseDto> page(String cursor, String sort, boolean withTotal) {
+        return institutionService.listInstitutionsByCursor(
+                PREFIX, cursor, PAGE_SIZE, sort, withTotal, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,105 @@
+package com.itwizard.swaedu.modules.institutions.service;
+
+import com.itwizard.swaedu.modules.institutions.dto.response.InstitutionResponseDto;
+import com.itwizard.swaedu.support.SqlStatementCounter;
+import com.itwizard.swaedu.util.PageResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The paged institution list must page in SQL: one id query with LIMIT/OFFSET, one count
+ * and one fetch-join query for just that page's rows, filtering only on the filters supplied
+ * (runs against the configured database; rolls back)
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.itwizard.swaedu.support.SqlStatementCounter"
+})
+@Transactional
+class InstitutionSearchPagingTests {
+
+    private static final String PREFIX = "idp_seed_";
+    private static final int INSTITUTIONS = 120;
+
+    @Autowired
+    private InstitutionService institutionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedInstitutions() {
+        jdbcTemplate.update("INSERT INTO institutions (name, created_at, is_delete) "
+                + "SELECT ? || LPAD(g::text, 4, '0'), NOW(), FALSE FROM generate_series(1, ?) g",
+                PREFIX, INSTITUTIONS);
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void pageIsCutInSql() {
+        PageResponse<InstitutionResponseDto> page = list(2, 20, "name,desc");
+
+        List<String> selects = SqlStatementCounter.statements().stream()
+                .filter(sql -> sql.startsWith("select"))
+                .toList();
+        assertThat(selects).hasSize(3);
+        assertThat(selects).filteredOn(sql -> !sql.contains("count(") && !sql.contains(" join "))
+                .singleElement()
+                .satisfies(sql -> assertThat(sql).contains(" offset ")
+                        .containsAnyOf(" limit ", " fetch first "));
+        assertThat(selects).filteredOn(sql -> sql.contains(" join "))
+                .singleElement()
+                .satisfies(sql -> assertThat(sql).doesNotContain(" offset ", " limit ", " fetch first "));
+        assertThat(page.getTotal()).isEqualTo((long) INSTITUTIONS);
+        assertThat(page.getTotalPages()).isEqualTo(6);
+    }
+
+    @Test
+    void rowsKeepTheRequestedOrder() {
+        List<String> expected = jdbcTemplate.queryForList(
+                "SELECT name FROM institutions WHERE name LIKE ? ORDER BY name DESC OFFSET 40 LIMIT 20",
+                String.class, PREFIX + "%");
+
+        List<String> names = list(2, 20, "name,desc").getItems().stream()
+                .map(InstitutionResponseDto::getName)
+                .toList();
+
+        assertThat(names).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void pageBeyondTheEndIsEmpty() {
+        PageResponse<InstitutionResponseDto> page = list(50, 20, null);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getTotal()).isEqualTo((long) INSTITUTIONS);
+        // No row query for an empty page of ids
+        assertThat(SqlStatementCounter.statements()).noneMatch(sql -> sql.contains(" join "));
+    }
+
+    @Test
+    void onlySuppliedFiltersBecomePredicates() {
+        institutionService.listInstitutions(
+                null, 0, 20, null, null, null, null, null, null, null, List.of(1L), null);
+
+        assertThat(SqlStatementCounter.statements())
+                .filteredOn(sql -> sql.startsWith("select") && !sql.contains(" join "))
+                .isNotEmpty()
+                .allSatisfy(sql -> assertThat(sql)
+                        .contains("region_id in")
+                        .doesNotContain(" is null", "like", "zone_id", "teacher_id ="));
+    }
+
+    private PageResponse<InstitutionResponseDto> list(int page, int size, String sort) {
+        return institutionService.listInstitutions(
+                PREFIX, page, size, sort, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,97 @@
+package com.itwizard.swaedu.modules.instructor.service;
+
+import com.itwizard.swaedu.modules.instructor.dto.response.InstructorResponseDto;
+import com.itwizard.swaedu.support.SqlStatementCounter;
+import com.itwizard.swaedu.util.PageResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The instructor list search must be served by the pg_trgm index on instructors.search_text:
+ * the statement the repository sends is run through EXPLAIN against a few thousand seeded
+ * instructors (runs against the configured database; rolls back)
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.itwizard.swaedu.support.SqlStatementCounter"
+})
+@Transactional
+class InstructorSearchIndexTests {
+
+    private static final int INSTRUCTORS = 5000;
+
+    @Autowired
+    private InstructorService instructorService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedInstructors() {
+        Long roleId = jdbcTemplate.queryForObject("SELECT id FROM roles WHERE name = 'INSTRUCTOR'", Long.class);
+        jdbcTemplate.update("INSERT INTO users (username, password, role_id, enabled) "
+                + "SELECT 'trgm_seed_' || g, 'x', ?, TRUE FROM generate_series(1, ?) g", roleId, INSTRUCTORS);
+        jdbcTemplate.update("INSERT INTO users (username, password, role_id, enabled) "
+                + "VALUES ('trgm_login_qwpzk', 'x', ?, TRUE)", roleId);
+        jdbcTemplate.update("INSERT INTO instructors (user_id, name, email, phone) "
+                + "SELECT u.id, CASE WHEN u.username = 'trgm_login_qwpzk' THEN 'Zyxquv Kim' ELSE '강사 ' || u.id END, "
+                + "u.username || '@example.com', '010-' || LPAD((u.id % 10000)::text, 4, '0') || '-0000' "
+                + "FROM users u WHERE u.username LIKE 'trgm\\_%'");
+        jdbcTemplate.execute("ANALYZE instructors");
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void searchMatchesEveryFieldCaseInsensitively() {
+        assertThat(names(instructorService.listInstructors("zYXQuv", 0, 20, null, null, null, null, null)))
+                .containsExactly("Zyxquv Kim");
+        assertThat(names(instructorService.listInstructors("login_qwp", 0, 20, null, null, null, null, null)))
+                .containsExactly("Zyxquv Kim");
+        assertThat(names(instructorService.listInstructors("QWPZK@EXAMPLE", 0, 20, null, null, null, null, null)))
+                .containsExactly("Zyxquv Kim");
+        // Fields are searched separately, never across their boundary
+        assertThat(names(instructorService.listInstructors("kim trgm", 0, 20, null, null, null, null, null)))
+                .isEmpty();
+    }
+
+    @Test
+    void renamedUserIsFoundByNewUsername() {
+        jdbcTemplate.update("UPDATE users SET username = 'trgm_renamed_vbnmq' WHERE username = 'trgm_login_qwpzk'");
+
+        assertThat(names(instructorService.listInstructors("renamed_vbnm", 0, 20, null, null, null, null, null)))
+                .containsExactly("Zyxquv Kim");
+        assertThat(names(instructorService.listInstructors("login_qwp", 0, 20, null, null, null, null, null)))
+                .isEmpty();
+    }
+
+    @Test
+    void searchQueryUsesTrigramIndex() {
+        instructorService.listInstructors("zyxquv", 0, 20, null, null, null, null, null);
+
+        String select = SqlStatementCounter.statements().stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains("search_text like") && !sql.contains("count("))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no search statement in " + SqlStatementCounter.statements()));
+
+        // Bind the pattern (first parameter) and leave paging unbound
+        String bound = select.replaceFirst("\\?", "'%zyxquv%'").replace("?", "null");
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + bound, String.class));
+
+        assertThat(plan)
+                .as("plan for %s", bound)
+                .contains("idx_instructors_search_text_trgm")
+                .doesNotContain("Seq Scan on instructors");
+    }
+
+    private static List<String> names(PageResponse<InstructorResponseDto> page) {
+        return page.getItems().stream().map(InstructorResponseDto::getName).toList();
+    }
+}
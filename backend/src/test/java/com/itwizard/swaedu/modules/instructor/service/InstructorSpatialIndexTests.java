@@ -0,0 +1,93 @@
+package com.itwizard.swaedu.modules.instructor.service;
+
+import com.itwizard.swaedu.modules.travelallowance.service.DistanceCalculationServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nearest-instructor KD-tree against a brute-force haversine scan
+ */
+class InstructorSpatialIndexTests {
+
+    private static final int INSTRUCTORS = 20_000;
+
+    @Test
+    void matchesBruteForceWithAndWithoutFilters() {
+        List<InstructorSpatialIndex.Entry> entries = randomEntries(new Random(11), INSTRUCTORS);
+        InstructorSpatialIndex index = InstructorSpatialIndex.build(entries);
+        assertThat(index.size()).isEqualTo(INSTRUCTORS);
+
+        Random random = new Random(12);
+        List<InstructorSpatialIndex.Filter> filters = List.of(
+                InstructorSpatialIndex.Filter.NONE,
+                InstructorSpatialIndex.Filter.of(List.of(2L), null, null),
+                InstructorSpatialIndex.Filter.of(List.of(1L, 3L), List.of(10L), List.of(20L)),
+                InstructorSpatialIndex.Filter.of(List.of(999L), null, null));
+        for (int q = 0; q < 200; q++) {
+            double lat = 36.8 + random.nextDouble() * 1.2;
+            double lng = 126.6 + random.nextDouble() * 1.2;
+            int k = 1 + random.nextInt(20);
+            for (InstructorSpatialIndex.Filter filter : filters) {
+                assertThat(ids(index.nearest(lat, lng, k, filter)))
+                        .isEqualTo(ids(bruteForce(entries, lat, lng, k, filter)));
+            }
+        }
+    }
+
+    @Test
+    void copyOnWriteUpdatesDoNotChangeEarlierIndex() {
+        InstructorSpatialIndex index = InstructorSpatialIndex.build(List.of(
+                new InstructorSpatialIndex.Entry(1L, "수원", 37.2636, 127.0286, 1L, 10L, 20L),
+                new InstructorSpatialIndex.Entry(2L, "용인", 37.2411, 127.1776, 1L, 10L, 20L)));
+
+        // Instructor 2 moves next to the query point, instructor 3 registers far away
+        InstructorSpatialIndex moved = index
+                .with(new InstructorSpatialIndex.Entry(2L, "용인", 37.5665, 126.9780, 1L, 10L, 20L))
+                .with(new InstructorSpatialIndex.Entry(3L, "부산", 35.1796, 129.0756, 2L, 10L, 20L));
+
+        assertThat(ids(index.nearest(37.56, 126.97, 1, InstructorSpatialIndex.Filter.NONE))).containsExactly(1L);
+        assertThat(ids(moved.nearest(37.56, 126.97, 3, InstructorSpatialIndex.Filter.NONE))).containsExactly(2L, 1L, 3L);
+        assertThat(moved.size()).isEqualTo(3);
+
+        InstructorSpatialIndex removed = moved.without(2L);
+        assertThat(ids(removed.nearest(37.56, 126.97, 3, InstructorSpatialIndex.Filter.NONE))).containsExactly(1L, 3L);
+        assertThat(removed.without(42L)).isSameAs(removed);
+        assertThat(InstructorSpatialIndex.empty().nearest(37.56, 126.97, 5, InstructorSpatialIndex.Filter.NONE)).isEmpty();
+    }
+
+    // ========== Helpers ==========
+
+    private static List<InstructorSpatialIndex.Entry> randomEntries(Random random, int count) {
+        List<InstructorSpatialIndex.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new InstructorSpatialIndex.Entry((long) i + 1, "강사 " + i,
+                    36.8 + random.nextDouble() * 1.2, 126.6 + random.nextDouble() * 1.2,
+                    1L + random.nextInt(4),
+                    random.nextInt(10) == 0 ? null : 10L + random.nextInt(2),
+                    20L + random.nextInt(2)));
+        }
+        return entries;
+    }
+
+    private static List<InstructorSpatialIndex.Entry> bruteForce(List<InstructorSpatialIndex.Entry> entries,
+                                                                 double lat, double lng, int k,
+                                                                 InstructorSpatialIndex.Filter filter) {
+        return entries.stream()
+                .filter(filter::matches)
+                .sorted(Comparator.comparingDouble(
+                        (InstructorSpatialIndex.Entry e) -> DistanceCalculationServiceImpl.haversineKm(lat, lng, e.lat(), e.lng()))
+                        .thenComparing(InstructorSpatialIndex.Entry::userId))
+                .limit(k)
+                .toList();
+    }
+
+    private static List<Long> ids(List<InstructorSpatialIndex.Entry> entries) {
+        return entries.stream().map(InstructorSpatialIndex.Entry::userId).toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.itwizard.swaedu.modules.mastercode.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Master code snapshot lookups: id, code and parent to children
+ */
+class MasterCodeIndexTests {
+
+    private static final List<MasterCodeIndex.Entry> ENTRIES = List.of(
+            new MasterCodeIndex.Entry(12L, "R2", "Region 2", 10L, null, null),
+            new MasterCodeIndex.Entry(1L, "ZONE", "Zones", null, null, null),
+            new MasterCodeIndex.Entry(10L, "Z1", "Zone 1", 1L, null, null),
+            new MasterCodeIndex.Entry(11L, "R1", "Region 1", 10L, null, null),
+            new MasterCodeIndex.Entry(2L, "STATUS", "Status", null, null, null));
+
+    @Test
+    void findsCodesByIdAndCode() {
+        MasterCodeIndex index = MasterCodeIndex.build(ENTRIES);
+
+        assertThat(index.size()).isEqualTo(ENTRIES.size());
+        assertThat(index.find(11L)).map(MasterCodeIndex.Entry::codeName).contains("Region 1");
+        assertThat(index.find(99L)).isEmpty();
+        assertThat(index.find(null)).isEmpty();
+        assertThat(index.idOf("Z1")).contains(10L);
+        assertThat(index.idOf("missing")).isEmpty();
+    }
+
+    @Test
+    void listsChildrenInIdOrder() {
+        MasterCodeIndex index = MasterCodeIndex.build(ENTRIES);
+
+        assertThat(index.childIds(10L)).containsExactly(11L, 12L);
+        assertThat(index.childIds(1L)).containsExactly(10L);
+        assertThat(index.childIds(11L)).isEmpty();
+        assertThat(index.childIds(null)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void emptySnapshotFindsNothing() {
+        MasterCodeIndex index = MasterCodeIndex.build(List.of());
+
+        assertThat(index).isSameAs(MasterCodeIndex.empty());
+        assertThat(index.find(1L)).isEmpty();
+        assertThat(index.childIds(null)).isEmpty();
+    }
+}
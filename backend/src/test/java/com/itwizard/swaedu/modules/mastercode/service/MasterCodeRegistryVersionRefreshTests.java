@@ -0,0 +1,77 @@
+package com.itwizard.swaedu.modules.mastercode.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Master codes soft-deleted or added without JPA (SQL, other nodes) reach the registry
+ * snapshot through the version counter (runs against the configured database; rolls back)
+ */
+@SpringBootTest(properties = {
+        // The poller must not reload the snapshot while a test looks at it
+        "mastercode.registry.version-check-interval-ms=3600000"
+})
+@Transactional
+class MasterCodeRegistryVersionRefreshTests {
+
+    private static final String PREFIX = "mcv_seed_";
+
+    @Autowired
+    private MasterCodeRegistry masterCodeRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long parentId;
+    private Long childId;
+
+    @BeforeEach
+    void seedCodes() {
+        parentId = insert("parent", null);
+        childId = insert("child", parentId);
+        masterCodeRegistry.refresh();
+    }
+
+    @AfterTransaction
+    void reloadCommittedCodes() {
+        masterCodeRegistry.refresh();
+    }
+
+    @Test
+    void unchangedTableKeepsTheSnapshot() {
+        assertThat(masterCodeRegistry.refreshIfChanged()).isFalse();
+    }
+
+    @Test
+    void codeSoftDeletedBySqlIsDropped() {
+        jdbcTemplate.update("UPDATE master_code SET is_delete = TRUE WHERE id = ?", childId);
+
+        // The snapshot still answers until the counter is checked
+        assertThat(masterCodeRegistry.find(childId)).isPresent();
+        assertThat(masterCodeRegistry.refreshIfChanged()).isTrue();
+        assertThat(masterCodeRegistry.find(childId)).isEmpty();
+        assertThat(masterCodeRegistry.childIds(parentId)).isEmpty();
+        assertThat(masterCodeRegistry.refreshIfChanged()).isFalse();
+    }
+
+    @Test
+    void childAddedBySqlIsListed() {
+        Long secondChildId = insert("second", parentId);
+
+        assertThat(masterCodeRegistry.childIds(parentId)).containsExactly(childId);
+        assertThat(masterCodeRegistry.refreshIfChanged()).isTrue();
+        assertThat(masterCodeRegistry.childIds(parentId)).containsExactly(childId, secondChildId);
+    }
+
+    private Long insert(String code, Long parent) {
+        return jdbcTemplate.queryForObject("INSERT INTO master_code (code, code_name, parent_id, created_at, updated_at, is_delete) "
+                + "VALUES (?, ?, ?, NOW(), NOW(), FALSE) RETURNING id", Long.class, PREFIX + code, PREFIX + code, parent);
+    }
+}
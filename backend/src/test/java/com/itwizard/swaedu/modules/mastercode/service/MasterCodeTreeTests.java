@@ -0,0 +1,127 @@
+package com.itwizard.swaedu.modules.mastercode.service;
+
+import com.itwizard.swaedu.exception.ResourceNotFoundException;
+import com.itwizard.swaedu.modules.mastercode.dto.response.MasterCodeTreeDto;
+import com.itwizard.swaedu.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The master code tree is loaded with one recursive query, cut at the requested depth, and
+ * its version changes on writes (runs against the configured database; rolls back)
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.itwizard.swaedu.support.SqlStatementCounter"
+})
+@Transactional
+class MasterCodeTreeTests {
+
+    private static final String PREFIX = "mct_seed_";
+
+    @Autowired
+    private MasterCodeService masterCodeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long rootId;
+    private Long firstChildId;
+
+    @BeforeEach
+    void seedTree() {
+        // root -> 2 children -> 2 grandchildren each, plus a deleted child
+        rootId = insert("root", null, false);
+        firstChildId = insert("a", rootId, false);
+        Long secondChildId = insert("b", rootId, false);
+        insert("a1", firstChildId, false);
+        insert("a2", firstChildId, false);
+        insert("b1", secondChildId, false);
+        insert("b2", secondChildId, false);
+        insert("deleted", rootId, true);
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void wholeSubtreeIsLoadedWithOneQuery() {
+        List<MasterCodeTreeDto> tree = masterCodeService.getMasterCodeTree(rootId, null);
+
+        assertThat(SqlStatementCounter.total()).isEqualTo(1L);
+        assertThat(tree).hasSize(1);
+        MasterCodeTreeDto root = tree.get(0);
+        assertThat(codes(root.getChildren())).containsExactly(PREFIX + "a", PREFIX + "b");
+        assertThat(codes(root.getChildren().get(0).getChildren())).containsExactly(PREFIX + "a1", PREFIX + "a2");
+        assertThat(codes(root.getChildren().get(1).getChildren())).containsExactly(PREFIX + "b1", PREFIX + "b2");
+        assertThat(root.getChildren().get(0).getParentId()).isEqualTo(rootId);
+    }
+
+    @Test
+    void depthLimitsTheLevelsBelowTheRoot() {
+        MasterCodeTreeDto oneLevel = masterCodeService.getMasterCodeTree(rootId, 1).get(0);
+        assertThat(codes(oneLevel.getChildren())).containsExactly(PREFIX + "a", PREFIX + "b");
+        assertThat(oneLevel.getChildren()).allSatisfy(child -> assertThat(child.getChildren()).isEmpty());
+
+        assertThat(masterCodeService.getMasterCodeTree(rootId, 0).get(0).getChildren()).isEmpty();
+    }
+
+    @Test
+    void allTreesIncludeTheSeededRoot() {
+        List<MasterCodeTreeDto> trees = masterCodeService.getMasterCodeTree(null, null);
+
+        assertThat(SqlStatementCounter.total()).isEqualTo(1L);
+        assertThat(trees).filteredOn(tree -> tree.getId().equals(rootId))
+                .singleElement()
+                .satisfies(root -> assertThat(root.getChildren()).hasSize(2));
+        assertThat(trees).allSatisfy(tree -> assertThat(tree.getParentId()).isNull());
+    }
+
+    @Test
+    void onlyActiveRootsAreFound() {
+        assertThatThrownBy(() -> masterCodeService.getMasterCodeTree(firstChildId, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> masterCodeService.getMasterCodeTree(-1L, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void versionChangesWhenACodeIsWritten() {
+        String before = masterCodeService.getMasterCodeTreeVersion();
+        assertThat(masterCodeService.getMasterCodeTreeVersion()).isEqualTo(before);
+
+        jdbcTemplate.update("UPDATE master_code SET code_name = code_name || '!' WHERE id = ?", firstChildId);
+        String afterUpdate = masterCodeService.getMasterCodeTreeVersion();
+        assertThat(afterUpdate).isNotEqualTo(before);
+
+        insert("c", rootId, false);
+        assertThat(masterCodeService.getMasterCodeTreeVersion()).isNotEqualTo(afterUpdate);
+    }
+
+    @Test
+    void versionChangesWhenAWriteIsStampedInThePast() {
+        String before = masterCodeService.getMasterCodeTreeVersion();
+
+        // A writer with a slow clock: neither the row count nor MAX(updated_at) moves
+        jdbcTemplate.update("UPDATE master_code SET code_name = code_name || '!', updated_at = NOW() - INTERVAL '1 day' "
+                + "WHERE id = ?", firstChildId);
+
+        assertThat(masterCodeService.getMasterCodeTreeVersion()).isNotEqualTo(before);
+    }
+
+    private Long insert(String code, Long parentId, boolean deleted) {
+        return jdbcTemplate.queryForObject("INSERT INTO master_code (code, code_name, parent_id, created_at, updated_at, is_delete) "
+                + "VALUES (?, ?, ?, NOW(), NOW(), ?) RETURNING id", Long.class, PREFIX + code, PREFIX + code, parentId, deleted);
+    }
+
+    private static List<String> codes(List<MasterCodeTreeDto> nodes) {
+        return nodes.stream().map(MasterCodeTreeDto::getCode).toList();
+    }
+}
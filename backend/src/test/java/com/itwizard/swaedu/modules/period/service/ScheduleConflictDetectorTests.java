@@ -0,0 +1,127 @@
+package com.itwizard.swaedu.modules.period.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Interval tree checks and the single-pass month scan against a pairwise comparison
+ */
+class ScheduleConflictDetectorTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+    private static final int MAX_TRAVEL = 120;
+
+    // 30 minutes between different institutions, none within one
+    private static final ScheduleConflictDetector.TravelTime TRAVEL =
+            (from, to) -> from.institutionId().equals(to.institutionId()) ? 0 : 30;
+
+    @Test
+    void detectsOverlapAndTooShortTravel() {
+        ScheduleConflictDetector detector = new ScheduleConflictDetector(TRAVEL, MAX_TRAVEL);
+        InstructorIntervalTree assigned = InstructorIntervalTree.build(List.of(
+                slot(1L, 1L, DAY, 9 * 60, 10 * 60),
+                slot(2L, 2L, DAY, 13 * 60, 14 * 60)));
+
+        // Overlaps period 1
+        assertThat(detector.check(assigned, slot(10L, 1L, DAY, 9 * 60 + 30, 11 * 60)))
+                .extracting(ScheduleConflictDetector.Conflict::type)
+                .containsExactly(ScheduleConflictDetector.ConflictType.OVERLAP);
+
+        // 20 minutes after period 1 at another institution: 30 minutes needed
+        List<ScheduleConflictDetector.Conflict> travel = detector.check(assigned, slot(11L, 3L, DAY, 10 * 60 + 20, 11 * 60));
+        assertThat(travel).hasSize(1);
+        assertThat(travel.get(0).type()).isEqualTo(ScheduleConflictDetector.ConflictType.TRAVEL_TIME);
+        assertThat(travel.get(0).gapMinutes()).isEqualTo(20);
+        assertThat(travel.get(0).requiredMinutes()).isEqualTo(30);
+
+        // Same institution right after, and far enough from the other one
+        assertThat(detector.check(assigned, slot(12L, 1L, DAY, 10 * 60, 11 * 60))).isEmpty();
+        assertThat(detector.check(assigned, slot(13L, 3L, DAY, 11 * 60, 12 * 60 + 30))).isEmpty();
+
+        // Re-checking an assigned period does not report itself
+        assertThat(detector.check(assigned, slot(1L, 1L, DAY, 9 * 60, 10 * 60))).isEmpty();
+    }
+
+    @Test
+    void checkAndScanMatchPairwiseComparison() {
+        Random random = new Random(5);
+        ScheduleConflictDetector detector = new ScheduleConflictDetector(TRAVEL, MAX_TRAVEL);
+
+        for (int round = 0; round < 50; round++) {
+            List<InstructorIntervalTree.Slot> slots = randomMonth(random, 60);
+            InstructorIntervalTree tree = InstructorIntervalTree.build(slots);
+            Set<String> expected = pairwise(slots);
+
+            // Month scan finds every conflicting pair once
+            List<InstructorIntervalTree.Slot> sorted = new ArrayList<>(slots);
+            sorted.sort(ScheduleConflictDetector.byStart());
+            Set<String> scanned = new HashSet<>();
+            for (ScheduleConflictDetector.Conflict conflict : detector.scan(sorted)) {
+                scanned.add(pairKey(conflict.first(), conflict.second()));
+            }
+            assertThat(scanned).isEqualTo(expected);
+
+            // Checking each period against the tree finds its side of the same pairs
+            Set<String> checked = new HashSet<>();
+            for (InstructorIntervalTree.Slot slot : slots) {
+                for (ScheduleConflictDetector.Conflict conflict : detector.check(tree, slot)) {
+                    checked.add(pairKey(conflict.first(), conflict.second()));
+                }
+            }
+            assertThat(checked).isEqualTo(expected);
+        }
+    }
+
+    // ========== Helpers ==========
+
+    private static InstructorIntervalTree.Slot slot(Long periodId, Long institutionId, LocalDate date, int startMinute, int endMinute) {
+        return new InstructorIntervalTree.Slot(periodId, null, institutionId, "기관 " + institutionId, null, null, date,
+                InstructorIntervalTree.epochMinute(date, startMinute), InstructorIntervalTree.epochMinute(date, endMinute));
+    }
+
+    private static long nextPeriodId = 1000;
+
+    private static List<InstructorIntervalTree.Slot> randomMonth(Random random, int count) {
+        List<InstructorIntervalTree.Slot> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate date = DAY.withDayOfMonth(1 + random.nextInt(28));
+            int start = 8 * 60 + random.nextInt(10) * 30;
+            int length = 40 + random.nextInt(3) * 40;
+            slots.add(slot(nextPeriodId++, 1L + random.nextInt(4), date, start, start + length));
+        }
+        return slots;
+    }
+
+    /**
+     * Every pair compared directly: overlapping, or a gap shorter than the travel time
+     */
+    private static Set<String> pairwise(List<InstructorIntervalTree.Slot> slots) {
+        Set<String> pairs = new HashSet<>();
+        for (InstructorIntervalTree.Slot a : slots) {
+            for (InstructorIntervalTree.Slot b : slots) {
+                if (a == b || b.start() < a.start() || (b.start() == a.start() && b.periodId() < a.periodId())) {
+                    continue;
+                }
+                long gap = b.start() - a.end();
+                if (gap < 0 || gap < Math.min(TRAVEL.minutes(a, b), MAX_TRAVEL)) {
+                    pairs.add(pairKey(a, b));
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private static String pairKey(InstructorIntervalTree.Slot a, InstructorIntervalTree.Slot b) {
+        long low = Math.min(a.periodId(), b.periodId());
+        long high = Math.max(a.periodId(), b.periodId());
+        return low + "-" + high;
+    }
+}
@@ -0,0 +1,113 @@
+package com.itwizard.swaedu.modules.period.service;
+
+import com.itwizard.swaedu.modules.period.dto.response.ScheduleConflictDto;
+import com.itwizard.swaedu.modules.period.entity.ScheduleChangedEvent;
+import com.itwizard.swaedu.modules.travelallowance.TravelScheduleFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conflict checks run in read-only transactions and compute travel legs missing from the
+ * distance cache (real cached haversine provider). Not @Transactional, so the service opens
+ * its own read-only transaction; the seeded rows and saved legs are deleted afterwards.
+ */
+@SpringBootTest(properties = "travel.distance.provider=haversine")
+class ScheduleConflictReadOnlyTests {
+
+    private static final LocalDate DAY = LocalDate.of(2032, 2, 10);
+    // Points nothing else uses; each test has its own B, since computed legs are also kept in memory
+    private static final double A_LAT = 33.4000000;
+    private static final double A_LNG = 126.5000000;
+    private static final double CHECK_B_LAT = 33.5000000;
+    private static final double VALIDATE_B_LAT = 33.5100000;
+    private static final double B_LNG = 126.6000000;
+
+    @Autowired
+    private ScheduleConflictService conflictService;
+
+    @Autowired
+    private ScheduleConflictServiceImpl conflictServiceImpl;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TravelScheduleFixture fixture;
+    private Map<String, Object> originalHome;
+
+    @BeforeEach
+    void saveInstructorHome() {
+        originalHome = jdbcTemplate.queryForMap("SELECT i.user_id, i.home_lat, i.home_lng, i.home_address "
+                + "FROM instructors i JOIN users u ON u.id = i.user_id WHERE u.username = 'instructor'");
+        fixture = new TravelScheduleFixture(jdbcTemplate);
+    }
+
+    @AfterEach
+    void deleteSeededRows() {
+        Long programId = fixture.getProgramId();
+        List<Long> institutionIds = jdbcTemplate.queryForList(
+                "SELECT institution_id FROM trainings WHERE program_id = ?", Long.class, programId);
+        jdbcTemplate.update("DELETE FROM instructor_period_assignment WHERE period_id IN "
+                + "(SELECT p.id FROM periods p JOIN trainings t ON t.id = p.training_id WHERE t.program_id = ?)", programId);
+        jdbcTemplate.update("DELETE FROM periods WHERE training_id IN (SELECT id FROM trainings WHERE program_id = ?)", programId);
+        jdbcTemplate.update("DELETE FROM trainings WHERE program_id = ?", programId);
+        for (Long institutionId : institutionIds) {
+            jdbcTemplate.update("DELETE FROM institutions WHERE id = ?", institutionId);
+        }
+        jdbcTemplate.update("DELETE FROM programs WHERE id = ?", programId);
+        jdbcTemplate.update("DELETE FROM travel_distance_cache WHERE from_lat = ? OR to_lat = ?",
+                BigDecimal.valueOf(A_LAT), BigDecimal.valueOf(A_LAT));
+        jdbcTemplate.update("UPDATE instructors SET home_lat = ?, home_lng = ?, home_address = ? WHERE user_id = ?",
+                originalHome.get("home_lat"), originalHome.get("home_lng"), originalHome.get("home_address"),
+                originalHome.get("user_id"));
+        // Drop the cached interval tree of the deleted periods
+        conflictServiceImpl.onScheduleChanged(new ScheduleChangedEvent(fixture.getInstructorId()));
+    }
+
+    @Test
+    void checkAssignmentComputesMissingLegs() {
+        Long periodB = seedBackToBackPeriods(CHECK_B_LAT);
+
+        List<ScheduleConflictDto> conflicts = conflictService.checkAssignment(fixture.getInstructorId(), periodB);
+
+        assertThat(conflicts).extracting(ScheduleConflictDto::getType).containsExactly("TRAVEL_TIME");
+        assertThat(savedLegs(CHECK_B_LAT)).isPositive();
+    }
+
+    @Test
+    void validateMonthComputesMissingLegs() {
+        seedBackToBackPeriods(VALIDATE_B_LAT);
+
+        List<ScheduleConflictDto> conflicts = conflictService.validateMonth(YearMonth.from(DAY), fixture.getInstructorId());
+
+        assertThat(conflicts).extracting(ScheduleConflictDto::getType).containsExactly("TRAVEL_TIME");
+        assertThat(savedLegs(VALIDATE_B_LAT)).isPositive();
+    }
+
+    /**
+     * 9:00-11:00 at A, then 11:00-13:00 at B about 14 km away
+     *
+     * @return Period ID at B
+     */
+    private Long seedBackToBackPeriods(double bLat) {
+        fixture.assignPeriod(DAY, "Conflict A", A_LAT, A_LNG, 9);
+        return fixture.assignPeriod(DAY, "Conflict B", bLat, B_LNG, 11);
+    }
+
+    private Integer savedLegs(double bLat) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM travel_distance_cache WHERE provider = 'haversine' "
+                + "AND ((from_lat = ? AND to_lat = ?) OR (from_lat = ? AND to_lat = ?))", Integer.class,
+                BigDecimal.valueOf(A_LAT), BigDecimal.valueOf(bLat), BigDecimal.valueOf(bLat), BigDecimal.valueOf(A_LAT));
+    }
+}
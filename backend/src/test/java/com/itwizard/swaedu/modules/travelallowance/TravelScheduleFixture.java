@@ -0,0 +1,68 @@
+package com.itwizard.swaedu.modules.travelallowance;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Seeds a travel schedule for the seeded 'instructor' user with plain SQL
+ * (institution → training → period → assignment). Meant for @Transactional tests that roll back.
+ */
+public class TravelScheduleFixture {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Long instructorId;
+    private final Long programId;
+
+    public TravelScheduleFixture(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.instructorId = jdbcTemplate.queryForObject(
+                "SELECT i.user_id FROM instructors i JOIN users u ON u.id = i.user_id WHERE u.username = 'instructor'",
+                Long.class);
+        jdbcTemplate.update("UPDATE instructors SET home_lat = 37.5665000, home_lng = 126.9780000, "
+                + "home_address = 'Seoul City Hall' WHERE user_id = ?", instructorId);
+
+        Long masterCodeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM master_code", Long.class);
+        this.programId = jdbcTemplate.queryForObject(
+                "INSERT INTO programs (session_part_id, name, status_id) VALUES (?, 'Travel fixture', ?) RETURNING id",
+                Long.class, masterCodeId, masterCodeId);
+    }
+
+    public Long getInstructorId() {
+        return instructorId;
+    }
+
+    public Long getProgramId() {
+        return programId;
+    }
+
+    /**
+     * Assign the instructor a two-hour period at a new institution
+     *
+     * @return Period ID
+     */
+    public Long assignPeriod(LocalDate date, String institutionName, double lat, double lng, int startHour) {
+        Long institutionId = jdbcTemplate.queryForObject(
+                "INSERT INTO institutions (name, address, institution_lat, institution_lng) VALUES (?, ?, ?, ?) RETURNING id",
+                Long.class, institutionName, institutionName + " address", lat, lng);
+        Long trainingId = jdbcTemplate.queryForObject(
+                "INSERT INTO trainings (name, program_id, institution_id, start_date, end_date) "
+                        + "VALUES (?, ?, ?, ?, ?) RETURNING id",
+                Long.class, institutionName + " class", programId, institutionId, date, date);
+        Long periodId = jdbcTemplate.queryForObject(
+                "INSERT INTO periods (date, start_time, end_time, training_id) VALUES (?, ?, ?, ?) RETURNING id",
+                Long.class, date, LocalTime.of(startHour, 0), LocalTime.of(startHour + 2, 0), trainingId);
+        jdbcTemplate.update("INSERT INTO instructor_period_assignment (instructor_id, period_id) VALUES (?, ?)",
+                instructorId, periodId);
+        return periodId;
+    }
+
+    /**
+     * Remove the instructor from a period
+     */
+    public void unassign(Long periodId) {
+        jdbcTemplate.update("DELETE FROM instructor_period_assignment WHERE instructor_id = ? AND period_id = ?",
+                instructorId, periodId);
+    }
+}
@@ -0,0 +1,81 @@
+package com.itwizard.swaedu.modules.travelallowance.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KakaoClientInterceptorTests {
+
+    private KakaoStaticMapStubServer stub;
+    private KakaoHttpClientConfig config;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new KakaoStaticMapStubServer();
+        config = new KakaoHttpClientConfig();
+        config.setMaxConcurrentPerHost(4);
+        config.setBulkheadWaitMs(10000);
+        config.setCircuitFailureThreshold(3);
+        config.setCircuitOpenMs(60000);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void bulkheadBoundsConcurrentRequestsPerHost() throws Exception {
+        stub.setDelayMillis(50);
+        RestTemplate restTemplate = new RestTemplateConfig().kakaoMapsRestTemplate(config, meterRegistry);
+
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            results.add(callers.submit(() -> restTemplate.getForObject(stub.url(), byte[].class)));
+        }
+        for (Future<byte[]> result : results) {
+            assertThat(result.get()).isNotEmpty();
+        }
+        callers.shutdown();
+
+        assertThat(stub.getRequests()).isEqualTo(40);
+        assertThat(stub.getPeakInFlight()).isLessThanOrEqualTo(4);
+        assertThat(meterRegistry.get("kakao.maps.client.requests")
+                .tag("outcome", "SUCCESS").timer().count()).isEqualTo(40);
+        assertThat(meterRegistry.get("kakao.maps.client.bulkhead.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveServerErrors() {
+        stub.setStatus(503);
+        RestTemplate restTemplate = new RestTemplateConfig().kakaoMapsRestTemplate(config, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> restTemplate.getForObject(stub.url(), byte[].class))
+                    .isInstanceOf(RestClientException.class);
+        }
+        assertThatThrownBy(() -> restTemplate.getForObject(stub.url(), byte[].class))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasMessageContaining("Circuit open");
+
+        assertThat(stub.getRequests()).isEqualTo(3);
+        assertThat(meterRegistry.get("kakao.maps.client.rejected")
+                .tag("reason", "circuit_open").counter().count()).isEqualTo(1);
+    }
+}
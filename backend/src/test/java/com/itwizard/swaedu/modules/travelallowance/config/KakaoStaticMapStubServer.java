@@ -0,0 +1,99 @@
+package com.itwizard.swaedu.modules.travelallowance.config;
+
+import com.sun.net.httpserver.HttpServer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Kakao static map endpoint
+ *
+ * Serves a blank PNG after a configurable delay, or a fixed error status, and records
+ * request count and peak concurrency so client throughput can be tested offline.
+ */
+public class KakaoStaticMapStubServer implements AutoCloseable {
+
+    private static final byte[] PNG = blankPng();
+
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private volatile long delayMillis;
+    private volatile int status = 200;
+
+    public KakaoStaticMapStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/v2/maps/sdk/staticmap", exchange -> {
+            requests.incrementAndGet();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+                byte[] body = status == 200 ? PNG : new byte[0];
+                exchange.getResponseHeaders().set("Content-Type", "image/png");
+                exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    String url() {
+        return baseUrl() + "/v2/maps/sdk/staticmap?center=127,37";
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    void setStatus(int status) {
+        this.status = status;
+    }
+
+    public int getRequests() {
+        return requests.get();
+    }
+
+    int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /**
+     * A decodable map-sized image, so the snapshot store can build its variants
+     */
+    private static byte[] blankPng() {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB), "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
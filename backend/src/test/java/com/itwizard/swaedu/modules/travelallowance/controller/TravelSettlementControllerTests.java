@@ -0,0 +1,43 @@
+package com.itwizard.swaedu.modules.travelallowance.controller;
+
+import com.itwizard.swaedu.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Request parameters are validated before the export starts streaming
+ * (no database needed; the service is never reached)
+ */
+class TravelSettlementControllerTests {
+
+    private final TravelSettlementController controller = new TravelSettlementController(null);
+
+    @Test
+    void rejectsMalformedMonth() {
+        assertThatThrownBy(() -> controller.exportMonthlySettlement("2026-13", "csv"))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> controller.exportMonthlySettlement("../../etc/passwd", "csv"))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> controller.exportMonthlySnapshotLinks("2026-1"))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        assertThatThrownBy(() -> controller.exportMonthlySettlement("2026-03", "pdf"))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void namesTheAttachmentAfterTheValidatedMonth() {
+        ResponseEntity<StreamingResponseBody> response = controller.exportMonthlySettlement("2026-03", "CSV");
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+                .contains("travel_settlement_2026-03.csv");
+    }
+}
@@ -0,0 +1,114 @@
+package com.itwizard.swaedu.modules.travelallowance.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Correctness of the contraction hierarchy against plain Dijkstra on a synthetic road grid
+ */
+class ContractionHierarchyTests {
+
+    private static final int SIZE = 60;  // 60 x 60 grid, ~110 m spacing
+    private static final int PAIRS = 300;
+
+    private static RoadGraph graph;
+    private static ContractionHierarchy hierarchy;
+
+    @BeforeAll
+    static void buildGraph() {
+        Random random = new Random(42);
+        RoadGraph.Builder builder = RoadGraph.builder();
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                builder.addNode(id(r, c), 37.0 + r * 0.001, 127.0 + c * 0.00125);
+            }
+        }
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                if (c + 1 < SIZE) {
+                    builder.addEdge(id(r, c), id(r, c + 1), 110 + random.nextInt(80), random.nextInt(10) == 0);
+                }
+                if (r + 1 < SIZE) {
+                    builder.addEdge(id(r, c), id(r + 1, c), 110 + random.nextInt(80), random.nextInt(10) == 0);
+                }
+            }
+        }
+        graph = builder.build();
+        hierarchy = ContractionHierarchy.build(graph);
+    }
+
+    @Test
+    void pointQueriesMatchDijkstra() {
+        Random random = new Random(7);
+        for (int i = 0; i < PAIRS; i++) {
+            int source = random.nextInt(graph.getNodeCount());
+            int target = random.nextInt(graph.getNodeCount());
+            assertThat(hierarchy.distance(source, target))
+                    .as("distance %d -> %d", source, target)
+                    .isEqualTo(dijkstra(source)[target]);
+        }
+    }
+
+    @Test
+    void matrixMatchesDijkstra() {
+        Random random = new Random(11);
+        int[] sources = random.ints(8, 0, graph.getNodeCount()).toArray();
+        int[] targets = random.ints(8, 0, graph.getNodeCount()).toArray();
+
+        long[][] matrix = hierarchy.matrix(sources, targets);
+        for (int i = 0; i < sources.length; i++) {
+            long[] expected = dijkstra(sources[i]);
+            for (int j = 0; j < targets.length; j++) {
+                assertThat(matrix[i][j]).isEqualTo(expected[targets[j]]);
+            }
+        }
+    }
+
+    @Test
+    void locatorSnapsToNearestNode() {
+        NodeLocator locator = NodeLocator.build(graph);
+        int node = locator.nearest(37.0101, 127.0126, 500);
+        assertThat(graph.lat(node)).isEqualTo(37.0 + 10 * 0.001);
+        assertThat(graph.lng(node)).isEqualTo(127.0 + 10 * 0.00125);
+        assertThat(locator.nearest(36.0, 126.0, 500)).isEqualTo(NodeLocator.NOT_FOUND);
+    }
+
+    private static long id(int r, int c) {
+        return (long) r * SIZE + c;
+    }
+
+    private static long[] dijkstra(int source) {
+        long[] dist = new long[graph.getNodeCount()];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        dist[source] = 0;
+        PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        queue.add(new long[]{0, source});
+        while (!queue.isEmpty()) {
+            long[] entry = queue.poll();
+            int v = (int) entry[1];
+            if (entry[0] > dist[v]) {
+                continue;
+            }
+            for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                long d = entry[0] + graph.edgeWeight(e);
+                int x = graph.edgeTarget(e);
+                if (d < dist[x]) {
+                    dist[x] = d;
+                    queue.add(new long[]{d, x});
+                }
+            }
+        }
+        for (int i = 0; i < dist.length; i++) {
+            if (dist[i] == Long.MAX_VALUE) {
+                dist[i] = ContractionHierarchy.UNREACHABLE;
+            }
+        }
+        return dist;
+    }
+}
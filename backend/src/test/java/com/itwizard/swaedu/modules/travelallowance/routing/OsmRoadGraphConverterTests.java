@@ -0,0 +1,59 @@
+package com.itwizard.swaedu.modules.travelallowance.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OSM XML to road graph text: drivable ways only, one-way handling, clipped ways
+ */
+class OsmRoadGraphConverterTests {
+
+    private static final String OSM = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <osm version="0.6">
+             <node id="1" lat="37.0" lon="127.0"/>
+             <node id="2" lat="37.001" lon="127.0"/>
+             <node id="3" lat="37.002" lon="127.0"/>
+             <node id="4" lat="37.5" lon="127.5"/>
+             <way id="10"><nd ref="1"/><nd ref="2"/><tag k="highway" v="residential"/></way>
+             <way id="11"><nd ref="3"/><nd ref="2"/><tag k="highway" v="primary"/><tag k="oneway" v="-1"/></way>
+             <way id="12"><nd ref="4"/><nd ref="1"/><tag k="highway" v="footway"/></way>
+             <way id="13"><nd ref="4"/><nd ref="3"/><tag k="highway" v="service"/><tag k="access" v="private"/></way>
+             <way id="14"><nd ref="2"/><nd ref="99"/><tag k="highway" v="service"/></way>
+            </osm>
+            """;
+
+    @Test
+    void keepsDrivableWaysAndTheirNodes() throws IOException {
+        StringWriter out = new StringWriter();
+        OsmRoadGraphConverter.Result result = OsmRoadGraphConverter.convert(
+                () -> new ByteArrayInputStream(OSM.getBytes(StandardCharsets.UTF_8)), out);
+
+        // Node 4 is only on a footway and a private way; node 99 is outside the extract
+        assertThat(result.nodes()).isEqualTo(3);
+        assertThat(result.edges()).isEqualTo(2);
+        assertThat(out.toString()).contains("E,1,2,111.2,0", "E,2,3,111.2,1");
+    }
+
+    @Test
+    void outputLoadsAsARoadGraph() throws IOException {
+        StringWriter out = new StringWriter();
+        OsmRoadGraphConverter.convert(() -> new ByteArrayInputStream(OSM.getBytes(StandardCharsets.UTF_8)), out);
+
+        RoadGraph graph = RoadGraphLoader.read(new BufferedReader(new StringReader(out.toString())));
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+        // Nodes are indexed in file order: 1, 2, 3. Way 11 runs 2 -> 3 only
+        assertThat(graph.getNodeCount()).isEqualTo(3);
+        assertThat(hierarchy.distance(0, 2)).isEqualTo(222);
+        assertThat(hierarchy.distance(2, 0)).isEqualTo(ContractionHierarchy.UNREACHABLE);
+    }
+}
@@ -0,0 +1,71 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Legs computed inside a caller's transaction are saved in their own one: read-only callers
+ * work, and a rolled back caller keeps the saved legs (runs against the configured database;
+ * commits, so the legs are deleted afterwards)
+ */
+@SpringBootTest(properties = "travel.distance.provider=haversine")
+class DistanceCacheWriteTests {
+
+    // Points nothing else uses, so every leg misses the cache
+    private static final BigDecimal FROM_LAT = new BigDecimal("33.1234567");
+    private static final BigDecimal FROM_LNG = new BigDecimal("126.1234567");
+    private static final BigDecimal TO_LAT = new BigDecimal("33.2234567");
+    private static final BigDecimal TO_LNG = new BigDecimal("126.2234567");
+
+    @Autowired
+    private DistanceCalculationService distanceService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void deleteLegs() {
+        jdbcTemplate.update("DELETE FROM travel_distance_cache WHERE from_lat = ? OR to_lat = ?", FROM_LAT, FROM_LAT);
+    }
+
+    @Test
+    void readOnlyCallerSavesComputedLegs() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        BigDecimal distance = readOnly.execute(status ->
+                distanceService.calculateDistance(FROM_LAT, FROM_LNG, TO_LAT, TO_LNG));
+
+        assertThat(distance).isPositive();
+        assertThat(savedLegs(FROM_LAT, TO_LAT)).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackCallerKeepsSavedLegs() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            distanceService.calculateDistance(TO_LAT, TO_LNG, FROM_LAT, FROM_LNG);
+            status.setRollbackOnly();
+        });
+
+        assertThat(savedLegs(TO_LAT, FROM_LAT)).isEqualTo(1);
+    }
+
+    private Integer savedLegs(BigDecimal fromLat, BigDecimal toLat) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM travel_distance_cache "
+                + "WHERE provider = 'haversine' AND from_lat = ? AND to_lat = ?", Integer.class, fromLat, toLat);
+    }
+}
@@ -0,0 +1,75 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.config.KakaoMapsConfig;
+import com.itwizard.swaedu.modules.travelallowance.config.KakaoStaticMapStubServer;
+import com.itwizard.swaedu.modules.travelallowance.config.MapSnapshotPipelineConfig;
+import com.itwizard.swaedu.support.Benchmark;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Local Java2D rendering against the Kakao static map path, per stored snapshot, on the random
+ * routes of LocalMapSnapshotServiceTests. Kakao is served by the local stub without delay, so its
+ * timing is the client side only (HTTP round trip, decoding, thumbnail and storage); add the
+ * measured API latency for a real comparison.
+ *
+ * Opt-in, no database or network needed:
+ * <pre>
+ * ./mvnw test -Dtest=LocalMapSnapshotBenchmarkTests -Dbenchmark=true
+ * </pre>
+ * Timings are published as report entries in target/surefire-reports.
+ */
+@EnabledIfSystemProperty(named = Benchmark.ENABLED_PROPERTY, matches = "true")
+class LocalMapSnapshotBenchmarkTests {
+
+    private static final int WARMUPS = 2;
+    private static final int ROUNDS = 5;
+
+    private final List<List<MapSnapshotService.Waypoint>> routes = LocalMapSnapshotServiceTests.randomRoutes();
+
+    @Test
+    void localAgainstKakao(TestReporter reporter) throws Exception {
+        // Each run gets an empty store, so every route is rendered rather than served from cache
+        double localNanos = Benchmark.nanosPerRun(WARMUPS, ROUNDS, () -> renderAll(
+                () -> LocalMapSnapshotServiceTests.localService(new LocalMapSnapshotServiceTests.InMemoryStorage(), "")));
+
+        try (KakaoStaticMapStubServer stub = new KakaoStaticMapStubServer()) {
+            KakaoMapsConfig kakaoConfig = new KakaoMapsConfig();
+            kakaoConfig.setApiKey("test");
+            kakaoConfig.setBaseUrl(stub.baseUrl());
+            RestTemplate restTemplate = new RestTemplate();
+
+            double kakaoNanos = Benchmark.nanosPerRun(WARMUPS, ROUNDS, () -> renderAll(
+                    () -> new MapSnapshotServiceImpl(kakaoConfig, restTemplate, new MapSnapshotStore(
+                            new LocalMapSnapshotServiceTests.InMemoryStorage(),
+                            new LocalMapSnapshotServiceTests.InMemoryCache(),
+                            new MapSnapshotPipelineConfig()))));
+
+            assertThat(stub.getRequests()).isEqualTo((WARMUPS + ROUNDS) * routes.size());
+            Benchmark.report(reporter, "local (Java2D) snapshot", localNanos / routes.size());
+            Benchmark.report(reporter, "kakao (stub, no latency) snapshot", kakaoNanos / routes.size());
+        }
+    }
+
+    /**
+     * Store a snapshot of every route with a fresh renderer
+     *
+     * @return Last snapshot
+     */
+    private MapSnapshotService.RouteSnapshot renderAll(Supplier<MapSnapshotService> renderer) {
+        MapSnapshotService service = renderer.get();
+        MapSnapshotService.RouteSnapshot last = null;
+        for (List<MapSnapshotService.Waypoint> route : routes) {
+            last = service.generateRouteSnapshot(
+                    route.get(0).lat(), route.get(0).lng(), null, route.subList(1, route.size()), true);
+        }
+        return last;
+    }
+}
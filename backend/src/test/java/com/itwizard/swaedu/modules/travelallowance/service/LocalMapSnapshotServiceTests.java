@@ -0,0 +1,226 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itwizard.swaedu.modules.storage.service.StorageService;
+import com.itwizard.swaedu.modules.travelallowance.config.KakaoMapsConfig;
+import com.itwizard.swaedu.modules.travelallowance.config.KakaoStaticMapStubServer;
+import com.itwizard.swaedu.modules.travelallowance.config.MapSnapshotPipelineConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Local Java2D renderer output and stored variants, and both renderers (Kakao talking to a local stub)
+ * storing a snapshot for every route of a random batch
+ */
+class LocalMapSnapshotServiceTests {
+
+    private static final int ROUTES = 200;
+
+    // Two adjacent squares around Suwon
+    private static final String BOUNDARIES = """
+            {"type": "FeatureCollection", "features": [
+              {"type": "Feature", "properties": {"code": "A"}, "geometry": {"type": "Polygon",
+                "coordinates": [[[126.90, 37.20], [127.05, 37.20], [127.05, 37.35], [126.90, 37.35], [126.90, 37.20]]]}},
+              {"type": "Feature", "properties": {"code": "B"}, "geometry": {"type": "MultiPolygon",
+                "coordinates": [[[[127.05, 37.20], [127.20, 37.20], [127.20, 37.35], [127.05, 37.35], [127.05, 37.20]]]]}}
+            ]}
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rendersRouteAndReusesStoredImage() throws Exception {
+        InMemoryStorage storage = new InMemoryStorage();
+        LocalMapSnapshotService service = localService(storage, "");
+
+        MapSnapshotService.RouteSnapshot snapshot = service.generateRouteSnapshot(
+                new BigDecimal("37.2636"), new BigDecimal("127.0286"), "수원시",
+                List.of(new MapSnapshotService.Waypoint(new BigDecimal("37.3219"), new BigDecimal("127.0946"), "용인시", "기관 A")),
+                true);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(storage.files.get(snapshot.imageUrl())));
+        assertThat(image.getWidth()).isEqualTo(800);
+        assertThat(image.getHeight()).isEqualTo(600);
+        // Route passes through the center of a two-point view
+        assertThat(isRouteBlue(image.getRGB(400, 300))).isTrue();
+
+        byte[] thumbnailBytes = storage.files.get(snapshot.thumbnailUrl());
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(thumbnailBytes));
+        assertThat(thumbnail.getWidth()).isEqualTo(240);
+        assertThat(thumbnail.getHeight()).isEqualTo(180);
+        assertThat(thumbnailBytes.length).isLessThan(storage.files.get(snapshot.imageUrl()).length / 2);
+
+        MapSnapshotService.RouteSnapshot again = service.generateRouteSnapshot(
+                new BigDecimal("37.2636000"), new BigDecimal("127.0286000"), "수원시",
+                List.of(new MapSnapshotService.Waypoint(new BigDecimal("37.3219"), new BigDecimal("127.0946"), "용인시", "기관 A")),
+                true);
+        assertThat(again).isEqualTo(snapshot);
+        assertThat(storage.uploads).isEqualTo(2);
+    }
+
+    @Test
+    void drawsBoundariesUnderRoute() throws Exception {
+        Path geojson = tempDir.resolve("boundaries.geojson");
+        Files.writeString(geojson, BOUNDARIES, StandardCharsets.UTF_8);
+
+        InMemoryStorage plainStorage = new InMemoryStorage();
+        InMemoryStorage boundaryStorage = new InMemoryStorage();
+        LocalMapSnapshotService plain = localService(plainStorage, "");
+        LocalMapSnapshotService withBoundaries = localService(boundaryStorage, geojson.toUri().toString());
+
+        List<MapSnapshotService.Waypoint> waypoints = List.of(
+                new MapSnapshotService.Waypoint(new BigDecimal("37.30"), new BigDecimal("127.10"), null, "기관 B"));
+        String plainUrl = plain.generateRouteSnapshot(
+                new BigDecimal("37.25"), new BigDecimal("127.00"), null, waypoints, true).imageUrl();
+        String boundaryUrl = withBoundaries.generateRouteSnapshot(
+                new BigDecimal("37.25"), new BigDecimal("127.00"), null, waypoints, true).imageUrl();
+
+        // Different layers never share a cached image
+        assertThat(boundaryUrl).isNotEqualTo(plainUrl);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(boundaryStorage.files.get(boundaryUrl)));
+        long boundaryPixels = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 398; x <= 402; x++) {
+                if (isBoundaryGray(image.getRGB(x, y))) {
+                    boundaryPixels++;
+                }
+            }
+        }
+        // The shared edge at 127.05 crosses the whole view vertically
+        assertThat(boundaryPixels).isGreaterThan(image.getHeight() / 2);
+    }
+
+    @Test
+    void localAndKakaoRenderersStoreEveryRoute() throws Exception {
+        List<List<MapSnapshotService.Waypoint>> routes = randomRoutes();
+
+        LocalMapSnapshotService local = localService(new InMemoryStorage(), "");
+        for (List<MapSnapshotService.Waypoint> route : routes) {
+            MapSnapshotService.RouteSnapshot snapshot = local.generateRouteSnapshot(
+                    route.get(0).lat(), route.get(0).lng(), null, route.subList(1, route.size()), true);
+            assertThat(snapshot.imageUrl()).isNotBlank();
+        }
+
+        try (KakaoStaticMapStubServer stub = new KakaoStaticMapStubServer()) {
+            KakaoMapsConfig kakaoConfig = new KakaoMapsConfig();
+            kakaoConfig.setApiKey("test");
+            kakaoConfig.setBaseUrl(stub.baseUrl());
+            MapSnapshotServiceImpl kakao = new MapSnapshotServiceImpl(kakaoConfig, new RestTemplate(),
+                    new MapSnapshotStore(new InMemoryStorage(), new InMemoryCache(), new MapSnapshotPipelineConfig()));
+
+            for (List<MapSnapshotService.Waypoint> route : routes) {
+                MapSnapshotService.RouteSnapshot snapshot = kakao.generateRouteSnapshot(
+                        route.get(0).lat(), route.get(0).lng(), null, route.subList(1, route.size()), true);
+                assertThat(snapshot.imageUrl()).isNotBlank();
+            }
+            assertThat(stub.getRequests()).isEqualTo(ROUTES);
+        }
+    }
+
+    // ========== Helpers ==========
+
+    static LocalMapSnapshotService localService(InMemoryStorage storage, String boundaryGeojson) {
+        MapSnapshotPipelineConfig pipelineConfig = new MapSnapshotPipelineConfig();
+        pipelineConfig.setBoundaryGeojson(boundaryGeojson);
+        LocalMapSnapshotService service = new LocalMapSnapshotService(new KakaoMapsConfig(), pipelineConfig,
+                new MapSnapshotStore(storage, new InMemoryCache(), pipelineConfig), new ObjectMapper(), new DefaultResourceLoader());
+        service.loadBoundaries();
+        return service;
+    }
+
+    static List<List<MapSnapshotService.Waypoint>> randomRoutes() {
+        Random random = new Random(7);
+        List<List<MapSnapshotService.Waypoint>> routes = new ArrayList<>();
+        for (int i = 0; i < ROUTES; i++) {
+            List<MapSnapshotService.Waypoint> route = new ArrayList<>();
+            int points = 2 + random.nextInt(4);
+            for (int p = 0; p < points; p++) {
+                route.add(new MapSnapshotService.Waypoint(
+                        BigDecimal.valueOf(37.0 + random.nextDouble() * 0.8).setScale(7, java.math.RoundingMode.HALF_UP),
+                        BigDecimal.valueOf(126.8 + random.nextDouble() * 0.9).setScale(7, java.math.RoundingMode.HALF_UP),
+                        null, "기관 " + p));
+            }
+            routes.add(route);
+        }
+        return routes;
+    }
+
+    private static boolean isRouteBlue(int rgb) {
+        int r = (rgb >> 16) & 0xFF;
+        int b = rgb & 0xFF;
+        return b > 150 && r < 100;
+    }
+
+    private static boolean isBoundaryGray(int rgb) {
+        int r = (rgb >> 16) & 0xFF;
+        int g = (rgb >> 8) & 0xFF;
+        int b = rgb & 0xFF;
+        // Boundary stroke, possibly blended with land; excludes water, route and markers
+        return r < 235 && r >= b && r - b < 16 && Math.abs(r - g) < 8;
+    }
+
+    static class InMemoryStorage implements StorageService {
+        final Map<String, byte[]> files = new ConcurrentHashMap<>();
+        int uploads;
+
+        @Override
+        public String uploadFile(MultipartFile file, String subdirectory) throws IOException {
+            uploads++;
+            String url = "/uploads/" + subdirectory + "/" + file.getOriginalFilename();
+            files.put(url, file.getBytes());
+            return url;
+        }
+
+        @Override
+        public boolean deleteFile(String fileUrl) {
+            return files.remove(fileUrl) != null;
+        }
+
+        @Override
+        public boolean fileExists(String fileUrl) {
+            return files.containsKey(fileUrl);
+        }
+
+        @Override
+        public String getStorageType() {
+            return "memory";
+        }
+    }
+
+    static class InMemoryCache implements MapSnapshotCache {
+        private final Map<String, MapSnapshotService.RouteSnapshot> snapshots = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<MapSnapshotService.RouteSnapshot> find(String routeHash) {
+            return Optional.ofNullable(snapshots.get(routeHash));
+        }
+
+        @Override
+        public MapSnapshotService.RouteSnapshot put(String routeHash, MapSnapshotService.RouteSnapshot snapshot,
+                                                    int width, int height, int zoom, int pointCount) {
+            MapSnapshotService.RouteSnapshot existing = snapshots.putIfAbsent(routeHash, snapshot);
+            return existing != null ? existing : snapshot;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.TravelScheduleFixture;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Without a Kakao API key no snapshot is queued: records stay DRAFT with snapshot status NONE
+ * instead of failing into DEAD_LETTER (runs against the configured database; rolls back)
+ */
+@SpringBootTest(properties = {
+        "kakao.maps.api-key=",
+        "travel.snapshot.renderer=kakao",
+        "travel.distance.provider=haversine"
+})
+@Transactional
+class MapSnapshotWithoutRendererTests {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 4, 8);
+
+    @Autowired
+    private TravelAllowanceService travelAllowanceService;
+
+    @Autowired
+    private MapSnapshotPipeline snapshotPipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void recalculatedDayIsNotQueued() {
+        TravelScheduleFixture fixture = new TravelScheduleFixture(jdbcTemplate);
+        fixture.assignPeriod(DAY, "Institution A", 37.4000000, 127.1000000, 9);
+
+        assertThat(snapshotPipeline.isEnabled()).isFalse();
+        travelAllowanceService.recalculateDailyTravelRange(fixture.getInstructorId(), DAY, DAY);
+        entityManager.flush();
+
+        Map<String, Object> record = jdbcTemplate.queryForMap(
+                "SELECT status, snapshot_status, snapshot_attempts FROM instructor_daily_travel "
+                        + "WHERE instructor_id = ? AND travel_date = ?", fixture.getInstructorId(), DAY);
+        assertThat(record.get("status")).isEqualTo("DRAFT");
+        assertThat(record.get("snapshot_status")).isEqualTo("NONE");
+        assertThat(record.get("snapshot_attempts")).isEqualTo(0);
+    }
+}
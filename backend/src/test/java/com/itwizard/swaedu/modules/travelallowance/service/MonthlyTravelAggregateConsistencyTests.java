@@ -0,0 +1,160 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.TravelScheduleFixture;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * instructor_monthly_travel stays equal to the SUM over instructor_daily_travel through
+ * create, recalculation, DRAFT → FINAL and a FINAL → DRAFT route change
+ * (runs against the configured database; rolls back)
+ */
+@SpringBootTest(properties = "travel.distance.provider=haversine")
+@Transactional
+class MonthlyTravelAggregateConsistencyTests {
+
+    private static final String MONTH = "2031-06";
+    private static final LocalDate FIRST_DAY = LocalDate.of(2031, 6, 2);
+    private static final LocalDate LAST_DAY = FIRST_DAY.plusDays(3);
+
+    private static final String AGGREGATE = "SELECT record_days, travel_days, final_days, draft_days, "
+            + "total_distance_km, total_fee_krw, final_fee_krw "
+            + "FROM instructor_monthly_travel WHERE instructor_id = ? AND work_month = ?";
+    private static final String SUM_OF_DAYS = "SELECT COUNT(*) AS record_days, "
+            + "COUNT(*) FILTER (WHERE total_distance_km > 0) AS travel_days, "
+            + "COUNT(*) FILTER (WHERE status = 'FINAL') AS final_days, "
+            + "COUNT(*) FILTER (WHERE status = 'DRAFT') AS draft_days, "
+            + "COALESCE(SUM(total_distance_km), 0) AS total_distance_km, "
+            + "COALESCE(SUM(travel_fee_amount_krw), 0) AS total_fee_krw, "
+            + "COALESCE(SUM(travel_fee_amount_krw) FILTER (WHERE status = 'FINAL'), 0) AS final_fee_krw "
+            + "FROM instructor_daily_travel WHERE instructor_id = ? AND work_month = ?";
+
+    @Autowired
+    private TravelAllowanceService travelAllowanceService;
+
+    @Autowired
+    private MapSnapshotPipelineImpl snapshotPipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TravelScheduleFixture fixture;
+    private Long instructorId;
+    private Long dropPeriodId;
+
+    @BeforeEach
+    void seedMonth() {
+        fixture = new TravelScheduleFixture(jdbcTemplate);
+        instructorId = fixture.getInstructorId();
+        // Far institutions, so the days carry a fee; the last day has no periods
+        fixture.assignPeriod(FIRST_DAY, "Far A", 36.9000000, 127.1000000, 9);
+        fixture.assignPeriod(FIRST_DAY.plusDays(1), "Far B", 36.8000000, 127.2000000, 9);
+        dropPeriodId = fixture.assignPeriod(FIRST_DAY.plusDays(2), "Near C", 37.4000000, 127.1000000, 9);
+        recalculate(FIRST_DAY, LAST_DAY);
+    }
+
+    @Test
+    void createdMonthMatchesItsDays() {
+        Map<String, Object> aggregate = assertConsistent();
+
+        assertThat(aggregate.get("record_days")).isEqualTo(4);
+        assertThat(((Number) aggregate.get("total_fee_krw")).longValue()).isPositive();
+        assertThat(((Number) aggregate.get("final_fee_krw")).longValue()).isZero();
+    }
+
+    @Test
+    void unchangedRecalculationKeepsTheTotals() {
+        Map<String, Object> before = assertConsistent();
+
+        recalculate(FIRST_DAY, LAST_DAY);
+
+        assertThat(assertConsistent()).isEqualTo(before);
+    }
+
+    @Test
+    void finalizedDayMovesItsFeeToThePayableTotal() {
+        finalize(FIRST_DAY);
+        finalize(FIRST_DAY.plusDays(1));
+
+        Map<String, Object> aggregate = assertConsistent();
+        assertThat(aggregate.get("final_days")).isEqualTo(2);
+        assertThat(((Number) aggregate.get("final_fee_krw")).longValue()).isPositive();
+    }
+
+    @Test
+    void routeChangeOnAFinalDayReturnsItToDraft() {
+        finalize(FIRST_DAY);
+        fixture.assignPeriod(FIRST_DAY, "Far D", 36.7000000, 127.3000000, 13);
+
+        recalculate(FIRST_DAY, FIRST_DAY);
+
+        Map<String, Object> aggregate = assertConsistent();
+        assertThat(aggregate.get("final_days")).isEqualTo(0);
+        assertThat(((Number) aggregate.get("final_fee_krw")).longValue()).isZero();
+    }
+
+    @Test
+    void removedPeriodsClearTheDay() {
+        finalize(FIRST_DAY.plusDays(2));
+        fixture.unassign(dropPeriodId);
+
+        recalculate(FIRST_DAY.plusDays(2), FIRST_DAY.plusDays(2));
+
+        Map<String, Object> aggregate = assertConsistent();
+        assertThat(aggregate.get("travel_days")).isEqualTo(2);
+    }
+
+    private void recalculate(LocalDate from, LocalDate to) {
+        travelAllowanceService.recalculateDailyTravelRange(instructorId, from, to);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * What the pipeline does once the snapshot of the day's current route is stored
+     */
+    private void finalize(LocalDate day) {
+        Map<String, Object> record = jdbcTemplate.queryForMap("SELECT id, snapshot_revision FROM instructor_daily_travel "
+                + "WHERE instructor_id = ? AND travel_date = ?", instructorId, day);
+        boolean completed = snapshotPipeline.complete(((Number) record.get("id")).longValue(),
+                ((Number) record.get("snapshot_revision")).intValue(),
+                new MapSnapshotService.RouteSnapshot("/files/test/" + day + ".jpg", "/files/test/" + day + "-thumb.jpg"));
+        assertThat(completed).as("finalized %s", day).isTrue();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Map<String, Object> assertConsistent() {
+        Map<String, Object> aggregate = normalize(jdbcTemplate.queryForMap(AGGREGATE, instructorId, MONTH));
+        Map<String, Object> sumOfDays = normalize(jdbcTemplate.queryForMap(SUM_OF_DAYS, instructorId, MONTH));
+        assertThat(aggregate).isEqualTo(sumOfDays);
+        return aggregate;
+    }
+
+    /**
+     * Column types differ between the table and the SUM (INTEGER vs BIGINT, scale of DECIMAL)
+     */
+    private static Map<String, Object> normalize(Map<String, Object> row) {
+        return Map.of(
+                "record_days", ((Number) row.get("record_days")).intValue(),
+                "travel_days", ((Number) row.get("travel_days")).intValue(),
+                "final_days", ((Number) row.get("final_days")).intValue(),
+                "draft_days", ((Number) row.get("draft_days")).intValue(),
+                "total_distance_km", new java.math.BigDecimal(row.get("total_distance_km").toString()).setScale(2),
+                "total_fee_krw", ((Number) row.get("total_fee_krw")).longValue(),
+                "final_fee_krw", ((Number) row.get("final_fee_krw")).longValue());
+    }
+}
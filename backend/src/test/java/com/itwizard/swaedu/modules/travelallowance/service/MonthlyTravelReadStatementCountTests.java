@@ -0,0 +1,126 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.TravelScheduleFixture;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.DailyTravelResponseDto;
+import com.itwizard.swaedu.modules.travelallowance.dto.response.MonthlyTravelSummaryDto;
+import com.itwizard.swaedu.support.SqlStatementCounter;
+import com.itwizard.swaedu.util.PageResponse;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression guard for the monthly read path: a month of records with waypoints
+ * must not cost queries per day (runs against the configured database; rolls back)
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.itwizard.swaedu.support.SqlStatementCounter",
+        "travel.distance.provider=haversine"
+})
+@Transactional
+class MonthlyTravelReadStatementCountTests {
+
+    private static final String MONTH = "2031-05";
+    private static final LocalDate FIRST_DAY = LocalDate.of(2031, 5, 1);
+    private static final int TRAVEL_DAYS = 12;
+
+    @Autowired
+    private TravelAllowanceService travelAllowanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long instructorId;
+
+    @BeforeEach
+    void seedMonth() {
+        TravelScheduleFixture fixture = new TravelScheduleFixture(jdbcTemplate);
+        instructorId = fixture.getInstructorId();
+        for (int day = 0; day < TRAVEL_DAYS; day++) {
+            LocalDate date = FIRST_DAY.plusDays(day);
+            fixture.assignPeriod(date, "Morning " + day, 37.40 + day * 0.01, 127.10, 9);
+            fixture.assignPeriod(date, "Afternoon " + day, 37.26, 127.03 + day * 0.01, 13);
+        }
+        travelAllowanceService.recalculateDailyTravelRange(instructorId, FIRST_DAY, FIRST_DAY.plusDays(TRAVEL_DAYS - 1));
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void monthOfDailyRecordsLoadsInTwoQueries() {
+        PageResponse<DailyTravelResponseDto> page =
+                travelAllowanceService.getMonthlyDailyRecords(instructorId, MONTH, null, null);
+
+        assertThat(page.getItems()).hasSize(TRAVEL_DAYS);
+        assertThat(page.getItems()).allSatisfy(record -> {
+            assertThat(record.getInstructorName()).isNotBlank();
+            assertThat(record.getWaypoints()).hasSize(4);
+        });
+        assertThat(SqlStatementCounter.total())
+                .as("statements: %s", SqlStatementCounter.statements())
+                .isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void fullMonthLoadsInTwoQueries() {
+        // Records for every remaining day of May (no periods: zero distance), so the first page is full
+        LocalDate lastDay = FIRST_DAY.withDayOfMonth(FIRST_DAY.lengthOfMonth());
+        travelAllowanceService.recalculateDailyTravelRange(instructorId, FIRST_DAY.plusDays(TRAVEL_DAYS), lastDay);
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        PageResponse<DailyTravelResponseDto> page =
+                travelAllowanceService.getMonthlyDailyRecords(instructorId, MONTH, null, null);
+
+        assertThat(page.getItems()).hasSize(FIRST_DAY.lengthOfMonth());
+        assertThat(page.getTotal()).isEqualTo((long) FIRST_DAY.lengthOfMonth());
+        assertThat(page.getTotalPages()).isEqualTo(1);
+        assertThat(SqlStatementCounter.total())
+                .as("statements: %s", SqlStatementCounter.statements())
+                .isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void laterPageCountsTheMonth() {
+        PageResponse<DailyTravelResponseDto> page =
+                travelAllowanceService.getMonthlyDailyRecords(instructorId, MONTH, 1, 5);
+
+        assertThat(page.getItems()).hasSize(5);
+        assertThat(page.getTotal()).isEqualTo((long) TRAVEL_DAYS);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+
+    @Test
+    void dailyRecordRangeLoadsInTwoQueries() {
+        List<DailyTravelResponseDto> records = travelAllowanceService.getDailyTravelRecords(
+                instructorId, FIRST_DAY, FIRST_DAY.plusDays(TRAVEL_DAYS - 1));
+
+        assertThat(records).hasSize(TRAVEL_DAYS);
+        assertThat(SqlStatementCounter.total())
+                .as("statements: %s", SqlStatementCounter.statements())
+                .isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void monthlySummaryIsOneQuery() {
+        MonthlyTravelSummaryDto summary = travelAllowanceService.getMonthlyTravelSummary(instructorId, MONTH);
+
+        assertThat(summary.getRecordDays()).isEqualTo(TRAVEL_DAYS);
+        assertThat(SqlStatementCounter.total()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,143 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.config.TravelDistanceConfig;
+import com.itwizard.swaedu.support.Benchmark;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Road distance (contraction hierarchy) against Haversine, point-to-point and matrix,
+ * on a synthetic 200 x 200 road grid written in the RoadGraphLoader format.
+ *
+ * Opt-in, no database needed:
+ * <pre>
+ * ./mvnw test -Dtest=RoadDistanceBenchmarkTests -Dbenchmark=true
+ * </pre>
+ * Timings are published as report entries in target/surefire-reports.
+ */
+@EnabledIfSystemProperty(named = Benchmark.ENABLED_PROPERTY, matches = "true")
+class RoadDistanceBenchmarkTests {
+
+    private static final int SIZE = 200;  // 40,000 nodes, ~110 m spacing
+    private static final int PAIRS = 2_000;
+    private static final int MATRIX_SIDE = 25;
+    private static final int WARMUPS = 5;
+    private static final int ROUNDS = 20;
+
+    private static RoadNetworkDistanceService road;
+    private static DistanceCalculationServiceImpl haversine;
+    private static List<DistanceCalculationService.Waypoint> from;
+    private static List<DistanceCalculationService.Waypoint> to;
+
+    @BeforeAll
+    static void buildGraph(@TempDir Path directory) throws IOException {
+        Path graphFile = directory.resolve("grid.txt");
+        writeGrid(graphFile);
+
+        TravelDistanceConfig config = new TravelDistanceConfig();
+        config.setRoadGraphPath(graphFile.toString());
+        road = new RoadNetworkDistanceService(config);
+        road.loadGraph();
+        haversine = new DistanceCalculationServiceImpl();
+
+        Random random = new Random(3);
+        from = randomPoints(random, PAIRS);
+        to = randomPoints(random, PAIRS);
+    }
+
+    @Test
+    void pointToPoint(TestReporter reporter) {
+        // Sanity: a road path is never shorter than the straight line (within rounding)
+        for (int i = 0; i < 100; i++) {
+            assertThat(roadLeg(i)).isGreaterThanOrEqualTo(haversineLeg(i).subtract(new BigDecimal("0.05")));
+        }
+
+        double haversineNanos = Benchmark.nanosPerRun(WARMUPS, ROUNDS, () -> legs(false)) / PAIRS;
+        double roadNanos = Benchmark.nanosPerRun(WARMUPS, ROUNDS, () -> legs(true)) / PAIRS;
+
+        Benchmark.report(reporter, "haversine point-to-point", haversineNanos);
+        Benchmark.report(reporter, "road (CH) point-to-point", roadNanos);
+    }
+
+    @Test
+    void matrix(TestReporter reporter) {
+        List<DistanceCalculationService.Waypoint> sources = from.subList(0, MATRIX_SIDE);
+        List<DistanceCalculationService.Waypoint> targets = to.subList(0, MATRIX_SIDE);
+
+        String name = MATRIX_SIDE + "x" + MATRIX_SIDE + " matrix";
+        Benchmark.report(reporter, "haversine " + name,
+                Benchmark.nanosPerRun(WARMUPS, ROUNDS, () -> haversine.calculateDistanceMatrix(sources, targets)));
+        Benchmark.report(reporter, "road (CH) " + name,
+                Benchmark.nanosPerRun(WARMUPS, ROUNDS, () -> road.calculateDistanceMatrix(sources, targets)));
+    }
+
+    private static BigDecimal legs(boolean onRoad) {
+        BigDecimal last = BigDecimal.ZERO;
+        for (int i = 0; i < PAIRS; i++) {
+            last = onRoad ? roadLeg(i) : haversineLeg(i);
+        }
+        return last;
+    }
+
+    private static BigDecimal roadLeg(int i) {
+        return road.calculateDistance(from.get(i).lat(), from.get(i).lng(), to.get(i).lat(), to.get(i).lng());
+    }
+
+    private static BigDecimal haversineLeg(int i) {
+        return haversine.calculateDistance(from.get(i).lat(), from.get(i).lng(), to.get(i).lat(), to.get(i).lng());
+    }
+
+    private static void writeGrid(Path file) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int r = 0; r < SIZE; r++) {
+                for (int c = 0; c < SIZE; c++) {
+                    writer.write("N," + id(r, c) + "," + (37.0 + r * 0.001) + "," + (127.0 + c * 0.00125) + "\n");
+                }
+            }
+            for (int r = 0; r < SIZE; r++) {
+                for (int c = 0; c < SIZE; c++) {
+                    if (c + 1 < SIZE) {
+                        writer.write("E," + id(r, c) + "," + id(r, c + 1) + "," + (110 + random.nextInt(80)) + ",0\n");
+                    }
+                    if (r + 1 < SIZE) {
+                        writer.write("E," + id(r, c) + "," + id(r + 1, c) + "," + (110 + random.nextInt(80)) + ",0\n");
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<DistanceCalculationService.Waypoint> randomPoints(Random random, int count) {
+        List<DistanceCalculationService.Waypoint> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            points.add(new DistanceCalculationService.Waypoint(
+                    coordinate(37.0 + random.nextDouble() * (SIZE - 1) * 0.001),
+                    coordinate(127.0 + random.nextDouble() * (SIZE - 1) * 0.00125)));
+        }
+        return points;
+    }
+
+    private static BigDecimal coordinate(double value) {
+        return BigDecimal.valueOf(value).setScale(7, RoundingMode.HALF_UP);
+    }
+
+    private static long id(int r, int c) {
+        return (long) r * SIZE + c;
+    }
+}
@@ -0,0 +1,71 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Policy rows written without JPA (SQL, other nodes) reach the index through the version
+ * counter (runs against the configured database; rolls back)
+ */
+@SpringBootTest(properties = {
+        // The poller must not reload the index while a test looks at it
+        "travel.policy.version-check-interval-ms=3600000"
+})
+@Transactional
+class TravelPolicyVersionRefreshTests {
+
+    private static final BigDecimal DISTANCE_KM = new BigDecimal("950.00");
+    private static final LocalDate DATE = LocalDate.of(2099, 3, 1);
+
+    @Autowired
+    private TravelPolicyResolver travelPolicyResolver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterTransaction
+    void reloadCommittedPolicies() {
+        travelPolicyResolver.refresh();
+    }
+
+    @Test
+    void unchangedTableKeepsTheIndex() {
+        travelPolicyResolver.refresh();
+
+        assertThat(travelPolicyResolver.refreshIfChanged()).isFalse();
+    }
+
+    @Test
+    void policyInsertedBySqlIsPickedUp() {
+        int before = travelPolicyResolver.resolveAmount(DISTANCE_KM, DATE);
+
+        jdbcTemplate.update("INSERT INTO travel_allowance_policy (min_km, max_km, amount_krw, is_active, valid_from) "
+                + "VALUES (900, NULL, 987650, TRUE, ?)", DATE);
+
+        assertThat(travelPolicyResolver.resolveAmount(DISTANCE_KM, DATE)).isEqualTo(before);
+        assertThat(travelPolicyResolver.refreshIfChanged()).isTrue();
+        assertThat(travelPolicyResolver.resolveAmount(DISTANCE_KM, DATE)).isEqualTo(987650);
+        assertThat(travelPolicyResolver.refreshIfChanged()).isFalse();
+    }
+
+    @Test
+    void policyDeactivatedBySqlIsDropped() {
+        jdbcTemplate.update("INSERT INTO travel_allowance_policy (min_km, max_km, amount_krw, is_active, valid_from) "
+                + "VALUES (900, NULL, 987650, TRUE, ?)", DATE);
+        travelPolicyResolver.refreshIfChanged();
+
+        jdbcTemplate.update("UPDATE travel_allowance_policy SET is_active = FALSE WHERE amount_krw = 987650");
+
+        assertThat(travelPolicyResolver.refreshIfChanged()).isTrue();
+        assertThat(travelPolicyResolver.resolveAmount(DISTANCE_KM, DATE)).isNotEqualTo(987650);
+    }
+}
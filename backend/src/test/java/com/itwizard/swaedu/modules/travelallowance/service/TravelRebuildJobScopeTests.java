@@ -0,0 +1,67 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.edu.exception.BusinessException;
+import com.itwizard.swaedu.modules.period.service.InstructorPeriodLoader;
+import com.itwizard.swaedu.modules.period.service.InstructorPeriodSchedule;
+import com.itwizard.swaedu.modules.travelallowance.TravelScheduleFixture;
+import com.itwizard.swaedu.modules.travelallowance.config.TravelBatchConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rebuild jobs load only the instructors of their chunks and refuse oversized ranges
+ * (runs against the configured database; rolls back)
+ */
+@SpringBootTest
+@Transactional
+class TravelRebuildJobScopeTests {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 7, 7);
+
+    @Autowired
+    private InstructorPeriodLoader periodLoader;
+
+    @Autowired
+    private TravelRebuildJobService rebuildJobService;
+
+    @Autowired
+    private TravelBatchConfig batchConfig;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void scheduleHoldsOnlyTheRequestedInstructors() {
+        TravelScheduleFixture fixture = new TravelScheduleFixture(jdbcTemplate);
+        Long instructorId = fixture.getInstructorId();
+        fixture.assignPeriod(DAY, "Scope A", 37.4000000, 127.1000000, 9);
+
+        InstructorPeriodSchedule requested = periodLoader.loadSchedule(List.of(instructorId), DAY, DAY);
+        InstructorPeriodSchedule others = periodLoader.loadSchedule(List.of(-1L), DAY, DAY);
+
+        assertThat(requested.getInstructorIds()).containsExactly(instructorId);
+        assertThat(requested.getPeriods(instructorId, DAY)).hasSize(1);
+        assertThat(others.getInstructorIds()).isEmpty();
+        assertThat(periodLoader.loadSchedule(List.of(), DAY, DAY).getInstructorIds()).isEmpty();
+    }
+
+    @Test
+    void rejectsRangesLongerThanTheLimit() {
+        Long instructorId = new TravelScheduleFixture(jdbcTemplate).getInstructorId();
+        LocalDate toDate = DAY.plusDays(batchConfig.getMaxRangeDays());
+
+        assertThatThrownBy(() -> rebuildJobService.startJob(instructorId, DAY, toDate))
+                .isInstanceOf(BusinessException.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM travel_rebuild_job WHERE from_date = ?", Integer.class, DAY)).isZero();
+    }
+}
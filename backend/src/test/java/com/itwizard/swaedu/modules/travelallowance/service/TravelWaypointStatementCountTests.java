@@ -0,0 +1,119 @@
+package com.itwizard.swaedu.modules.travelallowance.service;
+
+import com.itwizard.swaedu.modules.travelallowance.TravelScheduleFixture;
+import com.itwizard.swaedu.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements written per daily travel recalculation (runs against the configured database,
+ * like SwaEduApplicationTests; every test rolls back)
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.itwizard.swaedu.support.SqlStatementCounter",
+        "travel.distance.provider=haversine"
+})
+@Transactional
+class TravelWaypointStatementCountTests {
+
+    private static final String DAILY_TRAVEL = "instructor_daily_travel";
+    private static final String WAYPOINT = "instructor_daily_travel_waypoint";
+    private static final LocalDate DAY = LocalDate.of(2031, 3, 12);
+
+    @Autowired
+    private TravelAllowanceService travelAllowanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TravelScheduleFixture fixture;
+
+    @BeforeEach
+    void seedSchedule() {
+        fixture = new TravelScheduleFixture(jdbcTemplate);
+        fixture.assignPeriod(DAY, "Institution A", 37.4000000, 127.1000000, 9);
+        fixture.assignPeriod(DAY, "Institution B", 37.2600000, 127.0300000, 13);
+    }
+
+    @Test
+    void firstCalculationInsertsRouteInOneBatch() {
+        SqlStatementCounter.reset();
+        recalculate();
+
+        // home → A → B → home
+        assertThat(countRows()).isEqualTo(4);
+        assertThat(SqlStatementCounter.count("insert", WAYPOINT)).isEqualTo(1);
+        assertThat(SqlStatementCounter.count("insert", DAILY_TRAVEL)).isEqualTo(1);
+    }
+
+    @Test
+    void unchangedRouteWritesNothing() {
+        recalculate();
+
+        SqlStatementCounter.reset();
+        recalculate();
+
+        assertThat(SqlStatementCounter.count("insert", WAYPOINT)).isZero();
+        assertThat(SqlStatementCounter.count("update", WAYPOINT)).isZero();
+        assertThat(SqlStatementCounter.count("delete", WAYPOINT)).isZero();
+        assertThat(SqlStatementCounter.count("update", DAILY_TRAVEL)).isZero();
+    }
+
+    @Test
+    void changedRouteWritesOnlyTheDifferenceInBatches() {
+        recalculate();
+
+        // A third stop in the afternoon: the return home moves to seq 4
+        fixture.assignPeriod(DAY, "Institution C", 37.3200000, 126.8300000, 16);
+        SqlStatementCounter.reset();
+        recalculate();
+
+        assertThat(countRows()).isEqualTo(5);
+        assertThat(SqlStatementCounter.count("insert", WAYPOINT)).isEqualTo(1);
+        assertThat(SqlStatementCounter.count("update", WAYPOINT)).isEqualTo(1);
+        assertThat(SqlStatementCounter.count("delete", WAYPOINT)).isZero();
+        assertThat(SqlStatementCounter.count("update", DAILY_TRAVEL)).isEqualTo(1);
+    }
+
+    @Test
+    void shorterRouteDeletesOnlySurplusRows() {
+        Long lastPeriodId = fixture.assignPeriod(DAY, "Institution C", 37.3200000, 126.8300000, 16);
+        recalculate();
+
+        fixture.unassign(lastPeriodId);
+        SqlStatementCounter.reset();
+        recalculate();
+
+        assertThat(countRows()).isEqualTo(4);
+        assertThat(SqlStatementCounter.count("insert", WAYPOINT)).isZero();
+        assertThat(SqlStatementCounter.count("delete", WAYPOINT)).isEqualTo(1);
+    }
+
+    // Helper methods
+
+    private void recalculate() {
+        travelAllowanceService.recalculateDailyTravel(fixture.getInstructorId(), DAY);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private int countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM instructor_daily_travel_waypoint w "
+                + "JOIN instructor_daily_travel dt ON dt.id = w.daily_travel_id "
+                + "WHERE dt.instructor_id = ? AND dt.travel_date = ?",
+                Integer.class, fixture.getInstructorId(), DAY);
+    }
+}
@@ -0,0 +1,52 @@
+package com.itwizard.swaedu.support;
+
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Timing helper for the opt-in benchmark tests (enabled with -Dbenchmark=true).
+ * Results are published as JUnit report entries, which end up in the test reports
+ * (target/surefire-reports) rather than on the console.
+ */
+public final class Benchmark {
+
+    public static final String ENABLED_PROPERTY = "benchmark";
+
+    private Benchmark() {
+    }
+
+    /**
+     * Run {@code operation} {@code warmups} times untimed, then {@code rounds} times timed
+     *
+     * @return Mean nanoseconds per run
+     */
+    public static double nanosPerRun(int warmups, int rounds, Supplier<?> operation) {
+        Object sink = null;
+        for (int i = 0; i < warmups; i++) {
+            sink = operation.get();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink = operation.get();
+        }
+        long elapsed = System.nanoTime() - started;
+        if (sink == null) {
+            throw new IllegalStateException("Benchmarked operation returned null");
+        }
+        return (double) elapsed / rounds;
+    }
+
+    /**
+     * Publish a timing as a report entry, e.g. "haversine point-to-point" = "412.3 ns/op"
+     */
+    public static void report(TestReporter reporter, String name, double nanosPerOp) {
+        String value = nanosPerOp >= 1_000_000
+                ? String.format(Locale.ROOT, "%.2f ms/op", nanosPerOp / 1_000_000)
+                : nanosPerOp >= 1_000
+                ? String.format(Locale.ROOT, "%.2f µs/op", nanosPerOp / 1_000)
+                : String.format(Locale.ROOT, "%.1f ns/op", nanosPerOp);
+        reporter.publishEntry(name, value);
+    }
+}
@@ -0,0 +1,54 @@
+package com.itwizard.swaedu.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate StatementInspector that records every statement Hibernate prepares.
+ * A JDBC batch is prepared once, so a batched write counts as one statement however many rows it carries.
+ *
+ * Register with spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.strip().toLowerCase(Locale.ROOT));
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Statements of a kind (select, insert, update, delete) against a table
+     */
+    public static long count(String kind, String table) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith(kind) && targets(sql, kind, table))
+                .count();
+    }
+
+    public static long total() {
+        return STATEMENTS.size();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    private static boolean targets(String sql, String kind, String table) {
+        return switch (kind) {
+            case "insert" -> sql.startsWith("insert into " + table + " ");
+            case "update" -> sql.startsWith("update " + table + " ");
+            case "delete" -> sql.startsWith("delete from " + table + " ");
+            default -> sql.matches("(?s).*\\bfrom " + table + "\\b.*") || sql.matches("(?s).*\\bjoin " + table + "\\b.*");
+        };
+    }
+}